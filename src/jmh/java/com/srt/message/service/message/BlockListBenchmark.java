@@ -0,0 +1,80 @@
+package com.srt.message.service.message;
+
+import com.srt.message.domain.Contact;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수신 차단 필터링 비교 (수신자 10만 명, 차단 번호 5만 개)
+ * 기존 방식(JPA 조인 + 이중 루프)은 DB 왕복이 대부분이라 여기서는 메모리 내 방식끼리만 비교한다.
+ * - hashSetFilter: HashSet<String> 기준선
+ * - blockListFilter: LongHashSet 기반 BlockList
+ * - buildBlockList: 인덱스 로딩(차단 번호 -> BlockList) 비용
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class BlockListBenchmark {
+    @Param({"100000"})
+    public int recipientCount;
+
+    @Param({"50000"})
+    public int blockCount;
+
+    private List<Contact> contacts;
+    private List<String> blockNumbers;
+
+    private Set<String> hashSet;
+    private BlockList blockList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+
+        contacts = new ArrayList<>(recipientCount);
+        for (int i = 0; i < recipientCount; i++) {
+            contacts.add(Contact.builder()
+                    .id(i + 1)
+                    .phoneNumber(String.format("010%08d", random.nextInt(100_000_000)))
+                    .build());
+        }
+
+        // 절반은 실제 수신자 번호, 나머지는 수신자에 없는 번호
+        blockNumbers = new ArrayList<>(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            if (i % 2 == 0)
+                blockNumbers.add(contacts.get(random.nextInt(recipientCount)).getPhoneNumber());
+            else
+                blockNumbers.add(String.format("011%08d", random.nextInt(100_000_000)));
+        }
+
+        hashSet = new HashSet<>(blockNumbers);
+        blockList = BlockList.of(blockNumbers);
+    }
+
+    @Benchmark
+    public List<Contact> hashSetFilter() {
+        List<Contact> recipients = new ArrayList<>(contacts.size());
+        for (Contact contact : contacts) {
+            if (!hashSet.contains(contact.getPhoneNumber()))
+                recipients.add(contact);
+        }
+        return recipients;
+    }
+
+    @Benchmark
+    public List<Contact> blockListFilter() {
+        return blockList.filter(contacts, new ArrayList<>());
+    }
+
+    @Benchmark
+    public BlockList buildBlockList() {
+        return BlockList.of(blockNumbers);
+    }
+}
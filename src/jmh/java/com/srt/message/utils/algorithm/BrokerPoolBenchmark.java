@@ -0,0 +1,137 @@
+package com.srt.message.utils.algorithm;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 BrokerPool과 SmoothWeightedBrokerPool 비교
+ * ns/op와 할당량(-prof gc), 그리고 MessageRule.brokerRate 대비 분배 오차를 측정한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BrokerPoolBenchmark {
+    private static final int BULK_SIZE = 1000;
+
+    // 발송 규칙 비율 (kt, skt, lg)
+    @Param({"30,30,30", "50,30,20", "70,20,10"})
+    public String brokerRates;
+
+    private long[] ids;
+    private int[] rates;
+
+    @SuppressWarnings("deprecation")
+    private BrokerPool<Long> legacyPool;
+    private SmoothWeightedBrokerPool<Long> smoothPool;
+    private long[] bulk;
+
+    private final Map<Long, Integer> legacyCounts = new HashMap<>();
+    private final Map<Long, Integer> smoothCounts = new HashMap<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] split = brokerRates.split(",");
+        ids = new long[split.length];
+        rates = new int[split.length];
+        for (int i = 0; i < split.length; i++) {
+            ids[i] = i + 1;
+            rates[i] = Integer.parseInt(split[i].trim());
+        }
+
+        legacyPool = new BrokerPool<>(weights());
+        smoothPool = new SmoothWeightedBrokerPool<>(weights(), Long::longValue);
+        bulk = new long[BULK_SIZE];
+    }
+
+    @Benchmark
+    public Object legacyNext() {
+        return legacyPool.getNext().getBroker();
+    }
+
+    @Benchmark
+    public long smoothNextId() {
+        return smoothPool.nextId();
+    }
+
+    // 수신자 1,000명 배정 (기존 방식은 1,000번 호출)
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public void legacyBulk(Blackhole blackhole) {
+        for (int i = 0; i < BULK_SIZE; i++)
+            blackhole.consume(legacyPool.getNext().getBroker());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public void smoothBulk(Blackhole blackhole) {
+        smoothPool.nextIds(bulk, 0, BULK_SIZE);
+        blackhole.consume(bulk);
+    }
+
+    // 여러 스레드가 하나의 풀을 공유하는 경우 (기존 풀은 스레드 안전하지 않아 비교 불가)
+    @Benchmark
+    @Threads(4)
+    public long smoothSharedNextId(SharedPool sharedPool) {
+        return sharedPool.pool.nextId();
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedPool {
+        SmoothWeightedBrokerPool<Long> pool;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ArrayList<BrokerWeight<Long>> weights = new ArrayList<>();
+            weights.add(new BrokerWeight<>(1L, 50));
+            weights.add(new BrokerWeight<>(2L, 30));
+            weights.add(new BrokerWeight<>(3L, 20));
+            pool = new SmoothWeightedBrokerPool<>(weights, Long::longValue);
+        }
+    }
+
+    // 10,000건 분배 결과를 발송 규칙 비율과 비교해 출력
+    @TearDown(Level.Trial)
+    @SuppressWarnings("deprecation")
+    public void checkDistribution() {
+        int total = 10_000;
+        BrokerPool<Long> legacy = new BrokerPool<>(weights());
+        SmoothWeightedBrokerPool<Long> smooth = new SmoothWeightedBrokerPool<>(weights(), Long::longValue);
+
+        legacyCounts.clear();
+        smoothCounts.clear();
+        for (int i = 0; i < total; i++) {
+            legacyCounts.merge(legacy.getNext().getBroker(), 1, Integer::sum);
+            smoothCounts.merge(smooth.nextId(), 1, Integer::sum);
+        }
+
+        int rateSum = 0;
+        for (int rate : rates)
+            rateSum += rate;
+
+        StringBuilder sb = new StringBuilder("\n[distribution " + brokerRates + ", n=" + total + "]");
+        for (int i = 0; i < ids.length; i++) {
+            double expected = (double) total * rates[i] / rateSum;
+            sb.append(String.format("%n  broker %d: expected %.1f, legacy %d (%.2f%%), smooth %d (%.2f%%)",
+                    ids[i], expected,
+                    legacyCounts.getOrDefault(ids[i], 0), error(legacyCounts.getOrDefault(ids[i], 0), expected),
+                    smoothCounts.getOrDefault(ids[i], 0), error(smoothCounts.getOrDefault(ids[i], 0), expected)));
+        }
+        System.out.println(sb);
+    }
+
+    ArrayList<BrokerWeight<Long>> weights() {
+        ArrayList<BrokerWeight<Long>> weights = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++)
+            weights.add(new BrokerWeight<>(ids[i], rates[i]));
+        return weights;
+    }
+
+    private static double error(int actual, double expected) {
+        return Math.abs(actual - expected) * 100 / expected;
+    }
+}
@@ -0,0 +1,26 @@
+package com.srt.message.config;
+
+import com.srt.message.utils.id.SnowflakeIdGenerator;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Log4j2
+@Configuration
+public class IdGeneratorConfig {
+    @Value("${id.worker-id:}")
+    private String workerId;
+
+    // 결과 테이블 아이디 생성기 (워커 번호가 없거나 잘못되면 기동 실패)
+    // JPA 아이디 생성기는 스프링 빈이 아니므로 같은 인스턴스를 등록해서 함께 사용
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator() {
+        long resolved = SnowflakeIdGenerator.parseWorkerId(workerId);
+        SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(resolved);
+        SnowflakeIdGenerator.register(idGenerator);
+
+        log.info("snowflake 워커 번호: {}", resolved);
+        return idGenerator;
+    }
+}
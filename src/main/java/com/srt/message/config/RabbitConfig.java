@@ -1,9 +1,12 @@
 package com.srt.message.config;
 
+import com.srt.message.dlx.ResultBatchRecoverer;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
@@ -12,6 +15,7 @@ import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -54,6 +58,42 @@ public class RabbitConfig {
         return factory;
     }
 
+    // 결과 수신용 batch consumer
+    // batch-size개가 모이거나 receive-timeout이 지나면 List로 전달, 리스너가 정상 종료(커밋)된 뒤에 batch 전체 ack
+    // 저장이 실패하면 max-attempts번까지 batch 로 다시 시도하고, 그래도 실패하면 하나씩 저장 (ResultBatchRecoverer)
+    // 하나씩도 실패한 결과는 보관 큐로 옮기므로 batch 전체가 계속 다시 큐에 들어가서 큐를 막지 않음
+    @Bean
+    public RabbitListenerContainerFactory<SimpleMessageListenerContainer> batchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            ResultBatchRecoverer resultBatchRecoverer,
+            @Value("${rabbitmq.result.batch-size:100}") int batchSize,
+            @Value("${rabbitmq.result.receive-timeout:1000}") long receiveTimeout,
+            @Value("${rabbitmq.result.max-attempts:3}") int maxAttempts,
+            @Value("${rabbitmq.result.retry-interval:1000}") long retryInterval)
+    {
+        var factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout);
+        factory.setPrefetchCount(Math.max(batchSize, 150));
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(maxAttempts)
+                .backOffOptions(retryInterval, 2.0, retryInterval * 4)
+                .recoverer(resultBatchRecoverer)
+                .build());
+
+        return factory;
+    }
+
+    // 하나씩 다시 저장해도 실패한 결과 보관 (원인은 x-exception-* 헤더)
+    @Bean
+    public Queue resultParkingQueue(){
+        return new Queue(ResultBatchRecoverer.PARKING_QUEUE_NAME, true);
+    }
+
     // BROKER MSG SEND SETTING
     // SMS QUEUE
     @Bean
@@ -1,9 +1,16 @@
 package com.srt.message.config;
 
+import com.srt.message.config.cache.TwoLevelCacheManager;
 import com.srt.message.domain.redis.RMessageResult;
-import com.srt.message.service.redis.RedisKeyExpiredListener;
+import com.srt.message.service.message.BlockListIndex;
+import com.srt.message.service.redis.CacheInvalidationPublisher;
+import com.srt.message.service.routing.RoutingTableCache;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -12,34 +19,73 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
-import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 @EnableRedisRepositories
 public class RedisConfig {
 
+    // spring.redis.cluster.nodes 가 있으면 클러스터, spring.redis.sentinel.master 가 있으면 센티널, 아니면 단일 서버 (host / port)
+    // 한 발송의 키는 같은 hash tag 를 쓰므로 (RedisKeySchema) 클러스터에서도 상태 전이 스크립트가 한 슬롯에서 실행된다.
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public RedisConnectionFactory redisConnectionFactory(RedisProperties redisProperties) {
+        RedisProperties.Cluster cluster = redisProperties.getCluster();
+        RedisProperties.Sentinel sentinel = redisProperties.getSentinel();
 
-        return new LettuceConnectionFactory("localhost", 6379);
+        if (cluster != null && cluster.getNodes() != null && !cluster.getNodes().isEmpty()) {
+            RedisClusterConfiguration clusterConfiguration = new RedisClusterConfiguration(cluster.getNodes());
+            if (cluster.getMaxRedirects() != null)
+                clusterConfiguration.setMaxRedirects(cluster.getMaxRedirects());
+            clusterConfiguration.setPassword(RedisPassword.of(redisProperties.getPassword()));
+
+            // 노드 추가 / 장애 조치로 슬롯이 옮겨지면 MOVED / ASK 를 받을 때 토폴로지를 다시 읽음
+            ClusterTopologyRefreshOptions refreshOptions = ClusterTopologyRefreshOptions.builder()
+                    .enableAllAdaptiveRefreshTriggers()
+                    .enablePeriodicRefresh(Duration.ofSeconds(60))
+                    .build();
+            LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                    .clientOptions(ClusterClientOptions.builder().topologyRefreshOptions(refreshOptions).build())
+                    .build();
+            return new LettuceConnectionFactory(clusterConfiguration, clientConfiguration);
+        }
+
+        if (sentinel != null && sentinel.getMaster() != null) {
+            RedisSentinelConfiguration sentinelConfiguration = new RedisSentinelConfiguration(sentinel.getMaster(), new HashSet<>(sentinel.getNodes()));
+            sentinelConfiguration.setPassword(RedisPassword.of(redisProperties.getPassword()));
+            sentinelConfiguration.setSentinelPassword(RedisPassword.of(sentinel.getPassword()));
+            sentinelConfiguration.setDatabase(redisProperties.getDatabase());
+            return new LettuceConnectionFactory(sentinelConfiguration);
+        }
+
+        RedisStandaloneConfiguration standaloneConfiguration = new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        standaloneConfiguration.setPassword(RedisPassword.of(redisProperties.getPassword()));
+        standaloneConfiguration.setDatabase(redisProperties.getDatabase());
+        return new LettuceConnectionFactory(standaloneConfiguration);
     }
+
     @Bean
     public RedisTemplate<?, ?> redisTemplate(RedisConnectionFactory redisConnectionFactory){
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
-        redisTemplate.setConnectionFactory(redisConnectionFactory());
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
 
         // StringRedisSerializer 설정
         redisTemplate.setKeySerializer(new StringRedisSerializer());
@@ -50,27 +96,47 @@ public class RedisConfig {
         return redisTemplate;
     }
 
-    // 레디스 캐시 설정
+    // 캐시 설정 (L1: 서버 메모리, L2: 레디스)
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory){
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, CacheInvalidationPublisher cacheInvalidationPublisher,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${cache.l1.max-size:10000}") long l1MaxSize,
+                                             @Value("${cache.l1.ttl-seconds:60}") long l1TtlSeconds,
+                                             @Value("${cache.l1.pinned:Broker,KakaoBroker}") String pinnedCacheNames){
         RedisCacheConfiguration redisCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
                 .disableCachingNullValues()
                 .entryTtl(Duration.ofMinutes(5L));
-        return RedisCacheManager.RedisCacheManagerBuilder.fromConnectionFactory(redisConnectionFactory).cacheDefaults(redisCacheConfiguration).build();
-    }
+        RedisCacheManager redisCacheManager = RedisCacheManager.RedisCacheManagerBuilder.fromConnectionFactory(redisConnectionFactory).cacheDefaults(redisCacheConfiguration).build();
+        redisCacheManager.afterPropertiesSet();
 
-    // 레디스 TTL 이벤트 설정
-    @Bean
-    public MessageListenerAdapter messageListenerAdapter(RedisKeyExpiredListener listenerAdapter){
-        return new MessageListenerAdapter(listenerAdapter, "receiveMessage");
+        Set<String> pinned = new HashSet<>();
+        for (String cacheName : pinnedCacheNames.split(",")) {
+            if (!cacheName.isBlank())
+                pinned.add(cacheName.trim());
+        }
+        return new TwoLevelCacheManager(redisCacheManager, cacheInvalidationPublisher, meterRegistry,
+                l1MaxSize, Duration.ofSeconds(l1TtlSeconds), pinned);
     }
+
     @Bean
-    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory, MessageListenerAdapter listenerAdapter){
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory, BlockListIndex blockListIndex, RoutingTableCache routingTableCache,
+                                                                        TwoLevelCacheManager cacheManager){
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-        container.addMessageListener(listenerAdapter, new PatternTopic("__key*__:expired"));
+
+        // 수신 차단 인덱스 무효화
+        container.addMessageListener((message, pattern) -> blockListIndex.onInvalidate(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(BlockListIndex.INVALIDATE_CHANNEL));
+
+        // 라우팅 테이블 무효화
+        container.addMessageListener((message, pattern) -> routingTableCache.onInvalidate(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(RoutingTableCache.INVALIDATE_CHANNEL));
+
+        // L1 캐시 무효화
+        container.addMessageListener((message, pattern) -> cacheManager.onInvalidate(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(TwoLevelCacheManager.INVALIDATE_CHANNEL));
         return container;
     }
 }
@@ -0,0 +1,34 @@
+package com.srt.message.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class SendJobConfig {
+    @Value("${send.job.core-pool-size:4}")
+    private int corePoolSize;
+
+    @Value("${send.job.max-pool-size:8}")
+    private int maxPoolSize;
+
+    @Value("${send.job.queue-capacity:100}")
+    private int queueCapacity;
+
+    // 비동기 발송 작업 전용 스레드 풀 (큐가 가득 차면 요청 거절)
+    @Bean
+    public ThreadPoolTaskExecutor sendJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("send-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+}
@@ -0,0 +1,147 @@
+package com.srt.message.config.cache;
+
+import com.srt.message.service.redis.CacheInvalidationPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * L1 (서버 메모리, Caffeine) + L2 (Redis) 캐시
+ * 조회는 L1 -> L2 -> 원본 순서로, L2 에서 읽은 값은 L1 에 올린다.
+ * 삭제는 두 단계 모두 지우고 다른 서버의 L1 도 지우도록 pub/sub 으로 알린다.
+ */
+public class TwoLevelCache implements Cache {
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1;
+    private final Cache l2;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    private final Counter l1Hit;
+    private final Counter l2Hit;
+    private final Counter miss;
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> l1, Cache l2,
+                         CacheInvalidationPublisher cacheInvalidationPublisher, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+
+        this.l1Hit = counter(meterRegistry, "l1_hit");
+        this.l2Hit = counter(meterRegistry, "l2_hit");
+        this.miss = counter(meterRegistry, "miss");
+        Gauge.builder("rns.cache.l1.size", l1, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("rns.cache.gets")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String l1Key = l1Key(key);
+        Object value = l1.getIfPresent(l1Key);
+        if (value != null) {
+            l1Hit.increment();
+            return new SimpleValueWrapper(value);
+        }
+
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            miss.increment();
+            return wrapper;
+        }
+
+        l2Hit.increment();
+        l1.put(l1Key, wrapper.get());
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value))
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null && wrapper.get() != null)
+            return (T) wrapper.get();
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    // 원본에서 읽은 값을 올리는 경우라 다른 서버에는 알리지 않음 (변경은 evict 로)
+    // L1 에는 넣지 않는다: 원본 값은 영속성 컨텍스트에 붙은 엔티티일 수 있으므로,
+    // L1 은 L2 에서 역직렬화한 (기존 Redis 캐시와 같은) 분리된 객체만 공유한다.
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null)
+            return;
+
+        l2.put(key, value);
+        l1.invalidate(l1Key(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        String l1Key = l1Key(key);
+        l1.invalidate(l1Key);
+        l2.evict(key);
+        cacheInvalidationPublisher.publishAfterCommit(TwoLevelCacheManager.INVALIDATE_CHANNEL,
+                TwoLevelCacheManager.invalidateMessage(name, l1Key), () -> l1.invalidate(l1Key));
+    }
+
+    @Override
+    public void clear() {
+        l1.invalidateAll();
+        l2.clear();
+        cacheInvalidationPublisher.publishAfterCommit(TwoLevelCacheManager.INVALIDATE_CHANNEL,
+                TwoLevelCacheManager.invalidateMessage(name, null), l1::invalidateAll);
+    }
+
+    // 다른 서버에서 지운 경우 (L2 는 이미 지워져 있으므로 L1 만)
+    void invalidateLocal(String l1Key) {
+        if (l1Key == null)
+            l1.invalidateAll();
+        else
+            l1.invalidate(l1Key);
+    }
+
+    // pub/sub 으로 받은 키와 같은 형태로 저장 (캐시 키는 모두 아이디)
+    private static String l1Key(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,94 @@
+package com.srt.message.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.srt.message.service.redis.CacheInvalidationPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * L2 캐시 매니저 (RedisCacheManager) 앞에 캐시별 L1 을 붙이는 캐시 매니저
+ * 일반 캐시의 L1 은 크기 + TTL 로 제한하고, 거의 바뀌지 않는 캐시(중계사)는 명시적으로 지울 때까지 L1 에 고정한다.
+ */
+@Log4j2
+public class TwoLevelCacheManager implements CacheManager {
+    public static final String INVALIDATE_CHANNEL = "cache.invalidate";
+    private static final String SEPARATOR = "|";
+
+    private final CacheManager l2CacheManager;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final long l1MaxSize;
+    private final Duration l1Ttl;
+    private final Set<String> pinnedCacheNames;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager l2CacheManager, CacheInvalidationPublisher cacheInvalidationPublisher,
+                                MeterRegistry meterRegistry, long l1MaxSize, Duration l1Ttl, Set<String> pinnedCacheNames) {
+        this.l2CacheManager = l2CacheManager;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.meterRegistry = meterRegistry;
+        this.l1MaxSize = l1MaxSize;
+        this.l1Ttl = l1Ttl;
+        this.pinnedCacheNames = pinnedCacheNames;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null)
+            return cache;
+
+        return caches.computeIfAbsent(name, n -> {
+            Cache l2 = l2CacheManager.getCache(n);
+            if (l2 == null)
+                return null;
+            return new TwoLevelCache(n, newL1(n), l2, cacheInvalidationPublisher, meterRegistry);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    // 다른 서버의 evict / clear 전파 수신
+    public void onInvalidate(String message) {
+        int separator = message.indexOf(SEPARATOR);
+        if (separator < 0)
+            return;
+
+        TwoLevelCache cache = caches.get(message.substring(0, separator));
+        if (cache == null) // 이 서버에서 쓰지 않은 캐시
+            return;
+
+        String key = message.substring(separator + 1);
+        cache.invalidateLocal(key.isEmpty() ? null : key);
+        log.debug("L1 캐시 무효화 - {}", message);
+    }
+
+    // "캐시이름|키" (키가 비어 있으면 캐시 전체)
+    static String invalidateMessage(String cacheName, String key) {
+        return cacheName + SEPARATOR + (key == null ? "" : key);
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> newL1(String name) {
+        if (pinnedCacheNames.contains(name))
+            return Caffeine.newBuilder().build();
+
+        return Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(l1Ttl)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.srt.message.config.domain;
+
+import com.srt.message.utils.id.SnowflakeIdGenerator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+
+// 결과 테이블용 아이디 생성기 (JPA 저장과 JDBC batch 저장이 같은 생성기를 사용)
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+    public static final String NAME = "snowflake";
+    public static final String STRATEGY = "com.srt.message.config.domain.SnowflakeIdentifierGenerator";
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return SnowflakeIdGenerator.getInstance().nextId();
+    }
+}
@@ -0,0 +1,22 @@
+package com.srt.message.config.page;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// 키셋 페이징 결과 (다음 요청에 nextCursor 를 그대로 넘김, 마지막 페이지면 null)
+@Getter
+public class CursorResult<DTO> {
+    private int size;
+    private boolean next;
+    private Long nextCursor;
+
+    private List<DTO> dtoList;
+
+    public CursorResult(List<DTO> dtoList, int size, Long lastId) {
+        this.dtoList = dtoList;
+        this.size = size;
+        this.next = dtoList.size() == size;
+        this.nextCursor = next ? lastId : null;
+    }
+}
@@ -52,6 +52,9 @@ public enum BaseResponseStatus {
     ALREADY_EXIST_BLOCK(false, 2032, "이미 차단된 번호입니다."),
     NOT_MMS_TYPE(false, 2033, "이미지 타입의 메시지가 아닙니다."),
     UNDELETABLE_SENDER_NUMBER(false, 2034, "삭제할 수 없는 발신번호입니다."),
+    NOT_EXIST_SEND_JOB(false, 2035, "존재하지 않는 발송 작업입니다."),
+    NOT_EXIST_IMAGE(false, 2036, "존재하지 않는 이미지입니다."),
+    INVALID_EXPORT_FORMAT(false, 2037, "지원하지 않는 내보내기 형식입니다."),
 
 
 
@@ -70,13 +73,15 @@ public enum BaseResponseStatus {
     VALIDATED_ERROR(false, 3000, "VALIDATED_ERROR"), // @Valid 예외 처리
     SEND_MESSAGE_ERROR(false, 3001, "메시지를 발송하는 과정 중 오류가 발생했습니다."),
     NOT_RESERVE_MESSAGE(false, 3002, "해당 메시지는 예약된 메시지가 아닙니다."),
+    SEND_JOB_REJECTED(false, 3003, "발송 작업이 많아 요청을 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
 
     /**
      * 4000 : Database, Server 오류
      */
     INTERNAL_SERVER_ERROR(false, 4000, "서버 오류입니다"),
     JSON_PROCESSING_ERROR(false, 4001, "JSON을 처리하는 과정 중 오류가 발생했습니다."),
-    FILE_UPLOAD_ERROR(false, 4002, "파일을 업로드 하는 과정 중에 에러가 발생했습니다.");
+    FILE_UPLOAD_ERROR(false, 4002, "파일을 업로드 하는 과정 중에 에러가 발생했습니다."),
+    IMAGE_STORE_ERROR(false, 4003, "이미지를 저장하는 과정 중에 에러가 발생했습니다.");
     private final boolean isSuccess;
     private final int code;
     private final String message;
@@ -0,0 +1,6 @@
+package com.srt.message.config.status;
+
+// 대기, 발송중, 완료, 일부 발행 미확인, 실패
+public enum SendJobStatus {
+    QUEUED, RUNNING, COMPLETED, PARTIAL, FAILED
+}
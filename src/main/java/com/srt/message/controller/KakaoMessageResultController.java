@@ -1,17 +1,25 @@
 package com.srt.message.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.srt.message.config.page.CursorResult;
 import com.srt.message.config.page.PageResult;
 import com.srt.message.config.response.BaseResponse;
+import com.srt.message.config.status.MessageStatus;
 import com.srt.message.config.type.ButtonType;
 import com.srt.message.config.type.KmsgSearchType;
 import com.srt.message.dto.jwt.JwtInfo;
 import com.srt.message.dto.kakao_message.get.GetKakaoMessageRes;
 import com.srt.message.dto.kakao_message_result.get.GetKakaoMessageResultListRes;
+import com.srt.message.dto.kakao_message_result.get.GetKakaoMessageResultRes;
 import com.srt.message.service.kakao.KakaoMessageResultService;
+import com.srt.message.utils.export.ResultExportFormat;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -53,4 +61,32 @@ public class KakaoMessageResultController {
         return new BaseResponse<>(kakaoMessageResultService.getKakaoMessageResult(messageId));
     }
 
+    @GetMapping("/info/{messageId}/cursor")
+    public BaseResponse<CursorResult<GetKakaoMessageResultRes>> getKakaoMessageResultsByCursor(
+            @PathVariable Long messageId,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "status", required = false) MessageStatus status,
+            @RequestParam(value = "brokerId", required = false) Long brokerId,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            HttpServletRequest request) {
+        return new BaseResponse<>(kakaoMessageResultService.getKakaoMessageResultsByCursor(messageId, JwtInfo.getMemberId(request), cursor, status, brokerId, size));
+    }
+
+    @GetMapping("/info/{messageId}/export")
+    public ResponseEntity<StreamingResponseBody> exportKakaoMessageResults(
+            @PathVariable Long messageId,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "status", required = false) MessageStatus status,
+            @RequestParam(value = "brokerId", required = false) Long brokerId,
+            HttpServletRequest request) {
+        ResultExportFormat exportFormat = ResultExportFormat.of(format);
+        kakaoMessageResultService.checkKakaoMessageOwner(messageId, JwtInfo.getMemberId(request));
+
+        StreamingResponseBody body = outputStream ->
+                kakaoMessageResultService.exportKakaoMessageResults(messageId, status, brokerId, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportFormat.fileName("kakao-message-result", messageId) + "\"")
+                .body(body);
+    }
 }
@@ -1,6 +1,8 @@
 package com.srt.message.controller;
 
 import com.srt.message.config.response.BaseResponse;
+import com.srt.message.dto.message.get.GetSendJobRes;
+import com.srt.message.dto.message.post.PostSendJobRes;
 import com.srt.message.dto.message_image.get.GetMessageImageRes;
 import com.srt.message.service.kakao.KakaoMessageService;
 import com.srt.message.dto.jwt.JwtInfo;
@@ -8,6 +10,7 @@ import com.srt.message.dto.kakao_message.post.PostKakaoMessageReq;
 import com.srt.message.dto.message.post.PostSendMessageReq;
 import com.srt.message.service.message.MessageImageService;
 import com.srt.message.service.message.MessageService;
+import com.srt.message.service.message.SendJobService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
@@ -16,6 +19,8 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 @Log4j2
 @RestController
@@ -26,6 +31,8 @@ public class MessageController {
 
     private final MessageImageService messageImageService;
 
+    private final SendJobService sendJobService;
+
     private final KakaoMessageService kakaoMessageService;
 
     // 중계사에 문자 전송
@@ -47,6 +54,41 @@ public class MessageController {
         return new BaseResponse<>("메시지 갯수: " + postSendMessageReq.getCount() + ", 메시지 발송 걸린 시간: " + Double.parseDouble(response) / 1000 + "초");
     }
 
+    // 중계사에 문자 비동기 전송
+    @ApiOperation(
+            value = "중계사 문자 비동기 전송",
+            notes = "메시지 저장과 포인트 결제까지만 처리하고 발송 작업 아이디를 바로 반환한다. 예약 발송인 경우 작업 아이디는 없다."
+    )
+    @ApiResponses({
+            @ApiResponse(code = 1000, message = "요청에 성공하였습니다."),
+            @ApiResponse(code = 3003, message = "발송 작업이 많아 요청을 처리할 수 없습니다. 잠시 후 다시 시도해주세요.")
+    })
+    @PostMapping("/send/sms/async")
+    public BaseResponse<PostSendJobRes> sendMessageAsync(@RequestBody PostSendMessageReq postSendMessageReq, HttpServletRequest request) {
+        PostSendJobRes postSendJobRes = messageService.sendMessageToBrokerAsync(postSendMessageReq, JwtInfo.getMemberId(request));
+
+        log.info("중계사 문자 비동기 전송 - memberId: {}, jobId: {}", JwtInfo.getMemberId(request), postSendJobRes.getJobId());
+
+        return new BaseResponse<>(postSendJobRes);
+    }
+
+    // 비동기 발송 작업 진행 상황 조회
+    @ApiOperation(
+            value = "문자 발송 작업 조회",
+            notes = "비동기 발송 작업의 상태와 Redis 저장 / 중계사 발행 건수를 반환한다."
+    )
+    @ApiResponses({
+            @ApiResponse(code = 1000, message = "요청에 성공하였습니다."),
+            @ApiResponse(code = 2016, message = "해당 사용자의 데이터가 아닙니다."),
+            @ApiResponse(code = 2035, message = "존재하지 않는 발송 작업입니다.")
+    })
+    @GetMapping("/send/job/{jobId}")
+    public BaseResponse<GetSendJobRes> getSendJob(@PathVariable("jobId") String jobId, HttpServletRequest request) {
+        GetSendJobRes getSendJobRes = sendJobService.getSendJob(jobId, JwtInfo.getMemberId(request));
+
+        return new BaseResponse<>(getSendJobRes);
+    }
+
     @ApiOperation(
             value = "중계사 알림톡 전송",
             notes = "설정된 중계사 비율 값을 참조하여서 각 중계사에 알림톡을 발송한다."
@@ -80,4 +122,19 @@ public class MessageController {
 
         return new BaseResponse<>(getMessageImageRes);
     }
+
+    @ApiOperation(
+            value = "MMS 메시지 이미지 원본 조회",
+            notes = "이미지 저장소의 이미지를 그대로 전송한다."
+    )
+    @ApiResponses({
+            @ApiResponse(code = 2036, message = "존재하지 않는 이미지입니다.")
+    })
+    @GetMapping("/images/{messageId}/{hash}")
+    public void getMMSImage(@PathVariable("messageId") long messageId, @PathVariable("hash") String hash,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        messageImageService.streamMMSImage(messageId, hash, request, response);
+
+        log.info("MMS 이미지 원본 조회 - memberId: {}, messageId: {}, hash: {}", JwtInfo.getMemberId(request), messageId, hash);
+    }
 }
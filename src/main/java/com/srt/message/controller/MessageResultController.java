@@ -1,18 +1,28 @@
 package com.srt.message.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.srt.message.config.page.CursorResult;
 import com.srt.message.config.page.PageResult;
 import com.srt.message.config.response.BaseResponse;
+import com.srt.message.config.status.MessageStatus;
 import com.srt.message.dto.jwt.JwtInfo;
 import com.srt.message.dto.message.get.GetMessageRes;
 import com.srt.message.dto.message_result.get.GetListMessageResultRes;
+import com.srt.message.dto.message_result.get.GetMessageResultRes;
+import com.srt.message.dto.message_result.get.GetMessageResultSummaryRes;
 import com.srt.message.service.message.MessageResultService;
+import com.srt.message.service.message.MessageResultSummaryService;
+import com.srt.message.utils.export.ResultExportFormat;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -22,6 +32,7 @@ import javax.servlet.http.HttpServletRequest;
 @RequestMapping("/message/result")
 public class MessageResultController {
     private final MessageResultService messageResultService;
+    private final MessageResultSummaryService messageResultSummaryService;
 
     @ApiOperation(
             value = "발송된 메시지 조회",
@@ -55,6 +66,91 @@ public class MessageResultController {
         return new BaseResponse<>(messageResultRes);
     }
 
+    @ApiOperation(
+            value = "메시지 처리 결과 집계 조회",
+            notes = "메시지 처리 결과의 상태별/중계사별 건수와 결제/환불 포인트를 조회한다. 발송 중이면 레디스 집계, " +
+                    "발송이 끝났으면 저장된 집계를 사용한다."
+    )
+    @ApiResponses({
+            @ApiResponse(code = 1000, message = "요청에 성공하였습니다."),
+            @ApiResponse(code = 2016, message = "해당 사용자의 데이터가 아닙니다."),
+            @ApiResponse(code = 2023, message = "존재하는 메시지가 아닙니다.")
+    })
+    @GetMapping("/info/{messageId}/summary")
+    public BaseResponse<GetMessageResultSummaryRes> getMessageResultSummary(@PathVariable("messageId") long messageId, HttpServletRequest request) {
+        GetMessageResultSummaryRes summaryRes = messageResultSummaryService.getSummary(messageId, JwtInfo.getMemberId(request));
+        log.info("메시지 처리 결과 집계 조회 - memberId: {}, messageId: {}", JwtInfo.getMemberId(request), messageId);
+
+        return new BaseResponse<>(summaryRes);
+    }
+
+    @ApiOperation(
+            value = "메시지 처리 결과 목록 페이징 조회",
+            notes = "메시지 처리 결과를 수신자별로 페이징 조회한다."
+    )
+    @ApiResponses({
+            @ApiResponse(code = 1000, message = "요청에 성공하였습니다."),
+            @ApiResponse(code = 2016, message = "해당 사용자의 데이터가 아닙니다."),
+            @ApiResponse(code = 2023, message = "존재하는 메시지가 아닙니다.")
+    })
+    @GetMapping("/info/{messageId}/list/{page}")
+    public BaseResponse<PageResult<GetMessageResultRes>> getMessageResultsByPaging(@PathVariable("messageId") long messageId
+            , @PathVariable("page") int page, HttpServletRequest request) {
+        PageResult<GetMessageResultRes> messageResultRes = messageResultService.getMessageResults(messageId, JwtInfo.getMemberId(request), page);
+        log.info("메시지 처리 결과 목록 조회 - memberId: {}, messageId: {}, page: {}", JwtInfo.getMemberId(request), messageId, page);
+
+        return new BaseResponse<>(messageResultRes);
+    }
+
+    @ApiOperation(
+            value = "메시지 처리 결과 키셋 조회",
+            notes = "메시지 처리 결과를 최신순으로 size건씩 조회한다. 다음 페이지는 응답의 nextCursor를 cursor로 넘긴다. " +
+                    "상태(status), 중계사(brokerId)로 거를 수 있다."
+    )
+    @ApiResponses({
+            @ApiResponse(code = 1000, message = "요청에 성공하였습니다."),
+            @ApiResponse(code = 2016, message = "해당 사용자의 데이터가 아닙니다."),
+            @ApiResponse(code = 2023, message = "존재하는 메시지가 아닙니다.")
+    })
+    @GetMapping("/info/{messageId}/cursor")
+    public BaseResponse<CursorResult<GetMessageResultRes>> getMessageResultsByCursor(@PathVariable("messageId") long messageId
+            , @RequestParam(value = "cursor", required = false) Long cursor
+            , @RequestParam(value = "status", required = false) MessageStatus status
+            , @RequestParam(value = "brokerId", required = false) Long brokerId
+            , @RequestParam(value = "size", defaultValue = "50") int size, HttpServletRequest request) {
+        CursorResult<GetMessageResultRes> messageResultRes = messageResultService.getMessageResultsByCursor(messageId, JwtInfo.getMemberId(request), cursor, status, brokerId, size);
+        log.info("메시지 처리 결과 키셋 조회 - memberId: {}, messageId: {}, cursor: {}", JwtInfo.getMemberId(request), messageId, cursor);
+
+        return new BaseResponse<>(messageResultRes);
+    }
+
+    @ApiOperation(
+            value = "메시지 처리 결과 내보내기",
+            notes = "메시지 처리 결과 전체를 CSV 또는 NDJSON(format=csv|ndjson)으로 내려받는다. 결과를 모으지 않고 " +
+                    "DB에서 읽는 대로 스트리밍한다."
+    )
+    @ApiResponses({
+            @ApiResponse(code = 2016, message = "해당 사용자의 데이터가 아닙니다."),
+            @ApiResponse(code = 2023, message = "존재하는 메시지가 아닙니다."),
+            @ApiResponse(code = 2037, message = "지원하지 않는 내보내기 형식입니다.")
+    })
+    @GetMapping("/info/{messageId}/export")
+    public ResponseEntity<StreamingResponseBody> exportMessageResults(@PathVariable("messageId") long messageId
+            , @RequestParam(value = "format", defaultValue = "csv") String format
+            , @RequestParam(value = "status", required = false) MessageStatus status
+            , @RequestParam(value = "brokerId", required = false) Long brokerId, HttpServletRequest request) {
+        ResultExportFormat exportFormat = ResultExportFormat.of(format);
+        messageResultService.checkMessageOwner(messageId, JwtInfo.getMemberId(request));
+        log.info("메시지 처리 결과 내보내기 - memberId: {}, messageId: {}, format: {}", JwtInfo.getMemberId(request), messageId, exportFormat);
+
+        StreamingResponseBody body = outputStream ->
+                messageResultService.exportMessageResults(messageId, status, brokerId, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportFormat.fileName("message-result", messageId) + "\"")
+                .body(body);
+    }
+
     @ApiOperation(
             value = "메시지 유형별 필터 조회",
             notes = "발송한 메시지들을 사용자가 선택한 유형으로 필터 조회하는 기능이다. (SMS / LMS / MMS)"
@@ -4,8 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rabbitmq.client.Channel;
 import com.srt.message.dto.dlx.ReceiveKakaoMessageDto;
 import com.srt.message.dto.dlx.ReceiveMessageDto;
+import com.srt.message.dto.message.BrokerSendEnvelopeDto;
+import com.srt.message.dto.message_result.MessageResultDto;
 import com.srt.message.service.kakao.KakaoBrokerService;
 import com.srt.message.service.message.BrokerService;
+import com.srt.message.service.rabbit.SmsEnvelopeCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.amqp.core.Message;
@@ -27,6 +30,8 @@ public class DlxProcessingErrorHandler {
     private final BrokerService brokerService;
     private final KakaoBrokerService kakaoBrokerService;
 
+    private final SmsEnvelopeCodec smsEnvelopeCodec;
+
     private final RabbitTemplate rabbitTemplate;
 
     private final ObjectMapper objectMapper;
@@ -37,6 +42,10 @@ public class DlxProcessingErrorHandler {
 
     // 일반 메시지 DLX
     public boolean handleErrorProcessingMessage(Message message, Channel channel, String consumeBrokerName) {
+        // 여러 수신자를 묶은 봉투 메시지
+        if (smsEnvelopeCodec.isEnvelope(message))
+            return handleErrorProcessingEnvelope(message, channel, consumeBrokerName);
+
         RabbitmqHeader rabbitmqHeader = new RabbitmqHeader(message.getMessageProperties().getHeaders());
 
         try {
@@ -73,6 +82,48 @@ public class DlxProcessingErrorHandler {
         return false;
     }
 
+    // 봉투 메시지 DLX (재시도 단계는 일반 메시지와 동일, 실패 처리만 수신자별로)
+    public boolean handleErrorProcessingEnvelope(Message message, Channel channel, String consumeBrokerName) {
+        RabbitmqHeader rabbitmqHeader = new RabbitmqHeader(message.getMessageProperties().getHeaders());
+
+        try {
+            BrokerSendEnvelopeDto envelope = smsEnvelopeCodec.decode(message);
+            String brokerName = getMessageBrokerName(envelope.getBrokerId());
+
+            // 모든 중계사를 다 돌았을 경우, 봉투 안의 수신자 모두 실패로 저장하기
+            if (rabbitmqHeader.getFailedRetryCount() >= MESSAGE_BROKER_DEAD_COUNT) {
+                channel.basicAck(message.getMessageProperties().getDeliveryTag(), false);
+                for (MessageResultDto messageResultDto : envelope.toMessageResultDtos())
+                    brokerService.processMessageFailure(brokerName, messageResultDto);
+                printDeadLog(brokerName, message, rabbitmqHeader.getFailedRetryCount());
+
+                // 다른 중계사의 Work Queue로 보내기 (봉투를 지원하지 않는 중계사면 수신자별로 분리)
+            } else if (rabbitmqHeader.getFailedRetryCount() >= REQUEUE_COUNT) {
+                channel.basicAck(message.getMessageProperties().getDeliveryTag(), false);
+                String routingKey = "sms.work." + getMessageReplaceBrokerName(consumeBrokerName);
+                if (smsEnvelopeCodec.supports(routingKey)) {
+                    rabbitTemplate.convertAndSend(SMS_EXCHANGE_NAME, routingKey, message);
+                } else {
+                    for (Message single : smsEnvelopeCodec.split(message, envelope))
+                        rabbitTemplate.convertAndSend(SMS_EXCHANGE_NAME, routingKey, single);
+                }
+                printResendLog(brokerName, consumeBrokerName, message, rabbitmqHeader.getFailedRetryCount());
+            }
+
+            // 자신의 Work Queue로 보내기
+            else {
+                channel.basicReject(message.getMessageProperties().getDeliveryTag(), false);
+                printRequeueLog(brokerName, message, rabbitmqHeader.getFailedRetryCount());
+            }
+            return true;
+
+        } catch (IOException e) {
+            log.warn("[HANDLER-FAILED] Error at " + new Date() + " on retry " + rabbitmqHeader.getFailedRetryCount()
+                    + " for envelope " + message);
+        }
+        return false;
+    }
+
     // 카카오 알림톡 DLX
     public boolean handleErrorProcessingKakaoMessage(Message message, Channel channel, String consumeBrokerName) {
         RabbitmqHeader rabbitmqHeader = new RabbitmqHeader(message.getMessageProperties().getHeaders());
@@ -113,7 +164,10 @@ public class DlxProcessingErrorHandler {
 
     // 메시지 중계사 이름 받아오기
     public String getMessageBrokerName(ReceiveMessageDto receiveMessageDto) {
-        long brokerId = receiveMessageDto.getMessageResultDto().getBrokerId();
+        return getMessageBrokerName(receiveMessageDto.getMessageResultDto().getBrokerId());
+    }
+
+    public String getMessageBrokerName(long brokerId) {
         String brokerName = (brokerId == 1) ? "kt" : (brokerId == 2) ? "skt" : "lg";
 
         return brokerName;
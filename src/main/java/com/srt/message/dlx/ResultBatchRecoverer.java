@@ -0,0 +1,85 @@
+package com.srt.message.dlx;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srt.message.dto.message_result.KakaoMessageResultDto;
+import com.srt.message.dto.message_result.MessageResultDto;
+import com.srt.message.listener.KakaoBrokerListener;
+import com.srt.message.listener.SmsBrokerListener;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.srt.message.utils.rabbitmq.RabbitKakaoUtil.*;
+import static com.srt.message.utils.rabbitmq.RabbitSMSUtil.*;
+
+/**
+ * 결과 수신 batch 가 재시도 후에도 저장되지 않을 때 (RabbitConfig.batchContainerFactory)
+ * 결과 하나씩 다시 저장해서 잘못된 결과 하나나 일부 결과만의 DB 오류가 batch 전체를 막지 않게 하고,
+ * 하나씩도 저장되지 않는 결과는 보관 큐 (q.result.parking) 로 옮긴 뒤 ack 한다.
+ * 보관 큐로도 보내지 못하면 (RabbitMQ 장애) 예외를 던져 batch 를 다시 큐에 넣는다.
+ */
+@Log4j2
+@Component
+public class ResultBatchRecoverer implements MessageBatchRecoverer {
+    public static final String PARKING_QUEUE_NAME = "q.result.parking";
+
+    private final ObjectMapper objectMapper;
+    private final MessageRecoverer parkingRecoverer;
+
+    // 수신 큐 -> 결과 하나 저장 (리스너를 거치므로 결과마다 트랜잭션)
+    private final Map<String, Consumer<Message>> handlers = new HashMap<>();
+
+    public ResultBatchRecoverer(ObjectMapper objectMapper, RabbitTemplate rabbitTemplate,
+                                @Lazy SmsBrokerListener smsBrokerListener, @Lazy KakaoBrokerListener kakaoBrokerListener) {
+        this.objectMapper = objectMapper;
+        this.parkingRecoverer = new RepublishMessageRecoverer(rabbitTemplate, "", PARKING_QUEUE_NAME);
+
+        handlers.put(KT_RECEIVE_QUEUE_NAME, message -> smsBrokerListener.receiveKTMessage(single(message, MessageResultDto.class)));
+        handlers.put(SKT_RECEIVE_QUEUE_NAME, message -> smsBrokerListener.receiveSKTMessage(single(message, MessageResultDto.class)));
+        handlers.put(LG_RECEIVE_QUEUE_NAME, message -> smsBrokerListener.receiveLGMessage(single(message, MessageResultDto.class)));
+        handlers.put(CNS_RECEIVE_QUEUE_NAME, message -> kakaoBrokerListener.receiveCNSMessage(single(message, KakaoMessageResultDto.class)));
+        handlers.put(KE_RECEIVE_QUEUE_NAME, message -> kakaoBrokerListener.receiveKEMessage(single(message, KakaoMessageResultDto.class)));
+    }
+
+    @Override
+    public void recover(List<Message> messages, Throwable cause) {
+        log.warn("결과 batch 저장 실패, 하나씩 다시 저장 - {}건", messages.size(), cause);
+
+        int parked = 0;
+        for (Message message : messages) {
+            String queue = message.getMessageProperties().getConsumerQueue();
+            try {
+                Consumer<Message> handler = handlers.get(queue);
+                if (handler == null)
+                    throw new IllegalStateException("결과 수신 큐가 아닙니다: " + queue);
+                handler.accept(message);
+            } catch (RuntimeException e) {
+                parkingRecoverer.recover(message, e);
+                parked++;
+            }
+        }
+
+        if (parked > 0)
+            log.error("결과 {}건을 보관 큐로 옮겼습니다 - queue: {}", parked, PARKING_QUEUE_NAME);
+    }
+
+    private <T> List<T> single(Message message, Class<T> type) {
+        try {
+            return Collections.singletonList(objectMapper.readValue(message.getBody(), type));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("결과 메시지를 읽을 수 없습니다", e);
+        }
+    }
+}
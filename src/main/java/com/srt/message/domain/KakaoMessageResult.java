@@ -1,11 +1,13 @@
 package com.srt.message.domain;
 
 import com.srt.message.config.domain.BaseTimeEntity;
+import com.srt.message.config.domain.SnowflakeIdentifierGenerator;
 import com.srt.message.config.status.MessageStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 
@@ -23,9 +25,12 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Getter
 @Entity
+@Table(indexes = @Index(name = "idx_kakao_message_result_kakao_message_id_id", columnList = "kakao_message_id, id")) // 결과 목록 키셋 조회
 public class KakaoMessageResult extends BaseTimeEntity {
+    // IDENTITY 는 insert batch 를 막으므로 시간 순 아이디를 미리 발급
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = SnowflakeIdentifierGenerator.NAME)
+    @GenericGenerator(name = SnowflakeIdentifierGenerator.NAME, strategy = SnowflakeIdentifierGenerator.STRATEGY)
     private long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
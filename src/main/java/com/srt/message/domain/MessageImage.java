@@ -21,5 +21,10 @@ public class MessageImage {
     @JoinColumn(name = "message_id")
     private Message message;
 
+    // 이전 방식으로 저장된 이미지 원본 (신규 이미지는 ImageStore에 저장)
     private String data;
+
+    // ImageStore 내용 해시 (SHA-256)
+    @Column(length = 64)
+    private String hash;
 }
@@ -0,0 +1,37 @@
+package com.srt.message.domain;
+
+import com.srt.message.config.domain.BaseTimeEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+// 발송이 끝난 메시지의 처리 결과 집계 (메시지당 한 행)
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Entity
+public class MessageResultSummary extends BaseTimeEntity {
+    @Id
+    @Column(name = "message_id")
+    private long messageId;
+
+    private long totalCount;
+
+    private long pendingCount;
+    private long resendCount;
+    private long successCount;
+    private long failCount;
+
+    private long ktCount;
+    private long sktCount;
+    private long lgCount;
+
+    private long payPoint;
+    private long refundPoint;
+}
@@ -0,0 +1,159 @@
+package com.srt.message.domain.redis;
+
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.config.type.MessageType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * {채널:아이디}:status 해시에 저장하는 수신자별 상태 (JSON 대신 짧은 문자열)
+ * 형식 : 상태코드:중계사아이디:홉:연락처아이디[:홉중계사]
+ * 예    : P:1:0:1234 (대기), R:1:2:1234:kt (두 번째 중계사 kt 로 재전송)
+ *
+ * 홉 : 0 없음, 1 재시도, 2 첫 번째 재전송, 3 두 번째 재전송 (+10 이면 중계사 오류)
+ * 설명(description)은 저장하지 않고 홉과 홉 중계사로 읽을 때 만든다.
+ * 상태 전이는 scripts/status_transition.lua 가 같은 형식으로 기록한다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PackedStatus {
+    public static final int HOP_NONE = 0;
+    public static final int HOP_BROKER_ERROR = 10;
+
+    private static final char SEPARATOR = ':';
+
+    private final MessageStatus messageStatus;
+
+    private final long brokerId;
+
+    private final int hop;
+
+    private final long contactId;
+
+    // 홉을 처리한 중계사 이름 (홉이 없으면 null)
+    private final String hopBrokerName;
+
+    public static PackedStatus pending(long brokerId, long contactId) {
+        return new PackedStatus(MessageStatus.PENDING, brokerId, HOP_NONE, contactId, null);
+    }
+
+    // JSON 이 아닌 압축 형식인지 (기존 JSON 값과 함께 읽기 위함)
+    public static boolean isPacked(String value) {
+        return value != null && !value.isEmpty() && value.charAt(0) != '{';
+    }
+
+    public String encode() {
+        StringBuilder sb = new StringBuilder(24)
+                .append(toCode(messageStatus)).append(SEPARATOR)
+                .append(brokerId).append(SEPARATOR)
+                .append(hop).append(SEPARATOR)
+                .append(contactId);
+        if (hopBrokerName != null)
+            sb.append(SEPARATOR).append(hopBrokerName);
+        return sb.toString();
+    }
+
+    public static PackedStatus decode(String value) {
+        int first = value.indexOf(SEPARATOR);
+        int second = value.indexOf(SEPARATOR, first + 1);
+        int third = value.indexOf(SEPARATOR, second + 1);
+        int fourth = value.indexOf(SEPARATOR, third + 1);
+        if (first != 1 || second < 0 || third < 0)
+            throw new IllegalArgumentException("잘못된 상태 값입니다: " + value);
+
+        return new PackedStatus(
+                fromCode(value.charAt(0)),
+                Long.parseLong(value.substring(first + 1, second)),
+                Integer.parseInt(value.substring(second + 1, third)),
+                Long.parseLong(fourth < 0 ? value.substring(third + 1) : value.substring(third + 1, fourth)),
+                fourth < 0 ? null : value.substring(fourth + 1));
+    }
+
+    public boolean isBrokerError() {
+        return hop >= HOP_BROKER_ERROR;
+    }
+
+    // 문자 상태 (설명은 BrokerCacheService 의 전이 규칙과 동일하게 생성)
+    public RMessageResult toRMessageResult(String id, long messageId, MessageType messageType) {
+        RMessageResult rMessageResult = RMessageResult.builder()
+                .id(id)
+                .messageId(messageId)
+                .contactId(contactId)
+                .brokerId(brokerId)
+                .messageStatus(messageStatus)
+                .build();
+
+        switch (hop % HOP_BROKER_ERROR) {
+            case 1:
+                rMessageResult.requeueDescription(hopBrokerName);
+                break;
+            case 2:
+                rMessageResult.resendOneDescription(hopBrokerName);
+                break;
+            case 3:
+                rMessageResult.resendTwoDescription(hopBrokerName);
+                break;
+        }
+
+        if (isBrokerError()) {
+            int refundPoint = messageType == MessageType.SMS ? 1 : messageType == MessageType.LMS ? 3 : 6;
+            rMessageResult.addDescription("중계사 오류");
+            rMessageResult.addDescription(refundPoint + " 문자당근 환불");
+        }
+        return rMessageResult;
+    }
+
+    // 알림톡 상태 (설명은 KakaoBrokerCacheService 의 전이 규칙과 동일하게 생성)
+    public RKakaoMessageResult toRKakaoMessageResult(String id, long kakaoMessageId) {
+        RKakaoMessageResult rKakaoMessageResult = RKakaoMessageResult.builder()
+                .id(id)
+                .kakaoMessageId(kakaoMessageId)
+                .contactId(contactId)
+                .kakaoBrokerId(brokerId)
+                .messageStatus(messageStatus)
+                .build();
+
+        switch (hop % HOP_BROKER_ERROR) {
+            case 1:
+                rKakaoMessageResult.requeueDescription(hopBrokerName);
+                break;
+            case 2:
+                rKakaoMessageResult.resendOneDescription(hopBrokerName);
+                break;
+        }
+
+        if (isBrokerError()) {
+            rKakaoMessageResult.addDescription("중계사 오류");
+            rKakaoMessageResult.addDescription("1 알림톡 당근 환불");
+        }
+        return rKakaoMessageResult;
+    }
+
+    // 스크립트와 같은 상태 코드
+    public static char toCode(MessageStatus messageStatus) {
+        switch (messageStatus) {
+            case FAIL:
+                return 'F';
+            case RESEND:
+                return 'R';
+            case SUCCESS:
+                return 'S';
+            default:
+                return 'P';
+        }
+    }
+
+    public static MessageStatus fromCode(char code) {
+        switch (code) {
+            case 'F':
+                return MessageStatus.FAIL;
+            case 'R':
+                return MessageStatus.RESEND;
+            case 'S':
+                return MessageStatus.SUCCESS;
+            default:
+                return MessageStatus.PENDING;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.srt.message.domain.redis;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 발송 (캠페인) 단위 Redis 키 스키마
+ * v2 형식 : {채널:메시지아이디}:종류  예) {sms:12}:status, {kakao:12}:count
+ *   문자 / 알림톡 메시지 아이디는 따로 증가하므로 채널로 구분한다. (v1 의 message.status.<id> 는 아이디가 같으면 서로 덮어씀)
+ *   중괄호 안 (hash tag) 이 같은 키는 클러스터에서 같은 슬롯에 있으므로 한 발송의 여러 키를 쓰는 스크립트 (상태 전이) 도 그대로 동작한다.
+ * v1 형식 : message.<종류>.<메시지아이디> (RedisKeyMigrator 가 v2 로 옮김)
+ */
+public final class RedisKeySchema {
+    public static final int VERSION = 2;
+    public static final String VERSION_KEY = "rns:schema:version";
+
+    public static final String SMS = "sms";
+    public static final String KAKAO = "kakao";
+
+    public static final String STATUS = "status";
+    public static final String COUNT = "count"; // 상태별 / 중계사별 수신자 수
+    public static final String CONTACT = "contact";
+    public static final String WAL = "wal"; // 수신자 이벤트 로그
+
+    // v1 키 (message.status.12 -> 종류, 아이디)
+    public static final String LEGACY_PATTERN = "message.*";
+    private static final Pattern LEGACY_KEY = Pattern.compile("^message\\.(" + STATUS + "|" + COUNT + "|" + CONTACT + "|" + WAL + ")\\.(\\d+)$");
+
+    private RedisKeySchema() {
+    }
+
+    public static Campaign sms(long messageId) {
+        return new Campaign(SMS, messageId);
+    }
+
+    public static Campaign kakao(long kakaoMessageId) {
+        return new Campaign(KAKAO, kakaoMessageId);
+    }
+
+    // "채널.메시지아이디" (복구 기한의 member)
+    public static Campaign campaign(String campaign) {
+        int separator = campaign.indexOf('.');
+        String channel = campaign.substring(0, separator);
+        if (!SMS.equals(channel) && !KAKAO.equals(channel))
+            throw new IllegalArgumentException("알 수 없는 채널입니다: " + campaign);
+        return new Campaign(channel, Long.parseLong(campaign.substring(separator + 1)));
+    }
+
+    // v1 키를 [종류, 아이디] 로 (v1 키가 아니면 null)
+    public static String[] parseLegacy(String key) {
+        Matcher matcher = LEGACY_KEY.matcher(key);
+        if (!matcher.matches())
+            return null;
+        return new String[]{matcher.group(1), matcher.group(2)};
+    }
+
+    // 발송 하나의 키
+    public static final class Campaign {
+        private final String channel;
+        private final long messageId;
+        private final String tag;
+
+        private Campaign(String channel, long messageId) {
+            this.channel = channel;
+            this.messageId = messageId;
+            this.tag = "{" + channel + ":" + messageId + "}:";
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public long getMessageId() {
+            return messageId;
+        }
+
+        public boolean isKakao() {
+            return KAKAO.equals(channel);
+        }
+
+        // 복구 기한 (recovery.deadline) 의 member
+        public String getCampaign() {
+            return channel + "." + messageId;
+        }
+
+        public String key(String type) {
+            return tag + type;
+        }
+
+        public String status() {
+            return key(STATUS);
+        }
+
+        public String count() {
+            return key(COUNT);
+        }
+
+        public String contact() {
+            return key(CONTACT);
+        }
+
+        public String wal() {
+            return key(WAL);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.srt.message.domain.redis;
+
+import com.srt.message.utils.collection.LongHashSet;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * {채널:아이디}:wal 스트림 (발송 중인 메시지의 수신자 이벤트 로그)
+ * 엔트리 필드 : t(종류), o(윈도우 시작 위치), n(건수), c(연락처 아이디 목록), r(수신자 아이디 목록)
+ *   E : 윈도우 저장 (수신자 아이디 = o + 순번 + 1, 연락처 아이디는 쉼표 구분)
+ *   P : 윈도우 발행
+ *   A : 모든 발행 confirm
+ *   R : 처리 결과 MySQL 저장 커밋 (수신자 아이디는 쉼표 구분)
+ * 순서대로 다시 읽어서 (replay) 아직 결과가 저장되지 않은 수신자와 어디까지 진행됐는지를 복원한다.
+ */
+public class SendWalLog {
+    public static final String TYPE = "t";
+    public static final String OFFSET = "o";
+    public static final String COUNT = "n";
+    public static final String CONTACTS = "c";
+    public static final String RESULTS = "r";
+
+    public static final String ENQUEUED = "E";
+    public static final String PUBLISHED = "P";
+    public static final String ACKED = "A";
+    public static final String RESULT = "R";
+
+    private static final String SEPARATOR = ",";
+
+    // 복구 시점에 수신자가 어디까지 진행됐는지
+    public enum Stage {
+        ENQUEUED, // 발행 전 (발송 중 서버 중단)
+        PUBLISHED, // 발행했지만 confirm 되지 않음
+        ACKED // 브로커는 받았지만 처리 결과가 오지 않음
+    }
+
+    @FunctionalInterface
+    public interface PendingConsumer {
+        void accept(long rMessageResultId, long contactId, Stage stage);
+    }
+
+    private final Map<Integer, long[]> windows = new TreeMap<>(); // 윈도우 시작 위치 -> 연락처 아이디
+    private final Set<Integer> publishedOffsets = new HashSet<>();
+    private final LongHashSet persisted = new LongHashSet();
+    private boolean acked;
+    private int recipientCount;
+
+    // 윈도우 저장 이벤트
+    public static Map<String, String> enqueued(int offset, long[] contactIds) {
+        StringBuilder contacts = new StringBuilder(contactIds.length * 8);
+        for (int i = 0; i < contactIds.length; i++) {
+            if (i > 0)
+                contacts.append(SEPARATOR);
+            contacts.append(contactIds[i]);
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        fields.put(TYPE, ENQUEUED);
+        fields.put(OFFSET, String.valueOf(offset));
+        fields.put(CONTACTS, contacts.toString());
+        return fields;
+    }
+
+    // 윈도우 발행 이벤트
+    public static Map<String, String> published(int offset, int count) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(TYPE, PUBLISHED);
+        fields.put(OFFSET, String.valueOf(offset));
+        fields.put(COUNT, String.valueOf(count));
+        return fields;
+    }
+
+    // 모든 발행 confirm 이벤트
+    public static Map<String, String> acked() {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(TYPE, ACKED);
+        return fields;
+    }
+
+    // 처리 결과 저장 이벤트
+    public static Map<String, String> results(Iterable<String> rMessageResultIds) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(TYPE, RESULT);
+        fields.put(RESULTS, String.join(SEPARATOR, rMessageResultIds));
+        return fields;
+    }
+
+    // 스트림 엔트리를 순서대로 반영
+    public void apply(Map<String, String> fields) {
+        String type = fields.get(TYPE);
+        if (ENQUEUED.equals(type)) {
+            String contacts = fields.get(CONTACTS);
+            long[] contactIds = contacts.isEmpty() ? new long[0] : parse(contacts);
+            if (windows.put(Integer.parseInt(fields.get(OFFSET)), contactIds) == null)
+                recipientCount += contactIds.length;
+        } else if (PUBLISHED.equals(type)) {
+            publishedOffsets.add(Integer.parseInt(fields.get(OFFSET)));
+        } else if (ACKED.equals(type)) {
+            acked = true;
+        } else if (RESULT.equals(type)) {
+            String results = fields.get(RESULTS);
+            if (!results.isEmpty()) {
+                for (long rMessageResultId : parse(results))
+                    persisted.add(rMessageResultId);
+            }
+        }
+    }
+
+    // 결과 저장 이벤트가 없는 수신자
+    public void forEachPending(PendingConsumer consumer) {
+        for (Map.Entry<Integer, long[]> window : windows.entrySet()) {
+            int offset = window.getKey();
+            Stage stage = acked ? Stage.ACKED : publishedOffsets.contains(offset) ? Stage.PUBLISHED : Stage.ENQUEUED;
+
+            long[] contactIds = window.getValue();
+            for (int i = 0; i < contactIds.length; i++) {
+                long rMessageResultId = offset + i + 1;
+                if (!persisted.contains(rMessageResultId))
+                    consumer.accept(rMessageResultId, contactIds[i], stage);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return windows.isEmpty();
+    }
+
+    public int getRecipientCount() {
+        return recipientCount;
+    }
+
+    public boolean isAcked() {
+        return acked;
+    }
+
+    private static long[] parse(String values) {
+        String[] tokens = values.split(SEPARATOR);
+        long[] parsed = new long[tokens.length];
+        for (int i = 0; i < tokens.length; i++)
+            parsed[i] = Long.parseLong(tokens[i]);
+        return parsed;
+    }
+}
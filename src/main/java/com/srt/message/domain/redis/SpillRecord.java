@@ -0,0 +1,112 @@
+package com.srt.message.domain.redis;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Redis 가 느리거나 응답하지 않아 로컬 저널 (SpillJournal) 에 대신 남긴 발송 상태
+ * Redis 에 다시 반영할 때 필요한 값만 담는다. (연락처 캐시는 없으면 DB 에서 읽으므로 제외)
+ * 형식 : [종류 1바이트][campaign 길이 2바이트][campaign][offset 4바이트][건수 4바이트][(연락처 아이디, 중계사 아이디) 8바이트씩]
+ *        ACKED / BLOCKED 는 건수 뒤에 [레코드 아이디 8바이트] (집계 해시의 반영 표시 필드, 없으면 이전 형식)
+ *   WINDOW : 윈도우 저장 (상태 / 집계 / 로그 / 복구 기한)
+ *   ACKED  : 모든 발행 confirm (로그 / 복구 기한 연장)
+ *   BLOCKED : 수신 차단으로 바로 실패 처리한 수신자 수 (집계, 건수만 사용)
+ */
+@Getter
+public class SpillRecord {
+    public enum Type {
+        WINDOW, ACKED, BLOCKED
+    }
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Type type;
+    private final String campaign; // "채널.메시지아이디" (복구 기한의 member 와 같음)
+    private final int offset;
+    private final int count;
+    private final long[] contactIds;
+    private final long[] brokerIds;
+    private final long id; // ACKED / BLOCKED 반영 여부 표시용 (0 이면 표시 없음)
+
+    private SpillRecord(Type type, String campaign, int offset, int count, long[] contactIds, long[] brokerIds, long id) {
+        this.type = type;
+        this.campaign = campaign;
+        this.offset = offset;
+        this.count = count;
+        this.contactIds = contactIds;
+        this.brokerIds = brokerIds;
+        this.id = id;
+    }
+
+    public static SpillRecord window(String campaign, int offset, long[] contactIds, long[] brokerIds) {
+        if (contactIds.length != brokerIds.length)
+            throw new IllegalArgumentException("contactIds and brokerIds must have the same length");
+        return new SpillRecord(Type.WINDOW, campaign, offset, contactIds.length, contactIds, brokerIds, 0);
+    }
+
+    public static SpillRecord acked(String campaign) {
+        return new SpillRecord(Type.ACKED, campaign, 0, 0, EMPTY, EMPTY, newId());
+    }
+
+    public static SpillRecord blocked(String campaign, int count) {
+        return new SpillRecord(Type.BLOCKED, campaign, 0, count, EMPTY, EMPTY, newId());
+    }
+
+    // 같은 메시지를 예약 발송으로 여러 번 보내도 레코드마다 다른 표시가 되도록 임의 값 (0 제외)
+    private static long newId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    public boolean hasMarker() {
+        return id != 0;
+    }
+
+    // 원래 쓰기와 반영이 같이 남기는 집계 해시 필드 (있으면 이미 반영됨)
+    public String getMarker() {
+        return StatusCounts.spillField(id);
+    }
+
+    public byte[] encode() {
+        byte[] campaignBytes = campaign.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 2 + campaignBytes.length + 8 + contactIds.length * 16 + (type == Type.WINDOW ? 0 : 8));
+        buffer.put((byte) type.ordinal());
+        buffer.putShort((short) campaignBytes.length);
+        buffer.put(campaignBytes);
+        buffer.putInt(offset);
+        buffer.putInt(count);
+        for (int i = 0; i < contactIds.length; i++) {
+            buffer.putLong(contactIds[i]);
+            buffer.putLong(brokerIds[i]);
+        }
+        if (type != Type.WINDOW)
+            buffer.putLong(id);
+        return buffer.array();
+    }
+
+    public static SpillRecord decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Type type = Type.values()[buffer.get()];
+        byte[] campaignBytes = new byte[buffer.getShort()];
+        buffer.get(campaignBytes);
+        String campaign = new String(campaignBytes, StandardCharsets.UTF_8);
+        int offset = buffer.getInt();
+        int count = buffer.getInt();
+        if (type != Type.WINDOW)
+            return new SpillRecord(type, campaign, offset, count, EMPTY, EMPTY, buffer.remaining() >= 8 ? buffer.getLong() : 0);
+
+        long[] contactIds = new long[count];
+        long[] brokerIds = new long[count];
+        for (int i = 0; i < count; i++) {
+            contactIds[i] = buffer.getLong();
+            brokerIds[i] = buffer.getLong();
+        }
+        return new SpillRecord(type, campaign, offset, count, contactIds, brokerIds, 0);
+    }
+}
@@ -0,0 +1,94 @@
+package com.srt.message.domain.redis;
+
+import com.srt.message.config.status.MessageStatus;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {채널:아이디}:count 해시 (발송 중인 메시지의 집계)
+ * 필드 : total, 상태코드(P/R/S/F, PackedStatus 와 동일), b.<중계사아이디>, s.<저널 레코드 아이디> (반영 표시, 집계에서 제외)
+ * 발송 시 HINCRBY 로 쌓고, 상태 전이는 scripts/status_transition.lua 가 같은 해시를 갱신한다.
+ */
+public class StatusCounts {
+    public static final String TOTAL = "total";
+    private static final String BROKER_PREFIX = "b.";
+    private static final String SPILL_PREFIX = "s.";
+
+    private final long total;
+    private final Map<MessageStatus, Long> statusCounts;
+    private final Map<Long, Long> brokerCounts;
+
+    private StatusCounts(long total, Map<MessageStatus, Long> statusCounts, Map<Long, Long> brokerCounts) {
+        this.total = total;
+        this.statusCounts = statusCounts;
+        this.brokerCounts = brokerCounts;
+    }
+
+    // 윈도우 발송 시 증가분 (모두 대기 상태)
+    public static Map<String, Long> pendingDeltas(long[] brokerIds) {
+        Map<String, Long> deltas = new HashMap<>();
+        deltas.put(TOTAL, (long) brokerIds.length);
+        deltas.put(statusField(MessageStatus.PENDING), (long) brokerIds.length);
+        for (long brokerId : brokerIds)
+            deltas.merge(brokerField(brokerId), 1L, Long::sum);
+        return deltas;
+    }
+
+    // 중계사 없이 바로 실패 처리된 수신자 (수신 차단)
+    public static Map<String, Long> failDeltas(int count) {
+        Map<String, Long> deltas = new HashMap<>();
+        deltas.put(TOTAL, (long) count);
+        deltas.put(statusField(MessageStatus.FAIL), (long) count);
+        return deltas;
+    }
+
+    public static StatusCounts of(Map<String, String> fields) {
+        long total = 0;
+        Map<MessageStatus, Long> statusCounts = new LinkedHashMap<>();
+        Map<Long, Long> brokerCounts = new LinkedHashMap<>();
+
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            String name = field.getKey();
+            long count = Long.parseLong(field.getValue());
+
+            if (TOTAL.equals(name))
+                total = count;
+            else if (name.startsWith(BROKER_PREFIX))
+                brokerCounts.put(Long.parseLong(name.substring(BROKER_PREFIX.length())), count);
+            else if (name.length() == 1)
+                statusCounts.put(PackedStatus.fromCode(name.charAt(0)), count);
+        }
+        return new StatusCounts(total, statusCounts, brokerCounts);
+    }
+
+    public static String statusField(MessageStatus messageStatus) {
+        return String.valueOf(PackedStatus.toCode(messageStatus));
+    }
+
+    public static String brokerField(long brokerId) {
+        return BROKER_PREFIX + brokerId;
+    }
+
+    public static String spillField(long recordId) {
+        return SPILL_PREFIX + recordId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getCount(MessageStatus messageStatus) {
+        return statusCounts.getOrDefault(messageStatus, 0L);
+    }
+
+    public Map<Long, Long> getBrokerCounts() {
+        return brokerCounts;
+    }
+
+    // 아직 결과를 기다리는 수신자 수 (RESEND 는 재전송 후 전달된 최종 결과이므로 제외)
+    public long getInflight() {
+        return getCount(MessageStatus.PENDING);
+    }
+}
@@ -2,6 +2,7 @@ package com.srt.message.dto.kakao_message_result.get;
 
 import com.srt.message.config.status.MessageStatus;
 import com.srt.message.domain.KakaoMessageResult;
+import com.srt.message.dto.message_result.MessageResultRow;
 import lombok.*;
 
 @Builder
@@ -31,4 +32,18 @@ public class GetKakaoMessageResultRes {
                 .createdAt(kakaoMessageResult.getCreatedAt().toString())
                 .build();
     }
+
+    public static GetKakaoMessageResultRes toDto(MessageResultRow row, long kakaoMessageId) {
+        return GetKakaoMessageResultRes.builder()
+                .kakaoMessageId(kakaoMessageId)
+                .contactNumber(row.getPhoneNumber())
+                .contactMemo(row.getMemo())
+                .contactGroup(row.getContactGroup())
+                .kakaoBrokerId(row.getBrokerId() == null ? 0 : row.getBrokerId())
+                .kakaoBrokerName(row.getBrokerName())
+                .description(row.getDescription())
+                .messageStatus(row.getMessageStatus())
+                .createdAt(row.getCreatedAt() == null ? null : row.getCreatedAt().toString())
+                .build();
+    }
 }
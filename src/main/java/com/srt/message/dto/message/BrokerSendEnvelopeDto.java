@@ -0,0 +1,39 @@
+package com.srt.message.dto.message;
+
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.dto.message_result.MessageResultDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 여러 수신자를 하나의 AMQP 메시지로 묶은 발송 봉투 (본문은 한 번만 포함)
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class BrokerSendEnvelopeDto {
+    private SMSMessageDto smsMessageDto;
+
+    private long messageId;
+
+    private long brokerId;
+
+    private List<EnvelopeRecipientDto> recipients;
+
+    // 수신자별 MessageResultDto로 펼치기
+    public List<MessageResultDto> toMessageResultDtos() {
+        return recipients.stream()
+                .map(r -> MessageResultDto.builder()
+                        .rMessageResultId(r.getRMessageResultId())
+                        .messageId(messageId)
+                        .brokerId(brokerId)
+                        .contactId(r.getContactId())
+                        .messageStatus(MessageStatus.PENDING)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
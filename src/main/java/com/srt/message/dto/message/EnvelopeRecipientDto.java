@@ -0,0 +1,20 @@
+package com.srt.message.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class EnvelopeRecipientDto {
+    private String rMessageResultId;
+
+    private long contactId;
+
+    private String to;
+}
@@ -38,6 +38,10 @@ public class SMSMessageDto {
 
     private String[] images;
 
+    // ImageStore에 저장된 이미지 해시 (중계사에는 이미지 대신 해시만 전달)
+    @ApiModelProperty(hidden = true)
+    private List<String> imageRefs;
+
     @ApiModelProperty(hidden = true)
     private MessageStatus messageStatus;
 
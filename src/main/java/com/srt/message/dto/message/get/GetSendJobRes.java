@@ -0,0 +1,61 @@
+package com.srt.message.dto.message.get;
+
+import com.srt.message.config.status.SendJobStatus;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+import java.util.Map;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class GetSendJobRes {
+    @ApiModelProperty(
+            example = "5f0c4a0e-8d7b-4c51-9a3c-2f1f5d8e6b10"
+    )
+    private String jobId;
+
+    @ApiModelProperty(
+            example = "1"
+    )
+    private long messageId;
+
+    @ApiModelProperty(
+            example = "RUNNING"
+    )
+    private SendJobStatus status;
+
+    @ApiModelProperty(
+            example = "100000"
+    )
+    private long totalCount;
+
+    @ApiModelProperty(
+            example = "100000"
+    )
+    private long enqueuedCount;
+
+    @ApiModelProperty(
+            example = "42000"
+    )
+    private long publishedCount;
+
+    @ApiModelProperty(
+            example = "null"
+    )
+    private String failReason;
+
+    public static GetSendJobRes toDto(String jobId, Map<Object, Object> job) {
+        return GetSendJobRes.builder()
+                .jobId(jobId)
+                .messageId(Long.parseLong((String) job.get("messageId")))
+                .status(SendJobStatus.valueOf((String) job.get("status")))
+                .totalCount(Long.parseLong((String) job.get("total")))
+                .enqueuedCount(Long.parseLong((String) job.get("enqueued")))
+                .publishedCount(Long.parseLong((String) job.get("published")))
+                .failReason((String) job.get("failReason"))
+                .build();
+    }
+}
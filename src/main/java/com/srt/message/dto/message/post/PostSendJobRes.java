@@ -0,0 +1,27 @@
+package com.srt.message.dto.message.post;
+
+import com.srt.message.config.status.SendJobStatus;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostSendJobRes {
+    @ApiModelProperty(
+            example = "5f0c4a0e-8d7b-4c51-9a3c-2f1f5d8e6b10"
+    )
+    private String jobId;
+
+    @ApiModelProperty(
+            example = "1"
+    )
+    private long messageId;
+
+    @ApiModelProperty(
+            example = "QUEUED"
+    )
+    private SendJobStatus status;
+}
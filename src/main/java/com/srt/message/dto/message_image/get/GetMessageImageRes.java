@@ -13,12 +13,18 @@ import java.util.stream.Collectors;
 @Getter
 @Setter
 public class GetMessageImageRes {
+    // 이전 방식으로 저장된 이미지 원본
     private List<String> images;
 
+    // ImageStore 이미지 해시 (/message/images/{messageId}/{hash} 로 조회)
+    private List<String> imageRefs;
+
     public static GetMessageImageRes toDto(List<MessageImage> messageImages){
-        List<String> images = messageImages.stream().map(m -> m.getData())
-                .collect(Collectors.toList());
+        List<String> images = messageImages.stream().filter(m -> m.getHash() == null)
+                .map(m -> m.getData()).collect(Collectors.toList());
+        List<String> imageRefs = messageImages.stream().filter(m -> m.getHash() != null)
+                .map(m -> m.getHash()).collect(Collectors.toList());
 
-        return GetMessageImageRes.builder().images(images).build();
+        return GetMessageImageRes.builder().images(images).imageRefs(imageRefs).build();
     }
 }
@@ -0,0 +1,12 @@
+package com.srt.message.dto.message_result;
+
+import com.srt.message.config.status.MessageStatus;
+
+// 메시지 처리 결과 상태/중계사별 건수 (group by 조회용)
+public interface MessageResultCount {
+    MessageStatus getMessageStatus();
+
+    Long getBrokerId();
+
+    long getResultCount();
+}
@@ -0,0 +1,24 @@
+package com.srt.message.dto.message_result;
+
+import com.srt.message.config.status.MessageStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 처리 결과 한 행 (엔티티 없이 JDBC 로 바로 읽음, 문자/알림톡 공용)
+@Builder
+@AllArgsConstructor
+@Getter
+public class MessageResultRow {
+    private final long id;
+    private final String phoneNumber;
+    private final String memo;
+    private final String contactGroup;
+    private final Long brokerId;
+    private final String brokerName;
+    private final String description;
+    private final MessageStatus messageStatus;
+    private final LocalDateTime createdAt;
+}
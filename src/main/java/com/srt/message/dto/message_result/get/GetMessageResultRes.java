@@ -2,6 +2,7 @@ package com.srt.message.dto.message_result.get;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.srt.message.config.status.MessageStatus;
+import com.srt.message.dto.message_result.MessageResultRow;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.*;
@@ -52,4 +53,17 @@ public class GetMessageResultRes {
             example = "2023-02-01 14:24:27"
     )
     private String createdAt;
+
+    public static GetMessageResultRes toDto(MessageResultRow row) {
+        return GetMessageResultRes.builder()
+                .contactPhoneNumber(row.getPhoneNumber())
+                .contactGroup(row.getContactGroup())
+                .memo(row.getMemo())
+                .brokerId(row.getBrokerId())
+                .brokerName(row.getBrokerName())
+                .description(row.getDescription())
+                .messageStatus(row.getMessageStatus())
+                .createdAt(row.getCreatedAt() == null ? null : row.getCreatedAt().toString())
+                .build();
+    }
 }
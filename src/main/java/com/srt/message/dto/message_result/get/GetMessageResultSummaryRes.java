@@ -0,0 +1,60 @@
+package com.srt.message.dto.message_result.get;
+
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.domain.MessageResultSummary;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class GetMessageResultSummaryRes {
+    @ApiModelProperty(
+            example = "1"
+    )
+    private long messageId;
+
+    @ApiModelProperty(
+            example = "true"
+    )
+    private boolean inProgress;
+
+    @ApiModelProperty(
+            example = "1500"
+    )
+    private long totalCount;
+
+    private long payPoint;
+    private long refundPoint;
+
+    private Map<String, Long> broker;
+    private Map<MessageStatus, Long> messageStatus;
+
+    public static GetMessageResultSummaryRes toDto(MessageResultSummary summary) {
+        Map<String, Long> broker = new LinkedHashMap<>();
+        broker.put("kt", summary.getKtCount());
+        broker.put("skt", summary.getSktCount());
+        broker.put("lg", summary.getLgCount());
+
+        Map<MessageStatus, Long> messageStatus = new LinkedHashMap<>();
+        messageStatus.put(MessageStatus.PENDING, summary.getPendingCount());
+        messageStatus.put(MessageStatus.SUCCESS, summary.getSuccessCount());
+        messageStatus.put(MessageStatus.RESEND, summary.getResendCount());
+        messageStatus.put(MessageStatus.FAIL, summary.getFailCount());
+
+        return GetMessageResultSummaryRes.builder()
+                .messageId(summary.getMessageId())
+                .inProgress(summary.getPendingCount() + summary.getResendCount() > 0)
+                .totalCount(summary.getTotalCount())
+                .payPoint(summary.getPayPoint())
+                .refundPoint(summary.getRefundPoint())
+                .broker(broker)
+                .messageStatus(messageStatus)
+                .build();
+    }
+}
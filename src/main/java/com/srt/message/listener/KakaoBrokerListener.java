@@ -14,12 +14,17 @@ import com.srt.message.repository.cache.ContactCacheRepository;
 import com.srt.message.repository.cache.MessageCacheRepository;
 import com.srt.message.repository.redis.RedisHashRepository;
 import com.srt.message.service.kakao.KakaoBrokerCacheService;
+import com.srt.message.service.routing.BrokerHealthMonitor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+import static com.srt.message.utils.rabbitmq.RabbitKakaoUtil.*;
+
 @Log4j2
 @Service
 @Transactional
@@ -28,35 +33,38 @@ public class KakaoBrokerListener {
     private final KakaoBrokerCacheService kakaoBrokerCacheService;
 
     private final DlxProcessingErrorHandler dlxProcessingErrorHandler;
+    private final BrokerHealthMonitor brokerHealthMonitor;
 
     private final String CNS_BROKER_NAME = "cns";
     private final String KE_BROKER_NAME = "ke";
 
 
 
-    // CNS RESPONSE
-    @RabbitListener(queues = "q.kakao.cns.receive", concurrency = "3", containerFactory = "prefetchContainerFactory")
-    public void receiveCNSMessage(final KakaoMessageResultDto kakaoMessageResultDto) {
-        kakaoBrokerCacheService.updateRMessageResult(kakaoMessageResultDto, CNS_BROKER_NAME);
-        kakaoBrokerCacheService.saveMessageResult(kakaoMessageResultDto, CNS_BROKER_NAME);
+    // CNS RESPONSE (batch 단위로 저장, 커밋 이후 batch 전체 ack)
+    @RabbitListener(queues = "q.kakao.cns.receive", concurrency = "3", containerFactory = "batchContainerFactory")
+    public void receiveCNSMessage(final List<KakaoMessageResultDto> kakaoMessageResultDtos) {
+        kakaoBrokerCacheService.saveMessageResults(kakaoMessageResultDtos, CNS_BROKER_NAME);
+        brokerHealthMonitor.recordKakaoResults(CNS_WORK_ROUTING_KEY, kakaoMessageResultDtos);
     }
 
     // KE RESPONSE
-    @RabbitListener(queues = "q.kakao.ke.receive", concurrency = "3", containerFactory = "prefetchContainerFactory")
-    public void receiveKEMessage(final KakaoMessageResultDto kakaoMessageResultDto) {
-        kakaoBrokerCacheService.updateRMessageResult(kakaoMessageResultDto, KE_BROKER_NAME);
-        kakaoBrokerCacheService.saveMessageResult(kakaoMessageResultDto, KE_BROKER_NAME);
+    @RabbitListener(queues = "q.kakao.ke.receive", concurrency = "3", containerFactory = "batchContainerFactory")
+    public void receiveKEMessage(final List<KakaoMessageResultDto> kakaoMessageResultDtos) {
+        kakaoBrokerCacheService.saveMessageResults(kakaoMessageResultDtos, KE_BROKER_NAME);
+        brokerHealthMonitor.recordKakaoResults(KE_WORK_ROUTING_KEY, kakaoMessageResultDtos);
     }
 
     // CNS WAIT
     @RabbitListener(queues = "q.kakao.cns.wait", concurrency = "3", ackMode = "MANUAL")
     public void receiveSenderKTMessage(org.springframework.amqp.core.Message message, Channel channel){
+        brokerHealthMonitor.recordDeadLetter(CNS_WORK_ROUTING_KEY, message);
         dlxProcessingErrorHandler.handleErrorProcessingKakaoMessage(message, channel, "cns");
     }
 
     // KE WAIT
     @RabbitListener(queues = "q.kakao.ke.wait", concurrency = "3", ackMode = "MANUAL")
     public void receiveSenderSKTMessage(org.springframework.amqp.core.Message message, Channel channel){
+        brokerHealthMonitor.recordDeadLetter(KE_WORK_ROUTING_KEY, message);
         dlxProcessingErrorHandler.handleErrorProcessingKakaoMessage(message, channel, "ke");
     }
 }
@@ -4,12 +4,17 @@ import com.rabbitmq.client.Channel;
 import com.srt.message.dlx.DlxProcessingErrorHandler;
 import com.srt.message.dto.message_result.MessageResultDto;
 import com.srt.message.service.message.BrokerCacheService;
+import com.srt.message.service.routing.BrokerHealthMonitor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+import static com.srt.message.utils.rabbitmq.RabbitSMSUtil.*;
+
 @Log4j2
 @Service
 @Transactional
@@ -17,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class SmsBrokerListener {
     private final BrokerCacheService brokerCacheService;
     private final DlxProcessingErrorHandler dlxProcessingErrorHandler;
+    private final BrokerHealthMonitor brokerHealthMonitor;
 
     private final String KT_BROKER_NAME = "kt";
     private final String SKT_BROKER_NAME = "skt";
@@ -24,27 +30,27 @@ public class SmsBrokerListener {
 
     /**
      * Receive Consumer (Success)
+     * batch 단위로 받아서 한 트랜잭션으로 저장, 커밋 이후 batch 전체 ack
      */
     // KT
-    @RabbitListener(queues = "q.sms.kt.receive", concurrency = "3", containerFactory = "prefetchContainerFactory")
-    public void receiveKTMessage(final MessageResultDto messageResultDto) {
-        brokerCacheService.updateRMessageResult(messageResultDto, KT_BROKER_NAME);
-        brokerCacheService.saveMessageResult(messageResultDto, KT_BROKER_NAME);
-
+    @RabbitListener(queues = "q.sms.kt.receive", concurrency = "3", containerFactory = "batchContainerFactory")
+    public void receiveKTMessage(final List<MessageResultDto> messageResultDtos) {
+        brokerCacheService.saveMessageResults(messageResultDtos, KT_BROKER_NAME);
+        brokerHealthMonitor.recordResults(KT_WORK_ROUTING_KEY, messageResultDtos);
     }
 
     // SKT
-    @RabbitListener(queues = "q.sms.skt.receive", concurrency = "3", containerFactory = "prefetchContainerFactory")
-    public void receiveSKTMessage(final MessageResultDto messageResultDto) {
-        brokerCacheService.updateRMessageResult(messageResultDto, SKT_BROKER_NAME);
-        brokerCacheService.saveMessageResult(messageResultDto, SKT_BROKER_NAME);
+    @RabbitListener(queues = "q.sms.skt.receive", concurrency = "3", containerFactory = "batchContainerFactory")
+    public void receiveSKTMessage(final List<MessageResultDto> messageResultDtos) {
+        brokerCacheService.saveMessageResults(messageResultDtos, SKT_BROKER_NAME);
+        brokerHealthMonitor.recordResults(SKT_WORK_ROUTING_KEY, messageResultDtos);
     }
 
     // LG
-    @RabbitListener(queues = "q.sms.lg.receive", concurrency = "3", containerFactory = "prefetchContainerFactory")
-    public void receiveLGMessage(final MessageResultDto messageResultDto) {
-        brokerCacheService.updateRMessageResult(messageResultDto, LG_BROKER_NAME);
-        brokerCacheService.saveMessageResult(messageResultDto, LG_BROKER_NAME);
+    @RabbitListener(queues = "q.sms.lg.receive", concurrency = "3", containerFactory = "batchContainerFactory")
+    public void receiveLGMessage(final List<MessageResultDto> messageResultDtos) {
+        brokerCacheService.saveMessageResults(messageResultDtos, LG_BROKER_NAME);
+        brokerHealthMonitor.recordResults(LG_WORK_ROUTING_KEY, messageResultDtos);
     }
 
     /**
@@ -53,18 +59,21 @@ public class SmsBrokerListener {
     // KT
     @RabbitListener(queues = "q.sms.kt.wait", concurrency = "3", ackMode = "MANUAL")
     public void receiveSenderKTMessage(org.springframework.amqp.core.Message message, Channel channel){
+        brokerHealthMonitor.recordDeadLetter(KT_WORK_ROUTING_KEY, message);
         dlxProcessingErrorHandler.handleErrorProcessingMessage(message, channel, "kt");
     }
 
     // SKT
     @RabbitListener(queues = "q.sms.skt.wait", concurrency = "3", ackMode = "MANUAL")
     public void receiveSenderSKTMessage(org.springframework.amqp.core.Message message, Channel channel){
+        brokerHealthMonitor.recordDeadLetter(SKT_WORK_ROUTING_KEY, message);
         dlxProcessingErrorHandler.handleErrorProcessingMessage(message, channel, "skt");
     }
 
     // LG
     @RabbitListener(queues = "q.sms.lg.wait", concurrency = "3", ackMode = "MANUAL")
     public void receiveSenderLGMessage(org.springframework.amqp.core.Message message, Channel channel){
+        brokerHealthMonitor.recordDeadLetter(LG_WORK_ROUTING_KEY, message);
         dlxProcessingErrorHandler.handleErrorProcessingMessage(message, channel, "lg");
     }
 }
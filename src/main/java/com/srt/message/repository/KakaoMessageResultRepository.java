@@ -6,7 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
-public interface KakaoMessageResultRepository extends JpaRepository<KakaoMessageResult, Long> {
+public interface KakaoMessageResultRepository extends JpaRepository<KakaoMessageResult, Long>, KakaoMessageResultJdbcRepository {
 
     List<KakaoMessageResult> findKakaoMessageResultByKakaoMessageId(Long kakaoMessageId);
 
@@ -7,4 +7,6 @@ import java.util.List;
 
 public interface MessageImageRepository extends JpaRepository<MessageImage, Long> {
     List<MessageImage> findAllByMessageId(long messageId);
+
+    boolean existsByMessageIdAndHash(long messageId, String hash);
 }
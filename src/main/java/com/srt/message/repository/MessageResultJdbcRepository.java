@@ -0,0 +1,23 @@
+package com.srt.message.repository;
+
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.domain.MessageResult;
+import com.srt.message.dto.message_result.MessageResultRow;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+public interface MessageResultJdbcRepository {
+    // JDBC batch로 한 번에 저장 (생성된 id는 채우지 않음)
+    void saveAllInBatch(List<MessageResult> messageResults);
+
+    // 키셋 페이징: cursorId 보다 작은 아이디부터 size 건 (상태, 중계사 조건은 null 이면 거르지 않음)
+    List<MessageResultRow> findAllByCursor(long messageId, Long cursorId, MessageStatus messageStatus, Long brokerId, int size);
+
+    // 전체 결과를 한 행씩 전달 (결과를 메모리에 모으지 않음)
+    void streamAll(long messageId, MessageStatus messageStatus, Long brokerId, Consumer<MessageResultRow> consumer);
+
+    // 결과가 저장된 연락처 아이디 전체 (한 행씩 전달)
+    void forEachContactId(long messageId, LongConsumer consumer);
+}
@@ -0,0 +1,73 @@
+package com.srt.message.repository;
+
+import com.srt.message.config.status.BaseStatus;
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.domain.MessageResult;
+import com.srt.message.dto.message_result.MessageResultRow;
+import com.srt.message.utils.id.SnowflakeIdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+@RequiredArgsConstructor
+public class MessageResultJdbcRepositoryImpl implements MessageResultJdbcRepository {
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "insert into message_result " +
+            "(id, message_id, contact_id, broker_id, message_status, description, status, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final ResultRowQuery ROW_QUERY =
+            new ResultRowQuery("message_result", "message_id", "broker", "broker_id");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // JPA 저장과 같은 시간 순 아이디 사용 (IdGeneratorConfig)
+    private final SnowflakeIdGenerator idGenerator;
+
+    @Override
+    public void saveAllInBatch(List<MessageResult> messageResults) {
+        if (messageResults.isEmpty())
+            return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, messageResults, BATCH_SIZE, (ps, messageResult) -> {
+            ps.setLong(1, idGenerator.nextId());
+            ps.setLong(2, messageResult.getMessage().getId());
+            if (messageResult.getContact() == null) // 연락처 캐시가 만료된 경우
+                ps.setNull(3, Types.BIGINT);
+            else
+                ps.setLong(3, messageResult.getContact().getId());
+            if (messageResult.getBroker() == null)
+                ps.setNull(4, Types.BIGINT);
+            else
+                ps.setLong(4, messageResult.getBroker().getId());
+            ps.setString(5, messageResult.getMessageStatus().name());
+            ps.setString(6, messageResult.getDescription());
+            ps.setString(7, BaseStatus.ACTIVE.name());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    @Override
+    public List<MessageResultRow> findAllByCursor(long messageId, Long cursorId, MessageStatus messageStatus, Long brokerId, int size) {
+        return ROW_QUERY.findAllByCursor(jdbcTemplate, messageId, cursorId, messageStatus, brokerId, size);
+    }
+
+    @Override
+    public void streamAll(long messageId, MessageStatus messageStatus, Long brokerId, Consumer<MessageResultRow> consumer) {
+        ROW_QUERY.streamAll(jdbcTemplate, messageId, messageStatus, brokerId, consumer);
+    }
+
+    @Override
+    public void forEachContactId(long messageId, LongConsumer consumer) {
+        ROW_QUERY.streamContactIds(jdbcTemplate, messageId, consumer);
+    }
+}
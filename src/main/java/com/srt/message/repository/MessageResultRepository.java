@@ -3,13 +3,18 @@ package com.srt.message.repository;
 import com.srt.message.domain.Contact;
 import com.srt.message.domain.Message;
 import com.srt.message.domain.MessageResult;
+import com.srt.message.dto.message_result.MessageResultCount;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface MessageResultRepository extends JpaRepository<MessageResult, Long> {
+public interface MessageResultRepository extends JpaRepository<MessageResult, Long>, MessageResultJdbcRepository {
     @EntityGraph(value = "Contact.Broker")
     List<MessageResult> findAllByMessageIdOrderByIdDesc(long messageId);
 
@@ -17,4 +22,15 @@ public interface MessageResultRepository extends JpaRepository<MessageResult, Lo
 
     @EntityGraph(value = "Contact")
     List<MessageResult> findAllByMessageAndDescriptionLike(Message message, String description);
+
+    // 처리 결과 페이징 조회
+    @EntityGraph(value = "Contact.Broker")
+    Page<MessageResult> findAllByMessageId(long messageId, Pageable pageable);
+
+    // 상태/중계사별 건수 (행을 불러오지 않고 집계)
+    @Query("select r.messageStatus as messageStatus, b.id as brokerId, count(r) as resultCount " +
+            "from MessageResult r left join r.broker b " +
+            "where r.message.id = :messageId " +
+            "group by r.messageStatus, b.id")
+    List<MessageResultCount> countByMessageId(@Param("messageId") long messageId);
 }
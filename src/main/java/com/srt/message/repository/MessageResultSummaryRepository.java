@@ -0,0 +1,7 @@
+package com.srt.message.repository;
+
+import com.srt.message.domain.MessageResultSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MessageResultSummaryRepository extends JpaRepository<MessageResultSummary, Long> {
+}
@@ -2,10 +2,20 @@ package com.srt.message.repository;
 
 import com.srt.message.domain.Point;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface PointRepository extends JpaRepository<Point, Long> {
 
     Optional<Point> findByMemberId(Long memberId);
+
+    // 조회 없이 한 번의 update로 적립 (동시 환불에도 값이 유실되지 않음)
+    // 영속성 컨텍스트를 비우기 전에 쓰기 지연 중인 insert (snowflake 아이디 결과 등) 를 먼저 flush
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update Point p set p.smsPoint = p.smsPoint + :smsPoint where p.member.id = :memberId")
+    int addSmsPoint(long memberId, int smsPoint);
 }
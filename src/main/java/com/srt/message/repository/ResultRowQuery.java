@@ -0,0 +1,112 @@
+package com.srt.message.repository;
+
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.dto.message_result.MessageResultRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * 처리 결과 목록 조회 (문자 / 알림톡 결과 테이블 공용)
+ * (메시지 아이디, 아이디) 인덱스를 아이디 내림차순으로 따라가므로 offset 없이 다음 페이지를 읽는다.
+ */
+final class ResultRowQuery {
+    private static final RowMapper<MessageResultRow> ROW_MAPPER = (rs, rowNum) -> toRow(rs);
+
+    private final String selectSql;
+    private final String contactIdSql;
+    private final String brokerColumn;
+
+    ResultRowQuery(String resultTable, String messageColumn, String brokerTable, String brokerColumn) {
+        this.brokerColumn = brokerColumn;
+        this.contactIdSql = "select contact_id from " + resultTable + " where " + messageColumn + " = ? and contact_id is not null";
+        this.selectSql = "select r.id, r.message_status, r.description, r.created_at, " +
+                "c.phone_number, c.memo, g.name as group_name, b." + brokerColumn + " as broker_id, b.name as broker_name " +
+                "from " + resultTable + " r " +
+                "left join contact c on c.contact_id = r.contact_id " +
+                "left join contact_group g on g.group_id = c.group_id " +
+                "left join " + brokerTable + " b on b." + brokerColumn + " = r." + brokerColumn + " " +
+                "where r." + messageColumn + " = ?";
+    }
+
+    // cursorId 보다 작은 아이디부터 size 건 (조건이 null 이면 거르지 않음)
+    List<MessageResultRow> findAllByCursor(JdbcTemplate jdbcTemplate, long messageId, Long cursorId,
+                                           MessageStatus messageStatus, Long brokerId, int size) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = where(messageId, messageStatus, brokerId, args);
+        if (cursorId != null) {
+            sql.append(" and r.id < ?");
+            args.add(cursorId);
+        }
+        sql.append(" order by r.id desc limit ?");
+        args.add(size);
+
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    // forward-only 커서로 한 행씩 전달 (MySQL 은 fetch size 가 Integer.MIN_VALUE 일 때 결과를 모으지 않고 스트리밍)
+    void streamAll(JdbcTemplate jdbcTemplate, long messageId, MessageStatus messageStatus, Long brokerId,
+                   Consumer<MessageResultRow> consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = where(messageId, messageStatus, brokerId, args).append(" order by r.id desc").toString();
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < args.size(); i++)
+                ps.setObject(i + 1, args.get(i));
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(toRow(rs)));
+    }
+
+    // 결과가 저장된 연락처 아이디를 한 행씩 전달 (복구 시 저장 안 된 수신자 판별용)
+    void streamContactIds(JdbcTemplate jdbcTemplate, long messageId, LongConsumer consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(contactIdSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setLong(1, messageId);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1)));
+    }
+
+    private StringBuilder where(long messageId, MessageStatus messageStatus, Long brokerId, List<Object> args) {
+        StringBuilder sql = new StringBuilder(selectSql);
+        args.add(messageId);
+        if (messageStatus != null) {
+            sql.append(" and r.message_status = ?");
+            args.add(messageStatus.name());
+        }
+        if (brokerId != null) {
+            sql.append(" and r.").append(brokerColumn).append(" = ?");
+            args.add(brokerId);
+        }
+        return sql;
+    }
+
+    private static MessageResultRow toRow(ResultSet rs) throws SQLException {
+        long brokerId = rs.getLong("broker_id");
+        boolean noBroker = rs.wasNull(); // 수신 차단 결과는 중계사 없음
+        Timestamp createdAt = rs.getTimestamp("created_at");
+
+        return MessageResultRow.builder()
+                .id(rs.getLong("id"))
+                .phoneNumber(rs.getString("phone_number"))
+                .memo(rs.getString("memo"))
+                .contactGroup(rs.getString("group_name"))
+                .brokerId(noBroker ? null : brokerId)
+                .brokerName(rs.getString("broker_name"))
+                .description(rs.getString("description"))
+                .messageStatus(MessageStatus.valueOf(rs.getString("message_status")))
+                .createdAt(createdAt == null ? null : createdAt.toLocalDateTime())
+                .build();
+    }
+}
@@ -5,15 +5,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.srt.message.config.exception.BaseException;
 import com.srt.message.config.status.BaseStatus;
 import com.srt.message.domain.Contact;
+import com.srt.message.domain.redis.RedisKeySchema;
 import com.srt.message.repository.ContactGroupRepository;
 import com.srt.message.repository.ContactRepository;
+import com.srt.message.repository.redis.RedisBatch;
 import com.srt.message.repository.redis.RedisHashRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.srt.message.config.response.BaseResponseStatus.NOT_EXIST_CONTACT;
 
@@ -34,9 +41,9 @@ public class ContactCacheRepository {
         return contactRepository.findContactById(contactId).orElseThrow(() -> new BaseException(NOT_EXIST_CONTACT));
     }
 
-    // 레디스에서 직접 조회 (브로커에서 메시지 저장 캐싱 용도)
-    public Contact findContactByContactIdAndMessageId(long contactId, long messageId) {
-        String contactKey = "message.contact." + messageId;
+    // 레디스에서 직접 조회 (브로커에서 메시지 저장 캐싱 용도, 조회한 연락처 삭제는 batch에 추가)
+    public Contact findContactByContactIdAndCampaign(long contactId, RedisKeySchema.Campaign campaign, RedisBatch batch) {
+        String contactKey = campaign.contact();
         String contactJson = redisHashRepository.findByContactId(contactKey, String.valueOf(contactId));
 
         Contact contact = null;
@@ -46,11 +53,39 @@ public class ContactCacheRepository {
                 return null;
 
             contact = objectMapper.readValue(contactJson, Contact.class);
-            redisHashRepository.delete(contactKey, String.valueOf(contactId));
+            redisHashRepository.delete(batch, contactKey, Collections.singletonList(String.valueOf(contactId)));
         }catch(JsonProcessingException e){
             e.printStackTrace();
         }
 
         return contact;
     }
+
+    // 레디스에서 여러 연락처를 한 번에 조회 (조회한 연락처 삭제는 batch에 추가)
+    public Map<Long, Contact> findContactsByContactIdsAndCampaign(Collection<Long> contactIds, RedisKeySchema.Campaign campaign, RedisBatch batch) {
+        String contactKey = campaign.contact();
+
+        List<String> fields = new ArrayList<>(contactIds.size());
+        for (Long contactId : contactIds)
+            fields.add(String.valueOf(contactId));
+
+        List<String> contactJsons = redisHashRepository.findAllByFields(contactKey, fields);
+
+        Map<Long, Contact> contacts = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String contactJson = contactJsons.get(i);
+            if (contactJson == null) // redis expired 됐을 경우
+                continue;
+
+            try {
+                Contact contact = objectMapper.readValue(contactJson, Contact.class);
+                contacts.put(contact.getId(), contact);
+            } catch (JsonProcessingException e) {
+                e.printStackTrace();
+            }
+        }
+
+        redisHashRepository.delete(batch, contactKey, fields);
+        return contacts;
+    }
 }
@@ -0,0 +1,7 @@
+package com.srt.message.repository.redis;
+
+// 중계사 라우트별 초당 발송 한도 (토큰 버킷 rns:rate:<routingKey>)
+public interface RateLimitRepository {
+    // 최대 requested 개의 토큰을 가져옴 (버킷이 비었으면 0)
+    long acquire(String routingKey, long ratePerSecond, long capacity, long requested);
+}
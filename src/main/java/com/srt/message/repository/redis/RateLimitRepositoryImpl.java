@@ -0,0 +1,27 @@
+package com.srt.message.repository.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+
+@Repository
+@RequiredArgsConstructor
+public class RateLimitRepositoryImpl implements RateLimitRepository {
+    public static final String KEY_PREFIX = "rns:rate:";
+
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    public long acquire(String routingKey, long ratePerSecond, long capacity, long requested) {
+        Long granted = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, Collections.singletonList(KEY_PREFIX + routingKey),
+                String.valueOf(ratePerSecond), String.valueOf(capacity), String.valueOf(requested));
+        return granted == null ? 0 : granted;
+    }
+}
@@ -0,0 +1,18 @@
+package com.srt.message.repository.redis;
+
+import java.util.List;
+
+// 발송 중인 메시지의 복구 기한 (ZSET recovery.deadline)
+public interface RecoveryDeadlineRepository {
+    // 발송 등록 / 기한 연장 (기한까지 발행이 모두 확인되지 않으면 복구 대상)
+    void register(RedisBatch batch, String campaign, long deadlineMillis);
+
+    // 발행이 모두 확인되어 복구가 필요 없는 경우
+    void complete(RedisBatch batch, String campaign);
+
+    // 기한이 지난 발송을 최대 batchSize 개 leaseUntilMillis 까지 선점
+    List<String> claim(long nowMillis, long leaseUntilMillis, int batchSize);
+
+    // 복구가 끝난 발송 제거 (lease 가 끝나 다른 노드가 다시 선점했으면 false)
+    boolean release(String campaign, long leaseUntilMillis);
+}
@@ -0,0 +1,49 @@
+package com.srt.message.repository.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class RecoveryDeadlineRepositoryImpl implements RecoveryDeadlineRepository {
+    public static final String DEADLINE_KEY = "recovery.deadline";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/recovery_claim.lua"), List.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/recovery_release.lua"), Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    public void register(RedisBatch batch, String campaign, long deadlineMillis) {
+        batch.add(operations -> operations.opsForZSet().add(DEADLINE_KEY, campaign, deadlineMillis));
+    }
+
+    @Override
+    public void complete(RedisBatch batch, String campaign) {
+        batch.add(operations -> operations.opsForZSet().remove(DEADLINE_KEY, campaign));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> claim(long nowMillis, long leaseUntilMillis, int batchSize) {
+        List<String> claimed = redisTemplate.execute(CLAIM_SCRIPT, Collections.singletonList(DEADLINE_KEY),
+                String.valueOf(nowMillis), String.valueOf(leaseUntilMillis), String.valueOf(batchSize));
+        return claimed == null ? Collections.emptyList() : claimed;
+    }
+
+    @Override
+    public boolean release(String campaign, long leaseUntilMillis) {
+        Long removed = redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(DEADLINE_KEY),
+                campaign, String.valueOf(leaseUntilMillis));
+        return removed != null && removed > 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.srt.message.repository.redis;
+
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 파이프라인으로 한 번에 전송할 Redis 명령 묶음
+ * 각 Repository의 batch 메소드로 명령을 쌓고 RedisPipelineRepository.execute로 전송한다.
+ */
+public class RedisBatch {
+    private final List<Consumer<RedisOperations<String, Object>>> commands = new ArrayList<>();
+
+    public RedisBatch add(Consumer<RedisOperations<String, Object>> command) {
+        commands.add(command);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    public int size() {
+        return commands.size();
+    }
+
+    void applyTo(RedisOperations<String, Object> operations) {
+        for (Consumer<RedisOperations<String, Object>> command : commands)
+            command.accept(operations);
+    }
+}
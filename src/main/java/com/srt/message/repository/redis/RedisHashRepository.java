@@ -1,6 +1,8 @@
 package com.srt.message.repository.redis;
 
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 public interface RedisHashRepository<T> {
@@ -21,4 +23,26 @@ public interface RedisHashRepository<T> {
     void update(String key, String rMessageResultId, T rMessageResult);
 
     void delete(String key, Object value);
+
+    // 여러 필드를 한 번에 조회 (없는 필드는 null)
+    List<String> findAllByFields(String key, List<String> fields);
+
+    // 파이프라인용 (RedisPipelineRepository.execute 시점에 전송)
+    void saveAll(RedisBatch batch, String key, Map<String, String> rMessageResultMap);
+
+    void saveContactAll(RedisBatch batch, String key, Map<String, String> contactMap);
+
+    void delete(RedisBatch batch, String key, Collection<String> fields);
+
+    // 필드가 없을 때만 저장 (HSETNX, 상태 값과 같은 TTL)
+    void saveIfAbsent(RedisBatch batch, String key, String field, String value);
+
+    // 상태 전이 (Lua 스크립트 한 번으로 존재 확인 + 종료 상태 보호 + 상태/홉 변경 + 집계 갱신 + TTL 갱신)
+    // 반환: 전이 후 진행 중인 수신자 수 (집계가 없으면 -1)
+    long transitionStatus(String key, String countKey, List<StatusTransition> transitions);
+
+    // 집계 필드 증가 (HINCRBY, 상태 값과 같은 TTL)
+    void incrementAll(String key, Map<String, Long> deltas);
+
+    void incrementAll(RedisBatch batch, String key, Map<String, Long> deltas);
 }
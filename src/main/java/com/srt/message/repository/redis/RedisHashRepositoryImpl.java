@@ -2,16 +2,28 @@ package com.srt.message.repository.redis;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srt.message.domain.redis.PackedStatus;
 import com.srt.message.domain.redis.RMessageResult;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Repository
 public class RedisHashRepositoryImpl<T> implements RedisHashRepository<T> {
+    private static final long STATUS_TTL_SECONDS = 60 * 5;
+
+    private static final RedisScript<Long> STATUS_TRANSITION_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/status_transition.lua"), Long.class);
+
     private RedisTemplate<String, Object> redisTemplate;
     private ObjectMapper objectMapper;
 
@@ -71,6 +83,85 @@ public class RedisHashRepositoryImpl<T> implements RedisHashRepository<T> {
         hashOperations.delete(key, value);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findAllByFields(String key, List<String> fields) {
+        return (List<String>) hashOperations.multiGet(key, new ArrayList<Object>(fields));
+    }
+
+    @Override
+    public void saveAll(RedisBatch batch, String key, Map<String, String> rMessageResultMap) {
+        batch.add(operations -> {
+            operations.opsForHash().putAll(key, rMessageResultMap);
+            operations.expire(key, 60 * 5, TimeUnit.SECONDS);
+        });
+    }
+
+    @Override
+    public void saveContactAll(RedisBatch batch, String key, Map<String, String> contactMap) {
+        batch.add(operations -> operations.opsForHash().putAll(key, contactMap));
+    }
+
+    @Override
+    public void delete(RedisBatch batch, String key, Collection<String> fields) {
+        if (fields.isEmpty())
+            return;
+
+        Object[] hashKeys = fields.toArray();
+        batch.add(operations -> operations.opsForHash().delete(key, hashKeys));
+    }
+
+    @Override
+    public void saveIfAbsent(RedisBatch batch, String key, String field, String value) {
+        batch.add(operations -> {
+            operations.opsForHash().putIfAbsent(key, field, value);
+            operations.expire(key, STATUS_TTL_SECONDS, TimeUnit.SECONDS);
+        });
+    }
+
+    @Override
+    public long transitionStatus(String key, String countKey, List<StatusTransition> transitions) {
+        if (transitions.isEmpty())
+            return -1;
+
+        // EVALSHA (스크립트 캐시에 없으면 EVAL 로 재시도)
+        Long inflight = redisTemplate.execute(STATUS_TRANSITION_SCRIPT, Arrays.asList(key, countKey), toScriptArgs(transitions));
+        return inflight == null ? -1 : inflight;
+    }
+
+    @Override
+    public void incrementAll(String key, Map<String, Long> deltas) {
+        for (Map.Entry<String, Long> delta : deltas.entrySet())
+            hashOperations.increment(key, delta.getKey(), delta.getValue());
+        redisTemplate.expire(key, STATUS_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void incrementAll(RedisBatch batch, String key, Map<String, Long> deltas) {
+        if (deltas.isEmpty())
+            return;
+
+        batch.add(operations -> {
+            for (Map.Entry<String, Long> delta : deltas.entrySet())
+                operations.opsForHash().increment(key, delta.getKey(), delta.getValue());
+            operations.expire(key, STATUS_TTL_SECONDS, TimeUnit.SECONDS);
+        });
+    }
+
+    private Object[] toScriptArgs(List<StatusTransition> transitions) {
+        Object[] args = new Object[1 + transitions.size() * 4];
+        args[0] = String.valueOf(STATUS_TTL_SECONDS);
+
+        int i = 1;
+        for (StatusTransition transition : transitions) {
+            args[i++] = transition.getField();
+            args[i++] = String.valueOf(PackedStatus.toCode(transition.getMessageStatus()));
+            args[i++] = transition.getHop() == null ? "-" : String.valueOf(transition.getHop());
+            args[i++] = transition.getHopBrokerName() == null ? "" : transition.getHopBrokerName();
+        }
+        return args;
+    }
+
     public String convertToJson(Object object){
         String sendMessageJson = null;
         try {
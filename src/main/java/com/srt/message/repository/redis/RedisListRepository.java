@@ -11,4 +11,9 @@ public interface RedisListRepository {
     public String leftPop(String key);
 
     public void remove(String key);
+
+    // 파이프라인용 (RedisPipelineRepository.execute 시점에 전송)
+    public void rightPushAll(RedisBatch batch, String key, Collection values, int duration);
+
+    public void remove(RedisBatch batch, String key);
 }
@@ -42,4 +42,17 @@ public class RedisListRepositoryImpl implements RedisListRepository{
     public void remove(String key) {
         redisTemplate.delete(key);
     }
+
+    @Override
+    public void rightPushAll(RedisBatch batch, String key, Collection values, int duration) {
+        batch.add(operations -> {
+            operations.opsForList().rightPushAll(key, values);
+            operations.expire(key, duration, TimeUnit.SECONDS);
+        });
+    }
+
+    @Override
+    public void remove(RedisBatch batch, String key) {
+        batch.add(operations -> operations.delete(key));
+    }
 }
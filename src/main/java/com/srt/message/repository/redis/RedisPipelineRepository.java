@@ -0,0 +1,11 @@
+package com.srt.message.repository.redis;
+
+import java.util.List;
+
+public interface RedisPipelineRepository {
+    // 쌓인 명령을 파이프라인 한 번으로 전송하고 각 명령의 결과 반환
+    List<Object> execute(RedisBatch batch);
+
+    // 트랜잭션 안이면 커밋 이후에 전송 (롤백되면 보내지 않음), 밖이면 바로 전송
+    void executeAfterCommit(RedisBatch batch);
+}
@@ -0,0 +1,54 @@
+package com.srt.message.repository.redis;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+public class RedisPipelineRepositoryImpl implements RedisPipelineRepository {
+    private RedisTemplate<String, Object> redisTemplate;
+
+    public RedisPipelineRepositoryImpl(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public List<Object> execute(RedisBatch batch) {
+        if (batch.isEmpty())
+            return Collections.emptyList();
+
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                batch.applyTo((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void executeAfterCommit(RedisBatch batch) {
+        if (batch.isEmpty())
+            return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            execute(batch);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                execute(batch);
+            }
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.srt.message.repository.redis;
+
+import com.srt.message.domain.redis.SendWalLog;
+
+import java.util.Collection;
+
+// 발송 중인 메시지의 수신자 이벤트 로그 (Redis Stream {채널:아이디}:wal, 필드는 SendWalLog 참고)
+public interface SendWalRepository {
+    // 윈도우 저장 (수신자 아이디 = offset + 순번 + 1)
+    void appendEnqueued(RedisBatch batch, String key, int offset, long[] contactIds);
+
+    // 윈도우 발행
+    void appendPublished(RedisBatch batch, String key, int offset, int count);
+
+    // 모든 발행 confirm
+    void appendAcked(RedisBatch batch, String key);
+
+    // 처리 결과 MySQL 저장 커밋
+    void appendResults(RedisBatch batch, String key, Collection<String> rMessageResultIds);
+
+    // 로그 전체를 순서대로 반영한 결과 (로그가 없으면 비어 있음)
+    SendWalLog replay(String key);
+
+    // 모든 결과가 저장되어 더 이상 필요 없는 로그
+    void delete(RedisBatch batch, String key);
+
+    void delete(String key);
+}
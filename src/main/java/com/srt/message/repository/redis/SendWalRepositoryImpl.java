@@ -0,0 +1,83 @@
+package com.srt.message.repository.redis;
+
+import com.srt.message.domain.redis.SendWalLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Repository
+@RequiredArgsConstructor
+public class SendWalRepositoryImpl implements SendWalRepository {
+    // 결과를 기다리는 최대 시간 (복구 기한) 보다 길게 유지
+    private static final int WAL_TTL_SECONDS = 60 * 60;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    public void appendEnqueued(RedisBatch batch, String key, int offset, long[] contactIds) {
+        Map<String, String> fields = SendWalLog.enqueued(offset, contactIds);
+        batch.add(operations -> append(operations, key, fields));
+    }
+
+    @Override
+    public void appendPublished(RedisBatch batch, String key, int offset, int count) {
+        Map<String, String> fields = SendWalLog.published(offset, count);
+        batch.add(operations -> append(operations, key, fields));
+    }
+
+    @Override
+    public void appendAcked(RedisBatch batch, String key) {
+        Map<String, String> fields = SendWalLog.acked();
+        batch.add(operations -> append(operations, key, fields));
+    }
+
+    @Override
+    public void appendResults(RedisBatch batch, String key, Collection<String> rMessageResultIds) {
+        if (rMessageResultIds.isEmpty())
+            return;
+
+        Map<String, String> fields = SendWalLog.results(rMessageResultIds);
+        batch.add(operations -> append(operations, key, fields));
+    }
+
+    @Override
+    public SendWalLog replay(String key) {
+        SendWalLog walLog = new SendWalLog();
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range(key, Range.unbounded());
+        if (records == null)
+            return walLog;
+
+        for (MapRecord<String, Object, Object> record : records) {
+            Map<String, String> fields = new HashMap<>();
+            record.getValue().forEach((field, value) -> fields.put((String) field, (String) value));
+            walLog.apply(fields);
+        }
+        return walLog;
+    }
+
+    @Override
+    public void delete(RedisBatch batch, String key) {
+        batch.add(operations -> operations.delete(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        redisTemplate.delete(key);
+    }
+
+    // XADD + TTL 갱신 (결과가 오지 않은 채로 방치된 로그는 TTL 로 정리)
+    private void append(RedisOperations<String, Object> operations, String key, Map<String, String> fields) {
+        operations.opsForStream().add(StreamRecords.newRecord().in(key).ofMap(fields));
+        operations.expire(key, WAL_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+}
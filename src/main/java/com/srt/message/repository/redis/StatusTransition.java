@@ -0,0 +1,31 @@
+package com.srt.message.repository.redis;
+
+import com.srt.message.config.status.MessageStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * {채널:아이디}:status 해시의 한 필드에 적용할 상태 전이
+ * hop 이 null 이면 기존 홉(설명)을 유지한다. (홉 값은 PackedStatus 참고)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class StatusTransition {
+    private final String field;
+
+    private final MessageStatus messageStatus;
+
+    private final Integer hop;
+
+    // 홉을 처리한 중계사 이름
+    private final String hopBrokerName;
+
+    public static StatusTransition of(String field, MessageStatus messageStatus) {
+        return new StatusTransition(field, messageStatus, null, null);
+    }
+
+    public static StatusTransition of(String field, MessageStatus messageStatus, int hop, String hopBrokerName) {
+        return new StatusTransition(field, messageStatus, hop, hopBrokerName);
+    }
+}
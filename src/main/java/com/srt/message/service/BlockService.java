@@ -11,6 +11,7 @@ import com.srt.message.dto.block.post.PostBlockRes;
 import com.srt.message.repository.BlockRepository;
 import com.srt.message.repository.ContactRepository;
 import com.srt.message.repository.SenderNumberRepository;
+import com.srt.message.service.message.BlockListIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +29,8 @@ public class BlockService {
     private final ContactRepository contactRepository;
     private final BlockRepository blockRepository;
 
+    private final BlockListIndex blockListIndex;
+
     // 수신 차단
     @Transactional(readOnly = false)
     public PostBlockRes registerBlock(PostBlockReq postBlockReq){
@@ -48,6 +51,9 @@ public class BlockService {
 
         blockRepository.save(block);
 
+        // 발송 시 사용하는 수신 차단 인덱스 갱신
+        blockListIndex.invalidateAfterCommit(senderNumber.getPhoneNumber());
+
         return PostBlockRes.toDto(block);
     }
 
@@ -21,6 +21,7 @@ import com.srt.message.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -80,6 +81,7 @@ public class ContactService {
 
 
     // 연락처 수정
+    @CacheEvict(value = "Contact", key = "#patchContactReq.contactId")
     @Transactional(readOnly = false)
     public PatchContactRes editContact(PatchContactReq patchContactReq, long memberId){
         // 존재하는 연락처인지 확인
@@ -98,6 +100,7 @@ public class ContactService {
         return PatchContactRes.toDto(contact);
     }
 
+    @CacheEvict(value = "Contact", key = "#contactId")
     @Transactional(readOnly = false)
     public void deleteContact(long contactId, long memberId){
         Contact contact = getExistContact(contactId);
@@ -108,6 +111,7 @@ public class ContactService {
         contactRepository.save(contact);
     }
 
+    @CacheEvict(value = "Contact", key = "#contactId")
     @Transactional(readOnly = false)
     public void quitContactGroup(long contactId, long memberId){
         // 존재하는 연락처인지 확인
@@ -39,13 +39,19 @@ public class PointService {
         return GetPointRes.toDto(pointRepository.save(point));
     }
 
-    // 포인트 환불 (SMS)
+    // 포인트 환불 (SMS) - amount건을 한 번에 적립
     public int refundMessagePoint(Member member, int amount, MessageType messageType){
         int weight = messageType == MessageType.SMS? 1 : messageType == MessageType.LMS? 3 : 6;
-        Point point = getExistPointOrMakeDefault(member);
-
         int refundSmsPoint = amount * weight;
-        point.addSmsPoint(refundSmsPoint);
+        if (refundSmsPoint == 0)
+            return 0;
+
+        // 포인트가 아직 없는 회원이면 생성 후 적립
+        if (pointRepository.addSmsPoint(member.getId(), refundSmsPoint) == 0) {
+            Point point = getExistPointOrMakeDefault(member);
+            point.addSmsPoint(refundSmsPoint);
+            pointRepository.save(point);
+        }
 
         return refundSmsPoint;
     }
@@ -4,19 +4,35 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.srt.message.config.status.MessageStatus;
 import com.srt.message.domain.*;
+import com.srt.message.domain.redis.PackedStatus;
 import com.srt.message.domain.redis.RKakaoMessageResult;
 import com.srt.message.domain.redis.RMessageResult;
+import com.srt.message.domain.redis.RedisKeySchema;
 import com.srt.message.dto.message_result.KakaoMessageResultDto;
 import com.srt.message.dto.message_result.MessageResultDto;
 import com.srt.message.repository.KakaoMessageResultRepository;
 import com.srt.message.repository.cache.BrokerCacheRepository;
 import com.srt.message.repository.cache.ContactCacheRepository;
 import com.srt.message.repository.cache.MessageCacheRepository;
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import com.srt.message.repository.redis.RedisBatch;
 import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.repository.redis.RedisPipelineRepository;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.repository.redis.StatusTransition;
 import com.srt.message.service.PointService;
+import com.srt.message.utils.transaction.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Log4j2
 @Service
@@ -31,81 +47,101 @@ public class KakaoBrokerCacheService {
     private final ContactCacheRepository contactCacheRepository;
 
     private final RedisHashRepository redisHashRepository;
+    private final RedisPipelineRepository redisPipelineRepository;
+    private final SendWalRepository sendWalRepository;
+    private final RecoveryDeadlineRepository recoveryDeadlineRepository;
 
     private final KakaoMessageResultRepository kakaoMessageResultRepository;
 
-    public void updateRMessageResult(final KakaoMessageResultDto kakaoMessageResultDto, String brokerName) {
-        String rKakaoMessageResultId = kakaoMessageResultDto.getRMessageResultId();
-
-        // Redis에서 상태 가져오기
-        String statusKey = "message.status." + kakaoMessageResultDto.getMessageId();
-
-        // Redis에 해당 데이터가 없을 경우 종료
-        if (!redisHashRepository.isExist(statusKey, rKakaoMessageResultId))
-            return;
-
-        String jsonRKakaoMessageResult = redisHashRepository.findByRMessageResultId(statusKey, rKakaoMessageResultId);
-
-        // 상태 업데이트 및 저장
-        RKakaoMessageResult rKakaoMessageResult = convertToRMessageResult(jsonRKakaoMessageResult);
-
-        // 재전송 여부인지 확인
-        // TODO 추후에 알고리즘 작성해서 코드 간략화하기
-        long retryCount = kakaoMessageResultDto.getRetryCount();
-        if (retryCount >= 1) {
-            rKakaoMessageResult.changeMessageStatus(MessageStatus.RESEND);
-
-            if (retryCount == 1) {
-                rKakaoMessageResult.requeueDescription(brokerName);
-            } else if (retryCount == 2) {
-                rKakaoMessageResult.resendOneDescription(brokerName);
-            }else{ // 실패 일 경우
-                rKakaoMessageResult.changeMessageStatus(MessageStatus.FAIL);
+    // 중계사 결과 일괄 처리: KakaoMessageResult bulk insert
+    // 커밋 후 Redis 상태 갱신, 연락처 캐시 삭제, 수신자 이벤트 로그에 결과 저장 (모든 결과가 저장된 메시지는 로그와 복구 기한을 제거)
+    // 저장이 롤백되고 batch 가 다시 오면 연락처 / 상태가 그대로 남아 있어야 하므로 Redis 변경은 모두 커밋 이후에
+    @Transactional
+    public void saveMessageResults(final List<KakaoMessageResultDto> kakaoMessageResultDtos, String brokerName) {
+        RedisBatch batch = new RedisBatch();
+        List<KakaoMessageResult> kakaoMessageResults = new ArrayList<>(kakaoMessageResultDtos.size());
+        Map<Long, KakaoBroker> kakaoBrokers = new HashMap<>();
+        Map<Long, List<StatusTransition>> transitionsByMessage = new LinkedHashMap<>();
+
+        Map<Long, List<KakaoMessageResultDto>> resultsByMessage = new LinkedHashMap<>();
+        for (KakaoMessageResultDto kakaoMessageResultDto : kakaoMessageResultDtos)
+            resultsByMessage.computeIfAbsent(kakaoMessageResultDto.getMessageId(), k -> new ArrayList<>()).add(kakaoMessageResultDto);
+
+        resultsByMessage.forEach((messageId, dtos) -> {
+            KakaoMessage kakaoMessage = messageCacheRepository.findKakaoMessageById(messageId);
+            RedisKeySchema.Campaign keys = RedisKeySchema.kakao(messageId);
+            List<StatusTransition> transitions = new ArrayList<>(dtos.size());
+
+            List<Long> contactIds = new ArrayList<>(dtos.size());
+            for (KakaoMessageResultDto kakaoMessageResultDto : dtos)
+                contactIds.add(kakaoMessageResultDto.getContactId());
+            Map<Long, Contact> contacts = contactCacheRepository.findContactsByContactIdsAndCampaign(contactIds, keys, batch);
+
+            for (KakaoMessageResultDto kakaoMessageResultDto : dtos) {
+                KakaoBroker kakaoBroker = kakaoBrokers.computeIfAbsent(kakaoMessageResultDto.getBrokerId(), brokerCacheRepository::findKakaoBrokerById);
+
+                KakaoMessageResult kakaoMessageResult = KakaoMessageResult.builder()
+                        .kakaoMessage(kakaoMessage)
+                        .contact(contacts.get(kakaoMessageResultDto.getContactId()))
+                        .kakaoBroker(kakaoBroker)
+                        .messageStatus(kakaoMessageResultDto.getMessageStatus())
+                        .build();
+
+                // 재전송 여부인지 확인
+                long retryCount = kakaoMessageResultDto.getRetryCount();
+                if (retryCount >= 1) {
+                    kakaoMessageResult.changeMessageStatus(MessageStatus.RESEND);
+
+                    if (retryCount == 1) {
+                        kakaoMessageResult.requeueDescription(brokerName);
+                    } else if (retryCount == 2) {
+                        kakaoMessageResult.resendOneDescription(brokerName);
+                    }else{ // 실패일 경우
+                        kakaoMessageResult.changeMessageStatus(MessageStatus.FAIL);
+                    }
+                }
+                kakaoMessageResults.add(kakaoMessageResult);
+
+                // Redis 상태도 같은 전이 (설명은 홉으로 저장, 재전송이 아니면 성공 + 기존 홉 유지)
+                String rMessageResultId = kakaoMessageResultDto.getRMessageResultId();
+                if (retryCount == 0)
+                    transitions.add(StatusTransition.of(rMessageResultId, MessageStatus.SUCCESS));
+                else if (retryCount <= 2)
+                    transitions.add(StatusTransition.of(rMessageResultId, MessageStatus.RESEND, (int) retryCount, brokerName));
+                else
+                    transitions.add(StatusTransition.of(rMessageResultId, MessageStatus.FAIL));
             }
-        }else{
-            rKakaoMessageResult.changeMessageStatus(MessageStatus.SUCCESS);
-        }
 
-        redisHashRepository.update(statusKey, rKakaoMessageResultId, rKakaoMessageResult);
-    }
-
-    public void saveMessageResult(final KakaoMessageResultDto kakaoMessageResultDto, String brokerName) {
-        KakaoMessage kakaoMessage = messageCacheRepository.findKakaoMessageById(kakaoMessageResultDto.getMessageId());
-        Contact contact = contactCacheRepository.findContactByContactIdAndMessageId(kakaoMessageResultDto.getContactId(), kakaoMessageResultDto.getMessageId());
-        KakaoBroker kakaoBroker = brokerCacheRepository.findKakaoBrokerById(kakaoMessageResultDto.getBrokerId());
+            transitionsByMessage.put(messageId, transitions);
+        });
 
-        KakaoMessageResult kakaoMessageResult = KakaoMessageResult.builder()
-                .kakaoMessage(kakaoMessage)
-                .contact(contact)
-                .kakaoBroker(kakaoBroker)
-                .messageStatus(kakaoMessageResultDto.getMessageStatus())
-                .build();
+        kakaoMessageResultRepository.saveAllInBatch(kakaoMessageResults);
+        TransactionUtil.runAfterCommit(() -> applyResults(batch, transitionsByMessage, brokerName));
+        log.info("[{}] KakaoMessageResult {}건이 저장되었습니다.", brokerName, kakaoMessageResults.size());
+    }
 
-        // 재전송 여부인지 확인
-        // TODO 추후에 알고리즘 작성해서 코드 간략화하기
-        long retryCount = kakaoMessageResultDto.getRetryCount();
-        if (retryCount >= 1) {
-            kakaoMessageResult.changeMessageStatus(MessageStatus.RESEND);
-
-            if (retryCount == 1) {
-                kakaoMessageResult.requeueDescription(brokerName);
-            } else if (retryCount == 2) {
-                kakaoMessageResult.resendOneDescription(brokerName);
-            }else{ // 실패일 경우
-                kakaoMessageResult.changeMessageStatus(MessageStatus.FAIL);
-            }
+    // 커밋 이후 Redis 반영 (batch: 연락처 캐시 삭제가 담긴 파이프라인)
+    // 실패해도 결과는 이미 저장되었으므로 다시 받지 않고, 남은 로그와 복구 기한은 복구 서비스가 테이블 기준으로 정리
+    private void applyResults(RedisBatch batch, Map<Long, List<StatusTransition>> transitionsByMessage, String brokerName) {
+        try {
+            transitionsByMessage.forEach((kakaoMessageId, transitions) -> {
+                RedisKeySchema.Campaign keys = RedisKeySchema.kakao(kakaoMessageId);
+                long inflight = redisHashRepository.transitionStatus(keys.status(), keys.count(), transitions);
+                appendResults(batch, kakaoMessageId, fieldsOf(transitions), inflight);
+            });
+
+            redisPipelineRepository.execute(batch);
+        } catch (RuntimeException e) {
+            log.error("[{}] KakaoMessageResult 저장 후 Redis 반영 실패 - messageIds: {}", brokerName, transitionsByMessage.keySet(), e);
         }
-
-        kakaoMessageResultRepository.save(kakaoMessageResult);
-
-        log.info("[" + kakaoMessageResult.getMessageStatus() + "] " + "[" + brokerName + "]" +
-                "KakaoMessageResult 객체가 저장되었습니다. id : {}", kakaoMessageResult.getId());
     }
 
     public void saveMessageResultFailure(final KakaoMessageResultDto kakaoMessageResultDto, String brokerName){
         // RDBMS SAVE
         KakaoMessage kakaoMessage = messageCacheRepository.findKakaoMessageById(kakaoMessageResultDto.getMessageId());
-        Contact contact = contactCacheRepository.findContactByContactIdAndMessageId(kakaoMessageResultDto.getContactId(), kakaoMessageResultDto.getMessageId());
+        RedisKeySchema.Campaign keys = RedisKeySchema.kakao(kakaoMessageResultDto.getMessageId());
+        RedisBatch batch = new RedisBatch();
+        Contact contact = contactCacheRepository.findContactByContactIdAndCampaign(kakaoMessageResultDto.getContactId(), keys, batch);
         KakaoBroker kakaoBroker = brokerCacheRepository.findKakaoBrokerById(kakaoMessageResultDto.getBrokerId());
 
         KakaoMessageResult kakaoMessageResult = KakaoMessageResult.builder()
@@ -126,28 +162,28 @@ public class KakaoBrokerCacheService {
         int refundSmsPoint = pointService.refundKakaoPoint(kakaoMessage.getMember(), 1);
         kakaoMessageResult.addDescription(refundSmsPoint + " 알림톡 당근 환불");
 
-        // 상태 DB (REDIS)
-        String rMessageResultId = kakaoMessageResultDto.getRMessageResultId();
-
-        // Redis에서 상태 가져오기
-        String statusKey = "message.status." + kakaoMessageResultDto.getMessageId();
-
-        // Redis에 해당 데이터가 없을 경우 종료
-        if (!redisHashRepository.isExist(statusKey, rMessageResultId))
-            return;
-
-        String jsonRMessageResult = redisHashRepository.findByRMessageResultId(statusKey, rMessageResultId);
-
-        // 상태 업데이트 및 저장
-        RKakaoMessageResult rMessageResult = convertToRMessageResult(jsonRMessageResult);
-
-        rMessageResult.resendOneDescription(brokerName);
-        rMessageResult.addDescription("중계사 오류");
-        rMessageResult.changeMessageStatus(MessageStatus.FAIL);
+        // 상태 DB (REDIS) - 커밋 후, 결과가 남아 있고 종료 상태가 아닐 때만 실패로 전이
+        StatusTransition transition = StatusTransition.of(kakaoMessageResultDto.getRMessageResultId(), MessageStatus.FAIL, 2 + PackedStatus.HOP_BROKER_ERROR, brokerName);
+        TransactionUtil.runAfterCommit(() -> applyResults(batch, Collections.singletonMap(keys.getMessageId(), Collections.singletonList(transition)), brokerName));
+    }
 
-        rMessageResult.addDescription(refundSmsPoint + " 문자당근 환불");
+    private static List<String> fieldsOf(List<StatusTransition> transitions) {
+        List<String> fields = new ArrayList<>(transitions.size());
+        for (StatusTransition transition : transitions)
+            fields.add(transition.getField());
+        return fields;
+    }
 
-        redisHashRepository.update(statusKey, rMessageResultId, rMessageResult);
+    // 결과 저장 이벤트 (진행 중인 수신자가 없으면 더 이상 복구할 것이 없으므로 로그와 복구 기한 제거)
+    private void appendResults(RedisBatch walBatch, long kakaoMessageId, List<String> rMessageResultIds, long inflight) {
+        RedisKeySchema.Campaign keys = RedisKeySchema.kakao(kakaoMessageId);
+        String walKey = keys.wal();
+        if (inflight == 0) {
+            sendWalRepository.delete(walBatch, walKey);
+            recoveryDeadlineRepository.complete(walBatch, keys.getCampaign());
+        } else {
+            sendWalRepository.appendResults(walBatch, walKey, rMessageResultIds);
+        }
     }
 
     public RKakaoMessageResult convertToRMessageResult(String json) {
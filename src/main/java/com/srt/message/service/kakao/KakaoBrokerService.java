@@ -2,34 +2,37 @@ package com.srt.message.service.kakao;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.srt.message.config.status.BaseStatus;
 import com.srt.message.config.status.MessageStatus;
 import com.srt.message.domain.*;
-import com.srt.message.domain.redis.RKakaoMessageResult;
-import com.srt.message.domain.redis.RMessageResult;
+import com.srt.message.domain.redis.PackedStatus;
+import com.srt.message.domain.redis.SpillRecord;
+import com.srt.message.domain.redis.StatusCounts;
 import com.srt.message.dto.message.BrokerMessageDto;
 import com.srt.message.dto.message.BrokerSendMessageDto;
 import com.srt.message.dto.message_result.MessageResultDto;
-import com.srt.message.repository.KakaoBrokerRepository;
-import com.srt.message.repository.KakaoMessageRuleRepository;
 import com.srt.message.dto.kakao_message.BrokerKakaoMessageDto;
 import com.srt.message.dto.kakao_message.BrokerSendKakaoMessageDto;
-import com.srt.message.dto.kakao_message.KakaoMessageDto;
 import com.srt.message.dto.message_result.KakaoMessageResultDto;
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import com.srt.message.repository.redis.RedisBatch;
 import com.srt.message.repository.redis.RedisHashRepository;
-import com.srt.message.repository.redis.RedisListRepository;
-import com.srt.message.utils.algorithm.BrokerPool;
-import com.srt.message.utils.algorithm.BrokerWeight;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.service.rabbit.ConfirmPublisher;
+import com.srt.message.service.redis.RedisSpillGuard;
+import com.srt.message.service.routing.RoutingTable;
+import com.srt.message.service.routing.RoutingTableCache;
+import com.srt.message.utils.window.SendWindow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.time.StopWatch;
 import org.springframework.amqp.core.MessageBuilder;
 import org.springframework.amqp.core.MessageProperties;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -43,115 +46,102 @@ import static com.srt.message.utils.rabbitmq.RabbitSMSUtil.SMS_EXCHANGE_NAME;
 @Service
 @RequiredArgsConstructor
 public class KakaoBrokerService {
-    private final int TMP_MESSAGE_DURATION = 5 * 60;
-    private final int VALUE_MESSAGE_DURATION = 30 * 60;
+    private final int RECOVERY_DEADLINE_DURATION = 5 * 60; // 마지막 윈도우 저장 후 발행 확인을 기다리는 시간
+    private final int RESULT_DEADLINE_DURATION = 30 * 60; // 발행 확인 후 처리 결과를 기다리는 시간
+    private final int SEND_WINDOW_SIZE = SendWindow.DEFAULT_WINDOW_SIZE;
 
     private final KakaoBrokerCacheService kakaoBrokerCacheService;
 
-    private final RabbitTemplate rabbitTemplate;
+    private final ConfirmPublisher confirmPublisher;
     private final ObjectMapper objectMapper;
 
-    private final KakaoBrokerRepository kakaoBrokerRepository;
-    private final KakaoMessageRuleRepository kakaoMessageRuleRepository;
+    private final RoutingTableCache routingTableCache;
 
-    private final RedisListRepository redisListRepository;
+    private final RecoveryDeadlineRepository recoveryDeadlineRepository;
+    private final SendWalRepository sendWalRepository;
+    private final RedisSpillGuard redisSpillGuard;
     private final RedisHashRepository redisHashRepository;
 
-    private KakaoMessageDto kakaoMessageDto;
-    private KakaoMessage kakaoMessage;
-    private List<Contact> contacts;
-
     // Broker 서버에게 메시지 전송
     public String sendKakaoMessage(BrokerKakaoMessageDto brokerKakaoMessageDto) {
         // 시간 측정
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
-        // BrokerKakaoMessageDto에서 정보 가져옴
-        this.kakaoMessageDto = brokerKakaoMessageDto.getKakaoMessageDto();
-        this.kakaoMessage = brokerKakaoMessageDto.getKakaoMessage();
-        this.contacts = brokerKakaoMessageDto.getContacts();
-        Member member = brokerKakaoMessageDto.getMember();
-
-        // Redis에 미리 저장 (메시지 손실 방지)
-        int idx = 0;
-        List<String> rKakaoMessageResultDtoList = new ArrayList<>();
-        List<KakaoMessageResultDto> kakaoMessageResultDtoList = new ArrayList<>();
-        for (Contact contact : contacts) {
-            KakaoMessageResultDto kakaoMessageResultDto = KakaoMessageResultDto.builder()
-                    .rMessageResultId(String.valueOf(++idx))
-                    .messageId(kakaoMessage.getId())
-                    .contactId(contact.getId())
-                    .messageStatus(MessageStatus.PENDING)
-                    .build();
-            rKakaoMessageResultDtoList.add(convertToJson(kakaoMessageResultDto));
-            kakaoMessageResultDtoList.add(kakaoMessageResultDto);
-        }
-
-        // Redis Repository에 임시 저장
-        String tmpKey = "message.tmp." + kakaoMessage.getId();
-        redisListRepository.rightPushAll(tmpKey, rKakaoMessageResultDtoList, TMP_MESSAGE_DURATION);
-
-        String valueKey = "message.value." + kakaoMessage.getId(); // tmp에서 TTL 만료됐을 경우 value값 꺼내오는 용도
-        redisListRepository.rightPushAll(valueKey, rKakaoMessageResultDtoList, VALUE_MESSAGE_DURATION);
+        KakaoSendContext context = new KakaoSendContext(brokerKakaoMessageDto);
 
         // 브로커 비율 설정
-        Map<Long, String> brokerMap = new HashMap<>();
-        List<KakaoMessageRule> messageRules = kakaoMessageRuleRepository.findByMemberIdAndStatus(member.getId(), BaseStatus.ACTIVE);
-
-        if (messageRules.isEmpty()) { // 발송 규칙을 설정 안했을 경우
-            List<KakaoBroker> brokers = kakaoBrokerRepository.findAll();
-            for (KakaoBroker broker : brokers) {
-                messageRules.add(KakaoMessageRule.builder()
-                        .kakaoBroker(broker)
-                        .brokerRate(30)
-                        .build());
-            }
+        RoutingTable routingTable = routingTableCache.getKakaoRoutingTable(context.getMember());
+        context.setRoutingTable(routingTable);
+        context.setBrokerPool(routingTable.newBrokerPool());
+        context.setPublishTracker(confirmPublisher.newTracker("kakao." + context.getKakaoMessage().getId()));
+
+        // 윈도우 단위로 상태 저장 후 발행 (한 번에 하나의 윈도우만 유지)
+        int windowCount = SendWindow.forEach(brokerKakaoMessageDto.getContacts(), SEND_WINDOW_SIZE, (window, offset) -> sendWindow(context, window, offset));
+
+        // 모든 발행이 confirm 되면 처리 결과를 기다리도록 복구 기한 연장 (아니면 복구 기한이 지난 뒤 실패 처리)
+        // 로그와 복구 기한은 모든 처리 결과가 저장되면 KakaoBrokerCacheService 가 제거
+        if (confirmPublisher.awaitConfirms(context.getPublishTracker())) {
+            RedisBatch ackBatch = new RedisBatch();
+            sendWalRepository.appendAcked(ackBatch, context.getWalKey());
+            recoveryDeadlineRepository.register(ackBatch, context.getRecoveryCampaign(), System.currentTimeMillis() + RESULT_DEADLINE_DURATION * 1000L);
+            redisSpillGuard.execute(ackBatch, SpillRecord.acked(context.getRecoveryCampaign()));
         }
 
-        ArrayList<BrokerWeight<KakaoBroker>> kakaoBrokerWeightList = new ArrayList<>();
-        for (KakaoMessageRule messageRule : messageRules) {
-            kakaoBrokerWeightList.add(new BrokerWeight<>(messageRule.getKakaoBroker(), messageRule.getBrokerRate()));
-
-            KakaoBroker broker = messageRule.getKakaoBroker();
-            brokerMap.put(broker.getId(), broker.getName().toLowerCase());
-        }
+        // 시간 측정 결과
+        stopWatch.stop();
+        String processTime = String.valueOf(stopWatch.getTime());
+        log.info("Process Time: {}, windows: {} ", processTime, windowCount);
+        return processTime;
+    }
 
-        BrokerPool<KakaoBroker> brokerPool = new BrokerPool<>(kakaoBrokerWeightList);
+    // 윈도우 하나 처리: 상태 저장 -> 발행
+    private void sendWindow(KakaoSendContext context, List<Contact> window, int offset) {
+        KakaoMessage kakaoMessage = context.getKakaoMessage();
 
+        long[] contactIds = new long[window.size()];
+        List<KakaoMessageResultDto> kakaoMessageResultDtoList = new ArrayList<>(window.size());
         HashMap<String, String> rMessageResultMap = new HashMap<>();
         HashMap<String, String> contactMap = new HashMap<>();
 
-        // 상태 DB에 저장하기
-        for (int i = 0; i < contacts.size(); i++) {
-            KakaoBroker kakaoBroker = (KakaoBroker) brokerPool.getNext().getBroker();
-            kakaoMessageDto.setTo(contacts.get(i).getPhoneNumber());
+        // 윈도우 수신자의 중계사를 한 번에 배정
+        long[] brokerIds = context.getBrokerPool().nextIds(window.size());
+        LocalDateTime publishedAt = LocalDateTime.now(); // 결과 수신 지연 측정용 (BrokerHealthMonitor)
+
+        for (int i = 0; i < window.size(); i++) {
+            Contact contact = window.get(i);
 
-            // Redis에서 MessageResultDTO 꺼내오기
-            KakaoMessageResultDto kakaoMessageResultDto = kakaoMessageResultDtoList.get(i);
-            kakaoMessageResultDto.setBrokerId(kakaoBroker.getId());
+            KakaoMessageResultDto kakaoMessageResultDto = KakaoMessageResultDto.builder()
+                    .rMessageResultId(String.valueOf(offset + i + 1))
+                    .messageId(kakaoMessage.getId())
+                    .contactId(contact.getId())
+                    .brokerId(brokerIds[i])
+                    .messageStatus(MessageStatus.PENDING)
+                    .createdAt(publishedAt)
+                    .build();
+            kakaoMessageResultDtoList.add(kakaoMessageResultDto);
+            contactIds[i] = contact.getId();
 
             // 연락처 캐싱용
-            Contact contact = contacts.get(i);
             contactMap.put(String.valueOf(contact.getId()), convertToJson(contact));
 
-            // 상태 값 저장
-            RKakaoMessageResult rKakaoMessageResult = KakaoMessageResultDto.toRMessageResult(kakaoMessageResultDto);
-            rMessageResultMap.put(rKakaoMessageResult.getId(), convertToJson(rKakaoMessageResult));
+            // 상태 값 저장 (압축 형식)
+            rMessageResultMap.put(kakaoMessageResultDto.getRMessageResultId(), PackedStatus.pending(brokerIds[i], contact.getId()).encode());
         }
-        String contactKey = "message.contact." + kakaoMessage.getId();
-        redisHashRepository.saveContactAll(contactKey, contactMap);
 
-        String statusKey = "message.status." + kakaoMessage.getId();
-        redisHashRepository.saveAll(statusKey, rMessageResultMap);
+        // Redis에 미리 저장 (메시지 손실 방지) - 윈도우당 파이프라인 한 번, Redis 가 느리면 로컬 저널에
+        RedisBatch batch = new RedisBatch();
+        sendWalRepository.appendEnqueued(batch, context.getWalKey(), offset, contactIds);
+        redisHashRepository.saveContactAll(batch, context.getContactKey(), contactMap);
+        redisHashRepository.saveAll(batch, context.getStatusKey(), rMessageResultMap);
+        redisHashRepository.incrementAll(batch, context.getCountKey(), StatusCounts.pendingDeltas(brokerIds));
+        recoveryDeadlineRepository.register(batch, context.getRecoveryCampaign(), System.currentTimeMillis() + RECOVERY_DEADLINE_DURATION * 1000L);
+        redisSpillGuard.execute(batch, SpillRecord.window(context.getRecoveryCampaign(), offset, contactIds, brokerIds));
 
-        // 각 중개사 비율에 맞게 보내기
-        for (int i = 0; i < contacts.size(); i++) {
-            KakaoMessageResultDto kakaoMessageResultDto = kakaoMessageResultDtoList.get(i);
-            BrokerSendKakaoMessageDto brokerSendKakaoMessageDto = new BrokerSendKakaoMessageDto(kakaoMessageDto, kakaoMessageResultDto);
-
-            long brokerId = kakaoMessageResultDto.getBrokerId();
-            String routingKey = "kakao.work." + brokerMap.get(brokerId);
+        // 각 중개사 비율에 맞게 라우트별로 묶어서 보내기
+        Map<String, List<org.springframework.amqp.core.Message>> messagesByRoute = new LinkedHashMap<>();
+        for (KakaoMessageResultDto kakaoMessageResultDto : kakaoMessageResultDtoList) {
+            BrokerSendKakaoMessageDto brokerSendKakaoMessageDto = new BrokerSendKakaoMessageDto(context.getKakaoMessageDto(), kakaoMessageResultDto);
 
             // AMQP Message Builder
             org.springframework.amqp.core.Message amqpMessage = MessageBuilder
@@ -159,20 +149,14 @@ public class KakaoBrokerService {
                     .setContentType(MessageProperties.CONTENT_TYPE_JSON)
                     .build();
 
-            rabbitTemplate.convertAndSend(KAKAO_WORK_EXCHANGE_NAME, routingKey, amqpMessage);
-
-            log.info((i + 1) + " 번째 메시지가 전송되었습니다 - " + routingKey);
+            messagesByRoute.computeIfAbsent(context.getRoutingKey(kakaoMessageResultDto.getBrokerId()), k -> new ArrayList<>()).add(amqpMessage);
         }
+        confirmPublisher.publish(context.getPublishTracker(), KAKAO_WORK_EXCHANGE_NAME, messagesByRoute);
+        RedisBatch publishedBatch = new RedisBatch();
+        sendWalRepository.appendPublished(publishedBatch, context.getWalKey(), offset, window.size());
+        redisSpillGuard.executeBestEffort(publishedBatch);
 
-        // 임시 저장된 값 제거
-        redisListRepository.remove(tmpKey);
-        redisListRepository.remove(valueKey);
-
-        // 시간 측정 결과
-        stopWatch.stop();
-        String processTime = String.valueOf(stopWatch.getTime());
-        log.info("Process Time: {} ", processTime);
-        return processTime;
+        log.info("{} ~ {} 번째 메시지가 전송되었습니다 - kakaoMessageId: {}", offset + 1, offset + window.size(), kakaoMessage.getId());
     }
 
     // 알림톡 발송 실패 처리
@@ -3,21 +3,28 @@ package com.srt.message.service.kakao;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.srt.message.config.exception.BaseException;
+import com.srt.message.config.page.CursorResult;
 import com.srt.message.config.page.PageResult;
 import com.srt.message.config.response.BaseResponseStatus;
 import com.srt.message.config.status.BaseStatus;
+import com.srt.message.config.status.MessageStatus;
 import com.srt.message.config.type.ButtonType;
 import com.srt.message.config.type.KmsgSearchType;
 import com.srt.message.domain.*;
+import com.srt.message.domain.redis.PackedStatus;
 import com.srt.message.domain.redis.RKakaoMessageResult;
 import com.srt.message.domain.redis.RMessageResult;
+import com.srt.message.domain.redis.RedisKeySchema;
 import com.srt.message.dto.kakao_message.get.GetKakaoMessageRes;
 import com.srt.message.dto.kakao_message_result.get.GetKakaoMessageResultListRes;
 import com.srt.message.dto.kakao_message_result.get.GetKakaoMessageResultRes;
+import com.srt.message.dto.message_result.MessageResultRow;
 import com.srt.message.dto.message_result.get.GetMessageResultRes;
 import com.srt.message.repository.*;
 import com.srt.message.repository.cache.BrokerCacheRepository;
 import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.utils.export.ResultExportFormat;
+import com.srt.message.utils.export.ResultExportWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Page;
@@ -25,6 +32,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -38,6 +47,8 @@ import static com.srt.message.config.response.BaseResponseStatus.*;
 @Service
 @RequiredArgsConstructor
 public class KakaoMessageResultService {
+    private static final int MAX_CURSOR_SIZE = 100;
+
     private final KakaoBrokerRepository kakaoBrokerRepository;
     private final ContactRepository contactRepository;
     private final ObjectMapper objectMapper;
@@ -61,14 +72,13 @@ public class KakaoMessageResultService {
         List<GetKakaoMessageResultRes> kakaoResultResList;
 
         // 레디스에 상태 값 저장되어 있는지 확인
-        String statusKey = "message.status." + messageId;
+        String statusKey = RedisKeySchema.kakao(messageId).status();
         Map<String, String> statusMap = redisHashRepository.findAll(statusKey);
         if (!statusMap.isEmpty()) { // 상태 정보가 들어있을 경우 REDIS로 조회
             List<RKakaoMessageResult> rKakaoMessageResultList = new ArrayList<>();
 
             for (Map.Entry<String, String> entry : statusMap.entrySet()) {
-                String rMessageResultJson = entry.getValue();
-                RKakaoMessageResult rKakaoMessageResult = objectMapper.readValue(rMessageResultJson, RKakaoMessageResult.class);
+                RKakaoMessageResult rKakaoMessageResult = toRKakaoMessageResult(entry.getKey(), entry.getValue(), messageId);
 
                 response.addBrokerCount(rKakaoMessageResult.getKakaoBrokerId());
                 response.addStatusCount(rKakaoMessageResult.getMessageStatus());
@@ -103,6 +113,36 @@ public class KakaoMessageResultService {
         return response;
     }
 
+    // 알림톡 발송 결과 키셋 조회 (cursor 는 이전 응답의 nextCursor, 첫 페이지는 null)
+    public CursorResult<GetKakaoMessageResultRes> getKakaoMessageResultsByCursor(long messageId, long memberId, Long cursor,
+                                                                                 MessageStatus messageStatus, Long brokerId, int size) {
+        checkKakaoMessageOwner(messageId, memberId);
+
+        int cursorSize = Math.min(Math.max(size, 1), MAX_CURSOR_SIZE);
+        List<MessageResultRow> rows = kakaoMessageResultRepository.findAllByCursor(messageId, cursor, messageStatus, brokerId, cursorSize);
+        List<GetKakaoMessageResultRes> kakaoResultResList = rows.stream()
+                .map(row -> GetKakaoMessageResultRes.toDto(row, messageId)).collect(Collectors.toList());
+
+        Long lastId = rows.isEmpty() ? null : rows.get(rows.size() - 1).getId();
+        return new CursorResult<>(kakaoResultResList, cursorSize, lastId);
+    }
+
+    // 알림톡 발송 결과 내보내기 (DB 커서에서 읽은 행을 바로 outputStream 에 씀)
+    public void exportKakaoMessageResults(long messageId, MessageStatus messageStatus, Long brokerId,
+                                          ResultExportFormat format, OutputStream outputStream) throws IOException {
+        try (ResultExportWriter writer = new ResultExportWriter(format, objectMapper, outputStream)) {
+            writer.writeHeader();
+            kakaoMessageResultRepository.streamAll(messageId, messageStatus, brokerId, writer::write);
+        }
+    }
+
+    public void checkKakaoMessageOwner(long messageId, long memberId) {
+        KakaoMessage kakaoMessage = kakaoMessageRepository.findById(messageId)
+                .orElseThrow(() -> new BaseException(NOT_EXIST_MESSAGE));
+        if (kakaoMessage.getMember().getId() != memberId)
+            throw new BaseException(NOT_MATCH_MEMBER);
+    }
+
     public PageResult<GetKakaoMessageRes> getKakaoMessageByButtonType(int page, Long memberId, ButtonType buttonType) {
         PageRequest pageRequest = PageRequest.of(page - 1, 10, Sort.by("id").descending());
         Page<GetKakaoMessageRes> kakaoMessagePage = kakaoMessageRepository.findKakaoMessageByButtonType(pageRequest, memberId, buttonType).map(GetKakaoMessageRes::toDto);
@@ -130,6 +170,13 @@ public class KakaoMessageResultService {
         편의 메서드
      */
     // REDIS
+    // 상태 값 변환 (압축 형식 + 기존 JSON 모두 지원)
+    private RKakaoMessageResult toRKakaoMessageResult(String rMessageResultId, String value, long messageId) throws JsonProcessingException {
+        if (PackedStatus.isPacked(value))
+            return PackedStatus.decode(value).toRKakaoMessageResult(rMessageResultId, messageId);
+        return objectMapper.readValue(value, RKakaoMessageResult.class);
+    }
+
     public GetKakaoMessageResultRes getKakaoMessageResultRes(RKakaoMessageResult rKakaoMessageResult, Contact contact) {
         KakaoBroker kakaoBroker = brokerCacheRepository.findKakaoBrokerById(rKakaoMessageResult.getKakaoBrokerId());
 
@@ -8,6 +8,7 @@ import com.srt.message.domain.Member;
 import com.srt.message.repository.*;
 import com.srt.message.dto.kakaoMessageRule.get.GetKakaoMessageRuleRes;
 import com.srt.message.dto.kakaoMessageRule.patch.PatchKakaoMessageRuleReq;
+import com.srt.message.service.routing.RoutingTableCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +27,8 @@ public class KakaoMessageRuleService {
     private final MemberRepository memberRepository;
     private final KakaoBrokerRepository kakaoBrokerRepository;
 
+    private final RoutingTableCache routingTableCache;
+
     @Transactional(readOnly = false)
     public List<GetKakaoMessageRuleRes> getKakaoMessageRule(long memberId) {
         Member member = getExistMember(memberId);
@@ -59,6 +62,7 @@ public class KakaoMessageRuleService {
             kakaoMessageRule.editMessageRule(PatchKakaoMessageRuleReq.toEntity(patchKakaoMessageRuleReq, member));
             kakaoMessageRuleDtoList.add(GetKakaoMessageRuleRes.toDto(kakaoMessageRuleRepository.save(kakaoMessageRule)));
         }
+        routingTableCache.invalidateKakaoAfterCommit(memberId);
 
         return kakaoMessageRuleDtoList;
     }
@@ -73,7 +77,7 @@ public class KakaoMessageRuleService {
                     .build();
             kakaoMessageRuleRepository.save(kakaoMessageRule);
         }
-
+        routingTableCache.invalidateKakaoAfterCommit(member.getId());
     }
 
     private Member getExistMember(long memberId) {
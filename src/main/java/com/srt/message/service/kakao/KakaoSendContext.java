@@ -0,0 +1,55 @@
+package com.srt.message.service.kakao;
+
+import com.srt.message.domain.KakaoMessage;
+import com.srt.message.domain.Member;
+import com.srt.message.domain.redis.RedisKeySchema;
+import com.srt.message.dto.kakao_message.BrokerKakaoMessageDto;
+import com.srt.message.dto.kakao_message.KakaoMessageDto;
+import com.srt.message.service.rabbit.PublishTracker;
+import com.srt.message.service.routing.RoutingTable;
+import com.srt.message.utils.algorithm.SmoothWeightedBrokerPool;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 알림톡 발송 한 건의 상태
+ * KakaoBrokerService는 상태를 갖지 않고 발송마다 컨텍스트를 새로 만들어 넘긴다.
+ */
+@Getter
+public class KakaoSendContext {
+    private final KakaoMessageDto kakaoMessageDto;
+    private final KakaoMessage kakaoMessage;
+    private final Member member;
+
+    private final String recoveryCampaign; // 복구 기한 (recovery.deadline) 의 member
+    private final String walKey; // 수신자 이벤트 로그 (복구 시 다시 읽음)
+    private final String contactKey;
+    private final String statusKey;
+    private final String countKey; // 상태별 / 중계사별 수신자 수
+
+    @Setter
+    private RoutingTable routingTable;
+
+    @Setter
+    private SmoothWeightedBrokerPool<Long> brokerPool;
+
+    @Setter
+    private PublishTracker publishTracker;
+
+    public KakaoSendContext(BrokerKakaoMessageDto brokerKakaoMessageDto) {
+        this.kakaoMessageDto = brokerKakaoMessageDto.getKakaoMessageDto();
+        this.kakaoMessage = brokerKakaoMessageDto.getKakaoMessage();
+        this.member = brokerKakaoMessageDto.getMember();
+
+        RedisKeySchema.Campaign keys = RedisKeySchema.kakao(kakaoMessage.getId());
+        this.recoveryCampaign = keys.getCampaign();
+        this.walKey = keys.wal();
+        this.contactKey = keys.contact();
+        this.statusKey = keys.status();
+        this.countKey = keys.count();
+    }
+
+    public String getRoutingKey(long brokerId) {
+        return routingTable.getRoutingKey(brokerId);
+    }
+}
@@ -0,0 +1,87 @@
+package com.srt.message.service.message;
+
+import com.srt.message.domain.Contact;
+import com.srt.message.utils.collection.LongHashSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 발신 번호 하나의 수신 차단 번호 스냅샷 (불변)
+ * 번호는 숫자만 남겨 long 키로 정규화한 뒤 LongHashSet에 담는다.
+ */
+public class BlockList {
+    public static final BlockList EMPTY = new BlockList(new LongHashSet(0));
+
+    private static final int MAX_DIGITS = 18;
+    private static final long INVALID_KEY = -1L;
+
+    private final LongHashSet numbers;
+
+    private BlockList(LongHashSet numbers) {
+        this.numbers = numbers;
+    }
+
+    public static BlockList of(Collection<String> receiveNumbers) {
+        if (receiveNumbers.isEmpty())
+            return EMPTY;
+
+        LongHashSet numbers = new LongHashSet(receiveNumbers.size());
+        for (String receiveNumber : receiveNumbers) {
+            long key = toKey(receiveNumber);
+            if (key != INVALID_KEY)
+                numbers.add(key);
+        }
+        return new BlockList(numbers);
+    }
+
+    public boolean contains(String phoneNumber) {
+        if (numbers.isEmpty())
+            return false;
+
+        long key = toKey(phoneNumber);
+        return key != INVALID_KEY && numbers.contains(key);
+    }
+
+    public int size() {
+        return numbers.size();
+    }
+
+    // 수신 차단 연락처를 blocked에 담고 발송 대상만 반환 (한 번 순회)
+    public List<Contact> filter(List<Contact> contacts, List<Contact> blocked) {
+        if (numbers.isEmpty())
+            return contacts;
+
+        List<Contact> recipients = new ArrayList<>(contacts.size());
+        for (Contact contact : contacts) {
+            if (contains(contact.getPhoneNumber()))
+                blocked.add(contact);
+            else
+                recipients.add(contact);
+        }
+        return recipients;
+    }
+
+    /**
+     * 전화번호 -> long 키
+     * 하이픈, 공백 등 숫자가 아닌 문자는 무시하고, 앞자리 0이 사라지지 않도록 1을 붙여서 파싱한다.
+     * (010-1234-5678 -> 101012345678)
+     */
+    static long toKey(String phoneNumber) {
+        if (phoneNumber == null)
+            return INVALID_KEY;
+
+        long key = 1;
+        int digits = 0;
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c < '0' || c > '9')
+                continue;
+            if (++digits > MAX_DIGITS)
+                return INVALID_KEY;
+            key = key * 10 + (c - '0');
+        }
+        return digits == 0 ? INVALID_KEY : key;
+    }
+}
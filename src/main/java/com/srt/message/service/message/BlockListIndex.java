@@ -0,0 +1,85 @@
+package com.srt.message.service.message;
+
+import com.srt.message.domain.Contact;
+import com.srt.message.repository.BlockRepository;
+import com.srt.message.service.redis.CacheInvalidationPublisher;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.srt.message.config.status.BaseStatus.ACTIVE;
+
+/**
+ * 발신 번호별 수신 차단 인덱스
+ * 발송마다 JPA 조인을 하지 않고, 처음 조회할 때 차단 번호를 한 번 읽어 메모리에 올려둔다.
+ * 수신 차단이 등록되면 Redis pub/sub으로 모든 서버의 인덱스를 무효화한다.
+ * (pub/sub 메시지를 놓친 경우를 대비해 max-age가 지나면 다시 읽음)
+ */
+@Log4j2
+@Service
+public class BlockListIndex {
+    public static final String INVALIDATE_CHANNEL = "block.invalidate";
+
+    private final BlockRepository blockRepository;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    private final long maxAgeNanos;
+    private final ConcurrentHashMap<String, Entry> index = new ConcurrentHashMap<>();
+
+    public BlockListIndex(BlockRepository blockRepository,
+                          CacheInvalidationPublisher cacheInvalidationPublisher,
+                          @Value("${block.index.max-age-seconds:600}") long maxAgeSeconds) {
+        this.blockRepository = blockRepository;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.maxAgeNanos = TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+    }
+
+    // 수신 차단 연락처를 blocked에 담고 발송 대상만 반환
+    public List<Contact> filter(String senderNumber, List<Contact> contacts, List<Contact> blocked) {
+        return get(senderNumber).filter(contacts, blocked);
+    }
+
+    public BlockList get(String senderNumber) {
+        Entry entry = index.get(senderNumber);
+        if (entry != null && !entry.isExpired(maxAgeNanos))
+            return entry.blockList;
+
+        // 같은 발신 번호는 한 번만 로딩 (무효화도 로딩이 끝난 뒤에 적용됨)
+        return index.compute(senderNumber, (key, current) ->
+                current != null && current != entry && !current.isExpired(maxAgeNanos) ? current : load(key)).blockList;
+    }
+
+    // 커밋 이후 모든 서버에 무효화 전파
+    public void invalidateAfterCommit(String senderNumber) {
+        cacheInvalidationPublisher.publishAfterCommit(INVALIDATE_CHANNEL, senderNumber, () -> onInvalidate(senderNumber));
+    }
+
+    // Redis 구독 메시지 수신
+    public void onInvalidate(String senderNumber) {
+        if (index.remove(senderNumber) != null)
+            log.info("수신 차단 인덱스 무효화 - senderNumber: {}", senderNumber);
+    }
+
+    private Entry load(String senderNumber) {
+        List<String> receiveNumbers = blockRepository.findAllBySenderNumberAndStatus(senderNumber, ACTIVE);
+        return new Entry(BlockList.of(receiveNumbers), System.nanoTime());
+    }
+
+    private static class Entry {
+        private final BlockList blockList;
+        private final long loadedAt;
+
+        Entry(BlockList blockList, long loadedAt) {
+            this.blockList = blockList;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(long maxAgeNanos) {
+            return System.nanoTime() - loadedAt > maxAgeNanos;
+        }
+    }
+}
@@ -7,17 +7,33 @@ import com.srt.message.domain.Broker;
 import com.srt.message.domain.Contact;
 import com.srt.message.domain.Message;
 import com.srt.message.domain.MessageResult;
+import com.srt.message.domain.redis.PackedStatus;
 import com.srt.message.domain.redis.RMessageResult;
+import com.srt.message.domain.redis.RedisKeySchema;
 import com.srt.message.dto.message_result.MessageResultDto;
 import com.srt.message.repository.MessageResultRepository;
 import com.srt.message.repository.cache.BrokerCacheRepository;
 import com.srt.message.repository.cache.ContactCacheRepository;
 import com.srt.message.repository.cache.MessageCacheRepository;
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import com.srt.message.repository.redis.RedisBatch;
 import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.repository.redis.RedisPipelineRepository;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.repository.redis.StatusTransition;
 import com.srt.message.service.PointService;
+import com.srt.message.utils.transaction.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 
 @Log4j2
@@ -33,82 +49,110 @@ public class BrokerCacheService {
     private final ContactCacheRepository contactCacheRepository;
 
     private final RedisHashRepository redisHashRepository;
+    private final RedisPipelineRepository redisPipelineRepository;
+    private final SendWalRepository sendWalRepository;
+    private final RecoveryDeadlineRepository recoveryDeadlineRepository;
 
     private final MessageResultRepository messageResultRepository;
 
-
-    public void updateRMessageResult(final MessageResultDto messageResultDto, String brokerName) {
-        String rMessageResultId = messageResultDto.getRMessageResultId();
-
-        // Redis에서 상태 가져오기
-        String statusKey = "message.status." + messageResultDto.getMessageId();
-
-        // Redis에 해당 데이터가 없을 경우 종료
-        if (!redisHashRepository.isExist(statusKey, rMessageResultId))
-            return;
-
-        String jsonRMessageResult = redisHashRepository.findByRMessageResultId(statusKey, rMessageResultId);
-
-        // 상태 업데이트 및 저장
-        RMessageResult rMessageResult = convertToRMessageResult(jsonRMessageResult);
-
-        // 재전송 여부인지 확인
-        // TODO 추후에 알고리즘 작성해서 코드 간략화하기
-        long retryCount = messageResultDto.getRetryCount();
-        if (retryCount >= 1) {
-            rMessageResult.changeMessageStatus(MessageStatus.RESEND);
-
-            if (retryCount == 1) {
-                rMessageResult.requeueDescription(brokerName);
-            } else if (retryCount == 2) {
-                rMessageResult.resendOneDescription(brokerName);
-            } else if (retryCount == 3) {
-                rMessageResult.resendTwoDescription(brokerName);
+    private final MessageResultSummaryService messageResultSummaryService;
+
+    // 중계사 결과 일괄 처리: MessageResult bulk insert (JDBC batch 1회)
+    // 커밋 후 Redis 반영 (메시지 아이디별 상태 전이 스크립트 1회, 파이프라인 1회)
+    // - 연락처 캐시 삭제, 수신자 이벤트 로그에 결과 저장, 모든 결과가 저장된 메시지는 로그와 복구 기한 제거
+    // - 전이 후 진행 중인 수신자가 없으면 집계를 message_result_summary 에 저장
+    // 저장이 롤백되고 batch 가 다시 오면 연락처 / 상태가 그대로 남아 있어야 하므로 Redis 변경은 모두 커밋 이후에
+    @Transactional
+    public void saveMessageResults(final List<MessageResultDto> messageResultDtos, String brokerName) {
+        RedisBatch batch = new RedisBatch();
+        List<MessageResult> messageResults = new ArrayList<>(messageResultDtos.size());
+        Map<Long, Broker> brokers = new HashMap<>();
+        Map<Long, List<StatusTransition>> transitionsByMessage = new LinkedHashMap<>();
+
+        Map<Long, List<MessageResultDto>> resultsByMessage = new LinkedHashMap<>();
+        for (MessageResultDto messageResultDto : messageResultDtos)
+            resultsByMessage.computeIfAbsent(messageResultDto.getMessageId(), k -> new ArrayList<>()).add(messageResultDto);
+
+        resultsByMessage.forEach((messageId, dtos) -> {
+            Message message = messageCacheRepository.findMessageById(messageId);
+            RedisKeySchema.Campaign keys = RedisKeySchema.sms(messageId);
+            List<StatusTransition> transitions = new ArrayList<>(dtos.size());
+
+            List<Long> contactIds = new ArrayList<>(dtos.size());
+            for (MessageResultDto messageResultDto : dtos)
+                contactIds.add(messageResultDto.getContactId());
+            Map<Long, Contact> contacts = contactCacheRepository.findContactsByContactIdsAndCampaign(contactIds, keys, batch);
+
+            for (MessageResultDto messageResultDto : dtos) {
+                Broker broker = brokers.computeIfAbsent(messageResultDto.getBrokerId(), brokerCacheRepository::findBrokerById);
+
+                MessageResult messageResult = MessageResult.builder()
+                        .message(message)
+                        .contact(contacts.get(messageResultDto.getContactId()))
+                        .broker(broker)
+                        .messageStatus(messageResultDto.getMessageStatus())
+                        .build();
+
+                // 재전송 여부인지 확인
+                long retryCount = messageResultDto.getRetryCount();
+                if (retryCount >= 1) {
+                    messageResult.changeMessageStatus(MessageStatus.RESEND);
+
+                    if (retryCount == 1) {
+                        messageResult.requeueDescription(brokerName);
+                    } else if (retryCount == 2) {
+                        messageResult.resendOneDescription(brokerName);
+                    } else if (retryCount == 3) {
+                        messageResult.resendTwoDescription(brokerName);
+                    }
+                }
+                messageResults.add(messageResult);
+
+                // Redis 상태도 같은 전이 (설명은 홉으로 저장, 재전송이 아니면 성공 + 기존 홉 유지)
+                String rMessageResultId = messageResultDto.getRMessageResultId();
+                if (retryCount == 0)
+                    transitions.add(StatusTransition.of(rMessageResultId, MessageStatus.SUCCESS));
+                else if (retryCount <= 3)
+                    transitions.add(StatusTransition.of(rMessageResultId, MessageStatus.RESEND, (int) retryCount, brokerName));
+                else
+                    transitions.add(StatusTransition.of(rMessageResultId, MessageStatus.RESEND));
             }
 
-        } else {
-            rMessageResult.changeMessageStatus(MessageStatus.SUCCESS);
-        }
+            transitionsByMessage.put(messageId, transitions);
+        });
 
-        redisHashRepository.update(statusKey, rMessageResultId, rMessageResult);
+        messageResultRepository.saveAllInBatch(messageResults);
+        TransactionUtil.runAfterCommit(() -> applyResults(batch, transitionsByMessage, brokerName));
+        log.info("[{}] MessageResult {}건이 저장되었습니다.", brokerName, messageResults.size());
     }
 
-    public void saveMessageResult(final MessageResultDto messageResultDto, String brokerName) {
-        Message message = messageCacheRepository.findMessageById(messageResultDto.getMessageId());
-        Contact contact = contactCacheRepository.findContactByContactIdAndMessageId(messageResultDto.getContactId(), messageResultDto.getMessageId());
-        Broker broker = brokerCacheRepository.findBrokerById(messageResultDto.getBrokerId());
-
-        MessageResult messageResult = MessageResult.builder()
-                .message(message)
-                .contact(contact)
-                .broker(broker)
-                .messageStatus(messageResultDto.getMessageStatus())
-                .build();
-
-        // 재전송 여부인지 확인
-        // TODO 추후에 알고리즘 작성해서 코드 간략화하기
-        long retryCount = messageResultDto.getRetryCount();
-
-        if (retryCount >= 1) {
-            messageResult.changeMessageStatus(MessageStatus.RESEND);
-
-            if (retryCount == 1) {
-                messageResult.requeueDescription(brokerName);
-            } else if (retryCount == 2) {
-                messageResult.resendOneDescription(brokerName);
-            } else if (retryCount == 3) {
-                messageResult.resendTwoDescription(brokerName);
-            }
+    // 커밋 이후 Redis 반영 (batch: 연락처 캐시 삭제가 담긴 파이프라인)
+    // 실패해도 결과는 이미 저장되었으므로 다시 받지 않고, 남은 로그와 복구 기한은 복구 서비스가 테이블 기준으로 정리
+    private void applyResults(RedisBatch batch, Map<Long, List<StatusTransition>> transitionsByMessage, String brokerName) {
+        try {
+            List<Long> completedMessageIds = new ArrayList<>();
+            transitionsByMessage.forEach((messageId, transitions) -> {
+                RedisKeySchema.Campaign keys = RedisKeySchema.sms(messageId);
+                long inflight = redisHashRepository.transitionStatus(keys.status(), keys.count(), transitions);
+                appendResults(batch, messageId, fieldsOf(transitions), inflight);
+                if (inflight == 0)
+                    completedMessageIds.add(messageId);
+            });
+
+            redisPipelineRepository.execute(batch);
+            for (Long messageId : completedMessageIds)
+                messageResultSummaryService.saveSummary(messageId);
+        } catch (RuntimeException e) {
+            log.error("[{}] MessageResult 저장 후 Redis 반영 실패 - messageIds: {}", brokerName, transitionsByMessage.keySet(), e);
         }
-
-        messageResultRepository.save(messageResult);
-        log.info("[" + messageResult.getMessageStatus() + "] " + "[" + brokerName + "]" + " MessageResult 객체가 저장되었습니다. id : {}", messageResult.getId());
     }
 
     public void saveMessageResultFailure(final MessageResultDto messageResultDto, String brokerName){
         // RDBMS SAVE
         Message message = messageCacheRepository.findMessageById(messageResultDto.getMessageId());
-        Contact contact = contactCacheRepository.findContactByContactIdAndMessageId(messageResultDto.getContactId(), messageResultDto.getMessageId());
+        RedisKeySchema.Campaign keys = RedisKeySchema.sms(messageResultDto.getMessageId());
+        RedisBatch batch = new RedisBatch();
+        Contact contact = contactCacheRepository.findContactByContactIdAndCampaign(messageResultDto.getContactId(), keys, batch);
         Broker broker = brokerCacheRepository.findBrokerById(messageResultDto.getBrokerId());
 
         MessageResult messageResult = MessageResult.builder()
@@ -122,35 +166,35 @@ public class BrokerCacheService {
         messageResult.addDescription("중계사 오류");
         messageResult.changeMessageStatus(MessageStatus.FAIL);
 
-        messageResultRepository.save(messageResult);
-        log.info("[" + messageResult.getMessageStatus() + "] " + "[" + brokerName + "]" + " MessageResult 객체가 저장되었습니다. id : {}", messageResult.getId());
-
-        // 환불
+        // 환불 (포인트 update 쿼리가 영속성 컨텍스트를 비우므로 결과는 환불 설명까지 채운 뒤 바로 flush)
         int refundSmsPoint = pointService.refundMessagePoint(message.getMember(), 1, message.getMessageType());
         messageResult.addDescription(refundSmsPoint + " 문자당근 환불");
 
-        // 상태 DB (REDIS)
-        String rMessageResultId = messageResultDto.getRMessageResultId();
-
-        // Redis에서 상태 가져오기
-        String statusKey = "message.status." + messageResultDto.getMessageId();
-
-        // Redis에 해당 데이터가 없을 경우 종료
-        if (!redisHashRepository.isExist(statusKey, rMessageResultId))
-            return;
-
-        String jsonRMessageResult = redisHashRepository.findByRMessageResultId(statusKey, rMessageResultId);
-
-        // 상태 업데이트 및 저장
-        RMessageResult rMessageResult = convertToRMessageResult(jsonRMessageResult);
+        messageResultRepository.saveAndFlush(messageResult);
+        log.info("[" + messageResult.getMessageStatus() + "] " + "[" + brokerName + "]" + " MessageResult 객체가 저장되었습니다. id : {}", messageResult.getId());
 
-        rMessageResult.resendTwoDescription(brokerName);
-        rMessageResult.addDescription("중계사 오류");
-        rMessageResult.changeMessageStatus(MessageStatus.FAIL);
+        // 상태 DB (REDIS) - 커밋 후, 결과가 남아 있고 종료 상태가 아닐 때만 실패로 전이
+        StatusTransition transition = StatusTransition.of(messageResultDto.getRMessageResultId(), MessageStatus.FAIL, 3 + PackedStatus.HOP_BROKER_ERROR, brokerName);
+        TransactionUtil.runAfterCommit(() -> applyResults(batch, Collections.singletonMap(keys.getMessageId(), Collections.singletonList(transition)), brokerName));
+    }
 
-        rMessageResult.addDescription(refundSmsPoint + " 문자당근 환불");
+    private static List<String> fieldsOf(List<StatusTransition> transitions) {
+        List<String> fields = new ArrayList<>(transitions.size());
+        for (StatusTransition transition : transitions)
+            fields.add(transition.getField());
+        return fields;
+    }
 
-        redisHashRepository.update(statusKey, rMessageResultId, rMessageResult);
+    // 결과 저장 이벤트 (진행 중인 수신자가 없으면 더 이상 복구할 것이 없으므로 로그와 복구 기한 제거)
+    private void appendResults(RedisBatch walBatch, long messageId, List<String> rMessageResultIds, long inflight) {
+        RedisKeySchema.Campaign keys = RedisKeySchema.sms(messageId);
+        String walKey = keys.wal();
+        if (inflight == 0) {
+            sendWalRepository.delete(walBatch, walKey);
+            recoveryDeadlineRepository.complete(walBatch, keys.getCampaign());
+        } else {
+            sendWalRepository.appendResults(walBatch, walKey, rMessageResultIds);
+        }
     }
 
     public RMessageResult convertToRMessageResult(String json) {
@@ -4,206 +4,225 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.srt.message.config.status.MessageStatus;
 import com.srt.message.domain.*;
-import com.srt.message.domain.redis.RMessageResult;
-import com.srt.message.dto.message.BrokerSendMessageDto;
-import com.srt.message.repository.BlockRepository;
-import com.srt.message.repository.BrokerRepository;
+import com.srt.message.domain.redis.PackedStatus;
+import com.srt.message.domain.redis.SpillRecord;
+import com.srt.message.domain.redis.StatusCounts;
 import com.srt.message.repository.MessageResultRepository;
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import com.srt.message.repository.redis.RedisBatch;
 import com.srt.message.repository.redis.RedisHashRepository;
-import com.srt.message.repository.redis.RedisListRepository;
+import com.srt.message.repository.redis.SendWalRepository;
 import com.srt.message.dto.message.BrokerMessageDto;
-import com.srt.message.dto.message.SMSMessageDto;
 import com.srt.message.dto.message_result.MessageResultDto;
-import com.srt.message.repository.MessageRuleRepository;
 import com.srt.message.service.PointService;
-import com.srt.message.utils.algorithm.BrokerPool;
-import com.srt.message.utils.algorithm.BrokerWeight;
+import com.srt.message.service.rabbit.ConfirmPublisher;
+import com.srt.message.service.redis.RedisSpillGuard;
+import com.srt.message.service.rabbit.SmsEnvelopeCodec;
+import com.srt.message.service.routing.RoutingTable;
+import com.srt.message.service.routing.RoutingTableCache;
+import com.srt.message.utils.window.SendWindow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.time.StopWatch;
-import org.springframework.amqp.core.MessageBuilder;
-import org.springframework.amqp.core.MessageProperties;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.context.annotation.Scope;
-import org.springframework.context.annotation.ScopedProxyMode;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.stereotype.Component;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import static com.srt.message.config.status.BaseStatus.ACTIVE;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
 import static com.srt.message.dlx.DlxProcessingErrorHandler.MESSAGE_BROKER_DEAD_COUNT;
 import static com.srt.message.utils.rabbitmq.RabbitSMSUtil.SMS_EXCHANGE_NAME;
 
 
 @Log4j2
-@Component
-@Scope(value = "prototype", proxyMode = ScopedProxyMode.TARGET_CLASS)
+@Service
 @RequiredArgsConstructor
 public class BrokerService {
-    private final int TMP_MESSAGE_DURATION = 5 * 60;
-    private final int VALUE_MESSAGE_DURATION = 10 * 60;
+    private final int RECOVERY_DEADLINE_DURATION = 5 * 60; // 마지막 윈도우 저장 후 발행 확인을 기다리는 시간
+    private final int RESULT_DEADLINE_DURATION = 30 * 60; // 발행 확인 후 처리 결과를 기다리는 시간
+    private final int SEND_WINDOW_SIZE = SendWindow.DEFAULT_WINDOW_SIZE;
 
     private final ObjectMapper objectMapper;
 
-    private final RabbitTemplate rabbitTemplate;
-    private final RedisTemplate<String, Contact> redisTemplate;
+    private final ConfirmPublisher confirmPublisher;
+    private final SmsEnvelopeCodec smsEnvelopeCodec;
 
     private final BrokerCacheService brokerCacheService;
     private final PointService pointService;
 
     private final RedisHashRepository redisHashRepository;
-    private final RedisListRepository redisListRepository;
+    private final RecoveryDeadlineRepository recoveryDeadlineRepository;
+    private final SendWalRepository sendWalRepository;
+    private final RedisSpillGuard redisSpillGuard;
 
-    private final BlockRepository blockRepository;
+    private final BlockListIndex blockListIndex;
 
-    private final BrokerRepository brokerRepository;
-    private final MessageRuleRepository messageRuleRepository;
+    private final RoutingTableCache routingTableCache;
     private final MessageResultRepository messageResultRepository;
 
-    private SMSMessageDto smsMessageDto;
-    private Message message;
-    private List<Contact> contacts;
-
-    // Broker 서버에게 메시지 전송
+    // Broker 서버에게 메시지 전송 (처리 시간 반환)
     public String sendSmsMessage(BrokerMessageDto brokerMessageDto) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        sendSmsMessage(brokerMessageDto, SendProgressListener.NO_OP);
+
+        stopWatch.stop();
+        return String.valueOf(stopWatch.getTime());
+    }
+
+    // Broker 서버에게 메시지 전송 (진행 상황 보고), 모든 발행이 confirm 되면 true
+    public boolean sendSmsMessage(BrokerMessageDto brokerMessageDto, SendProgressListener progressListener) {
         // 시간 측정
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
-        this.smsMessageDto = brokerMessageDto.getSmsMessageDto();
-        this.message = brokerMessageDto.getMessage();
-        this.contacts = brokerMessageDto.getContacts();
+        SmsSendContext context = new SmsSendContext(brokerMessageDto, progressListener);
 
-        // Redis에 미리 저장 (메시지 손실 방지)
-        int idx = 0;
-        List<String> rMessageResultDtos = new ArrayList<>();
-        List<MessageResultDto> messageResultDtos = new ArrayList<>();
-        for (int i = 0; i < contacts.size(); i++) {
-            MessageResultDto messageResultDto = MessageResultDto.builder()
-                    .rMessageResultId(String.valueOf(++idx))
-                    .messageId(message.getId())
-                    .contactId(contacts.get(i).getId())
-                    .messageStatus(MessageStatus.PENDING)
-                    .build();
-            messageResultDtos.add(messageResultDto);
-            rMessageResultDtos.add(convertToJson(messageResultDto));
-        }
-        String tmpKey = "message.tmp." + message.getId();
-        redisListRepository.rightPushAll(tmpKey, rMessageResultDtos, TMP_MESSAGE_DURATION);
-
-        String valueKey = "message.value." + message.getId(); // tmp에서 TTL 만료됐을 경우 value값 꺼내오는 용도
-        redisListRepository.rightPushAll(valueKey, rMessageResultDtos, VALUE_MESSAGE_DURATION);
-
-        Member member = brokerMessageDto.getMember();
-
-        // 수신 차단 처리
-        String senderPhoneNumber = brokerMessageDto.getMessage().getSenderNumber().getPhoneNumber();
-        List<Contact> blockContacts = blockRepository.findContactList(contacts, senderPhoneNumber, ACTIVE);
-        for (Contact blockContact : blockContacts) {
-            for (Contact contact : contacts) {
-                if (contact.getPhoneNumber().equals(blockContact.getPhoneNumber())) {
-                    MessageResult messageResult = MessageResult.builder()
-                            .message(message)
-                            .contact(blockContact)
-                            .messageStatus(MessageStatus.FAIL)
-                            .description("수신 차단")
-                            .build();
-
-                    // 환불
-                    int refundSmsPoint = pointService.refundMessagePoint(member, 1, message.getMessageType());
-                    messageResult.addDescription(refundSmsPoint + " 문자당근 환불");
-
-                    contacts.remove(contact);
-                    messageResultRepository.save(messageResult);
-                    break;
-                }
-            }
-        }
+        // 수신 차단 번호를 먼저 걸러낸 뒤 발송 대상만 윈도우로 처리
+        List<Contact> recipients = filterBlockContacts(context, brokerMessageDto.getContacts());
 
         // 브로커 비율 설정
-        Map<Long, String> brokerMap = new HashMap<>();
-        List<MessageRule> messageRules = messageRuleRepository.findAllByMember(member);
-        if (messageRules.isEmpty()) { // 발송 규칙을 설정 안했을 경우
-            List<Broker> brokers = brokerRepository.findAll();
-            for (Broker broker : brokers) {
-                messageRules.add(MessageRule.builder()
-                        .broker(broker)
-                        .brokerRate(30)
-                        .build());
-            }
+        RoutingTable routingTable = routingTableCache.getSmsRoutingTable(context.getMember());
+        context.setRoutingTable(routingTable);
+        context.setBrokerPool(routingTable.newBrokerPool());
+        context.setPublishTracker(confirmPublisher.newTracker("sms." + context.getMessage().getId()));
+
+        // 윈도우 단위로 상태 저장 후 발행 (한 번에 하나의 윈도우만 유지)
+        int windowCount = SendWindow.forEach(recipients, SEND_WINDOW_SIZE, (window, offset) -> sendWindow(context, window, offset));
+
+        // 모든 발행이 confirm 되면 처리 결과를 기다리도록 복구 기한 연장 (아니면 복구 기한이 지난 뒤 실패 처리)
+        // 로그와 복구 기한은 모든 처리 결과가 저장되면 BrokerCacheService 가 제거
+        boolean confirmed = confirmPublisher.awaitConfirms(context.getPublishTracker());
+        if (confirmed) {
+            RedisBatch ackBatch = new RedisBatch();
+            sendWalRepository.appendAcked(ackBatch, context.getWalKey());
+            recoveryDeadlineRepository.register(ackBatch, context.getRecoveryCampaign(), System.currentTimeMillis() + RESULT_DEADLINE_DURATION * 1000L);
+            redisSpillGuard.execute(ackBatch, SpillRecord.acked(context.getRecoveryCampaign()));
         }
 
-        ArrayList<BrokerWeight<Broker>> brokerWeights = new ArrayList<>();
-        for (MessageRule messageRule : messageRules) {
-            brokerWeights.add(new BrokerWeight<>(messageRule.getBroker(), messageRule.getBrokerRate()));
-
-            Broker broker = messageRule.getBroker();
-            brokerMap.put(broker.getId(), broker.getName().toLowerCase());
-        }
+        // 시간 측정 결과
+        stopWatch.stop();
+        log.info("Process Time: {}, windows: {}, confirmed: {}", stopWatch.getTime(), windowCount, confirmed);
+        return confirmed;
+    }
 
-        BrokerPool<Broker> brokerPool = new BrokerPool<>(brokerWeights);
+    // 윈도우 하나 처리: 상태 저장 -> 발행
+    private void sendWindow(SmsSendContext context, List<Contact> window, int offset) {
+        Message message = context.getMessage();
 
+        long[] contactIds = new long[window.size()];
+        List<MessageResultDto> messageResultDtos = new ArrayList<>(window.size());
         HashMap<String, String> rMessageResultMap = new HashMap<>();
         HashMap<String, String> contactMap = new HashMap<>();
+        Map<Long, String> phoneNumbers = new HashMap<>();
 
-        // 상태 DB에 저장하기
-        for (int i = 0; i < contacts.size(); i++) {
-            if (blockContacts.contains(contacts.get(i))) // 수신 차단 된 번호면 스킵
-                continue;
+        // 윈도우 수신자의 중계사를 한 번에 배정
+        long[] brokerIds = context.getBrokerPool().nextIds(window.size());
+        LocalDateTime publishedAt = LocalDateTime.now(); // 결과 수신 지연 측정용 (BrokerHealthMonitor)
 
-            Broker broker = (Broker) brokerPool.getNext().getBroker();
-            smsMessageDto.setTo(contacts.get(i).getPhoneNumber());
+        for (int i = 0; i < window.size(); i++) {
+            Contact contact = window.get(i);
 
-            // Redis에서 MessageResultDTO 꺼내오기
-            MessageResultDto messageResultDto = messageResultDtos.get(i);
-            messageResultDtos.get(i).setBrokerId(broker.getId());
+            MessageResultDto messageResultDto = MessageResultDto.builder()
+                    .rMessageResultId(String.valueOf(offset + i + 1))
+                    .messageId(message.getId())
+                    .contactId(contact.getId())
+                    .brokerId(brokerIds[i])
+                    .messageStatus(MessageStatus.PENDING)
+                    .createdAt(publishedAt)
+                    .build();
+            messageResultDtos.add(messageResultDto);
+            contactIds[i] = contact.getId();
 
             // 연락처 캐싱용
-            Contact contact = contacts.get(i);
             contactMap.put(String.valueOf(contact.getId()), convertToJson(contact));
+            phoneNumbers.put(contact.getId(), contact.getPhoneNumber());
 
-            // 상태 값 저장
-            RMessageResult rMessageResult = MessageResultDto.toRMessageResult(messageResultDto);
-            rMessageResultMap.put(rMessageResult.getId(), convertToJson(rMessageResult));
+            // 상태 값 저장 (압축 형식)
+            rMessageResultMap.put(messageResultDto.getRMessageResultId(), PackedStatus.pending(brokerIds[i], contact.getId()).encode());
         }
-        String contactKey = "message.contact." + message.getId();
-        redisHashRepository.saveContactAll(contactKey, contactMap);
 
-        String statusKey = "message.status." + message.getId();
-        redisHashRepository.saveAll(statusKey, rMessageResultMap);
-
-        // 각 중개사 비율에 맞게 보내기
-        for (int i = 0; i < contacts.size(); i++) {
-            MessageResultDto messageResultDto = messageResultDtos.get(i);
-            BrokerSendMessageDto brokerSendMessageDto = new BrokerSendMessageDto(smsMessageDto, messageResultDto);
-
-            long brokerId = messageResultDto.getBrokerId();
-            String routingKey = "sms.work." + brokerMap.get(brokerId);
+        // Redis에 미리 저장 (메시지 손실 방지) - 윈도우당 파이프라인 한 번, Redis 가 느리면 로컬 저널에
+        RedisBatch batch = new RedisBatch();
+        sendWalRepository.appendEnqueued(batch, context.getWalKey(), offset, contactIds);
+        redisHashRepository.saveContactAll(batch, context.getContactKey(), contactMap);
+        redisHashRepository.saveAll(batch, context.getStatusKey(), rMessageResultMap);
+        redisHashRepository.incrementAll(batch, context.getCountKey(), StatusCounts.pendingDeltas(brokerIds));
+        recoveryDeadlineRepository.register(batch, context.getRecoveryCampaign(), System.currentTimeMillis() + RECOVERY_DEADLINE_DURATION * 1000L);
+        redisSpillGuard.execute(batch, SpillRecord.window(context.getRecoveryCampaign(), offset, contactIds, brokerIds));
+        context.getProgressListener().onEnqueued(window.size());
+
+        // 각 중개사 비율에 맞게 라우트별로 묶어서 보내기
+        Map<String, List<MessageResultDto>> resultsByRoute = new LinkedHashMap<>();
+        for (MessageResultDto messageResultDto : messageResultDtos)
+            resultsByRoute.computeIfAbsent(context.getRoutingKey(messageResultDto.getBrokerId()), k -> new ArrayList<>()).add(messageResultDto);
+
+        // 봉투 지원 라우트는 여러 수신자를 하나의 메시지로 묶음
+        Map<String, List<org.springframework.amqp.core.Message>> messagesByRoute = new LinkedHashMap<>();
+        resultsByRoute.forEach((routingKey, results) ->
+                messagesByRoute.put(routingKey, smsEnvelopeCodec.encode(routingKey, context.getSmsMessageDto(), results, phoneNumbers)));
+        confirmPublisher.publish(context.getPublishTracker(), SMS_EXCHANGE_NAME, messagesByRoute);
+        RedisBatch publishedBatch = new RedisBatch();
+        sendWalRepository.appendPublished(publishedBatch, context.getWalKey(), offset, window.size());
+        redisSpillGuard.executeBestEffort(publishedBatch);
+        context.getProgressListener().onPublished(window.size());
+
+        log.info("{} ~ {} 번째 메시지가 전송되었습니다 - messageId: {}", offset + 1, offset + window.size(), message.getId());
+    }
 
-            // AMQP Message Builder
-            org.springframework.amqp.core.Message amqpMessage = MessageBuilder
-                    .withBody(convertToJson(brokerSendMessageDto).getBytes())
-                    .setContentType(MessageProperties.CONTENT_TYPE_JSON)
-                    .build();
+    // 수신 차단 처리 후 발송 대상 연락처 반환
+    private List<Contact> filterBlockContacts(SmsSendContext context, List<Contact> contacts) {
+        Message message = context.getMessage();
+
+        // 발신 번호별 차단 인덱스로 한 번에 분리
+        List<Contact> blockContacts = new ArrayList<>();
+        List<Contact> recipients = blockListIndex.filter(message.getSenderNumber().getPhoneNumber(), contacts, blockContacts);
+        if (blockContacts.isEmpty())
+            return recipients;
+
+        // 결제는 연락처마다 했으므로 차단된 연락처마다 환불 / 실패 처리 (같은 번호가 여러 번 있어도), 환불 쿼리는 발송당 한 번
+        int refundSmsPoint = pointService.refundMessagePoint(context.getMember(), blockContacts.size(), message.getMessageType());
+        String description = "수신 차단 " + refundSmsPoint / blockContacts.size() + " 문자당근 환불";
+
+        List<MessageResult> messageResults = new ArrayList<>(blockContacts.size());
+        for (Contact failContact : blockContacts) {
+            messageResults.add(MessageResult.builder()
+                    .message(message)
+                    .contact(failContact)
+                    .messageStatus(MessageStatus.FAIL)
+                    .description(description)
+                    .build());
+        }
 
-            rabbitTemplate.convertAndSend(SMS_EXCHANGE_NAME, routingKey, amqpMessage);
+        // 실패 결과는 JDBC batch 한 번으로 저장
+        messageResultRepository.saveAllInBatch(messageResults);
+        RedisBatch failBatch = new RedisBatch();
+        redisHashRepository.incrementAll(failBatch, context.getCountKey(), StatusCounts.failDeltas(messageResults.size()));
+        redisSpillGuard.execute(failBatch, SpillRecord.blocked(context.getRecoveryCampaign(), messageResults.size()));
+        log.info("수신 차단 {}건 실패 처리 - messageId: {}", messageResults.size(), message.getId());
+        return recipients;
+    }
 
-            log.info((i + 1) + " 번째 메시지가 전송되었습니다 - " + routingKey);
+    // 발송을 시작하지 못한 메시지 전체 실패 처리 (결제한 포인트 환불, 수신자별 실패 결과 저장)
+    public void failSmsMessage(BrokerMessageDto brokerMessageDto, String reason) {
+        Message message = brokerMessageDto.getMessage();
+        List<Contact> contacts = brokerMessageDto.getContacts();
+
+        int refundSmsPoint = pointService.refundMessagePoint(brokerMessageDto.getMember(), contacts.size(), message.getMessageType());
+        String description = reason + " " + refundSmsPoint / contacts.size() + " 문자당근 환불";
+
+        List<MessageResult> messageResults = new ArrayList<>(contacts.size());
+        for (Contact contact : contacts) {
+            messageResults.add(MessageResult.builder()
+                    .message(message)
+                    .contact(contact)
+                    .messageStatus(MessageStatus.FAIL)
+                    .description(description)
+                    .build());
         }
 
-        // 임시 저장된 값 제거
-        redisListRepository.remove(tmpKey);
-        redisListRepository.remove(valueKey);
-
-        // 시간 측정 결과
-        stopWatch.stop();
-        String processTime = String.valueOf(stopWatch.getTime());
-        log.info("Process Time: {} ", processTime);
-        return processTime;
+        messageResultRepository.saveAllInBatch(messageResults);
+        log.warn("발송 실패 처리 {}건 ({}) - messageId: {}", messageResults.size(), reason, message.getId());
     }
 
     // 메시지 발송 실패 처리
@@ -0,0 +1,192 @@
+package com.srt.message.service.message;
+
+import com.srt.message.config.exception.BaseException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static com.srt.message.config.response.BaseResponseStatus.IMAGE_STORE_ERROR;
+import static com.srt.message.config.response.BaseResponseStatus.NOT_EXIST_IMAGE;
+
+/**
+ * MMS 이미지 저장소 (내용 해시 기반)
+ * 같은 이미지는 SHA-256 해시 하나로 한 번만 저장하고, 발송 메시지에는 해시만 담는다.
+ * 조회 순서: L1(LRU) -> Redis -> 파일
+ * 파일은 저장한 서버의 디스크에만 있으므로, 다른 서버는 Redis 사본이 남아 있는 동안 (shared-ttl-seconds) Redis 에서 읽어 자기 디스크에 복사한다.
+ * 그보다 오래된 이미지를 여러 서버에서 조회하려면 image.store.path 를 공유 볼륨으로 둔다.
+ */
+@Log4j2
+@Service
+public class ImageStore {
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private final int REDIS_CACHE_DURATION = 10 * 60;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final Path rootPath;
+    private final long sharedTtlSeconds; // 저장할 때 올린 Redis 사본 유지 시간 (다른 서버에서 조회 가능한 기간)
+    private final Map<String, String> l1Cache;
+
+    public ImageStore(RedisTemplate<String, Object> redisTemplate,
+                      @Value("${image.store.path:./data/images}") String rootPath,
+                      @Value("${image.store.l1-size:64}") int l1Size,
+                      @Value("${image.store.shared-ttl-seconds:86400}") long sharedTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.rootPath = Paths.get(rootPath).toAbsolutePath();
+        this.sharedTtlSeconds = sharedTtlSeconds;
+        this.l1Cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > l1Size;
+            }
+        };
+    }
+
+    // 이미지 저장 후 해시 반환 (이미 있으면 쓰지 않음)
+    // Redis 에도 올려서 다른 서버로 온 조회도 찾을 수 있게 함 (load)
+    public String save(String image) {
+        byte[] bytes = image.getBytes(StandardCharsets.UTF_8);
+        String hash = hash(bytes);
+
+        if (!Files.exists(resolve(hash))) {
+            try {
+                writeFile(hash, bytes);
+            } catch (IOException e) {
+                log.error("이미지 저장 실패 - hash: {}", hash, e);
+                throw new BaseException(IMAGE_STORE_ERROR);
+            }
+        }
+
+        redisTemplate.opsForValue().set(getRedisKey(hash), image, sharedTtlSeconds, TimeUnit.SECONDS);
+        putL1(hash, image);
+        return hash;
+    }
+
+    // 해시로 이미지 조회
+    public String load(String hash) {
+        if (!isValidHash(hash))
+            throw new BaseException(NOT_EXIST_IMAGE);
+
+        String image = getL1(hash);
+        if (image != null)
+            return image;
+
+        String redisKey = getRedisKey(hash);
+        image = (String) redisTemplate.opsForValue().get(redisKey);
+        if (image == null) {
+            try {
+                image = Files.readString(getPath(hash), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new BaseException(NOT_EXIST_IMAGE);
+            }
+            redisTemplate.opsForValue().set(redisKey, image, REDIS_CACHE_DURATION, TimeUnit.SECONDS);
+        } else if (!Files.exists(resolve(hash))) {
+            // 다른 서버에서 저장한 이미지는 이 서버 디스크에도 남김 (다음 조회부터는 파일에서 바로 전송)
+            try {
+                writeFile(hash, image.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                log.warn("이미지 파일 복사 실패 - hash: {}", hash, e);
+            }
+        }
+
+        putL1(hash, image);
+        return image;
+    }
+
+    public boolean exists(String hash) {
+        return isValidHash(hash) && Files.exists(resolve(hash));
+    }
+
+    public long size(String hash) {
+        try {
+            return Files.size(getPath(hash));
+        } catch (IOException e) {
+            throw new BaseException(NOT_EXIST_IMAGE);
+        }
+    }
+
+    // 저장된 파일 경로 (존재하지 않으면 예외)
+    public Path getPath(String hash) {
+        if (!isValidHash(hash))
+            throw new BaseException(NOT_EXIST_IMAGE);
+
+        Path path = resolve(hash);
+        if (!Files.exists(path))
+            throw new BaseException(NOT_EXIST_IMAGE);
+        return path;
+    }
+
+    // 파일 내용을 그대로 채널로 전송 (FileChannel.transferTo, 사용자 공간 복사 없음)
+    public long transferTo(String hash, WritableByteChannel target) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(getPath(hash), StandardOpenOption.READ)) {
+            long size = fileChannel.size();
+            long position = 0;
+            while (position < size)
+                position += fileChannel.transferTo(position, size - position, target);
+            return size;
+        }
+    }
+
+    // 임시 파일에 쓰고 원자적으로 이동 (동시 저장 시에도 깨진 파일이 보이지 않음)
+    private void writeFile(String hash, byte[] bytes) throws IOException {
+        Path path = resolve(hash);
+        Files.createDirectories(path.getParent());
+
+        Path tmpPath = Files.createTempFile(path.getParent(), hash, ".tmp");
+        Files.write(tmpPath, bytes);
+        try {
+            Files.move(tmpPath, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(tmpPath);
+        }
+    }
+
+    private Path resolve(String hash) {
+        return rootPath.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    private String getRedisKey(String hash) {
+        return "image.blob." + hash;
+    }
+
+    private String getL1(String hash) {
+        synchronized (l1Cache) {
+            return l1Cache.get(hash);
+        }
+    }
+
+    private void putL1(String hash, String image) {
+        synchronized (l1Cache) {
+            l1Cache.put(hash, image);
+        }
+    }
+
+    private String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest)
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
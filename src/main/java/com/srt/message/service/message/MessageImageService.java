@@ -9,10 +9,19 @@ import com.srt.message.dto.message_image.get.GetMessageImageRes;
 import com.srt.message.repository.MessageImageRepository;
 import com.srt.message.repository.MessageRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
 
+import static com.srt.message.config.response.BaseResponseStatus.NOT_EXIST_IMAGE;
 import static com.srt.message.config.response.BaseResponseStatus.NOT_EXIST_MESSAGE;
 import static com.srt.message.config.response.BaseResponseStatus.NOT_MMS_TYPE;
 
@@ -21,6 +30,12 @@ import static com.srt.message.config.response.BaseResponseStatus.NOT_MMS_TYPE;
 public class MessageImageService {
     private final MessageImageRepository messageImageRepository;
     private final MessageRepository messageRepository;
+    private final ImageStore imageStore;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
 
     // MMS 메시지 불러오기
     public GetMessageImageRes getMMSImages(long messageId){
@@ -34,4 +49,38 @@ public class MessageImageService {
 
         return GetMessageImageRes.toDto(messageImages);
     }
+
+    // MMS 이미지 원본 전송 (JPA를 거치지 않고 ImageStore 파일을 그대로 전송)
+    public void streamMMSImage(long messageId, String hash, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!messageImageRepository.existsByMessageIdAndHash(messageId, hash))
+            throw new BaseException(NOT_EXIST_IMAGE);
+
+        // 다른 서버에서 저장해 이 서버 디스크에 없으면 ImageStore 캐시에서 읽어 전송
+        if (!imageStore.exists(hash)) {
+            byte[] image = imageStore.load(hash).getBytes(StandardCharsets.UTF_8);
+            setImageHeaders(response, image.length);
+            response.getOutputStream().write(image);
+            return;
+        }
+
+        Path path = imageStore.getPath(hash);
+        long size = imageStore.size(hash);
+        setImageHeaders(response, size);
+
+        // Tomcat sendfile 지원 시 커널에서 바로 소켓으로 전송
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        imageStore.transferTo(hash, Channels.newChannel(response.getOutputStream()));
+    }
+
+    private void setImageHeaders(HttpServletResponse response, long size) {
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "max-age=31536000, immutable"); // 내용 해시라 변하지 않음
+    }
 }
@@ -3,21 +3,28 @@ package com.srt.message.service.message;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.srt.message.config.exception.BaseException;
+import com.srt.message.config.page.CursorResult;
 import com.srt.message.config.page.PageResult;
 import com.srt.message.config.response.BaseResponseStatus;
+import com.srt.message.config.status.MessageStatus;
 import com.srt.message.config.type.MessageType;
 import com.srt.message.config.type.MsgSearchType;
 import com.srt.message.domain.Broker;
 import com.srt.message.domain.Contact;
 import com.srt.message.domain.Message;
 import com.srt.message.domain.MessageResult;
+import com.srt.message.domain.redis.PackedStatus;
 import com.srt.message.domain.redis.RMessageResult;
+import com.srt.message.domain.redis.RedisKeySchema;
 import com.srt.message.dto.message.get.GetMessageRes;
+import com.srt.message.dto.message_result.MessageResultRow;
 import com.srt.message.dto.message_result.get.GetListMessageResultRes;
 import com.srt.message.dto.message_result.get.GetMessageResultRes;
 import com.srt.message.repository.*;
 import com.srt.message.repository.cache.BrokerCacheRepository;
 import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.utils.export.ResultExportFormat;
+import com.srt.message.utils.export.ResultExportWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -25,6 +32,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -37,6 +46,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Service
 public class MessageResultService {
+    private static final int MAX_CURSOR_SIZE = 100;
+
     private final ObjectMapper objectMapper;
 
     private final MessageRepository messageRepository;
@@ -48,7 +59,6 @@ public class MessageResultService {
 
     private final RedisHashRepository redisHashRepository;
 
-
     // 발송한 메시지 페이징 조회
     public PageResult<GetMessageRes> getAllMessages(long memberId, int page) {
         PageRequest pageRequest = PageRequest.of(page - 1, 10, Sort.by("id").descending());
@@ -66,14 +76,13 @@ public class MessageResultService {
         Message message = messageRepository.findById(messageId).orElseThrow(() -> new BaseException(BaseResponseStatus.NOT_EXIST_MESSAGE));
 
         // 레디스에 상태 값 저장되어 있는지 확인
-        String statusKey = "message.status." + messageId;
+        String statusKey = RedisKeySchema.sms(messageId).status();
         Map<String, String> statusMap = redisHashRepository.findAll(statusKey);
         if (!statusMap.isEmpty()) { // 상태 정보가 들어있을 경우 REDIS로 조회
             List<RMessageResult> rMessageResultList = new ArrayList<>();
 
             for (Map.Entry<String, String> entry : statusMap.entrySet()) {
-                String rMessageResultJson = entry.getValue();
-                RMessageResult rMessageResult = objectMapper.readValue(rMessageResultJson, RMessageResult.class);
+                RMessageResult rMessageResult = toRMessageResult(entry.getKey(), entry.getValue(), message);
 
                 response.addBrokerCount(rMessageResult.getBrokerId());
                 response.addStatusCount(rMessageResult.getMessageStatus());
@@ -115,6 +124,45 @@ public class MessageResultService {
         return response;
     }
 
+    // 메시지 처리 결과 페이징 조회 (수신자별 목록, 건수/포인트 집계는 MessageResultSummaryService)
+    public PageResult<GetMessageResultRes> getMessageResults(long messageId, long memberId, int page) {
+        checkMessageOwner(messageId, memberId);
+
+        PageRequest pageRequest = PageRequest.of(page - 1, 10, Sort.by("id").descending());
+        Page<GetMessageResultRes> messageResultPage = messageResultRepository.findAllByMessageId(messageId, pageRequest)
+                .map(this::getMessageResultRes);
+
+        return new PageResult<>(messageResultPage);
+    }
+
+    // 메시지 처리 결과 키셋 조회 (cursor 는 이전 응답의 nextCursor, 첫 페이지는 null)
+    public CursorResult<GetMessageResultRes> getMessageResultsByCursor(long messageId, long memberId, Long cursor,
+                                                                       MessageStatus messageStatus, Long brokerId, int size) {
+        checkMessageOwner(messageId, memberId);
+
+        int cursorSize = Math.min(Math.max(size, 1), MAX_CURSOR_SIZE);
+        List<MessageResultRow> rows = messageResultRepository.findAllByCursor(messageId, cursor, messageStatus, brokerId, cursorSize);
+        List<GetMessageResultRes> messageResultResList = rows.stream().map(GetMessageResultRes::toDto).collect(Collectors.toList());
+
+        Long lastId = rows.isEmpty() ? null : rows.get(rows.size() - 1).getId();
+        return new CursorResult<>(messageResultResList, cursorSize, lastId);
+    }
+
+    // 메시지 처리 결과 내보내기 (DB 커서에서 읽은 행을 바로 outputStream 에 씀)
+    public void exportMessageResults(long messageId, MessageStatus messageStatus, Long brokerId,
+                                     ResultExportFormat format, OutputStream outputStream) throws IOException {
+        try (ResultExportWriter writer = new ResultExportWriter(format, objectMapper, outputStream)) {
+            writer.writeHeader();
+            messageResultRepository.streamAll(messageId, messageStatus, brokerId, writer::write);
+        }
+    }
+
+    public void checkMessageOwner(long messageId, long memberId) {
+        Message message = messageRepository.findById(messageId).orElseThrow(() -> new BaseException(BaseResponseStatus.NOT_EXIST_MESSAGE));
+        if (message.getMember().getId() != memberId)
+            throw new BaseException(BaseResponseStatus.NOT_MATCH_MEMBER);
+    }
+
     // 메시지 유형별 필터 조회
     public PageResult<GetMessageRes> getMessagesByType(String type, long memberId, int page) {
         MessageType messageType = MessageType.valueOf(type);
@@ -175,6 +223,13 @@ public class MessageResultService {
         return getMessageResultRes;
     }
 
+    // 상태 값 변환 (압축 형식 + 기존 JSON 모두 지원)
+    private RMessageResult toRMessageResult(String rMessageResultId, String value, Message message) throws JsonProcessingException {
+        if (PackedStatus.isPacked(value))
+            return PackedStatus.decode(value).toRMessageResult(rMessageResultId, message.getId(), message.getMessageType());
+        return objectMapper.readValue(value, RMessageResult.class);
+    }
+
     public GetMessageResultRes getMessageResultRes(RMessageResult rMessageResult, Contact contact) {
         Broker broker = brokerCacheRepository.findBrokerById(rMessageResult.getBrokerId());
 
@@ -0,0 +1,121 @@
+package com.srt.message.service.message;
+
+import com.srt.message.config.exception.BaseException;
+import com.srt.message.config.response.BaseResponseStatus;
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.config.type.MessageType;
+import com.srt.message.domain.Message;
+import com.srt.message.domain.MessageResultSummary;
+import com.srt.message.domain.redis.RedisKeySchema;
+import com.srt.message.domain.redis.StatusCounts;
+import com.srt.message.dto.message_result.MessageResultCount;
+import com.srt.message.dto.message_result.get.GetMessageResultSummaryRes;
+import com.srt.message.repository.MessageRepository;
+import com.srt.message.repository.MessageResultRepository;
+import com.srt.message.repository.MessageResultSummaryRepository;
+import com.srt.message.repository.cache.MessageCacheRepository;
+import com.srt.message.repository.redis.RedisHashRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 메시지 처리 결과 집계 (발송 중: Redis {sms:아이디}:count, 발송 완료: message_result_summary)
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class MessageResultSummaryService {
+    private final MessageRepository messageRepository;
+    private final MessageResultRepository messageResultRepository;
+    private final MessageResultSummaryRepository messageResultSummaryRepository;
+
+    private final MessageCacheRepository messageCacheRepository;
+
+    private final RedisHashRepository redisHashRepository;
+
+    // 진행 중인 수신자가 없어진 메시지의 집계를 저장 (같은 메시지에 다시 호출되면 덮어씀)
+    // 결과 저장 트랜잭션의 커밋 이후에 호출되므로 새 트랜잭션으로
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveSummary(long messageId) {
+        Map<String, String> fields = redisHashRepository.findAll(RedisKeySchema.sms(messageId).count());
+        if (fields.isEmpty())
+            return;
+
+        Message message = messageCacheRepository.findMessageById(messageId);
+        MessageResultSummary summary = toSummary(messageId, message.getMessageType(), StatusCounts.of(fields));
+
+        messageResultSummaryRepository.save(summary);
+        log.info("MessageResultSummary 저장 - messageId: {}, total: {}, fail: {}", messageId, summary.getTotalCount(), summary.getFailCount());
+    }
+
+    // 집계 조회: Redis 집계 -> 저장된 집계 -> 처리 결과 group by 순서
+    @Transactional(readOnly = true)
+    public GetMessageResultSummaryRes getSummary(long messageId, long memberId) {
+        Message message = messageRepository.findById(messageId)
+                .orElseThrow(() -> new BaseException(BaseResponseStatus.NOT_EXIST_MESSAGE));
+        if (message.getMember().getId() != memberId)
+            throw new BaseException(BaseResponseStatus.NOT_MATCH_MEMBER);
+
+        Map<String, String> fields = redisHashRepository.findAll(RedisKeySchema.sms(messageId).count());
+        if (!fields.isEmpty())
+            return GetMessageResultSummaryRes.toDto(toSummary(messageId, message.getMessageType(), StatusCounts.of(fields)));
+
+        return messageResultSummaryRepository.findById(messageId)
+                .map(GetMessageResultSummaryRes::toDto)
+                .orElseGet(() -> GetMessageResultSummaryRes.toDto(
+                        toSummary(messageId, message.getMessageType(), aggregate(messageId))));
+    }
+
+    // 집계가 없던 메시지 (집계 도입 전 발송)
+    private StatusCounts aggregate(long messageId) {
+        List<MessageResultCount> resultCounts = messageResultRepository.countByMessageId(messageId);
+
+        Map<String, Long> fields = new HashMap<>();
+        for (MessageResultCount resultCount : resultCounts) {
+            fields.merge(StatusCounts.TOTAL, resultCount.getResultCount(), Long::sum);
+            fields.merge(StatusCounts.statusField(resultCount.getMessageStatus()), resultCount.getResultCount(), Long::sum);
+            if (resultCount.getBrokerId() != null)
+                fields.merge(StatusCounts.brokerField(resultCount.getBrokerId()), resultCount.getResultCount(), Long::sum);
+        }
+
+        Map<String, String> values = new HashMap<>();
+        fields.forEach((field, count) -> values.put(field, String.valueOf(count)));
+        return StatusCounts.of(values);
+    }
+
+    private MessageResultSummary toSummary(long messageId, MessageType messageType, StatusCounts counts) {
+        long ktCount = 0, sktCount = 0, lgCount = 0;
+        for (Map.Entry<Long, Long> brokerCount : counts.getBrokerCounts().entrySet()) {
+            long brokerId = brokerCount.getKey();
+            if (brokerId == 1)
+                ktCount += brokerCount.getValue();
+            else if (brokerId == 2)
+                sktCount += brokerCount.getValue();
+            else
+                lgCount += brokerCount.getValue();
+        }
+
+        // 실패는 환불, 나머지는 결제 (GetListMessageResultRes.addTotalPoint 와 같은 단가)
+        int point = messageType == MessageType.SMS ? 1 : messageType == MessageType.LMS ? 3 : 6;
+        long failCount = counts.getCount(MessageStatus.FAIL);
+
+        return MessageResultSummary.builder()
+                .messageId(messageId)
+                .totalCount(counts.getTotal())
+                .pendingCount(counts.getCount(MessageStatus.PENDING))
+                .resendCount(counts.getCount(MessageStatus.RESEND))
+                .successCount(counts.getCount(MessageStatus.SUCCESS))
+                .failCount(failCount)
+                .ktCount(ktCount)
+                .sktCount(sktCount)
+                .lgCount(lgCount)
+                .payPoint((counts.getTotal() - failCount) * point)
+                .refundPoint(failCount * point)
+                .build();
+    }
+}
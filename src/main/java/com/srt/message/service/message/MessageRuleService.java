@@ -13,6 +13,7 @@ import com.srt.message.dto.message_rule.post.PostSMSRuleRes;
 import com.srt.message.repository.BrokerRepository;
 import com.srt.message.repository.MemberRepository;
 import com.srt.message.repository.MessageRuleRepository;
+import com.srt.message.service.routing.RoutingTableCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +34,8 @@ public class MessageRuleService {
 
     private final BrokerRepository brokerRepository;
 
+    private final RoutingTableCache routingTableCache;
+
     // 메시지 중계사 비율 생성
     public PostSMSRuleRes createSMSRule(PostSMSRuleReq msgRuleReq, long memberId){
         List<MessageRuleVO> messageRuleVOs = msgRuleReq.getMessageRules();
@@ -53,6 +56,7 @@ public class MessageRuleService {
                 .collect(Collectors.toList());
 
         messageRuleRepository.saveAll(messageRules);
+        routingTableCache.invalidateSmsAfterCommit(memberId);
 
         return PostSMSRuleRes.toDto(messageRules);
     }
@@ -96,6 +100,7 @@ public class MessageRuleService {
                     prevMessageRule.editMessageRule(m);
                 }
         );
+        routingTableCache.invalidateSmsAfterCommit(memberId);
 
         return PatchSMSRuleRes.toDto(modMessageRuleList);
     }
@@ -111,6 +116,7 @@ public class MessageRuleService {
                     .build();
             newMessageRuleList.add(messageRuleRepository.save(messageRule));
         }
+        routingTableCache.invalidateSmsAfterCommit(member.getId());
         return newMessageRuleList;
     }
 }
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.srt.message.config.exception.BaseException;
 import com.srt.message.config.type.MessageType;
 import com.srt.message.domain.*;
+import com.srt.message.config.status.SendJobStatus;
 import com.srt.message.dto.message.BrokerMessageDto;
+import com.srt.message.dto.message.post.PostSendJobRes;
 import com.srt.message.dto.message.post.PostSendMessageReq;
 import com.srt.message.repository.*;
 import com.srt.message.service.PointService;
@@ -34,14 +36,53 @@ public class MessageService {
 
     private final MessageRepository messageRepository;
     private final MessageImageRepository messageImageRepository;
+    private final ImageStore imageStore;
 
     private final BrokerService brokerService;
     private final ReserveMessageService reserveMessageService;
+    private final SendJobService sendJobService;
 
     private final PointService pointService;
 
     // 메시지 중계사에게 전송
     public String sendMessageToBroker(PostSendMessageReq messageReq, long memberId) {
+        BrokerMessageDto brokerMessageDto = createBrokerMessage(messageReq, memberId);
+
+        // 크론 표현식 있으면 예약 발송으로 이동
+        if (messageReq.getMessage().getCronExpression() != null)
+            return reserveMessageService.reserveSmsMessage(brokerMessageDto);
+
+        return brokerService.sendSmsMessage(brokerMessageDto);
+    }
+
+    // 메시지 중계사에게 비동기 전송 (작업 아이디 바로 반환)
+    public PostSendJobRes sendMessageToBrokerAsync(PostSendMessageReq messageReq, long memberId) {
+        boolean isReserve = messageReq.getMessage().getCronExpression() != null;
+
+        // 포인트 결제 전에 작업 큐 여유 확인
+        if (!isReserve)
+            sendJobService.validateCapacity();
+
+        BrokerMessageDto brokerMessageDto = createBrokerMessage(messageReq, memberId);
+        long messageId = brokerMessageDto.getMessage().getId();
+
+        // 예약 발송은 스케쥴러가 처리하므로 작업 아이디 없음
+        if (isReserve) {
+            reserveMessageService.reserveSmsMessage(brokerMessageDto);
+            return PostSendJobRes.builder().messageId(messageId).build();
+        }
+
+        String jobId = sendJobService.submitSmsJob(brokerMessageDto);
+
+        return PostSendJobRes.builder()
+                .jobId(jobId)
+                .messageId(messageId)
+                .status(SendJobStatus.QUEUED)
+                .build();
+    }
+
+    // 검증, 포인트 결제, 메시지 저장
+    private BrokerMessageDto createBrokerMessage(PostSendMessageReq messageReq, long memberId) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new BaseException(NOT_EXIST_MEMBER));
 
@@ -75,27 +116,25 @@ public class MessageService {
 
         messageRepository.save(message);
 
-        // MMS 타입인 경우 이미지 저장
+        // MMS 타입인 경우 이미지 저장소에 저장하고 해시만 전달
         if (message.getMessageType() == MMS) {
             String[] images = messageReq.getMessage().getImages();
-            List<MessageImage> messageImages =
-                    Arrays.stream(images).map(i -> MessageImage.builder()
-                            .message(message).data(i).build()).collect(Collectors.toList());
+            List<String> imageRefs = Arrays.stream(images).map(imageStore::save)
+                    .collect(Collectors.toList());
 
+            List<MessageImage> messageImages = imageRefs.stream().map(h -> MessageImage.builder()
+                    .message(message).hash(h).build()).collect(Collectors.toList());
             messageImageRepository.saveAll(messageImages);
+
+            messageReq.getMessage().setImageRefs(imageRefs);
+            messageReq.getMessage().setImages(null);
         }
 
-        BrokerMessageDto brokerMessageDto = BrokerMessageDto.builder()
+        return BrokerMessageDto.builder()
                 .smsMessageDto(messageReq.getMessage())
                 .message(message)
                 .contacts(contacts)
                 .member(member)
                 .build();
-
-        // 크론 표현식 있으면 예약 발송으로 이동
-        if (messageReq.getMessage().getCronExpression() != null)
-            return reserveMessageService.reserveSmsMessage(brokerMessageDto);
-
-        return brokerService.sendSmsMessage(brokerMessageDto);
     }
 }
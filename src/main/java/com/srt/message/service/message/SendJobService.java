@@ -0,0 +1,129 @@
+package com.srt.message.service.message;
+
+import com.srt.message.config.exception.BaseException;
+import com.srt.message.config.status.SendJobStatus;
+import com.srt.message.dto.message.BrokerMessageDto;
+import com.srt.message.dto.message.get.GetSendJobRes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.srt.message.config.response.BaseResponseStatus.*;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class SendJobService {
+    private final int SEND_JOB_DURATION = 60 * 60;
+
+    private final ThreadPoolTaskExecutor sendJobExecutor;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final BrokerService brokerService;
+
+    // 발송 작업 큐에 여유가 있는지 확인 (포인트 결제 전에 호출)
+    public void validateCapacity() {
+        ThreadPoolExecutor executor = sendJobExecutor.getThreadPoolExecutor();
+        if (executor.getQueue().remainingCapacity() == 0 && executor.getActiveCount() >= executor.getMaximumPoolSize())
+            throw new BaseException(SEND_JOB_REJECTED);
+    }
+
+    // 발송 작업 등록 후 바로 작업 아이디 반환
+    public String submitSmsJob(BrokerMessageDto brokerMessageDto) {
+        String jobId = UUID.randomUUID().toString();
+        String jobKey = getJobKey(jobId);
+
+        Map<String, String> job = new HashMap<>();
+        job.put("memberId", String.valueOf(brokerMessageDto.getMember().getId()));
+        job.put("messageId", String.valueOf(brokerMessageDto.getMessage().getId()));
+        job.put("total", String.valueOf(brokerMessageDto.getContacts().size()));
+        job.put("enqueued", "0");
+        job.put("published", "0");
+        job.put("status", SendJobStatus.QUEUED.name());
+
+        redisTemplate.opsForHash().putAll(jobKey, job);
+        redisTemplate.expire(jobKey, SEND_JOB_DURATION, TimeUnit.SECONDS);
+
+        try {
+            sendJobExecutor.execute(() -> runSmsJob(jobId, brokerMessageDto));
+        } catch (TaskRejectedException e) {
+            // validateCapacity 이후 큐가 찼으면 이미 결제한 포인트 환불 후 수신자 모두 실패 처리
+            markFailed(jobKey, "발송 작업 큐가 가득 찼습니다.");
+            brokerService.failSmsMessage(brokerMessageDto, "발송 작업 큐 초과");
+            throw new BaseException(SEND_JOB_REJECTED);
+        }
+
+        log.info("발송 작업 등록 - jobId: {}, messageId: {}", jobId, brokerMessageDto.getMessage().getId());
+        return jobId;
+    }
+
+    // 발송 작업 진행 상황 조회
+    public GetSendJobRes getSendJob(String jobId, long memberId) {
+        Map<Object, Object> job = redisTemplate.opsForHash().entries(getJobKey(jobId));
+        if (job.isEmpty())
+            throw new BaseException(NOT_EXIST_SEND_JOB);
+
+        if (Long.parseLong((String) job.get("memberId")) != memberId)
+            throw new BaseException(NOT_MATCH_MEMBER);
+
+        return GetSendJobRes.toDto(jobId, job);
+    }
+
+    private void runSmsJob(String jobId, BrokerMessageDto brokerMessageDto) {
+        String jobKey = getJobKey(jobId);
+        HashOperations<String, Object, Object> hashOperations = redisTemplate.opsForHash();
+        hashOperations.put(jobKey, "status", SendJobStatus.RUNNING.name());
+
+        try {
+            if (brokerService.sendSmsMessage(brokerMessageDto, new SendJobProgress(jobKey))) {
+                hashOperations.put(jobKey, "status", SendJobStatus.COMPLETED.name());
+            } else {
+                // confirm 되지 않은 수신자는 복구 기한이 지난 뒤 결과가 없으면 실패 처리됨
+                hashOperations.put(jobKey, "failReason", "일부 메시지의 발행이 확인되지 않았습니다.");
+                hashOperations.put(jobKey, "status", SendJobStatus.PARTIAL.name());
+            }
+        } catch (Exception e) {
+            log.error("발송 작업 실패 - jobId: {}", jobId, e);
+            markFailed(jobKey, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+    }
+
+    private void markFailed(String jobKey, String failReason) {
+        HashOperations<String, Object, Object> hashOperations = redisTemplate.opsForHash();
+        hashOperations.put(jobKey, "failReason", failReason);
+        hashOperations.put(jobKey, "status", SendJobStatus.FAILED.name());
+    }
+
+    private String getJobKey(String jobId) {
+        return "send.job." + jobId;
+    }
+
+    // 진행 상황을 Redis 작업 해시에 누적
+    private class SendJobProgress implements SendProgressListener {
+        private final String jobKey;
+
+        SendJobProgress(String jobKey) {
+            this.jobKey = jobKey;
+        }
+
+        @Override
+        public void onEnqueued(int count) {
+            redisTemplate.opsForHash().increment(jobKey, "enqueued", count);
+        }
+
+        @Override
+        public void onPublished(int count) {
+            redisTemplate.opsForHash().increment(jobKey, "published", count);
+        }
+    }
+}
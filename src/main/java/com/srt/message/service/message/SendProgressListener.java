@@ -0,0 +1,23 @@
+package com.srt.message.service.message;
+
+/**
+ * 발송 진행 상황 콜백
+ * BrokerService가 Redis 저장 / AMQP 발행을 끝낼 때마다 호출한다.
+ */
+public interface SendProgressListener {
+    SendProgressListener NO_OP = new SendProgressListener() {
+        @Override
+        public void onEnqueued(int count) {
+        }
+
+        @Override
+        public void onPublished(int count) {
+        }
+    };
+
+    // Redis에 저장된 수신자 수
+    void onEnqueued(int count);
+
+    // 중계사로 발행된 메시지 수
+    void onPublished(int count);
+}
@@ -0,0 +1,59 @@
+package com.srt.message.service.message;
+
+import com.srt.message.domain.Member;
+import com.srt.message.domain.Message;
+import com.srt.message.domain.redis.RedisKeySchema;
+import com.srt.message.dto.message.BrokerMessageDto;
+import com.srt.message.dto.message.SMSMessageDto;
+import com.srt.message.service.rabbit.PublishTracker;
+import com.srt.message.service.routing.RoutingTable;
+import com.srt.message.utils.algorithm.SmoothWeightedBrokerPool;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * SMS 발송 한 건의 상태
+ * BrokerService는 상태를 갖지 않고 발송마다 컨텍스트를 새로 만들어 넘기므로,
+ * 여러 발송이 같은 BrokerService를 동시에 사용해도 서로 섞이지 않는다.
+ */
+@Getter
+public class SmsSendContext {
+    private final SMSMessageDto smsMessageDto;
+    private final Message message;
+    private final Member member;
+
+    private final SendProgressListener progressListener;
+
+    private final String recoveryCampaign; // 복구 기한 (recovery.deadline) 의 member
+    private final String walKey; // 수신자 이벤트 로그 (복구 시 다시 읽음)
+    private final String contactKey;
+    private final String statusKey;
+    private final String countKey; // 상태별 / 중계사별 수신자 수
+
+    @Setter
+    private RoutingTable routingTable;
+
+    @Setter
+    private SmoothWeightedBrokerPool<Long> brokerPool;
+
+    @Setter
+    private PublishTracker publishTracker;
+
+    public SmsSendContext(BrokerMessageDto brokerMessageDto, SendProgressListener progressListener) {
+        this.smsMessageDto = brokerMessageDto.getSmsMessageDto();
+        this.message = brokerMessageDto.getMessage();
+        this.member = brokerMessageDto.getMember();
+        this.progressListener = progressListener;
+
+        RedisKeySchema.Campaign keys = RedisKeySchema.sms(message.getId());
+        this.recoveryCampaign = keys.getCampaign();
+        this.walKey = keys.wal();
+        this.contactKey = keys.contact();
+        this.statusKey = keys.status();
+        this.countKey = keys.count();
+    }
+
+    public String getRoutingKey(long brokerId) {
+        return routingTable.getRoutingKey(brokerId);
+    }
+}
@@ -0,0 +1,168 @@
+package com.srt.message.service.rabbit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publisher confirm 기반 발행기
+ * 라우팅 키(sms.work.kt 등)마다 전용 RabbitTemplate과 confirm 대기 윈도우를 두고,
+ * 한 번에 발행하는 메시지는 invoke로 하나의 채널에 묶어서 보낸다.
+ * 한도가 있는 라우트는 메시지마다 수신자 수만큼 RouteRateLimiter 의 토큰을 받은 뒤 발행한다.
+ */
+@Log4j2
+@Service
+public class ConfirmPublisher {
+    private final ConnectionFactory connectionFactory;
+    private final RouteRateLimiter routeRateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    private final int windowSize;
+    private final long permitTimeout;
+    private final long confirmTimeout;
+
+    private final Map<String, RoutePublisher> routePublishers = new ConcurrentHashMap<>();
+
+    public ConfirmPublisher(ConnectionFactory connectionFactory, RouteRateLimiter routeRateLimiter, MeterRegistry meterRegistry,
+                            @Value("${rabbitmq.publish.window-size:500}") int windowSize,
+                            @Value("${rabbitmq.publish.permit-timeout:10000}") long permitTimeout,
+                            @Value("${rabbitmq.publish.confirm-timeout:30000}") long confirmTimeout) {
+        this.connectionFactory = connectionFactory;
+        this.routeRateLimiter = routeRateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.windowSize = windowSize;
+        this.permitTimeout = permitTimeout;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public PublishTracker newTracker(String campaign) {
+        return new PublishTracker(campaign);
+    }
+
+    // 라우팅 키별로 묶인 메시지를 각 라우트 전용 채널로 발행
+    public void publish(PublishTracker tracker, String exchange, Map<String, List<Message>> messagesByRoute) {
+        for (Map.Entry<String, List<Message>> entry : messagesByRoute.entrySet())
+            getRoutePublisher(exchange, entry.getKey()).publishAll(tracker, entry.getValue());
+    }
+
+    // 남은 confirm을 모두 기다림 (모두 ack면 true)
+    public boolean awaitConfirms(PublishTracker tracker) {
+        tracker.seal();
+        boolean confirmed = tracker.await(confirmTimeout, TimeUnit.MILLISECONDS);
+
+        if (!confirmed)
+            log.warn("Publisher confirm 실패 - campaign: {}, published: {}, failed: {}, outstanding: {}",
+                    tracker.getCampaign(), tracker.getPublishedCount(), tracker.getFailedCount(), tracker.getOutstandingCount());
+        return confirmed;
+    }
+
+    private RoutePublisher getRoutePublisher(String exchange, String routingKey) {
+        return routePublishers.computeIfAbsent(exchange + "/" + routingKey, k -> new RoutePublisher(exchange, routingKey));
+    }
+
+    private class RoutePublisher {
+        private final String exchange;
+        private final String routingKey;
+
+        private final RabbitTemplate rabbitTemplate;
+        private final Semaphore window;
+        private final Timer confirmLatency;
+        private final AtomicLong sequence = new AtomicLong();
+
+        RoutePublisher(String exchange, String routingKey) {
+            this.exchange = exchange;
+            this.routingKey = routingKey;
+            this.window = new Semaphore(windowSize);
+
+            this.rabbitTemplate = new RabbitTemplate(connectionFactory);
+            this.rabbitTemplate.setMandatory(true);
+            this.rabbitTemplate.setConfirmCallback(this::onConfirm);
+            this.rabbitTemplate.setReturnsCallback(returned ->
+                    log.warn("라우팅 실패로 반환된 메시지 - routingKey: {}, replyText: {}", returned.getRoutingKey(), returned.getReplyText()));
+
+            // 같은 라우팅 키를 여러 exchange 로 발행할 수 있으므로 exchange 도 태그로 구분
+            this.confirmLatency = Timer.builder("rns.publish.confirm.latency")
+                    .tag("exchange", exchange)
+                    .tag("route", routingKey)
+                    .register(meterRegistry);
+            Gauge.builder("rns.publish.window.outstanding", window, w -> windowSize - w.availablePermits())
+                    .tag("exchange", exchange)
+                    .tag("route", routingKey)
+                    .register(meterRegistry);
+        }
+
+        void publishAll(PublishTracker tracker, List<Message> messages) {
+            rabbitTemplate.invoke(operations -> {
+                for (Message message : messages) {
+                    // 한도를 기다리는 동안 confirm 윈도우를 잡고 있지 않도록 토큰을 먼저 받음
+                    routeRateLimiter.acquire(routingKey, recipientCount(message));
+                    acquire();
+
+                    PublishCorrelation correlation = new PublishCorrelation(routingKey + "." + sequence.incrementAndGet(), tracker);
+                    tracker.onPublish();
+                    try {
+                        operations.send(exchange, routingKey, message, correlation);
+                    } catch (AmqpException e) {
+                        settle(correlation, false);
+                        throw e;
+                    }
+                }
+                return null;
+            });
+        }
+
+        // 봉투 메시지는 묶인 수신자 수, 나머지는 1
+        private int recipientCount(Message message) {
+            Object size = message.getMessageProperties().getHeaders().get(SmsEnvelopeCodec.ENVELOPE_SIZE_HEADER);
+            return size instanceof Number ? ((Number) size).intValue() : 1;
+        }
+
+        private void acquire() {
+            try {
+                if (!window.tryAcquire(permitTimeout, TimeUnit.MILLISECONDS))
+                    throw new AmqpTimeoutException("Publish window is full - routingKey: " + routingKey);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AmqpException("Interrupted while waiting for publish window - routingKey: " + routingKey, e);
+            }
+        }
+
+        private void onConfirm(CorrelationData correlationData, boolean ack, String cause) {
+            if (!(correlationData instanceof PublishCorrelation))
+                return;
+
+            PublishCorrelation correlation = (PublishCorrelation) correlationData;
+            boolean success = ack && correlation.getReturned() == null;
+            if (!success)
+                log.warn("Publisher confirm nack - routingKey: {}, id: {}, cause: {}", routingKey, correlation.getId(), cause);
+
+            if (settle(correlation, success))
+                confirmLatency.record(System.nanoTime() - correlation.getPublishedAt(), TimeUnit.NANOSECONDS);
+        }
+
+        private boolean settle(PublishCorrelation correlation, boolean success) {
+            if (!correlation.settle())
+                return false;
+
+            window.release();
+            correlation.getTracker().onConfirm(success);
+            return true;
+        }
+    }
+}
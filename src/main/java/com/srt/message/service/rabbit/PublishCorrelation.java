@@ -0,0 +1,31 @@
+package com.srt.message.service.rabbit;
+
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// confirm 도착 시 캠페인 추적기와 발행 시각을 찾기 위한 CorrelationData
+public class PublishCorrelation extends CorrelationData {
+    private final PublishTracker tracker;
+    private final long publishedAt;
+    private final AtomicBoolean settled = new AtomicBoolean(false);
+
+    public PublishCorrelation(String id, PublishTracker tracker) {
+        super(id);
+        this.tracker = tracker;
+        this.publishedAt = System.nanoTime();
+    }
+
+    public PublishTracker getTracker() {
+        return tracker;
+    }
+
+    public long getPublishedAt() {
+        return publishedAt;
+    }
+
+    // confirm과 발행 실패가 겹쳐도 한 번만 정산
+    boolean settle() {
+        return settled.compareAndSet(false, true);
+    }
+}
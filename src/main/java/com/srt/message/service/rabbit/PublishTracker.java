@@ -0,0 +1,79 @@
+package com.srt.message.service.rabbit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 발송 한 건(캠페인)의 publisher confirm 추적
+ * 모든 발행이 끝난 뒤 seal()을 호출하면, 남은 confirm이 모두 도착했을 때 결과가 확정된다.
+ */
+public class PublishTracker {
+    private final String campaign;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger published = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private final CompletableFuture<Boolean> confirmed = new CompletableFuture<>();
+    private volatile boolean sealed = false;
+
+    public PublishTracker(String campaign) {
+        this.campaign = campaign;
+    }
+
+    public String getCampaign() {
+        return campaign;
+    }
+
+    public int getPublishedCount() {
+        return published.get();
+    }
+
+    public int getFailedCount() {
+        return failed.get();
+    }
+
+    public int getOutstandingCount() {
+        return outstanding.get();
+    }
+
+    void onPublish() {
+        outstanding.incrementAndGet();
+        published.incrementAndGet();
+    }
+
+    // ack: 브로커가 수신 확인, returned/nack/채널 오류는 실패
+    void onConfirm(boolean ack) {
+        if (!ack)
+            failed.incrementAndGet();
+
+        if (outstanding.decrementAndGet() == 0 && sealed)
+            complete();
+    }
+
+    // 더 이상 발행할 메시지가 없음
+    public void seal() {
+        sealed = true;
+        if (outstanding.get() == 0)
+            complete();
+    }
+
+    // 모든 발행이 ack 되었으면 true, 실패가 있거나 시간 초과면 false
+    public boolean await(long timeout, TimeUnit unit) {
+        try {
+            return confirmed.get(timeout, unit);
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void complete() {
+        confirmed.complete(failed.get() == 0);
+    }
+}
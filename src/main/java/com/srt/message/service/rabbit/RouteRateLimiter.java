@@ -0,0 +1,198 @@
+package com.srt.message.service.rabbit;
+
+import com.srt.message.repository.redis.RateLimitRepository;
+import com.srt.message.service.redis.RedisSpillGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 중계사 라우트별 초당 발송 한도 (rabbitmq.rate-limit.routes, 예: sms.work.kt=300)
+ * 한도는 모든 서버가 Redis 토큰 버킷 하나를 나눠 쓰고, 서버마다 prefetch-ms 만큼의 토큰을 미리 가져와서
+ * 수신자마다 Redis 를 거치지 않게 한다. 토큰이 없으면 발행 스레드가 채워질 때까지 기다리므로
+ * 한도를 넘는 발송은 work 큐 TTL 로 wait 큐를 오가지 않고 발행 속도 자체가 한도에 맞춰진다.
+ * 한도가 없는 라우트는 제한하지 않고, Redis 에 연결할 수 없거나 RedisSpillGuard 가 Redis 를 건너뛰는 동안은
+ * 서버 안에서만 같은 한도로 제한한다.
+ */
+@Log4j2
+@Component
+public class RouteRateLimiter {
+    private final RateLimitRepository rateLimitRepository;
+    private final RedisSpillGuard redisSpillGuard;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Long> rates; // 라우팅 키 -> 초당 수신자 수
+    private final long burstMillis;
+    private final long prefetchMillis;
+    private final long maxWaitMillis;
+
+    private final Map<String, RouteBucket> buckets = new ConcurrentHashMap<>();
+
+    public RouteRateLimiter(RateLimitRepository rateLimitRepository, RedisSpillGuard redisSpillGuard, MeterRegistry meterRegistry,
+                            @Value("${rabbitmq.rate-limit.routes:}") String routes,
+                            @Value("${rabbitmq.rate-limit.burst-ms:1000}") long burstMillis,
+                            @Value("${rabbitmq.rate-limit.prefetch-ms:100}") long prefetchMillis,
+                            @Value("${rabbitmq.rate-limit.max-wait-ms:10000}") long maxWaitMillis) {
+        this.rateLimitRepository = rateLimitRepository;
+        this.redisSpillGuard = redisSpillGuard;
+        this.meterRegistry = meterRegistry;
+        this.burstMillis = Math.max(1, burstMillis);
+        this.prefetchMillis = Math.max(1, prefetchMillis);
+        this.maxWaitMillis = maxWaitMillis;
+
+        Map<String, Long> rates = new HashMap<>();
+        for (String route : routes.split(",")) {
+            if (route.isBlank())
+                continue;
+
+            String[] entry = route.split("=");
+            if (entry.length != 2)
+                throw new IllegalArgumentException("rabbitmq.rate-limit.routes 형식은 라우팅키=초당수 입니다: " + route);
+
+            long rate = Long.parseLong(entry[1].trim());
+            if (rate > 0)
+                rates.put(entry[0].trim(), rate);
+        }
+        this.rates = Collections.unmodifiableMap(rates);
+    }
+
+    // permits 개 (수신자 수) 의 토큰을 받을 때까지 기다림 (max-wait-ms 안에 받지 못하면 AmqpTimeoutException)
+    public void acquire(String routingKey, int permits) {
+        Long rate = rates.get(routingKey);
+        if (rate == null || permits <= 0)
+            return;
+
+        buckets.computeIfAbsent(routingKey, k -> new RouteBucket(k, rate)).acquire(permits);
+    }
+
+    private class RouteBucket {
+        private final String routingKey;
+        private final long rate;
+        private final long capacity;
+        private final long prefetch;
+
+        // 같은 라우트로 동시에 발행하는 발송끼리는 도착 순서대로 토큰을 받음
+        private final ReentrantLock lock = new ReentrantLock(true);
+
+        // Redis 에서 미리 가져온 토큰 (burst-ms 가 지나면 버림 - 오래 쥐고 있다가 한꺼번에 쓰면 한도를 넘으므로)
+        private long localTokens;
+        private long fetchedAt;
+
+        // Redis 에 연결할 수 없을 때 쓰는 서버 안 버킷
+        private double fallbackTokens;
+        private long fallbackRefilledAt;
+
+        private final Timer waitTimer;
+        private final Counter throttledCounter;
+        private final Counter fallbackCounter;
+
+        RouteBucket(String routingKey, long rate) {
+            this.routingKey = routingKey;
+            this.rate = rate;
+            this.capacity = Math.max(1, rate * burstMillis / 1000);
+            this.prefetch = Math.max(1, Math.min(capacity, rate * prefetchMillis / 1000));
+            this.fallbackTokens = capacity;
+            this.fallbackRefilledAt = System.currentTimeMillis();
+
+            this.waitTimer = Timer.builder("rns.publish.rate.wait")
+                    .tag("route", routingKey)
+                    .register(meterRegistry);
+            this.throttledCounter = Counter.builder("rns.publish.rate.throttled")
+                    .tag("route", routingKey)
+                    .register(meterRegistry);
+            this.fallbackCounter = Counter.builder("rns.publish.rate.fallback")
+                    .tag("route", routingKey)
+                    .register(meterRegistry);
+        }
+
+        void acquire(int permits) {
+            long start = System.nanoTime();
+            long deadline = System.currentTimeMillis() + maxWaitMillis;
+
+            try {
+                if (!lock.tryLock(maxWaitMillis, TimeUnit.MILLISECONDS))
+                    throw timeout(permits);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AmqpException("Interrupted while waiting for rate limit - routingKey: " + routingKey, e);
+            }
+
+            try {
+                long needed = permits;
+                while (true) {
+                    long now = System.currentTimeMillis();
+                    if (now - fetchedAt > burstMillis)
+                        localTokens = 0;
+
+                    long taken = Math.min(localTokens, needed);
+                    localTokens -= taken;
+                    needed -= taken;
+                    if (needed == 0)
+                        break;
+
+                    long granted = fetch(Math.max(needed, prefetch), now);
+                    if (granted > 0) {
+                        localTokens += granted;
+                        fetchedAt = now;
+                        continue;
+                    }
+
+                    // 버킷이 비었음 - prefetch 만큼 채워질 때까지 기다림 (한도에 걸린 동안 서버마다 Redis 호출은 초당 약 1000 / prefetch-ms 번)
+                    long sleepMillis = Math.max(1, prefetch * 1000 / rate);
+                    if (now + sleepMillis > deadline) {
+                        localTokens += permits - needed; // 받은 토큰은 다음 발행에 씀
+                        throw timeout(permits);
+                    }
+                    throttledCounter.increment();
+                    Thread.sleep(sleepMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AmqpException("Interrupted while waiting for rate limit - routingKey: " + routingKey, e);
+            } finally {
+                lock.unlock();
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private long fetch(long requested, long now) {
+            if (redisSpillGuard.isOpen())
+                return fetchFallback(requested, now);
+
+            try {
+                return rateLimitRepository.acquire(routingKey, rate, capacity, requested);
+            } catch (RuntimeException e) {
+                fallbackCounter.increment();
+                log.warn("Redis 토큰 버킷 실패로 서버 안에서만 제한 - routingKey: {}, cause: {}", routingKey, e.getMessage());
+                return fetchFallback(requested, now);
+            }
+        }
+
+        private long fetchFallback(long requested, long now) {
+            if (now > fallbackRefilledAt) {
+                fallbackTokens = Math.min(capacity, fallbackTokens + (now - fallbackRefilledAt) * rate / 1000.0);
+                fallbackRefilledAt = now;
+            }
+
+            long granted = Math.min(requested, (long) fallbackTokens);
+            fallbackTokens -= granted;
+            return granted;
+        }
+
+        private AmqpTimeoutException timeout(int permits) {
+            return new AmqpTimeoutException("Rate limit wait timed out - routingKey: " + routingKey + ", permits: " + permits);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.srt.message.service.rabbit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srt.message.config.exception.BaseException;
+import com.srt.message.dto.message.BrokerSendEnvelopeDto;
+import com.srt.message.dto.message.BrokerSendMessageDto;
+import com.srt.message.dto.message.EnvelopeRecipientDto;
+import com.srt.message.dto.message.SMSMessageDto;
+import com.srt.message.dto.message_result.MessageResultDto;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.*;
+
+import static com.srt.message.config.response.BaseResponseStatus.JSON_PROCESSING_ERROR;
+
+/**
+ * sms.work 큐 메시지 변환
+ * 봉투 형식을 지원하는 라우트(rabbitmq.envelope.routes)에는 여러 수신자를 하나의 메시지로 묶고,
+ * 나머지 라우트에는 기존처럼 수신자당 하나의 메시지를 보낸다.
+ * 봉투 메시지는 x-rns-envelope 헤더로 구분한다.
+ */
+@Component
+public class SmsEnvelopeCodec {
+    public static final String ENVELOPE_HEADER = "x-rns-envelope";
+    public static final String ENVELOPE_SIZE_HEADER = "x-rns-envelope-size";
+    public static final String ENVELOPE_VERSION = "1";
+
+    private final ObjectMapper objectMapper;
+
+    private final Set<String> envelopeRoutes;
+    private final int maxRecipients;
+
+    public SmsEnvelopeCodec(ObjectMapper objectMapper,
+                            @Value("${rabbitmq.envelope.routes:}") String envelopeRoutes,
+                            @Value("${rabbitmq.envelope.max-recipients:100}") int maxRecipients) {
+        this.objectMapper = objectMapper;
+        this.maxRecipients = Math.max(1, maxRecipients);
+
+        this.envelopeRoutes = new HashSet<>();
+        for (String route : envelopeRoutes.split(",")) {
+            if (!route.isBlank())
+                this.envelopeRoutes.add(route.trim());
+        }
+    }
+
+    public boolean supports(String routingKey) {
+        return envelopeRoutes.contains(routingKey);
+    }
+
+    public boolean isEnvelope(Message message) {
+        return message.getMessageProperties().getHeaders().containsKey(ENVELOPE_HEADER);
+    }
+
+    // 같은 라우트로 가는 수신자들을 AMQP 메시지로 변환 (phoneNumbers: contactId -> 수신 번호)
+    public List<Message> encode(String routingKey, SMSMessageDto smsMessageDto,
+                                List<MessageResultDto> messageResultDtos, Map<Long, String> phoneNumbers) {
+        if (!supports(routingKey)) {
+            List<Message> messages = new ArrayList<>(messageResultDtos.size());
+            for (MessageResultDto messageResultDto : messageResultDtos)
+                messages.add(toSingleMessage(smsMessageDto, messageResultDto));
+            return messages;
+        }
+
+        List<Message> messages = new ArrayList<>(messageResultDtos.size() / maxRecipients + 1);
+        for (int from = 0; from < messageResultDtos.size(); from += maxRecipients) {
+            List<MessageResultDto> chunk = messageResultDtos.subList(from, Math.min(from + maxRecipients, messageResultDtos.size()));
+
+            List<EnvelopeRecipientDto> recipients = new ArrayList<>(chunk.size());
+            for (MessageResultDto messageResultDto : chunk) {
+                recipients.add(EnvelopeRecipientDto.builder()
+                        .rMessageResultId(messageResultDto.getRMessageResultId())
+                        .contactId(messageResultDto.getContactId())
+                        .to(phoneNumbers.get(messageResultDto.getContactId()))
+                        .build());
+            }
+
+            MessageResultDto first = chunk.get(0);
+            BrokerSendEnvelopeDto envelope = BrokerSendEnvelopeDto.builder()
+                    .smsMessageDto(smsMessageDto)
+                    .messageId(first.getMessageId())
+                    .brokerId(first.getBrokerId())
+                    .recipients(recipients)
+                    .build();
+
+            messages.add(MessageBuilder
+                    .withBody(toJsonBytes(envelope))
+                    .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                    .setHeader(ENVELOPE_HEADER, ENVELOPE_VERSION)
+                    .setHeader(ENVELOPE_SIZE_HEADER, recipients.size())
+                    .build());
+        }
+        return messages;
+    }
+
+    public BrokerSendEnvelopeDto decode(Message message) throws IOException {
+        return objectMapper.readValue(message.getBody(), BrokerSendEnvelopeDto.class);
+    }
+
+    // 봉투를 지원하지 않는 라우트로 재전송할 때 수신자당 메시지로 분리
+    // 봉투 헤더를 뺀 원래 헤더 (x-death 등) 를 그대로 옮겨야 분리한 메시지도 재시도 횟수를 이어서 센다 (RabbitmqHeader)
+    public List<Message> split(Message message, BrokerSendEnvelopeDto envelope) {
+        Map<String, Object> headers = new HashMap<>(message.getMessageProperties().getHeaders());
+        headers.remove(ENVELOPE_HEADER);
+        headers.remove(ENVELOPE_SIZE_HEADER);
+
+        List<Message> messages = new ArrayList<>(envelope.getRecipients().size());
+        for (MessageResultDto messageResultDto : envelope.toMessageResultDtos()) {
+            Message single = toSingleMessage(envelope.getSmsMessageDto(), messageResultDto);
+            single.getMessageProperties().getHeaders().putAll(headers);
+            messages.add(single);
+        }
+        return messages;
+    }
+
+    private Message toSingleMessage(SMSMessageDto smsMessageDto, MessageResultDto messageResultDto) {
+        BrokerSendMessageDto brokerSendMessageDto = new BrokerSendMessageDto(smsMessageDto, messageResultDto);
+
+        // AMQP Message Builder
+        return MessageBuilder
+                .withBody(toJsonBytes(brokerSendMessageDto))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .build();
+    }
+
+    private byte[] toJsonBytes(Object object) {
+        try {
+            return objectMapper.writeValueAsBytes(object);
+        } catch (JsonProcessingException e) {
+            throw new BaseException(JSON_PROCESSING_ERROR);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.srt.message.service.recovery;
+
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.domain.Contact;
+import com.srt.message.domain.KakaoMessage;
+import com.srt.message.domain.KakaoMessageResult;
+import com.srt.message.domain.Message;
+import com.srt.message.domain.MessageResult;
+import com.srt.message.domain.redis.RedisKeySchema;
+import com.srt.message.domain.redis.SendWalLog;
+import com.srt.message.repository.KakaoMessageResultRepository;
+import com.srt.message.repository.MessageResultRepository;
+import com.srt.message.repository.cache.MessageCacheRepository;
+import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.repository.redis.StatusTransition;
+import com.srt.message.service.message.MessageResultSummaryService;
+import com.srt.message.utils.collection.LongHashSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 복구 기한이 지난 발송의 결과 복구
+ * 수신자 이벤트 로그 ({채널:아이디}:wal) 를 다시 읽어서 결과 저장 이벤트가 없는 수신자를 구하고,
+ * 저장된 처리 결과의 연락처와 한 번 더 비교해서 결과가 없는 수신자만 실패로 한 번에 저장한다. (수신자마다 결과를 조회하지 않음)
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class ExpiredCampaignRecoveryService {
+    private static final int TRANSITION_CHUNK_SIZE = 1000; // 상태 전이 스크립트 한 번에 넘기는 수신자 수
+
+    private final MessageResultRepository messageResultRepository;
+    private final KakaoMessageResultRepository kakaoMessageResultRepository;
+
+    private final MessageCacheRepository messageCacheRepository;
+
+    private final RedisHashRepository redisHashRepository;
+    private final SendWalRepository sendWalRepository;
+
+    private final MessageResultSummaryService messageResultSummaryService;
+
+    // 발송 하나 복구 ("채널.메시지아이디"), 반환: 실패로 저장한 수신자 수
+    @Transactional
+    public int recover(String campaign) {
+        RedisKeySchema.Campaign keys = RedisKeySchema.campaign(campaign);
+        long messageId = keys.getMessageId();
+
+        String walKey = keys.wal();
+        SendWalLog walLog = sendWalRepository.replay(walKey);
+        if (walLog.isEmpty()) { // 다른 노드가 이미 복구했거나 모든 결과가 저장된 경우
+            sendWalRepository.delete(walKey);
+            return 0;
+        }
+
+        // 결과가 저장된 연락처 (쿼리 한 번, 박싱 없이 원시 long 셋으로)
+        // 결과 저장 이벤트는 커밋 후에 남기므로 이벤트가 빠졌을 수 있어 테이블이 기준
+        LongHashSet savedContactIds = new LongHashSet(walLog.getRecipientCount());
+        if (keys.isKakao())
+            kakaoMessageResultRepository.forEachContactId(messageId, savedContactIds::add);
+        else
+            messageResultRepository.forEachContactId(messageId, savedContactIds::add);
+
+        // 결과가 없는 수신자 (같은 연락처가 여러 번 있으면 한 번만)
+        List<PendingRecipient> missing = new ArrayList<>();
+        walLog.forEachPending((rMessageResultId, contactId, stage) -> {
+            if (savedContactIds.add(contactId))
+                missing.add(new PendingRecipient(String.valueOf(rMessageResultId), contactId, stage));
+        });
+
+        if (!missing.isEmpty()) {
+            if (keys.isKakao())
+                saveKakaoFailures(keys, missing);
+            else
+                saveFailures(keys, missing);
+        }
+
+        sendWalRepository.delete(walKey);
+        log.warn("복구 기한 만료 - campaign: {}, 수신자: {}, 발행 확인: {}, 실패 처리: {}",
+                campaign, walLog.getRecipientCount(), walLog.isAcked(), missing.size());
+        return missing.size();
+    }
+
+    private void saveFailures(RedisKeySchema.Campaign keys, List<PendingRecipient> missing) {
+        Message message = messageCacheRepository.findMessageById(keys.getMessageId());
+
+        List<MessageResult> messageResults = new ArrayList<>(missing.size());
+        for (PendingRecipient recipient : missing) {
+            messageResults.add(MessageResult.builder()
+                    .message(message)
+                    .contact(Contact.builder().id(recipient.contactId).build())
+                    .messageStatus(MessageStatus.FAIL)
+                    .description(description(recipient.stage))
+                    .build());
+        }
+        messageResultRepository.saveAllInBatch(messageResults);
+
+        if (transitionToFail(keys, missing) == 0)
+            messageResultSummaryService.saveSummary(keys.getMessageId());
+    }
+
+    private void saveKakaoFailures(RedisKeySchema.Campaign keys, List<PendingRecipient> missing) {
+        KakaoMessage kakaoMessage = messageCacheRepository.findKakaoMessageById(keys.getMessageId());
+
+        List<KakaoMessageResult> kakaoMessageResults = new ArrayList<>(missing.size());
+        for (PendingRecipient recipient : missing) {
+            kakaoMessageResults.add(KakaoMessageResult.builder()
+                    .kakaoMessage(kakaoMessage)
+                    .contact(Contact.builder().id(recipient.contactId).build())
+                    .messageStatus(MessageStatus.FAIL)
+                    .description(description(recipient.stage))
+                    .build());
+        }
+        kakaoMessageResultRepository.saveAllInBatch(kakaoMessageResults);
+
+        transitionToFail(keys, missing);
+    }
+
+    // Redis 상태 / 집계도 실패로 (이미 종료 상태인 수신자는 스크립트가 그대로 둠)
+    // 스크립트 실행 중에는 Redis 가 다른 명령을 처리하지 못하므로 나눠서 전이, 반환: 마지막 전이 후 진행 중인 수신자 수
+    private long transitionToFail(RedisKeySchema.Campaign keys, List<PendingRecipient> missing) {
+        long inflight = -1;
+        for (int from = 0; from < missing.size(); from += TRANSITION_CHUNK_SIZE) {
+            List<PendingRecipient> chunk = missing.subList(from, Math.min(from + TRANSITION_CHUNK_SIZE, missing.size()));
+            List<StatusTransition> transitions = new ArrayList<>(chunk.size());
+            for (PendingRecipient recipient : chunk)
+                transitions.add(StatusTransition.of(recipient.rMessageResultId, MessageStatus.FAIL));
+
+            inflight = redisHashRepository.transitionStatus(keys.status(), keys.count(), transitions);
+        }
+        return inflight;
+    }
+
+    // 어느 단계에서 멈췄는지 결과에 남김
+    private static String description(SendWalLog.Stage stage) {
+        switch (stage) {
+            case ENQUEUED:
+                return "발송 중단";
+            case PUBLISHED:
+                return "발송 확인 실패";
+            default:
+                return "발송 결과 미수신";
+        }
+    }
+
+    private static class PendingRecipient {
+        private final String rMessageResultId;
+        private final long contactId;
+        private final SendWalLog.Stage stage;
+
+        private PendingRecipient(String rMessageResultId, long contactId, SendWalLog.Stage stage) {
+            this.rMessageResultId = rMessageResultId;
+            this.contactId = contactId;
+            this.stage = stage;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.srt.message.service.recovery;
+
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 복구 기한 (recovery.deadline) 이 지난 발송을 주기적으로 선점해서 복구
+ * 선점은 lease 로 하므로 여러 서버가 같이 돌아도 한 발송은 한 서버만 복구하고,
+ * 복구 중 서버가 죽으면 lease 가 끝난 뒤 다른 서버가 다시 가져간다.
+ * 만료 이벤트 (pub/sub) 에 의존하지 않으므로 이벤트를 놓쳐도 결과가 빠지지 않는다.
+ */
+@Log4j2
+@Component
+public class ExpiredCampaignSweeper {
+    private final RecoveryDeadlineRepository recoveryDeadlineRepository;
+    private final ExpiredCampaignRecoveryService expiredCampaignRecoveryService;
+
+    private final long leaseMillis;
+    private final int batchSize;
+
+    public ExpiredCampaignSweeper(RecoveryDeadlineRepository recoveryDeadlineRepository,
+                                  ExpiredCampaignRecoveryService expiredCampaignRecoveryService,
+                                  @Value("${recovery.lease-ms:60000}") long leaseMillis,
+                                  @Value("${recovery.batch-size:20}") int batchSize) {
+        this.recoveryDeadlineRepository = recoveryDeadlineRepository;
+        this.expiredCampaignRecoveryService = expiredCampaignRecoveryService;
+        this.leaseMillis = leaseMillis;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${recovery.sweep-interval-ms:5000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        long leaseUntil = now + leaseMillis;
+
+        List<String> campaigns = recoveryDeadlineRepository.claim(now, leaseUntil, batchSize);
+        for (String campaign : campaigns) {
+            try {
+                expiredCampaignRecoveryService.recover(campaign);
+                recoveryDeadlineRepository.release(campaign, leaseUntil);
+            } catch (Exception e) { // 남겨두면 lease 가 끝난 뒤 다시 시도
+                log.error("발송 복구 실패 - campaign: {}", campaign, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.srt.message.service.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 서버별 메모리 캐시 무효화 전파 (Redis pub/sub)
+ * 커밋 전에 다른 서버가 다시 읽으면 이전 상태가 올라오므로, 트랜잭션 안이면 커밋 이후에 보낸다.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationPublisher {
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    // localInvalidate: 구독이 끊겨 있어도 자기 서버는 바로 반영
+    public void publishAfterCommit(String channel, String message, Runnable localInvalidate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(channel, message, localInvalidate);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(channel, message, localInvalidate);
+            }
+        });
+    }
+
+    private void publish(String channel, String message, Runnable localInvalidate) {
+        localInvalidate.run();
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            log.warn("캐시 무효화 전파 실패 - channel: {}, message: {}", channel, message, e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.srt.message.service.redis;
+
+import com.srt.message.domain.redis.RedisKeySchema;
+import com.srt.message.repository.KakaoMessageRepository;
+import com.srt.message.repository.MessageRepository;
+import com.srt.message.repository.redis.RecoveryDeadlineRepositoryImpl;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * v1 키 (message.<종류>.<아이디>) 를 v2 키 ({채널:아이디}:<종류>) 로 옮김 (RedisKeySchema)
+ * v1 키에는 채널이 없으므로 진행 중인 발송 (복구 기한의 member) -> DB 에 있는 메시지 순서로 채널을 정하고,
+ * 문자 / 알림톡에 같은 아이디가 모두 있어 정할 수 없는 키는 옮기지 않고 TTL 로 사라지게 둔다.
+ * DUMP / RESTORE 로 복사하므로 새 키가 다른 슬롯이어도 되지만, SCAN 은 단일 서버 / 센티널 연결에서만 되므로 클러스터로 옮기기 전에 실행해야 한다.
+ * 여러 서버가 함께 떠도 버전 키와 잠금으로 한 번만 실행된다. (다시 실행하려면 버전 키를 지움)
+ */
+@Log4j2
+@Component
+public class RedisKeyMigrator {
+    private static final String LOCK_KEY = "rns:schema:migrating";
+    private static final long LOCK_SECONDS = 10 * 60;
+    private static final int SCAN_COUNT = 1000;
+    private static final String AMBIGUOUS = "";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MessageRepository messageRepository;
+    private final KakaoMessageRepository kakaoMessageRepository;
+
+    private final boolean enabled;
+
+    public RedisKeyMigrator(RedisTemplate<String, Object> redisTemplate,
+                            MessageRepository messageRepository,
+                            KakaoMessageRepository kakaoMessageRepository,
+                            @Value("${redis.key-schema.migrate:true}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.messageRepository = messageRepository;
+        this.kakaoMessageRepository = kakaoMessageRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled)
+            return;
+
+        try {
+            migrate();
+        } catch (Exception e) { // 변환하지 못한 키는 발송 / 조회에 쓰이지 않을 뿐이므로 서버는 그대로 띄움
+            log.error("Redis 키 스키마 변환 실패 - version: {}", RedisKeySchema.VERSION, e);
+        }
+    }
+
+    // 반환: 옮긴 키 수 (이미 변환됐거나 다른 서버가 변환 중이면 0)
+    public int migrate() {
+        Object version = redisTemplate.opsForValue().get(RedisKeySchema.VERSION_KEY);
+        if (version != null && Integer.parseInt(version.toString()) >= RedisKeySchema.VERSION)
+            return 0;
+
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, String.valueOf(RedisKeySchema.VERSION), LOCK_SECONDS, TimeUnit.SECONDS);
+        if (!Boolean.TRUE.equals(locked))
+            return 0;
+
+        try {
+            Map<Long, String> inflightChannels = inflightChannels();
+            Map<Long, String> channels = new HashMap<>(); // 메시지 아이디마다 한 번만 정함 (못 정하면 null)
+
+            int migrated = 0;
+            int skipped = 0;
+            for (String legacyKey : scanLegacyKeys()) {
+                String[] parsed = RedisKeySchema.parseLegacy(legacyKey);
+                if (parsed == null)
+                    continue;
+
+                long messageId = Long.parseLong(parsed[1]);
+                if (!channels.containsKey(messageId))
+                    channels.put(messageId, resolveChannel(messageId, inflightChannels));
+
+                String channel = channels.get(messageId);
+                if (channel == null) {
+                    skipped++;
+                    continue;
+                }
+
+                RedisKeySchema.Campaign campaign = RedisKeySchema.KAKAO.equals(channel) ? RedisKeySchema.kakao(messageId) : RedisKeySchema.sms(messageId);
+                if (move(legacyKey, campaign.key(parsed[0])))
+                    migrated++;
+            }
+
+            redisTemplate.opsForValue().set(RedisKeySchema.VERSION_KEY, String.valueOf(RedisKeySchema.VERSION));
+            log.info("Redis 키 스키마 v{} 변환 - 옮긴 키: {}, 채널을 정할 수 없는 키: {}", RedisKeySchema.VERSION, migrated, skipped);
+            return migrated;
+        } finally {
+            redisTemplate.delete(LOCK_KEY);
+        }
+    }
+
+    // 진행 중인 발송의 채널 (같은 아이디로 두 채널이 모두 진행 중이면 정하지 않음)
+    private Map<Long, String> inflightChannels() {
+        Map<Long, String> channels = new HashMap<>();
+        Set<Object> members = redisTemplate.opsForZSet().range(RecoveryDeadlineRepositoryImpl.DEADLINE_KEY, 0, -1);
+        if (members == null)
+            return channels;
+
+        for (Object member : members) {
+            RedisKeySchema.Campaign campaign = RedisKeySchema.campaign(member.toString());
+            channels.merge(campaign.getMessageId(), campaign.getChannel(), (before, after) -> before.equals(after) ? before : AMBIGUOUS);
+        }
+        return channels;
+    }
+
+    private String resolveChannel(long messageId, Map<Long, String> inflightChannels) {
+        String channel = inflightChannels.get(messageId);
+        if (channel != null)
+            return AMBIGUOUS.equals(channel) ? null : channel;
+
+        boolean sms = messageRepository.existsById(messageId);
+        boolean kakao = kakaoMessageRepository.existsById(messageId);
+        if (sms == kakao)
+            return null;
+        return sms ? RedisKeySchema.SMS : RedisKeySchema.KAKAO;
+    }
+
+    private List<String> scanLegacyKeys() {
+        return redisTemplate.execute((RedisCallback<List<String>>) connection -> {
+            List<String> keys = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(RedisKeySchema.LEGACY_PATTERN).count(SCAN_COUNT).build();
+            Cursor<byte[]> cursor = connection.scan(options);
+            try {
+                while (cursor.hasNext())
+                    keys.add(new String(cursor.next(), StandardCharsets.UTF_8));
+            } finally {
+                try {
+                    cursor.close();
+                } catch (Exception e) {
+                    log.warn("SCAN 커서 닫기 실패", e);
+                }
+            }
+            return keys;
+        });
+    }
+
+    // 값과 남은 TTL 을 그대로 복사 후 v1 키 삭제 (새 키에 이미 쓰기 시작했으면 덮어쓰지 않음)
+    private boolean move(String legacyKey, String key) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            log.warn("이미 있는 키라서 옮기지 않음 - {} -> {}", legacyKey, key);
+            return false;
+        }
+
+        byte[] value = redisTemplate.dump(legacyKey);
+        if (value == null) // 그 사이 만료
+            return false;
+
+        Long ttl = redisTemplate.getExpire(legacyKey, TimeUnit.MILLISECONDS);
+        redisTemplate.restore(key, value, ttl == null || ttl < 0 ? 0 : ttl, TimeUnit.MILLISECONDS);
+        redisTemplate.delete(legacyKey);
+        return true;
+    }
+}
@@ -0,0 +1,245 @@
+package com.srt.message.service.redis;
+
+import com.srt.message.domain.redis.PackedStatus;
+import com.srt.message.domain.redis.RedisKeySchema;
+import com.srt.message.domain.redis.SpillRecord;
+import com.srt.message.domain.redis.StatusCounts;
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import com.srt.message.repository.redis.RedisBatch;
+import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.repository.redis.RedisPipelineRepository;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.utils.journal.SpillJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 발송 중 Redis 쓰기를 지연 예산 (latency-budget-ms) 안에서만 기다림
+ * 예산을 넘기거나 실패하면 차단 (open-ms 동안 Redis 를 건너뜀) 하고, 윈도우 상태는 로컬 저널 (SpillJournal) 에 대신 남긴다.
+ * 발송은 저널에 쓰고 바로 발행을 이어가므로 Redis 가 느려져도 발송 속도가 Redis 응답 시간에 묶이지 않는다.
+ * 차단이 풀리면 drain 이 저널을 순서대로 Redis 에 다시 반영한다.
+ *
+ * 저널에 있는 동안 도착한 처리 결과는 MySQL 에는 저장되지만 Redis 상태 전이는 건너뛰므로 (필드가 없음)
+ * 반영 후에도 대기로 남을 수 있고, 복구 기한이 지나면 복구가 MySQL 기준으로 결과가 없는 수신자만 실패 처리한다.
+ */
+@Log4j2
+@Component
+public class RedisSpillGuard {
+    private final int DRAIN_DEADLINE_DURATION = 30 * 60; // 반영한 발송은 발행 확인 여부를 모르므로 처리 결과 대기 시간으로 복구 기한 설정
+
+    private final RedisPipelineRepository redisPipelineRepository;
+    private final RedisHashRepository redisHashRepository;
+    private final SendWalRepository sendWalRepository;
+    private final RecoveryDeadlineRepository recoveryDeadlineRepository;
+
+    private final SpillJournal spillJournal;
+    private final ThreadPoolExecutor redisWriteExecutor;
+
+    private final long latencyBudgetMillis;
+    private final long openMillis;
+    private final int drainBatchSize;
+
+    private volatile long openUntil; // 이 시각까지 Redis 를 건너뜀
+
+    private final Counter spilledCounter;
+    private final Counter drainedCounter;
+    private final Counter skippedCounter;
+
+    public RedisSpillGuard(RedisPipelineRepository redisPipelineRepository,
+                           RedisHashRepository redisHashRepository,
+                           SendWalRepository sendWalRepository,
+                           RecoveryDeadlineRepository recoveryDeadlineRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${spill.path:./data/spill}") String path,
+                           @Value("${spill.segment-size:8388608}") int segmentSize,
+                           @Value("${spill.latency-budget-ms:200}") long latencyBudgetMillis,
+                           @Value("${spill.open-ms:5000}") long openMillis,
+                           @Value("${spill.drain-batch-size:100}") int drainBatchSize,
+                           @Value("${spill.redis-threads:8}") int redisThreads) {
+        this.redisPipelineRepository = redisPipelineRepository;
+        this.redisHashRepository = redisHashRepository;
+        this.sendWalRepository = sendWalRepository;
+        this.recoveryDeadlineRepository = recoveryDeadlineRepository;
+        this.spillJournal = new SpillJournal(Paths.get(path).toAbsolutePath(), segmentSize);
+        this.latencyBudgetMillis = latencyBudgetMillis;
+        this.openMillis = openMillis;
+        this.drainBatchSize = drainBatchSize;
+
+        // 대기열이 차면 기다리지 않고 저널로 (느린 Redis 에 쓰기가 쌓이지 않도록)
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("redis-write-");
+        threadFactory.setDaemon(true);
+        this.redisWriteExecutor = new ThreadPoolExecutor(redisThreads, redisThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(redisThreads * 4), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        this.spilledCounter = counter(meterRegistry, "spilled");
+        this.drainedCounter = counter(meterRegistry, "drained");
+        this.skippedCounter = counter(meterRegistry, "skipped");
+        Gauge.builder("rns.spill.pending", spillJournal, SpillJournal::getPendingCount)
+                .register(meterRegistry);
+        Gauge.builder("rns.spill.open", this, guard -> guard.isOpen() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("rns.spill.records")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // 발송 상태 쓰기 (예산 안에 끝나지 않으면 spillRecord 를 저널에)
+    // ACKED / BLOCKED 는 같은 파이프라인에 반영 표시를 남겨, 예산을 넘긴 쓰기가 뒤늦게 끝나도 반영할 때 건너뛰도록
+    public void execute(RedisBatch batch, SpillRecord spillRecord) {
+        if (spillRecord.hasMarker())
+            mark(batch, spillRecord);
+
+        if (!isOpen() && tryExecute(() -> redisPipelineRepository.execute(batch)))
+            return;
+
+        spillJournal.append(spillRecord.encode());
+        spilledCounter.increment();
+    }
+
+    // 빠져도 복구 결과가 달라지지 않는 쓰기 (발행 이벤트 등), 차단 중이면 건너뜀
+    public boolean executeBestEffort(RedisBatch batch) {
+        if (isOpen() || !tryExecute(() -> redisPipelineRepository.execute(batch))) {
+            skippedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isOpen() {
+        return System.currentTimeMillis() < openUntil;
+    }
+
+    public long getPendingCount() {
+        return spillJournal.getPendingCount();
+    }
+
+    // 저널을 앞에서부터 Redis 에 반영 (차단 중이거나 반영이 실패하면 다음 주기에 이어서)
+    @Scheduled(fixedDelayString = "${spill.drain-interval-ms:1000}")
+    public void drain() {
+        while (!spillJournal.isEmpty() && !isOpen()) {
+            List<byte[]> records = spillJournal.peek(drainBatchSize);
+            if (records.isEmpty())
+                return;
+
+            int applied = 0;
+            for (byte[] record : records) {
+                if (!tryExecute(() -> replay(SpillRecord.decode(record))))
+                    break;
+                applied++;
+            }
+
+            spillJournal.advance(applied);
+            drainedCounter.increment(applied);
+            if (applied < records.size())
+                return;
+        }
+    }
+
+    // 저널 레코드 하나를 원래 발송 때와 같은 명령으로 반영
+    // 예산을 넘긴 쓰기가 뒤늦게 끝났거나 반영 후 읽은 위치를 남기기 전에 죽어서 다시 읽은 레코드는 건너뜀
+    // (윈도우는 첫 수신자 상태, ACKED / BLOCKED 는 집계 해시의 반영 표시가 있으면)
+    // 재시작하면 저널 체크포인트 다음부터 읽으므로 반영을 마친 레코드는 다시 반영하지 않음 (SpillJournal)
+    private void replay(SpillRecord spillRecord) {
+        RedisKeySchema.Campaign keys = RedisKeySchema.campaign(spillRecord.getCampaign());
+        String statusKey = keys.status();
+        String countKey = keys.count();
+        String walKey = keys.wal();
+        long deadline = System.currentTimeMillis() + DRAIN_DEADLINE_DURATION * 1000L;
+
+        if (spillRecord.hasMarker() && redisHashRepository.isExist(countKey, spillRecord.getMarker()))
+            return;
+
+        RedisBatch batch = new RedisBatch();
+        if (spillRecord.hasMarker())
+            mark(batch, spillRecord);
+        switch (spillRecord.getType()) {
+            case WINDOW:
+                if (redisHashRepository.isExist(statusKey, String.valueOf(spillRecord.getOffset() + 1)))
+                    return;
+
+                long[] contactIds = spillRecord.getContactIds();
+                long[] brokerIds = spillRecord.getBrokerIds();
+                Map<String, String> statusMap = new HashMap<>();
+                for (int i = 0; i < contactIds.length; i++)
+                    statusMap.put(String.valueOf(spillRecord.getOffset() + i + 1), PackedStatus.pending(brokerIds[i], contactIds[i]).encode());
+
+                sendWalRepository.appendEnqueued(batch, walKey, spillRecord.getOffset(), contactIds);
+                redisHashRepository.saveAll(batch, statusKey, statusMap);
+                redisHashRepository.incrementAll(batch, countKey, StatusCounts.pendingDeltas(brokerIds));
+                break;
+            case ACKED:
+                sendWalRepository.appendAcked(batch, walKey);
+                break;
+            case BLOCKED:
+                redisHashRepository.incrementAll(batch, countKey, StatusCounts.failDeltas(spillRecord.getCount()));
+                break;
+        }
+        recoveryDeadlineRepository.register(batch, spillRecord.getCampaign(), deadline);
+        redisPipelineRepository.execute(batch);
+    }
+
+    // 반영 표시 (값은 집계와 같이 숫자로 읽히도록 1)
+    private void mark(RedisBatch batch, SpillRecord spillRecord) {
+        String countKey = RedisKeySchema.campaign(spillRecord.getCampaign()).count();
+        redisHashRepository.saveIfAbsent(batch, countKey, spillRecord.getMarker(), "1");
+    }
+
+    // 예산 안에 끝나면 true, 넘기거나 실패하면 차단 후 false
+    // 예산을 넘긴 쓰기는 취소하지 않음 (연결 도중에 끊지 않도록, 늦게 끝나도 반영할 때 걸러냄)
+    private boolean tryExecute(Runnable write) {
+        Future<?> future;
+        try {
+            future = redisWriteExecutor.submit(write);
+        } catch (RejectedExecutionException e) {
+            open("Redis 쓰기 대기열 초과", e);
+            return false;
+        }
+
+        try {
+            future.get(latencyBudgetMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            open("Redis 쓰기 지연 예산 초과 (" + latencyBudgetMillis + "ms)", null);
+        } catch (ExecutionException e) {
+            open("Redis 쓰기 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void open(String reason, Throwable cause) {
+        boolean wasOpen = isOpen();
+        openUntil = System.currentTimeMillis() + openMillis;
+        if (!wasOpen)
+            log.warn("{} - {}ms 동안 발송 상태를 로컬 저널에 저장", reason, openMillis, cause);
+    }
+
+    @PreDestroy
+    public void close() {
+        redisWriteExecutor.shutdown();
+        spillJournal.close();
+    }
+}
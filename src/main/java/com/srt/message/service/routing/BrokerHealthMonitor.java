@@ -0,0 +1,205 @@
+package com.srt.message.service.routing;
+
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.dto.message_result.KakaoMessageResultDto;
+import com.srt.message.dto.message_result.MessageResultDto;
+import com.srt.message.service.rabbit.SmsEnvelopeCodec;
+import com.srt.message.utils.window.RollingCounters;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 중계사 라우트별 최근 성공률 / 결과 수신 지연으로 가중치 배율 계산
+ * 결과 수신 (SmsBrokerListener / KakaoBrokerListener) 과 work 큐 TTL 로 wait 큐에 넘어온 메시지 (DLX) 를
+ * 라우트별 sliding window (RollingCounters) 에 더하고, refresh-ms 마다 같은 채널 (sms.work. / kakao.work.)
+ * 라우트의 평균 상태 대비 배율을 [min-factor, max-factor] 안에서 정한다.
+ * 회원의 라우팅 테이블은 설정한 비율에 이 배율을 곱해서 분배한다. (RoutingTable)
+ * routing.adaptive.enabled=false 이면 배율을 쓰지 않고 설정한 비율 그대로 보낸다.
+ */
+@Log4j2
+@Component
+public class BrokerHealthMonitor {
+    private static final int SUCCESS = 0;
+    private static final int FAILURE = 1;
+    private static final int LATENCY_SUM = 2;
+    private static final int LATENCY_COUNT = 3;
+
+    private static final double MIN_HEALTH = 0.01;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final double minFactor;
+    private final double maxFactor;
+    private final long minSamples;
+    private final long latencyTargetMillis;
+    private final long bucketMillis;
+    private final int bucketCount;
+
+    private final Map<String, RouteStats> routeStats = new ConcurrentHashMap<>();
+    private volatile WeightFactors weightFactors = WeightFactors.NONE;
+
+    public BrokerHealthMonitor(MeterRegistry meterRegistry,
+                               @Value("${routing.adaptive.enabled:true}") boolean enabled,
+                               @Value("${routing.adaptive.min-factor:0.2}") double minFactor,
+                               @Value("${routing.adaptive.max-factor:1.5}") double maxFactor,
+                               @Value("${routing.adaptive.min-samples:50}") long minSamples,
+                               @Value("${routing.adaptive.latency-target-ms:5000}") long latencyTargetMillis,
+                               @Value("${routing.adaptive.bucket-ms:6000}") long bucketMillis,
+                               @Value("${routing.adaptive.bucket-count:10}") int bucketCount) {
+        if (minFactor <= 0 || minFactor > 1 || maxFactor < 1)
+            throw new IllegalArgumentException("routing.adaptive 배율은 0 < min-factor <= 1 <= max-factor 이어야 합니다");
+
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.minFactor = minFactor;
+        this.maxFactor = maxFactor;
+        this.minSamples = minSamples;
+        this.latencyTargetMillis = Math.max(1, latencyTargetMillis);
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = bucketCount;
+
+        Gauge.builder("rns.routing.adaptive.enabled", () -> enabled ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    // 라우팅 테이블이 분배 순서를 만들 때 쓰는 배율 (꺼져 있으면 항상 NONE)
+    public WeightFactors getWeightFactors() {
+        return weightFactors;
+    }
+
+    // 중계사 처리 결과 (routingKey: 결과를 보낸 중계사의 work 라우트)
+    public void recordResults(String routingKey, List<MessageResultDto> messageResultDtos) {
+        RouteStats stats = stats(routingKey);
+        long now = System.currentTimeMillis();
+        for (MessageResultDto messageResultDto : messageResultDtos)
+            stats.record(messageResultDto.getMessageStatus(), messageResultDto.getCreatedAt(), now);
+    }
+
+    public void recordKakaoResults(String routingKey, List<KakaoMessageResultDto> kakaoMessageResultDtos) {
+        RouteStats stats = stats(routingKey);
+        long now = System.currentTimeMillis();
+        for (KakaoMessageResultDto kakaoMessageResultDto : kakaoMessageResultDtos)
+            stats.record(kakaoMessageResultDto.getMessageStatus(), kakaoMessageResultDto.getCreatedAt(), now);
+    }
+
+    // work 큐에서 처리되지 않고 wait 큐로 넘어온 메시지 (봉투는 묶인 수신자 수만큼 실패)
+    public void recordDeadLetter(String routingKey, Message message) {
+        Object size = message.getMessageProperties().getHeaders().get(SmsEnvelopeCodec.ENVELOPE_SIZE_HEADER);
+        stats(routingKey).counters.add(FAILURE, size instanceof Number ? ((Number) size).longValue() : 1);
+    }
+
+    // 라우트별 배율 다시 계산 (바뀐 경우에만 version 증가)
+    @Scheduled(fixedDelayString = "${routing.adaptive.refresh-ms:5000}")
+    public void refresh() {
+        if (!enabled)
+            return;
+
+        long now = System.currentTimeMillis();
+        Map<String, List<RouteStats>> channels = new HashMap<>();
+        for (RouteStats stats : routeStats.values()) {
+            stats.update(now);
+            channels.computeIfAbsent(stats.channel, k -> new ArrayList<>()).add(stats);
+        }
+
+        Map<String, Double> factors = new HashMap<>();
+        for (List<RouteStats> routes : channels.values()) {
+            double healthSum = 0;
+            for (RouteStats stats : routes)
+                healthSum += stats.health;
+            double meanHealth = healthSum / routes.size();
+
+            for (RouteStats stats : routes) {
+                double factor = WeightFactors.quantize(Math.min(maxFactor, Math.max(minFactor, stats.health / meanHealth)));
+                stats.factor = factor;
+                if (factor != 1.0)
+                    factors.put(stats.routingKey, factor);
+            }
+        }
+
+        WeightFactors current = weightFactors;
+        if (!factors.equals(current.getFactors())) {
+            weightFactors = new WeightFactors(current.getVersion() + 1, factors);
+            log.info("중계사 가중치 배율 변경 - {}", factors);
+        }
+    }
+
+    private RouteStats stats(String routingKey) {
+        return routeStats.computeIfAbsent(routingKey, RouteStats::new);
+    }
+
+    private class RouteStats {
+        private final String routingKey;
+        private final String channel; // sms.work. / kakao.work.
+        private final RollingCounters counters = new RollingCounters(4, bucketMillis, bucketCount);
+
+        // refresh 때 계산 (지표용)
+        private volatile double successRate = 1.0;
+        private volatile double latencyMillis;
+        private volatile double health = 1.0;
+        private volatile double factor = 1.0;
+
+        RouteStats(String routingKey) {
+            this.routingKey = routingKey;
+            this.channel = routingKey.substring(0, routingKey.lastIndexOf('.') + 1);
+
+            Gauge.builder("rns.routing.weight.factor", this, stats -> enabled ? stats.factor : 1.0)
+                    .tag("route", routingKey)
+                    .register(meterRegistry);
+            Gauge.builder("rns.routing.health.success.rate", this, stats -> stats.successRate)
+                    .tag("route", routingKey)
+                    .register(meterRegistry);
+            Gauge.builder("rns.routing.health.latency", this, stats -> stats.latencyMillis)
+                    .tag("route", routingKey)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+
+        // 성공 / 실패만 집계 (대기 / 재전송 상태는 제외), 지연은 발행 시각 (createdAt) 이 있는 결과만
+        void record(MessageStatus messageStatus, LocalDateTime createdAt, long now) {
+            if (messageStatus == MessageStatus.SUCCESS)
+                counters.add(SUCCESS, 1, now);
+            else if (messageStatus == MessageStatus.FAIL)
+                counters.add(FAILURE, 1, now);
+            else
+                return;
+
+            if (createdAt != null) {
+                long latency = Duration.between(createdAt, LocalDateTime.now()).toMillis();
+                if (latency >= 0) {
+                    counters.add(LATENCY_SUM, latency, now);
+                    counters.add(LATENCY_COUNT, 1, now);
+                }
+            }
+        }
+
+        // 성공률 x 지연 배율 (평균 지연이 목표보다 길면 목표 / 평균), 표본이 적으면 정상으로 봄
+        void update(long now) {
+            long[] sums = counters.sum(now);
+            long total = sums[SUCCESS] + sums[FAILURE];
+            successRate = total == 0 ? 1.0 : (double) sums[SUCCESS] / total;
+            latencyMillis = sums[LATENCY_COUNT] == 0 ? 0 : (double) sums[LATENCY_SUM] / sums[LATENCY_COUNT];
+
+            if (total < minSamples) {
+                health = 1.0;
+                return;
+            }
+
+            double latencyScore = latencyMillis > latencyTargetMillis ? latencyTargetMillis / latencyMillis : 1.0;
+            health = Math.max(MIN_HEALTH, successRate * latencyScore);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.srt.message.service.routing;
+
+import com.srt.message.utils.algorithm.BrokerWeight;
+import com.srt.message.utils.algorithm.SmoothWeightedBrokerPool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 회원 한 명의 발송 라우팅 테이블 (불변)
+ * 발송 규칙을 미리 컴파일해서 중계사 아이디, 라우팅 키, 분배 순서를 담아둔다.
+ * 중계사 상태에 따른 가중치 배율 (WeightFactors) 이 있으면 설정한 비율에 배율을 곱한 분배 순서를 쓰고,
+ * 배율의 version 이 같은 동안은 한 번 만든 순서를 재사용한다.
+ */
+public class RoutingTable {
+    private final Map<Long, String> routingKeys;
+    private final List<BrokerWeight<Long>> idWeights;
+    private final SmoothWeightedBrokerPool<Long> brokerPool;
+    private final Supplier<WeightFactors> weightFactors;
+
+    private volatile AdjustedPool adjustedPool;
+
+    private RoutingTable(Map<Long, String> routingKeys, List<BrokerWeight<Long>> idWeights, Supplier<WeightFactors> weightFactors) {
+        this.routingKeys = routingKeys;
+        this.idWeights = idWeights;
+        this.brokerPool = new SmoothWeightedBrokerPool<>(idWeights, Long::longValue);
+        this.weightFactors = weightFactors;
+    }
+
+    // routePrefix + 중계사 이름(소문자)이 라우팅 키 (sms.work.kt)
+    public static <T> RoutingTable of(String routePrefix, List<BrokerWeight<T>> brokerWeights,
+                                      ToLongFunction<T> idFunction, Function<T, String> nameFunction) {
+        return of(routePrefix, brokerWeights, idFunction, nameFunction, () -> WeightFactors.NONE);
+    }
+
+    public static <T> RoutingTable of(String routePrefix, List<BrokerWeight<T>> brokerWeights,
+                                      ToLongFunction<T> idFunction, Function<T, String> nameFunction,
+                                      Supplier<WeightFactors> weightFactors) {
+        Map<Long, String> routingKeys = new HashMap<>();
+        List<BrokerWeight<Long>> idWeights = new ArrayList<>(brokerWeights.size());
+        for (BrokerWeight<T> brokerWeight : brokerWeights) {
+            long brokerId = idFunction.applyAsLong(brokerWeight.getBroker());
+            routingKeys.put(brokerId, routePrefix + nameFunction.apply(brokerWeight.getBroker()).toLowerCase());
+            idWeights.add(new BrokerWeight<>(brokerId, brokerWeight.getTotalWeight()));
+        }
+
+        return new RoutingTable(Collections.unmodifiableMap(routingKeys), Collections.unmodifiableList(idWeights), weightFactors);
+    }
+
+    public String getRoutingKey(long brokerId) {
+        return routingKeys.get(brokerId);
+    }
+
+    public Map<Long, String> getRoutingKeys() {
+        return routingKeys;
+    }
+
+    // 분배 순서는 공유하고 발송마다 처음부터 시작하는 풀
+    public SmoothWeightedBrokerPool<Long> newBrokerPool() {
+        WeightFactors factors = weightFactors.get();
+        if (factors.isEmpty())
+            return brokerPool.fork();
+
+        AdjustedPool adjusted = adjustedPool;
+        if (adjusted == null || adjusted.version != factors.getVersion()) {
+            adjusted = new AdjustedPool(factors.getVersion(), adjust(factors));
+            adjustedPool = adjusted; // 동시에 만들어도 같은 순서이므로 마지막 것을 씀
+        }
+        return adjusted.brokerPool.fork();
+    }
+
+    // 설정한 가중치 x 배율 (배율은 0.05 단위이므로 가중치 x 20 x 배율은 정수)
+    private SmoothWeightedBrokerPool<Long> adjust(WeightFactors factors) {
+        List<BrokerWeight<Long>> adjustedWeights = new ArrayList<>(idWeights.size());
+        for (BrokerWeight<Long> idWeight : idWeights) {
+            long steps = Math.max(1, Math.round(factors.get(routingKeys.get(idWeight.getBroker())) * WeightFactors.STEPS_PER_UNIT));
+            adjustedWeights.add(new BrokerWeight<>(idWeight.getBroker(), (int) (idWeight.getTotalWeight() * steps)));
+        }
+        return new SmoothWeightedBrokerPool<>(adjustedWeights, Long::longValue);
+    }
+
+    private static class AdjustedPool {
+        private final long version;
+        private final SmoothWeightedBrokerPool<Long> brokerPool;
+
+        AdjustedPool(long version, SmoothWeightedBrokerPool<Long> brokerPool) {
+            this.version = version;
+            this.brokerPool = brokerPool;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.srt.message.service.routing;
+
+import com.srt.message.domain.Broker;
+import com.srt.message.domain.KakaoBroker;
+import com.srt.message.domain.KakaoMessageRule;
+import com.srt.message.domain.Member;
+import com.srt.message.domain.MessageRule;
+import com.srt.message.repository.BrokerRepository;
+import com.srt.message.repository.KakaoBrokerRepository;
+import com.srt.message.repository.KakaoMessageRuleRepository;
+import com.srt.message.repository.MessageRuleRepository;
+import com.srt.message.service.redis.CacheInvalidationPublisher;
+import com.srt.message.utils.algorithm.BrokerWeight;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.srt.message.config.status.BaseStatus.ACTIVE;
+
+/**
+ * 회원별 라우팅 테이블 캐시 (SMS / 알림톡)
+ * 발송마다 발송 규칙을 조회하지 않고 서버 메모리에 컴파일된 테이블을 재사용한다.
+ * 발송 규칙이 바뀌면 Redis pub/sub으로 모든 서버의 테이블을 무효화한다.
+ * 중계사 상태에 따른 배율 (BrokerHealthMonitor) 은 테이블을 다시 읽지 않고 분배할 때 적용한다.
+ */
+@Log4j2
+@Service
+public class RoutingTableCache {
+    public static final String INVALIDATE_CHANNEL = "routing.invalidate";
+
+    private static final String SMS = "sms";
+    private static final String KAKAO = "kakao";
+    private static final int DEFAULT_BROKER_RATE = 30;
+
+    private final MessageRuleRepository messageRuleRepository;
+    private final BrokerRepository brokerRepository;
+    private final KakaoMessageRuleRepository kakaoMessageRuleRepository;
+    private final KakaoBrokerRepository kakaoBrokerRepository;
+
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final BrokerHealthMonitor brokerHealthMonitor;
+
+    private final long maxAgeNanos;
+    private final ConcurrentHashMap<Long, Entry> smsTables = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Entry> kakaoTables = new ConcurrentHashMap<>();
+
+    public RoutingTableCache(MessageRuleRepository messageRuleRepository,
+                             BrokerRepository brokerRepository,
+                             KakaoMessageRuleRepository kakaoMessageRuleRepository,
+                             KakaoBrokerRepository kakaoBrokerRepository,
+                             CacheInvalidationPublisher cacheInvalidationPublisher,
+                             BrokerHealthMonitor brokerHealthMonitor,
+                             @Value("${routing.cache.max-age-seconds:600}") long maxAgeSeconds) {
+        this.messageRuleRepository = messageRuleRepository;
+        this.brokerRepository = brokerRepository;
+        this.kakaoMessageRuleRepository = kakaoMessageRuleRepository;
+        this.kakaoBrokerRepository = kakaoBrokerRepository;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.brokerHealthMonitor = brokerHealthMonitor;
+        this.maxAgeNanos = TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+    }
+
+    public RoutingTable getSmsRoutingTable(Member member) {
+        return get(smsTables, member, this::loadSms);
+    }
+
+    public RoutingTable getKakaoRoutingTable(Member member) {
+        return get(kakaoTables, member, this::loadKakao);
+    }
+
+    public void invalidateSmsAfterCommit(long memberId) {
+        cacheInvalidationPublisher.publishAfterCommit(INVALIDATE_CHANNEL, SMS + ":" + memberId, () -> smsTables.remove(memberId));
+    }
+
+    public void invalidateKakaoAfterCommit(long memberId) {
+        cacheInvalidationPublisher.publishAfterCommit(INVALIDATE_CHANNEL, KAKAO + ":" + memberId, () -> kakaoTables.remove(memberId));
+    }
+
+    // Redis 구독 메시지 수신 (sms:1, kakao:1)
+    public void onInvalidate(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0)
+            return;
+
+        String type = message.substring(0, separator);
+        long memberId;
+        try {
+            memberId = Long.parseLong(message.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 라우팅 테이블 무효화 메시지 - {}", message);
+            return;
+        }
+
+        if (SMS.equals(type))
+            smsTables.remove(memberId);
+        else if (KAKAO.equals(type))
+            kakaoTables.remove(memberId);
+    }
+
+    private RoutingTable get(ConcurrentHashMap<Long, Entry> tables, Member member, Function<Member, RoutingTable> loader) {
+        Entry entry = tables.get(member.getId());
+        if (entry != null && !entry.isExpired(maxAgeNanos))
+            return entry.routingTable;
+
+        // 같은 회원은 한 번만 로딩 (무효화도 로딩이 끝난 뒤에 적용됨)
+        return tables.compute(member.getId(), (key, current) ->
+                current != null && current != entry && !current.isExpired(maxAgeNanos)
+                        ? current : new Entry(loader.apply(member), System.nanoTime())).routingTable;
+    }
+
+    private RoutingTable loadSms(Member member) {
+        List<BrokerWeight<Broker>> brokerWeights = new ArrayList<>();
+        List<MessageRule> messageRules = messageRuleRepository.findAllByMember(member);
+        if (messageRules.isEmpty()) { // 발송 규칙을 설정 안했을 경우
+            for (Broker broker : brokerRepository.findAll())
+                brokerWeights.add(new BrokerWeight<>(broker, DEFAULT_BROKER_RATE));
+        } else {
+            for (MessageRule messageRule : messageRules)
+                brokerWeights.add(new BrokerWeight<>(messageRule.getBroker(), messageRule.getBrokerRate()));
+        }
+
+        log.info("SMS 라우팅 테이블 로딩 - memberId: {}", member.getId());
+        return RoutingTable.of("sms.work.", brokerWeights, Broker::getId, Broker::getName, brokerHealthMonitor::getWeightFactors);
+    }
+
+    private RoutingTable loadKakao(Member member) {
+        List<BrokerWeight<KakaoBroker>> brokerWeights = new ArrayList<>();
+        List<KakaoMessageRule> messageRules = kakaoMessageRuleRepository.findByMemberIdAndStatus(member.getId(), ACTIVE);
+        if (messageRules.isEmpty()) { // 발송 규칙을 설정 안했을 경우
+            for (KakaoBroker broker : kakaoBrokerRepository.findAll())
+                brokerWeights.add(new BrokerWeight<>(broker, DEFAULT_BROKER_RATE));
+        } else {
+            for (KakaoMessageRule messageRule : messageRules)
+                brokerWeights.add(new BrokerWeight<>(messageRule.getKakaoBroker(), messageRule.getBrokerRate()));
+        }
+
+        log.info("알림톡 라우팅 테이블 로딩 - memberId: {}", member.getId());
+        return RoutingTable.of("kakao.work.", brokerWeights, KakaoBroker::getId, KakaoBroker::getName, brokerHealthMonitor::getWeightFactors);
+    }
+
+    private static class Entry {
+        private final RoutingTable routingTable;
+        private final long loadedAt;
+
+        Entry(RoutingTable routingTable, long loadedAt) {
+            this.routingTable = routingTable;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(long maxAgeNanos) {
+            return System.nanoTime() - loadedAt > maxAgeNanos;
+        }
+    }
+}
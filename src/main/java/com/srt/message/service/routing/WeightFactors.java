@@ -0,0 +1,45 @@
+package com.srt.message.service.routing;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 중계사 상태에 따른 라우트별 가중치 배율 (불변, BrokerHealthMonitor 가 주기적으로 새로 만듦)
+ * 배율이 바뀔 때마다 version 이 올라가므로 RoutingTable 은 version 이 같은 동안 조정한 분배 순서를 재사용한다.
+ * 배율이 없는 라우트는 1 (설정한 비율 그대로)
+ */
+public class WeightFactors {
+    public static final WeightFactors NONE = new WeightFactors(0, Collections.emptyMap());
+
+    // 배율 단위 (1 / 20 = 0.05) - 가중치 x 배율이 정수가 되도록 배율을 이 단위로 맞춤
+    public static final int STEPS_PER_UNIT = 20;
+
+    private final long version;
+    private final Map<String, Double> factors; // 라우팅 키 -> 배율
+
+    public WeightFactors(long version, Map<String, Double> factors) {
+        this.version = version;
+        this.factors = Collections.unmodifiableMap(factors);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return factors.isEmpty();
+    }
+
+    public double get(String routingKey) {
+        return factors.getOrDefault(routingKey, 1.0);
+    }
+
+    // 배율을 0.05 단위로 (조금씩 흔들리는 배율로 분배 순서를 계속 다시 만들지 않도록)
+    public static double quantize(double factor) {
+        return Math.round(factor * STEPS_PER_UNIT) / (double) STEPS_PER_UNIT;
+    }
+
+    public Map<String, Double> getFactors() {
+        return factors;
+    }
+}
@@ -5,7 +5,10 @@ import java.util.*;
 /**
  * 메시지 중계사 분배 발송 알고리즘
  * Weighted round-robin algorithm
+ *
+ * @deprecated 스레드 안전하지 않고 비율이 정확하지 않음. {@link SmoothWeightedBrokerPool} 사용
  */
+@Deprecated
 public class BrokerPool<T>{
     Queue<BrokerWeight<T>> brokerQueue;
     ArrayList<BrokerWeight<T>> brokers;
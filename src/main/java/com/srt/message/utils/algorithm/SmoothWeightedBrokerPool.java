@@ -0,0 +1,132 @@
+package com.srt.message.utils.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * 메시지 중계사 분배 발송 알고리즘
+ * Smooth weighted round-robin (nginx 방식, 정수 가중치)
+ *
+ * 가중치를 최대공약수로 나눈 한 주기(가중치 합 길이)의 분배 순서를 생성 시점에 미리 계산하고,
+ * 이후에는 AtomicLong 커서 하나만 증가시키므로 여러 스레드에서 잠금 없이 공유할 수 있다.
+ * 한 주기가 끝날 때마다 각 중계사는 정확히 가중치 비율만큼 배정된다.
+ */
+public class SmoothWeightedBrokerPool<T> {
+    private final List<T> brokers;
+    private final long[] brokerIds;
+
+    // 한 주기의 분배 순서 (brokers 인덱스)
+    private final int[] schedule;
+
+    private final AtomicLong cursor;
+
+    public SmoothWeightedBrokerPool(List<BrokerWeight<T>> brokerWeights, ToLongFunction<T> idFunction) {
+        List<BrokerWeight<T>> weights = new ArrayList<>();
+        for (BrokerWeight<T> brokerWeight : brokerWeights) {
+            if (brokerWeight.getTotalWeight() > 0)
+                weights.add(brokerWeight);
+        }
+        if (weights.isEmpty())
+            throw new IllegalArgumentException("At least one broker must have a positive weight");
+
+        this.brokers = new ArrayList<>(weights.size());
+        this.brokerIds = new long[weights.size()];
+        int[] reduced = new int[weights.size()];
+
+        int gcd = 0;
+        for (BrokerWeight<T> weight : weights)
+            gcd = gcd(gcd, weight.getTotalWeight());
+
+        for (int i = 0; i < weights.size(); i++) {
+            T broker = weights.get(i).getBroker();
+            brokers.add(broker);
+            brokerIds[i] = idFunction.applyAsLong(broker);
+            reduced[i] = weights.get(i).getTotalWeight() / gcd;
+        }
+
+        this.schedule = buildSchedule(reduced);
+        this.cursor = new AtomicLong();
+    }
+
+    private SmoothWeightedBrokerPool(SmoothWeightedBrokerPool<T> source) {
+        this.brokers = source.brokers;
+        this.brokerIds = source.brokerIds;
+        this.schedule = source.schedule;
+        this.cursor = new AtomicLong();
+    }
+
+    // 분배 순서는 공유하고 커서만 새로 시작하는 풀 (발송 건마다 비율을 정확히 맞출 때 사용)
+    public SmoothWeightedBrokerPool<T> fork() {
+        return new SmoothWeightedBrokerPool<>(this);
+    }
+
+    public T next() {
+        return brokers.get(schedule[position(cursor.getAndIncrement())]);
+    }
+
+    public long nextId() {
+        return brokerIds[schedule[position(cursor.getAndIncrement())]];
+    }
+
+    // 다음 count명의 중계사 아이디를 한 번에 배정
+    public long[] nextIds(int count) {
+        long[] ids = new long[count];
+        nextIds(ids, 0, count);
+        return ids;
+    }
+
+    public void nextIds(long[] target, int offset, int count) {
+        long start = cursor.getAndAdd(count);
+
+        int pos = position(start);
+        for (int i = 0; i < count; i++) {
+            target[offset + i] = brokerIds[schedule[pos]];
+            if (++pos == schedule.length)
+                pos = 0;
+        }
+    }
+
+    public List<T> getBrokers() {
+        return brokers;
+    }
+
+    public int getCycleLength() {
+        return schedule.length;
+    }
+
+    private int position(long sequence) {
+        return (int) (sequence % schedule.length);
+    }
+
+    // nginx smooth weighted round-robin 한 주기 계산
+    private static int[] buildSchedule(int[] weights) {
+        int total = 0;
+        for (int weight : weights)
+            total += weight;
+
+        int[] schedule = new int[total];
+        int[] current = new int[weights.length];
+        for (int n = 0; n < total; n++) {
+            int best = 0;
+            for (int i = 0; i < weights.length; i++) {
+                current[i] += weights[i];
+                if (current[i] > current[best])
+                    best = i;
+            }
+            current[best] -= total;
+            schedule[n] = best;
+        }
+        return schedule;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
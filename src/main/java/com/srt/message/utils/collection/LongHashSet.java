@@ -0,0 +1,104 @@
+package com.srt.message.utils.collection;
+
+/**
+ * long 원시 타입 전용 해시 셋 (open addressing, linear probing)
+ * Long 박싱과 엔트리 객체가 없어서 HashSet<String> 대비 메모리를 크게 줄이고,
+ * 조회 시 할당이 발생하지 않는다.
+ * 0은 빈 슬롯 표시로 쓰므로 별도 플래그로 관리한다.
+ */
+public class LongHashSet {
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsZero)
+                return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        int index = mix(key) & mask;
+        while (table[index] != EMPTY) {
+            if (table[index] == key)
+                return false;
+            index = (index + 1) & mask;
+        }
+
+        table[index] = key;
+        if (++size >= resizeAt)
+            resize(table.length << 1);
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY)
+            return containsZero;
+
+        int index = mix(key) & mask;
+        long current;
+        while ((current = table[index]) != EMPTY) {
+            if (current == key)
+                return true;
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldTable = table;
+        allocate(capacity);
+        for (long key : oldTable) {
+            if (key == EMPTY)
+                continue;
+
+            int index = mix(key) & mask;
+            while (table[index] != EMPTY)
+                index = (index + 1) & mask;
+            table[index] = key;
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity >> 1; // load factor 0.5
+    }
+
+    // 적재율 0.5 기준으로 2의 거듭제곱 크기 계산
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity >> 1 <= expectedSize && capacity < (1 << 30))
+            capacity <<= 1;
+        return capacity;
+    }
+
+    // 연속된 번호도 고르게 퍼지도록 섞기 (fibonacci hashing)
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
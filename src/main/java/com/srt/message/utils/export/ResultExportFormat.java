@@ -0,0 +1,34 @@
+package com.srt.message.utils.export;
+
+import com.srt.message.config.exception.BaseException;
+import com.srt.message.config.response.BaseResponseStatus;
+
+// 처리 결과 내보내기 형식
+public enum ResultExportFormat {
+    CSV("text/csv; charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson; charset=UTF-8", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ResultExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ResultExportFormat of(String format) {
+        for (ResultExportFormat exportFormat : values()) {
+            if (exportFormat.name().equalsIgnoreCase(format))
+                return exportFormat;
+        }
+        throw new BaseException(BaseResponseStatus.INVALID_EXPORT_FORMAT);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String fileName(String prefix, long messageId) {
+        return prefix + "-" + messageId + "." + extension;
+    }
+}
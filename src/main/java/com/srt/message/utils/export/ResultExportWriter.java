@@ -0,0 +1,110 @@
+package com.srt.message.utils.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srt.message.dto.message_result.MessageResultRow;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 처리 결과를 한 행씩 바로 쓰는 writer (CSV / NDJSON)
+ * 행을 모으지 않으므로 결과 건수와 관계없이 메모리 사용량이 일정하다.
+ */
+public class ResultExportWriter implements Closeable {
+    private static final String[] CSV_HEADER = {
+            "id", "phoneNumber", "contactGroup", "memo", "brokerName", "messageStatus", "description", "createdAt"
+    };
+
+    private final ResultExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+
+    public ResultExportWriter(ResultExportFormat format, ObjectMapper objectMapper, OutputStream outputStream) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    public void writeHeader() throws IOException {
+        if (format != ResultExportFormat.CSV)
+            return;
+
+        // 엑셀에서 한글이 깨지지 않도록 BOM 추가
+        writer.write('\uFEFF');
+        writeCsvLine(CSV_HEADER);
+    }
+
+    public void write(MessageResultRow row) {
+        try {
+            if (format == ResultExportFormat.CSV)
+                writeCsvLine(values(row));
+            else
+                writeJsonLine(row);
+        } catch (IOException e) { // 클라이언트가 연결을 끊은 경우 조회도 중단
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private String[] values(MessageResultRow row) {
+        return new String[]{
+                String.valueOf(row.getId()),
+                row.getPhoneNumber(),
+                row.getContactGroup(),
+                row.getMemo(),
+                row.getBrokerName(),
+                row.getMessageStatus().name(),
+                row.getDescription(),
+                row.getCreatedAt() == null ? null : row.getCreatedAt().toString()
+        };
+    }
+
+    private void writeJsonLine(MessageResultRow row) throws IOException {
+        Map<String, String> line = new LinkedHashMap<>();
+        String[] values = values(row);
+        for (int i = 0; i < CSV_HEADER.length; i++)
+            line.put(CSV_HEADER[i], values[i]);
+
+        try {
+            writer.write(objectMapper.writeValueAsString(line));
+        } catch (JsonProcessingException e) {
+            throw new IOException(e);
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsvLine(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0)
+                writer.write(',');
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번
+    // 사용자가 입력한 값 (메모, 주소록 이름 등) 이 엑셀에서 수식으로 실행되지 않도록 수식 시작 문자 앞에 ' 를 붙임
+    private static String escapeCsv(String value) {
+        if (value == null)
+            return "";
+        if (isFormulaStart(value))
+            value = "'" + value;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean isFormulaStart(String value) {
+        if (value.isEmpty())
+            return false;
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+}
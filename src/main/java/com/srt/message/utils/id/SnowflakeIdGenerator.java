@@ -0,0 +1,85 @@
+package com.srt.message.utils.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간 순 64비트 아이디 생성기 (snowflake)
+ * [부호 1][타임스탬프 41 (EPOCH 기준 ms)][워커 10][시퀀스 12]
+ * DB 왕복 없이 아이디를 미리 정할 수 있어서 IDENTITY 와 달리 insert 를 batch 로 묶을 수 있다.
+ * 같은 ms 에 4096개를 넘으면 다음 ms 로 넘어가며, 시계가 뒤로 가도 마지막 값 이후로만 발급한다.
+ * 워커 번호가 겹치면 서버끼리 같은 아이디를 발급하므로, 설정하지 않으면 기동 시 (IdGeneratorConfig) 실패한다.
+ */
+public class SnowflakeIdGenerator {
+    // 2022-01-01T00:00:00Z
+    public static final long EPOCH = 1640995200000L;
+
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+
+    public static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = WORKER_BITS + SEQUENCE_BITS;
+
+    // 기동 시 워커 번호를 정해서 등록한 인스턴스 (IdGeneratorConfig)
+    private static volatile SnowflakeIdGenerator instance;
+
+    private final long workerBits;
+
+    // 마지막으로 발급한 (타임스탬프 << 12 | 시퀀스)
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIdGenerator(long workerId) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID)
+            throw new IllegalArgumentException("workerId는 0 ~ " + MAX_WORKER_ID + " 사이여야 합니다: " + workerId);
+        this.workerBits = workerId << SEQUENCE_BITS;
+    }
+
+    public static void register(SnowflakeIdGenerator idGenerator) {
+        instance = idGenerator;
+    }
+
+    public static SnowflakeIdGenerator getInstance() {
+        SnowflakeIdGenerator idGenerator = instance;
+        if (idGenerator == null)
+            throw new IllegalStateException("아이디 생성기가 등록되지 않았습니다 (IdGeneratorConfig)");
+        return idGenerator;
+    }
+
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        while (true) {
+            long prev = last.get();
+            // 같은 ms(또는 시계 역행)면 마지막 값 + 1, 시퀀스가 넘치면 자연스럽게 다음 ms 로 올라감
+            long next = now > prev ? now : prev + 1;
+            if (last.compareAndSet(prev, next))
+                return compose(next);
+        }
+    }
+
+    // 해당 시각 이전에 발급된 아이디보다 큰 최소값 (시간 범위 조회용)
+    public static long minIdAt(long epochMillis) {
+        return (epochMillis - EPOCH) << TIMESTAMP_SHIFT;
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+
+    private long compose(long timestampAndSequence) {
+        long timestamp = timestampAndSequence >>> SEQUENCE_BITS;
+        long sequence = timestampAndSequence & SEQUENCE_MASK;
+        return (timestamp << TIMESTAMP_SHIFT) | workerBits | sequence;
+    }
+
+    // 기본값 없이 설정한 값만 허용 (기본값 0 으로 뜬 서버끼리 아이디가 겹치지 않도록)
+    public static long parseWorkerId(String workerId) {
+        if (workerId == null || workerId.isBlank())
+            throw new IllegalStateException("워커 번호가 없습니다 - 서버마다 다른 -Did.worker-id 또는 ID_WORKER_ID (0 ~ " + MAX_WORKER_ID + ") 를 설정하세요");
+
+        try {
+            return Long.parseLong(workerId.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("워커 번호가 숫자가 아닙니다: " + workerId, e);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.srt.message.utils.journal;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 로컬 디스크 append 전용 저널 (고정 크기 세그먼트 파일을 메모리 매핑)
+ * 레코드 형식 : [길이 4바이트][CRC32 4바이트][내용]
+ *   내용과 CRC 를 먼저 쓰고 길이를 마지막에 써서, 길이가 0 이면 아직 쓰지 않은 자리 (매핑된 파일은 0 으로 채워짐)
+ *   서버가 중간에 죽어 길이 / CRC 가 맞지 않는 레코드가 있으면 그 세그먼트는 거기까지만 읽는다.
+ * 세그먼트가 차면 다음 세그먼트를 만들고, 끝까지 읽은 (advance) 세그먼트 파일은 지운다.
+ * 읽은 위치는 advance 마다 체크포인트 파일에 남겨서 재시작하면 그 위치부터 다시 읽는다.
+ *   체크포인트 형식 : [세그먼트 순번 8바이트][위치 4바이트][CRC32 4바이트] (CRC 가 맞지 않으면 남은 세그먼트 처음부터)
+ *   반영 후 advance 전에 서버가 죽으면 마지막으로 반영한 레코드들은 한 번 더 읽을 수 있다.
+ * 쓰기는 여러 스레드, 읽기 (peek / advance) 는 한 스레드 기준
+ */
+@Log4j2
+public class SpillJournal implements Closeable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = 8;
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int CHECKPOINT_SIZE = 16;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final Deque<Segment> segments = new ArrayDeque<>(); // 가장 오래된 세그먼트부터, 마지막이 쓰는 중인 세그먼트
+    private int readPosition; // 가장 오래된 세그먼트에서 다음에 읽을 위치
+    private long pendingCount;
+
+    private FileChannel checkpointChannel;
+    private MappedByteBuffer checkpoint;
+
+    public SpillJournal(Path directory, int segmentSize) {
+        if (segmentSize <= HEADER_SIZE)
+            throw new IllegalArgumentException("segmentSize must be greater than " + HEADER_SIZE);
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 레코드 추가 (세그먼트 하나보다 큰 레코드는 받지 않음)
+    public synchronized void append(byte[] payload) {
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize)
+            throw new IllegalArgumentException("record larger than segment: " + payload.length);
+
+        Segment active = segments.peekLast();
+        if (active.writePosition + recordSize > segmentSize)
+            active = roll();
+
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+
+        ByteBuffer buffer = active.buffer.duplicate();
+        int position = active.writePosition;
+        buffer.position(position + HEADER_SIZE);
+        buffer.put(payload);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, payload.length);
+
+        active.writePosition += recordSize;
+        pendingCount++;
+    }
+
+    // 아직 반영하지 않은 레코드를 최대 maxRecords 개 (읽은 위치는 그대로)
+    public synchronized List<byte[]> peek(int maxRecords) {
+        List<byte[]> records = new ArrayList<>(Math.min(maxRecords, (int) Math.min(pendingCount, Integer.MAX_VALUE)));
+        Iterator<Segment> iterator = segments.iterator();
+        Segment segment = iterator.next();
+        int position = readPosition;
+        while (records.size() < maxRecords) {
+            byte[] payload = read(segment, position);
+            if (payload == null) {
+                if (!iterator.hasNext())
+                    break;
+                segment = iterator.next();
+                position = 0;
+                continue;
+            }
+            records.add(payload);
+            position += HEADER_SIZE + payload.length;
+        }
+        return records;
+    }
+
+    // 앞에서부터 count 개의 레코드를 반영 완료로 표시, 다 읽은 세그먼트는 삭제
+    public synchronized void advance(int count) {
+        for (int i = 0; i < count; i++) {
+            byte[] payload = read(segments.peekFirst(), readPosition);
+            while (payload == null && segments.size() > 1) {
+                segments.pollFirst().delete();
+                readPosition = 0;
+                payload = read(segments.peekFirst(), readPosition);
+            }
+            if (payload == null)
+                throw new IllegalStateException("advance past the last record");
+
+            readPosition += HEADER_SIZE + payload.length;
+            pendingCount--;
+        }
+
+        // 다 읽은 이전 세그먼트 정리
+        while (segments.size() > 1 && readPosition >= segments.peekFirst().writePosition) {
+            segments.pollFirst().delete();
+            readPosition = 0;
+        }
+        writeCheckpoint();
+    }
+
+    public synchronized long getPendingCount() {
+        return pendingCount;
+    }
+
+    public synchronized boolean isEmpty() {
+        return pendingCount == 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments)
+            segment.close();
+        try {
+            checkpoint.force();
+            checkpointChannel.close();
+        } catch (IOException e) {
+            log.warn("저널 체크포인트 닫기 실패 - directory: {}", directory, e);
+        }
+    }
+
+    // 남아 있는 세그먼트를 순서대로 열고 쓸 위치 / 레코드 수 복원
+    private void open() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream)
+                paths.add(path);
+        }
+        paths.sort(null); // 순번을 0 으로 채운 이름이라 이름순 = 생성순
+
+        for (Path path : paths) {
+            Segment segment = Segment.open(path, sequenceOf(path), segmentSize);
+            segment.writePosition = segmentSize; // 복원하는 동안은 끝까지 읽어 봄
+            int position = 0;
+            byte[] payload;
+            while ((payload = read(segment, position)) != null) {
+                position += HEADER_SIZE + payload.length;
+                pendingCount++;
+            }
+            segment.writePosition = position;
+            segments.addLast(segment);
+        }
+
+        checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        checkpoint = checkpointChannel.map(FileChannel.MapMode.READ_WRITE, 0, CHECKPOINT_SIZE);
+        long nextSequence = restoreReadPosition();
+
+        if (segments.isEmpty())
+            segments.addLast(Segment.open(segmentPath(nextSequence), nextSequence, segmentSize));
+        else if (pendingCount > 0)
+            log.warn("반영하지 않은 저널 레코드 복원 - directory: {}, segments: {}, records: {}", directory, segments.size(), pendingCount);
+
+        // 깨진 레코드 뒤에 이어 쓰지 않도록 재시작하면 항상 새 세그먼트에 씀
+        if (segments.peekLast().writePosition > 0)
+            roll();
+        writeCheckpoint();
+    }
+
+    // 체크포인트의 읽은 위치로 이동 (이미 반영한 세그먼트 / 레코드는 건너뜀), 반환: 세그먼트가 없을 때 새로 만들 순번
+    private long restoreReadPosition() {
+        long sequence = checkpoint.getLong(0);
+        int position = checkpoint.getInt(8);
+        if (checkpoint.getInt(12) != checkpointCrc(sequence, position)) {
+            if (sequence != 0 || position != 0)
+                log.warn("체크포인트가 맞지 않아 남은 세그먼트 처음부터 읽음 - directory: {}", directory);
+            return 0;
+        }
+
+        // 다 읽었지만 지우지 못한 세그먼트
+        while (!segments.isEmpty() && segments.peekFirst().sequence < sequence) {
+            Segment segment = segments.pollFirst();
+            pendingCount -= countRecords(segment, segment.writePosition);
+            segment.delete();
+        }
+        if (segments.isEmpty())
+            return sequence + 1;
+        if (segments.peekFirst().sequence != sequence)
+            return 0;
+
+        int skipped = countRecords(segments.peekFirst(), position);
+        if (skipped < 0) {
+            log.warn("체크포인트 위치가 레코드 경계가 아니라 세그먼트 처음부터 읽음 - directory: {}, position: {}", directory, position);
+            return 0;
+        }
+        readPosition = position;
+        pendingCount -= skipped;
+        return 0;
+    }
+
+    // 현재 읽은 위치 기록 (프로세스가 죽어도 매핑된 내용은 남음, 장비 장애까지는 보장하지 않음)
+    private void writeCheckpoint() {
+        long sequence = segments.peekFirst().sequence;
+        checkpoint.putLong(0, sequence);
+        checkpoint.putInt(8, readPosition);
+        checkpoint.putInt(12, checkpointCrc(sequence, readPosition));
+    }
+
+    private static int checkpointCrc(long sequence, int position) {
+        ByteBuffer buffer = ByteBuffer.allocate(12).putLong(sequence).putInt(position);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, 12);
+        return (int) crc.getValue();
+    }
+
+    // 세그먼트 처음부터 limit 까지의 레코드 수 (limit 이 레코드 경계가 아니면 -1)
+    private int countRecords(Segment segment, int limit) {
+        int count = 0;
+        int position = 0;
+        while (position < limit) {
+            byte[] payload = read(segment, position);
+            if (payload == null)
+                return -1;
+            position += HEADER_SIZE + payload.length;
+            count++;
+        }
+        return position == limit ? count : -1;
+    }
+
+    private Segment roll() {
+        Segment previous = segments.peekLast();
+        previous.buffer.force();
+
+        long sequence = previous.sequence + 1;
+        try {
+            Segment segment = Segment.open(segmentPath(sequence), sequence, segmentSize);
+            segments.addLast(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // position 의 레코드 내용 (쓰지 않은 자리이거나 깨진 레코드면 null)
+    private byte[] read(Segment segment, int position) {
+        if (position + HEADER_SIZE > segment.writePosition)
+            return null;
+
+        int length = segment.buffer.getInt(position);
+        if (length <= 0 || position + HEADER_SIZE + length > segment.writePosition)
+            return null;
+
+        byte[] payload = new byte[length];
+        ByteBuffer buffer = segment.buffer.duplicate();
+        buffer.position(position + HEADER_SIZE);
+        buffer.get(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, length);
+        if ((int) crc.getValue() != segment.buffer.getInt(position + 4)) {
+            log.warn("CRC 가 맞지 않는 저널 레코드 - segment: {}, position: {}", segment.path, position);
+            return null;
+        }
+        return payload;
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static class Segment {
+        private final Path path;
+        private final long sequence;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(Path path, long sequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.sequence = sequence;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(Path path, long sequence, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(path, sequence, channel, buffer);
+        }
+
+        private void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                log.warn("저널 세그먼트 닫기 실패 - segment: {}", path, e);
+            }
+        }
+
+        private void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("저널 세그먼트 삭제 실패 - segment: {}", path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.srt.message.utils.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtil {
+    // 트랜잭션 안이면 커밋 이후에 실행 (롤백되면 실행하지 않음), 밖이면 바로 실행
+    // 커밋 이후에는 같은 트랜잭션에 참여할 수 없으므로 DB 에 쓰는 작업은 REQUIRES_NEW 로 실행해야 함
+    public static void runAfterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
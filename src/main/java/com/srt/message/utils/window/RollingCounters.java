@@ -0,0 +1,77 @@
+package com.srt.message.utils.window;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 최근 (bucketMillis * bucketCount) 동안의 카운터 묶음 (sliding window)
+ * 시간을 bucketMillis 단위 칸으로 나눈 링 버퍼이고, 칸마다 LongAdder 를 두어 여러 스레드가 잠금 없이 더한다.
+ * 칸이 한 바퀴 돌아 다시 쓰일 때 처음 쓰는 스레드가 epoch 를 CAS 로 바꾸고 비운다.
+ * (비우는 순간 다른 스레드가 더한 값은 잃을 수 있음 - 통계 용도이므로 정확도보다 잠금 없음을 택함)
+ */
+public class RollingCounters {
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+    private final int fieldCount;
+
+    public RollingCounters(int fieldCount, long bucketMillis, int bucketCount) {
+        if (fieldCount <= 0 || bucketMillis <= 0 || bucketCount <= 0)
+            throw new IllegalArgumentException("fieldCount, bucketMillis and bucketCount must be positive");
+
+        this.fieldCount = fieldCount;
+        this.bucketMillis = bucketMillis;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++)
+            buckets[i] = new Bucket(fieldCount);
+    }
+
+    public void add(int field, long value) {
+        add(field, value, System.currentTimeMillis());
+    }
+
+    public void add(int field, long value, long nowMillis) {
+        current(nowMillis).counters[field].add(value);
+    }
+
+    // 필드별 최근 window 합계
+    public long[] sum() {
+        return sum(System.currentTimeMillis());
+    }
+
+    public long[] sum(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long[] sums = new long[fieldCount];
+        for (Bucket bucket : buckets) {
+            long bucketEpoch = bucket.epoch.get();
+            if (bucketEpoch > epoch || epoch - bucketEpoch >= buckets.length) // 지난 바퀴의 칸
+                continue;
+
+            for (int field = 0; field < fieldCount; field++)
+                sums[field] += bucket.counters[field].sum();
+        }
+        return sums;
+    }
+
+    private Bucket current(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+
+        long bucketEpoch = bucket.epoch.get();
+        if (bucketEpoch < epoch && bucket.epoch.compareAndSet(bucketEpoch, epoch)) {
+            for (LongAdder counter : bucket.counters)
+                counter.reset();
+        }
+        return bucket;
+    }
+
+    private static class Bucket {
+        private final AtomicLong epoch = new AtomicLong(-1);
+        private final LongAdder[] counters;
+
+        Bucket(int fieldCount) {
+            counters = new LongAdder[fieldCount];
+            for (int i = 0; i < fieldCount; i++)
+                counters[i] = new LongAdder();
+        }
+    }
+}
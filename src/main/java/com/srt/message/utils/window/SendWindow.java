@@ -0,0 +1,33 @@
+package com.srt.message.utils.window;
+
+import java.util.List;
+
+/**
+ * 대량 발송 윈도우 처리
+ * 수신자 목록을 고정 크기 윈도우로 나눠 한 번에 하나의 윈도우만 처리한다.
+ * 윈도우는 원본 목록의 subList 뷰이므로 복사본을 만들지 않는다.
+ */
+public class SendWindow {
+    public static final int DEFAULT_WINDOW_SIZE = 1000;
+
+    private SendWindow() {
+    }
+
+    public static <T> int forEach(List<T> items, WindowHandler<T> handler) {
+        return forEach(items, DEFAULT_WINDOW_SIZE, handler);
+    }
+
+    // 처리한 윈도우 개수 반환
+    public static <T> int forEach(List<T> items, int windowSize, WindowHandler<T> handler) {
+        if (windowSize <= 0)
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+
+        int windowCount = 0;
+        for (int offset = 0; offset < items.size(); offset += windowSize) {
+            int end = Math.min(offset + windowSize, items.size());
+            handler.handle(items.subList(offset, end), offset);
+            windowCount++;
+        }
+        return windowCount;
+    }
+}
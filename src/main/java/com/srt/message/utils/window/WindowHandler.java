@@ -0,0 +1,9 @@
+package com.srt.message.utils.window;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface WindowHandler<T> {
+    // offset: 전체 목록에서 윈도우 시작 위치
+    void handle(List<T> window, int offset);
+}
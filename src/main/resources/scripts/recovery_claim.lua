@@ -0,0 +1,12 @@
+-- 기한이 지난 발송 선점 (lease)
+-- KEYS[1] : recovery.deadline (ZSET, member = 채널.메시지아이디, score = 기한 ms)
+-- ARGV[1] : 현재 시각 ms
+-- ARGV[2] : lease 만료 시각 ms
+-- ARGV[3] : 최대 개수
+-- 선점한 member 는 score 를 lease 만료 시각으로 미뤄서 다른 노드가 가져가지 못하게 한다.
+-- 선점한 노드가 죽으면 lease 만료 후 다시 기한이 지난 상태가 되어 다른 노드가 가져간다.
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[3]))
+for _, member in ipairs(due) do
+    redis.call('ZADD', KEYS[1], ARGV[2], member)
+end
+return due
@@ -0,0 +1,10 @@
+-- 복구가 끝난 발송 제거 (아직 자기 lease 일 때만)
+-- KEYS[1] : recovery.deadline
+-- ARGV[1] : member
+-- ARGV[2] : 선점할 때의 lease 만료 시각 ms
+-- lease 가 끝나 다른 노드가 다시 선점했거나 새로 등록됐으면 score 가 달라지므로 그대로 둔다.
+local score = redis.call('ZSCORE', KEYS[1], ARGV[1])
+if score and tonumber(score) == tonumber(ARGV[2]) then
+    return redis.call('ZREM', KEYS[1], ARGV[1])
+end
+return 0
@@ -0,0 +1,76 @@
+-- 메시지 상태 전이 (존재 확인 + 종료 상태 보호 + 상태/홉 변경 + 집계 갱신 + TTL 갱신을 한 번에)
+-- KEYS[1] : {채널:메시지아이디}:status
+-- KEYS[2] : {채널:메시지아이디}:count (상태코드별 수신자 수, 발송 시 만들어짐)
+-- ARGV[1] : TTL (초)
+-- ARGV[2..] : 4개씩 (필드, 상태코드 P/R/S/F, 홉 ('-' 이면 유지), 홉 중계사 이름)
+-- 값 형식은 PackedStatus 참고 (상태코드:중계사아이디:홉:연락처아이디[:홉중계사])
+-- 기존 JSON 값은 전이하면서 압축 형식으로 바꾼다.
+-- 필드가 없으면 건너뛰고, 종료 상태 (S / F / R) 인 결과는 덮어쓰지 않는다.
+-- R 은 재시도 / 재전송 후 전달된 최종 결과이므로 종료 상태, 단 그 뒤 중계사 오류 (DLX, 홉 >= 10) 실패는 기록한다.
+-- 반환 : 전이 후 진행 중(P)인 수신자 수, 집계가 없으면 -1
+local key = KEYS[1]
+local countKey = KEYS[2]
+local ttl = tonumber(ARGV[1])
+
+-- 집계가 없는 (배포 전에 발송된) 메시지는 음수가 되지 않도록 건드리지 않음
+local counting = redis.call('EXISTS', countKey) == 1
+
+local CODES = { FAIL = 'F', PENDING = 'P', RESEND = 'R', SUCCESS = 'S' }
+local HOP_BROKER_ERROR = 10
+
+-- 현재 상태에서 전이할 수 있는지 (P 는 모두, R 은 중계사 오류 실패만)
+local function transitable(status, target, hop)
+    if status == 'P' then
+        return true
+    end
+    return status == 'R' and target == 'F' and hop ~= '-' and tonumber(hop) >= HOP_BROKER_ERROR
+end
+
+local applied = 0
+for i = 2, #ARGV, 4 do
+    local field = ARGV[i]
+    local value = redis.call('HGET', key, field)
+    if value then
+        local status, brokerId, hop, contactId, hopBroker
+        if string.sub(value, 1, 1) == '{' then
+            status = CODES[string.match(value, '"messageStatus":"(%u+)"')] or 'P'
+            brokerId = string.match(value, '"brokerId":(%d+)') or string.match(value, '"kakaoBrokerId":(%d+)') or '0'
+            contactId = string.match(value, '"contactId":(%d+)') or '0'
+            hop = '0'
+            hopBroker = ''
+        else
+            status, brokerId, hop, contactId, hopBroker = string.match(value, '^(%u):(%d+):(%d+):(%d+):?(.*)$')
+        end
+
+        if status and transitable(status, ARGV[i + 1], ARGV[i + 2]) then
+            if ARGV[i + 2] ~= '-' then
+                hop = ARGV[i + 2]
+                hopBroker = ARGV[i + 3]
+            end
+
+            local packed = ARGV[i + 1] .. ':' .. brokerId .. ':' .. hop .. ':' .. contactId
+            if hopBroker ~= '' then
+                packed = packed .. ':' .. hopBroker
+            end
+            redis.call('HSET', key, field, packed)
+            applied = applied + 1
+
+            if counting and status ~= ARGV[i + 1] then
+                redis.call('HINCRBY', countKey, status, -1)
+                redis.call('HINCRBY', countKey, ARGV[i + 1], 1)
+            end
+        end
+    end
+end
+
+if applied > 0 then
+    redis.call('EXPIRE', key, ttl)
+    if counting then
+        redis.call('EXPIRE', countKey, ttl)
+    end
+end
+
+if not counting then
+    return -1
+end
+return tonumber(redis.call('HGET', countKey, 'P')) or 0
@@ -0,0 +1,38 @@
+-- 중계사 라우트별 토큰 버킷 (여러 서버가 같은 초당 발송 한도를 나눠 씀)
+-- KEYS[1] : rns:rate:<routingKey> (HASH tokens, ts)
+-- ARGV[1] : 초당 토큰 수
+-- ARGV[2] : 버킷 크기 (최대로 모아 둘 수 있는 토큰 수)
+-- ARGV[3] : 요청 토큰 수
+-- 시각은 서버마다 시계가 다를 수 있으므로 Redis TIME 을 쓴다.
+-- 반환 : 받은 토큰 수 (남은 토큰보다 많이 요청하면 남은 만큼만, 비었으면 0)
+if redis.replicate_commands then
+    redis.replicate_commands()
+end
+
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local ts = tonumber(bucket[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+if now > ts then
+    tokens = math.min(capacity, tokens + (now - ts) * rate / 1000)
+    ts = now
+end
+
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', ts)
+-- 버킷이 다 차는 시간이 지나면 새 버킷과 같으므로 지움
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+return granted
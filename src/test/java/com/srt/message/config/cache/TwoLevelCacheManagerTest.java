@@ -0,0 +1,105 @@
+package com.srt.message.config.cache;
+
+import com.srt.message.service.redis.CacheInvalidationPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
+    private ConcurrentMapCacheManager l2CacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        l2CacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new TwoLevelCacheManager(l2CacheManager, cacheInvalidationPublisher, meterRegistry,
+                100, Duration.ofMinutes(1), Collections.singleton("Broker"));
+    }
+
+    private double gets(String cacheName, String result) {
+        return meterRegistry.get("rns.cache.gets").tag("cache", cacheName).tag("result", result).counter().count();
+    }
+
+    @DisplayName("원본 값은 L2 에만 저장하고, L2 에서 읽은 값부터 L1 에서 응답")
+    @Test
+    void get_L2ThenL1() {
+        // given
+        Cache cache = cacheManager.getCache("Message");
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, "message-1");
+
+        // when
+        Object first = cache.get(1L).get();
+        l2CacheManager.getCache("Message").evict(1L); // L2 가 비어도 L1 에서 응답
+        Object second = cache.get(1L).get();
+
+        // then
+        assertThat(first).isEqualTo("message-1");
+        assertThat(second).isEqualTo("message-1");
+        assertThat(gets("Message", "miss")).isEqualTo(1);
+        assertThat(gets("Message", "l2_hit")).isEqualTo(1);
+        assertThat(gets("Message", "l1_hit")).isEqualTo(1);
+    }
+
+    @DisplayName("evict 는 L1, L2 를 지우고 다른 서버에 전파")
+    @Test
+    void evict_Publish() {
+        // given
+        Cache cache = cacheManager.getCache("Contact");
+        cache.put(3L, "contact-3");
+        cache.get(3L);
+
+        // when
+        cache.evict(3L);
+
+        // then
+        assertThat(cache.get(3L)).isNull();
+        assertThat(l2CacheManager.getCache("Contact").get(3L)).isNull();
+        verify(cacheInvalidationPublisher).publishAfterCommit(eq(TwoLevelCacheManager.INVALIDATE_CHANNEL), eq("Contact|3"), any(Runnable.class));
+    }
+
+    @DisplayName("다른 서버의 무효화 메시지는 이 서버의 L1 만 지움")
+    @Test
+    void onInvalidate_L1Only() {
+        // given
+        Cache cache = cacheManager.getCache("Broker");
+        cache.put(1L, "kt");
+        cache.put(2L, "skt");
+        cache.get(1L);
+        cache.get(2L);
+        l2CacheManager.getCache("Broker").clear(); // 다른 서버가 L2 를 이미 지운 상태
+
+        // when
+        cacheManager.onInvalidate("Broker|1");
+
+        // then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L).get()).isEqualTo("skt");
+
+        cacheManager.onInvalidate("Broker|");
+        assertThat(cache.get(2L)).isNull();
+
+        cacheManager.onInvalidate("Unknown|1"); // 쓰지 않은 캐시는 무시
+        assertThat(cacheManager.getCacheNames()).containsOnly("Broker");
+    }
+}
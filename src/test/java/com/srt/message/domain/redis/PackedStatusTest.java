@@ -0,0 +1,76 @@
+package com.srt.message.domain.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.config.type.MessageType;
+import com.srt.message.dto.message_result.MessageResultDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackedStatusTest {
+
+    @DisplayName("대기 상태 인코딩/디코딩")
+    @Test
+    void encode_Decode_Pending() {
+        String value = PackedStatus.pending(2, 123456789L).encode();
+
+        assertThat(value).isEqualTo("P:2:0:123456789");
+        assertThat(PackedStatus.isPacked(value)).isTrue();
+
+        PackedStatus packedStatus = PackedStatus.decode(value);
+        assertThat(packedStatus.getMessageStatus()).isEqualTo(MessageStatus.PENDING);
+        assertThat(packedStatus.getBrokerId()).isEqualTo(2);
+        assertThat(packedStatus.getHop()).isZero();
+        assertThat(packedStatus.getContactId()).isEqualTo(123456789L);
+        assertThat(packedStatus.getHopBrokerName()).isNull();
+    }
+
+    @DisplayName("JSON 보다 5배 이상 작음")
+    @Test
+    void encode_SmallerThanJson() throws Exception {
+        MessageResultDto messageResultDto = MessageResultDto.builder()
+                .rMessageResultId("1500").messageId(141).brokerId(1).contactId(123456)
+                .messageStatus(MessageStatus.PENDING)
+                .build();
+        String json = new ObjectMapper().writeValueAsString(MessageResultDto.toRMessageResult(messageResultDto));
+        String packed = PackedStatus.pending(1, 123456).encode();
+
+        assertThat(PackedStatus.isPacked(json)).isFalse();
+        assertThat(packed.length() * 5).isLessThanOrEqualTo(json.length());
+    }
+
+    @DisplayName("재전송 홉으로 문자 설명 생성")
+    @Test
+    void toRMessageResult_ResendDescription() {
+        RMessageResult rMessageResult = PackedStatus.decode("R:3:2:77:kt").toRMessageResult("5", 141, MessageType.SMS);
+
+        assertThat(rMessageResult.getId()).isEqualTo("5");
+        assertThat(rMessageResult.getMessageId()).isEqualTo(141L);
+        assertThat(rMessageResult.getContactId()).isEqualTo(77L);
+        assertThat(rMessageResult.getBrokerId()).isEqualTo(3L);
+        assertThat(rMessageResult.getMessageStatus()).isEqualTo(MessageStatus.RESEND);
+        assertThat(rMessageResult.getDescription()).isEqualTo("lg -> kt");
+    }
+
+    @DisplayName("중계사 오류는 환불 설명까지 생성")
+    @Test
+    void toRMessageResult_BrokerError() {
+        RMessageResult rMessageResult = PackedStatus.decode("F:1:13:77:kt").toRMessageResult("5", 141, MessageType.LMS);
+
+        assertThat(rMessageResult.getMessageStatus()).isEqualTo(MessageStatus.FAIL);
+        assertThat(rMessageResult.getDescription()).isEqualTo("skt -> lg -> kt 중계사 오류 3 문자당근 환불");
+    }
+
+    @DisplayName("알림톡 설명 생성")
+    @Test
+    void toRKakaoMessageResult_Description() {
+        RKakaoMessageResult requeue = PackedStatus.decode("R:1:1:77:cns").toRKakaoMessageResult("5", 9);
+        RKakaoMessageResult brokerError = PackedStatus.decode("F:1:12:77:ke").toRKakaoMessageResult("5", 9);
+
+        assertThat(requeue.getKakaoBrokerId()).isEqualTo(1L);
+        assertThat(requeue.getDescription()).isEqualTo("cns");
+        assertThat(brokerError.getDescription()).isEqualTo("ke -> cns 중계사 오류 1 알림톡 당근 환불");
+    }
+}
@@ -0,0 +1,61 @@
+package com.srt.message.domain.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedisKeySchemaTest {
+
+    // 클러스터 슬롯을 정하는 hash tag ({ } 안)
+    private static String hashTag(String key) {
+        return key.substring(key.indexOf('{') + 1, key.indexOf('}'));
+    }
+
+    @DisplayName("한 발송의 키는 같은 hash tag 를 씀")
+    @Test
+    void keys_SameHashTag() {
+        RedisKeySchema.Campaign keys = RedisKeySchema.sms(12);
+
+        assertThat(keys.status()).isEqualTo("{sms:12}:status");
+        assertThat(keys.count()).isEqualTo("{sms:12}:count");
+        assertThat(keys.contact()).isEqualTo("{sms:12}:contact");
+        assertThat(keys.wal()).isEqualTo("{sms:12}:wal");
+        assertThat(hashTag(keys.status())).isEqualTo(hashTag(keys.count())).isEqualTo(hashTag(keys.wal())).isEqualTo("sms:12");
+    }
+
+    @DisplayName("문자 / 알림톡의 메시지 아이디가 같아도 키가 겹치지 않음")
+    @Test
+    void keys_ChannelSeparated() {
+        RedisKeySchema.Campaign sms = RedisKeySchema.sms(1);
+        RedisKeySchema.Campaign kakao = RedisKeySchema.kakao(1);
+
+        assertThat(sms.status()).isNotEqualTo(kakao.status());
+        assertThat(sms.count()).isNotEqualTo(kakao.count());
+        assertThat(kakao.status()).isEqualTo("{kakao:1}:status");
+        assertThat(kakao.isKakao()).isTrue();
+        assertThat(sms.isKakao()).isFalse();
+    }
+
+    @DisplayName("복구 기한의 member 와 서로 변환")
+    @Test
+    void campaign_Parse() {
+        RedisKeySchema.Campaign keys = RedisKeySchema.campaign("kakao.34");
+
+        assertThat(keys.getChannel()).isEqualTo(RedisKeySchema.KAKAO);
+        assertThat(keys.getMessageId()).isEqualTo(34L);
+        assertThat(keys.getCampaign()).isEqualTo("kakao.34");
+        assertThat(RedisKeySchema.sms(34).getCampaign()).isEqualTo("sms.34");
+        assertThatThrownBy(() -> RedisKeySchema.campaign("mms.34")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("v1 키는 종류와 아이디로, 그 외 키는 null")
+    @Test
+    void parseLegacy() {
+        assertThat(RedisKeySchema.parseLegacy("message.status.12")).containsExactly("status", "12");
+        assertThat(RedisKeySchema.parseLegacy("message.wal.3")).containsExactly("wal", "3");
+        assertThat(RedisKeySchema.parseLegacy("message.other.3")).isNull();
+        assertThat(RedisKeySchema.parseLegacy("{sms:12}:status")).isNull();
+    }
+}
@@ -0,0 +1,70 @@
+package com.srt.message.domain.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SendWalLogTest {
+
+    private List<String> pending(SendWalLog walLog) {
+        List<String> pending = new ArrayList<>();
+        walLog.forEachPending((rMessageResultId, contactId, stage) -> pending.add(rMessageResultId + ":" + contactId + ":" + stage));
+        return pending;
+    }
+
+    @DisplayName("윈도우 저장 이벤트의 수신자 아이디는 시작 위치 + 순번 + 1")
+    @Test
+    void replay_Enqueued() {
+        SendWalLog walLog = new SendWalLog();
+        walLog.apply(SendWalLog.enqueued(0, new long[]{10L, 20L}));
+        walLog.apply(SendWalLog.enqueued(2, new long[]{30L}));
+
+        assertThat(walLog.getRecipientCount()).isEqualTo(3);
+        assertThat(pending(walLog)).containsExactly("1:10:ENQUEUED", "2:20:ENQUEUED", "3:30:ENQUEUED");
+    }
+
+    @DisplayName("발행 / confirm 이벤트로 수신자가 멈춘 단계 복원")
+    @Test
+    void replay_Stage() {
+        SendWalLog walLog = new SendWalLog();
+        walLog.apply(SendWalLog.enqueued(0, new long[]{10L}));
+        walLog.apply(SendWalLog.published(0, 1));
+        walLog.apply(SendWalLog.enqueued(1, new long[]{20L}));
+
+        assertThat(pending(walLog)).containsExactly("1:10:PUBLISHED", "2:20:ENQUEUED");
+
+        walLog.apply(SendWalLog.published(1, 1));
+        walLog.apply(SendWalLog.acked());
+
+        assertThat(walLog.isAcked()).isTrue();
+        assertThat(pending(walLog)).containsExactly("1:10:ACKED", "2:20:ACKED");
+    }
+
+    @DisplayName("결과 저장 이벤트가 있는 수신자는 제외")
+    @Test
+    void replay_Results() {
+        SendWalLog walLog = new SendWalLog();
+        walLog.apply(SendWalLog.enqueued(0, new long[]{10L, 20L, 30L}));
+        walLog.apply(SendWalLog.results(Arrays.asList("1", "3")));
+
+        assertThat(pending(walLog)).containsExactly("2:20:ENQUEUED");
+    }
+
+    @DisplayName("연락처 아이디는 쉼표로 구분한 한 필드 (수신자마다 JSON 을 두 번 저장하던 것보다 작음)")
+    @Test
+    void enqueued_Compact() {
+        long[] contactIds = new long[1000];
+        for (int i = 0; i < contactIds.length; i++)
+            contactIds[i] = 1_000_000_000L + i;
+
+        String contacts = SendWalLog.enqueued(0, contactIds).get(SendWalLog.CONTACTS);
+
+        assertThat(contacts.split(",")).hasSize(1000);
+        assertThat(contacts.length()).isLessThan(1000 * 11);
+    }
+}
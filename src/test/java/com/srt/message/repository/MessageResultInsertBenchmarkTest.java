@@ -0,0 +1,164 @@
+package com.srt.message.repository;
+
+import com.srt.message.config.status.BaseStatus;
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.utils.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.*;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결과 저장 처리량 비교 (로컬 MySQL 호환 DB 필요, 기본 test 태스크에서는 제외)
+ * ./gradlew benchmarkTest -Dbenchmark.jdbc-url=jdbc:mysql://localhost:3306/rns_database?rewriteBatchedStatements=true
+ *
+ * before: IDENTITY 방식 - 행마다 insert 후 생성 키를 돌려받음 (Hibernate 가 batch 를 끄는 이유)
+ * after : 시간 순 아이디를 미리 발급 - 1000건씩 batch insert
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MessageResultInsertBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String IDENTITY_TABLE = "bench_message_result_identity";
+    private static final String SNOWFLAKE_TABLE = "bench_message_result_snowflake";
+
+    private Connection connection;
+
+    @BeforeAll
+    void connect() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc-url", "jdbc:mysql://localhost:3306/rns_database?rewriteBatchedStatements=true");
+        String username = System.getProperty("benchmark.username", "admin");
+        String password = System.getProperty("benchmark.password", "1q2w3e4r!");
+        try {
+            connection = DriverManager.getConnection(url, username, password);
+        } catch (SQLException e) {
+            Assumptions.abort("벤치마크 DB에 연결할 수 없습니다: " + e.getMessage());
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + IDENTITY_TABLE);
+            statement.execute("drop table if exists " + SNOWFLAKE_TABLE);
+            statement.execute(createTableSql(IDENTITY_TABLE, "bigint not null auto_increment"));
+            statement.execute(createTableSql(SNOWFLAKE_TABLE, "bigint not null"));
+        }
+    }
+
+    @AfterAll
+    void disconnect() throws SQLException {
+        if (connection == null)
+            return;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + IDENTITY_TABLE);
+            statement.execute("drop table if exists " + SNOWFLAKE_TABLE);
+        }
+        connection.close();
+    }
+
+    @DisplayName("IDENTITY 행 단위 insert vs 시간 순 아이디 batch insert 처리량")
+    @Test
+    void resultIngestion_RowsPerSecond() throws SQLException {
+        // 워밍업
+        insertIdentity(BATCH_SIZE);
+        insertSnowflake(BATCH_SIZE);
+        truncate();
+
+        long identityNanos = insertIdentity(ROWS);
+        long snowflakeNanos = insertSnowflake(ROWS);
+
+        double identityRate = ROWS / (identityNanos / 1_000_000_000.0);
+        double snowflakeRate = ROWS / (snowflakeNanos / 1_000_000_000.0);
+        System.out.printf("[result ingestion] rows=%d%n", ROWS);
+        System.out.printf("  before (IDENTITY, row by row)  : %,.0f rows/sec%n", identityRate);
+        System.out.printf("  after  (snowflake, batch %d) : %,.0f rows/sec (x%.1f)%n", BATCH_SIZE, snowflakeRate, snowflakeRate / identityRate);
+
+        assertThat(count(IDENTITY_TABLE)).isEqualTo(ROWS);
+        assertThat(count(SNOWFLAKE_TABLE)).isEqualTo(ROWS);
+    }
+
+    private long insertIdentity(int rows) throws SQLException {
+        String sql = "insert into " + IDENTITY_TABLE +
+                " (message_id, contact_id, broker_id, message_status, description, status, created_at, updated_at)" +
+                " values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < rows; i++) {
+                bind(ps, 1, i, now);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long insertSnowflake(int rows) throws SQLException {
+        String sql = "insert into " + SNOWFLAKE_TABLE +
+                " (id, message_id, contact_id, broker_id, message_status, description, status, created_at, updated_at)" +
+                " values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(0);
+
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < rows; i++) {
+                ps.setLong(1, idGenerator.nextId());
+                bind(ps, 2, i, now);
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0)
+                    ps.executeBatch();
+            }
+            ps.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void bind(PreparedStatement ps, int offset, int i, Timestamp now) throws SQLException {
+        ps.setLong(offset, 1);
+        ps.setLong(offset + 1, i + 1);
+        ps.setLong(offset + 2, i % 3 + 1);
+        ps.setString(offset + 3, MessageStatus.SUCCESS.name());
+        ps.setString(offset + 4, null);
+        ps.setString(offset + 5, BaseStatus.ACTIVE.name());
+        ps.setTimestamp(offset + 6, now);
+        ps.setTimestamp(offset + 7, now);
+    }
+
+    private void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("truncate table " + IDENTITY_TABLE);
+            statement.execute("truncate table " + SNOWFLAKE_TABLE);
+        }
+    }
+
+    private long count(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private String createTableSql(String table, String idColumn) {
+        return "create table " + table + " (" +
+                "id " + idColumn + ", " +
+                "message_id bigint, contact_id bigint, broker_id bigint, " +
+                "message_status varchar(255), description varchar(255), status varchar(255), " +
+                "created_at datetime(6), updated_at datetime(6), " +
+                "primary key (id))";
+    }
+}
@@ -0,0 +1,95 @@
+package com.srt.message.service;
+
+import com.srt.message.domain.Contact;
+import com.srt.message.repository.BlockRepository;
+import com.srt.message.service.message.BlockList;
+import com.srt.message.service.message.BlockListIndex;
+import com.srt.message.service.redis.CacheInvalidationPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.srt.message.config.status.BaseStatus.ACTIVE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockListIndexTest {
+    private static final String SENDER_NUMBER = "01012341234";
+
+    @Mock
+    private BlockRepository blockRepository;
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private BlockListIndex blockListIndex;
+
+    @BeforeEach
+    void setUp(){
+        blockListIndex = new BlockListIndex(blockRepository, new CacheInvalidationPublisher(redisTemplate), 600);
+    }
+
+    @DisplayName("수신 차단 번호는 한 번 순회로 분리")
+    @Test
+    void filter_Success(){
+        // given
+        doReturn(Arrays.asList("01011112222", "010-3333-4444")).when(blockRepository).findAllBySenderNumberAndStatus(SENDER_NUMBER, ACTIVE);
+
+        Contact contact1 = Contact.builder().id(1).phoneNumber("01011112222").build();
+        Contact contact2 = Contact.builder().id(2).phoneNumber("01055556666").build();
+        Contact contact3 = Contact.builder().id(3).phoneNumber("01033334444").build();
+
+        // when
+        List<Contact> blocked = new ArrayList<>();
+        List<Contact> recipients = blockListIndex.filter(SENDER_NUMBER, Arrays.asList(contact1, contact2, contact3), blocked);
+
+        // then
+        assertThat(recipients).containsExactly(contact2);
+        assertThat(blocked).containsExactly(contact1, contact3);
+    }
+
+    @DisplayName("한 번 로딩한 인덱스는 무효화 전까지 재사용")
+    @Test
+    void get_LoadOnce_ReloadAfterInvalidate(){
+        // given
+        doReturn(List.of("01011112222")).doReturn(List.of("01011112222", "01055556666"))
+                .when(blockRepository).findAllBySenderNumberAndStatus(SENDER_NUMBER, ACTIVE);
+
+        // when
+        BlockList first = blockListIndex.get(SENDER_NUMBER);
+        BlockList cached = blockListIndex.get(SENDER_NUMBER);
+        blockListIndex.invalidateAfterCommit(SENDER_NUMBER);
+        BlockList reloaded = blockListIndex.get(SENDER_NUMBER);
+
+        // then
+        assertThat(cached).isSameAs(first);
+        assertThat(first.contains("01055556666")).isFalse();
+        assertThat(reloaded.contains("01055556666")).isTrue();
+        verify(blockRepository, times(2)).findAllBySenderNumberAndStatus(SENDER_NUMBER, ACTIVE);
+        verify(redisTemplate).convertAndSend(BlockListIndex.INVALIDATE_CHANNEL, SENDER_NUMBER);
+    }
+
+    @DisplayName("앞자리 0이나 자릿수가 다른 번호는 같은 번호로 보지 않음")
+    @Test
+    void contains_Normalize(){
+        // when
+        BlockList blockList = BlockList.of(Arrays.asList("010-1234-5678", "0", "00"));
+
+        // then
+        assertThat(blockList.contains("01012345678")).isTrue();
+        assertThat(blockList.contains("010 1234 5678")).isTrue();
+        assertThat(blockList.contains("1012345678")).isFalse();
+        assertThat(blockList.contains("0")).isTrue();
+        assertThat(blockList.contains("000")).isFalse();
+        assertThat(blockList.contains(null)).isFalse();
+        assertThat(blockList.size()).isEqualTo(3);
+    }
+}
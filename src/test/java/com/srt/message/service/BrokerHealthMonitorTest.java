@@ -0,0 +1,159 @@
+package com.srt.message.service;
+
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.dto.message_result.MessageResultDto;
+import com.srt.message.service.routing.BrokerHealthMonitor;
+import com.srt.message.service.routing.RoutingTable;
+import com.srt.message.service.routing.WeightFactors;
+import com.srt.message.utils.algorithm.BrokerWeight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessageBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BrokerHealthMonitorTest {
+    private static final String KT = "sms.work.kt";
+    private static final String SKT = "sms.work.skt";
+    private static final String LG = "sms.work.lg";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BrokerHealthMonitor monitor(boolean enabled) {
+        return new BrokerHealthMonitor(meterRegistry, enabled, 0.2, 1.5, 50, 5000, 6000, 10);
+    }
+
+    private static List<MessageResultDto> results(int success, int fail, LocalDateTime createdAt) {
+        List<MessageResultDto> results = new ArrayList<>();
+        for (int i = 0; i < success + fail; i++) {
+            results.add(MessageResultDto.builder()
+                    .messageStatus(i < success ? MessageStatus.SUCCESS : MessageStatus.FAIL)
+                    .createdAt(createdAt)
+                    .build());
+        }
+        return results;
+    }
+
+    // kt:skt:lg = 1:1:1
+    private static RoutingTable routingTable(BrokerHealthMonitor monitor) {
+        List<BrokerWeight<String>> weights = Arrays.asList(
+                new BrokerWeight<>("KT", 30), new BrokerWeight<>("SKT", 30), new BrokerWeight<>("LG", 30));
+        return RoutingTable.of("sms.work.", weights, name -> name.equals("KT") ? 1 : name.equals("SKT") ? 2 : 3,
+                name -> name, monitor::getWeightFactors);
+    }
+
+    private static long[] count(long[] ids) {
+        long[] counts = new long[4];
+        for (long id : ids)
+            counts[(int) id]++;
+        return counts;
+    }
+
+    @DisplayName("실패가 많은 중계사는 설정 비율보다 적게, 나머지는 더 많이")
+    @Test
+    void refresh_FailingBroker_LowerWeight() {
+        // given - kt 절반 실패
+        BrokerHealthMonitor monitor = monitor(true);
+        monitor.recordResults(KT, results(50, 50, null));
+        monitor.recordResults(SKT, results(100, 0, null));
+        monitor.recordResults(LG, results(100, 0, null));
+
+        // when
+        monitor.refresh();
+
+        // then - 평균 상태 (0.8333) 대비 kt 0.6, skt / lg 1.2
+        WeightFactors factors = monitor.getWeightFactors();
+        assertThat(factors.get(KT)).isEqualTo(0.6);
+        assertThat(factors.get(SKT)).isEqualTo(1.2);
+        assertThat(factors.get(LG)).isEqualTo(1.2);
+
+        long[] counts = count(routingTable(monitor).newBrokerPool().nextIds(3000));
+        assertThat(counts[1]).isEqualTo(600);
+        assertThat(counts[2]).isEqualTo(1200);
+        assertThat(counts[3]).isEqualTo(1200);
+        assertThat(meterRegistry.get("rns.routing.weight.factor").tag("route", KT).gauge().value()).isEqualTo(0.6);
+    }
+
+    @DisplayName("배율은 설정한 범위 안에서만")
+    @Test
+    void refresh_Bounds() {
+        // given - kt 는 wait 큐로만 넘어감
+        BrokerHealthMonitor monitor = monitor(true);
+        for (int i = 0; i < 100; i++)
+            monitor.recordDeadLetter(KT, MessageBuilder.withBody(new byte[0]).build());
+        monitor.recordResults(SKT, results(100, 0, null));
+
+        // when
+        monitor.refresh();
+
+        // then
+        assertThat(monitor.getWeightFactors().get(KT)).isEqualTo(0.2);
+        assertThat(monitor.getWeightFactors().get(SKT)).isEqualTo(1.5);
+    }
+
+    @DisplayName("결과 수신이 목표보다 느린 중계사도 줄임")
+    @Test
+    void refresh_SlowBroker_LowerWeight() {
+        // given - kt 는 20초 뒤에 결과 수신 (목표 5초)
+        BrokerHealthMonitor monitor = monitor(true);
+        monitor.recordResults(KT, results(100, 0, LocalDateTime.now().minusSeconds(20)));
+        monitor.recordResults(SKT, results(100, 0, LocalDateTime.now()));
+
+        // when
+        monitor.refresh();
+
+        // then
+        assertThat(monitor.getWeightFactors().get(KT)).isLessThan(1.0);
+        assertThat(monitor.getWeightFactors().get(SKT)).isGreaterThan(1.0);
+    }
+
+    @DisplayName("표본이 적으면 설정 비율 그대로")
+    @Test
+    void refresh_FewSamples_NoChange() {
+        BrokerHealthMonitor monitor = monitor(true);
+        monitor.recordResults(KT, results(0, 10, null));
+        monitor.recordResults(SKT, results(10, 0, null));
+
+        monitor.refresh();
+
+        assertThat(monitor.getWeightFactors().isEmpty()).isTrue();
+    }
+
+    @DisplayName("끄면 상태와 관계없이 설정 비율 그대로")
+    @Test
+    void refresh_Disabled() {
+        // given
+        BrokerHealthMonitor monitor = monitor(false);
+        monitor.recordResults(KT, results(0, 100, null));
+        monitor.recordResults(SKT, results(100, 0, null));
+
+        // when
+        monitor.refresh();
+
+        // then
+        assertThat(monitor.getWeightFactors()).isSameAs(WeightFactors.NONE);
+        long[] counts = count(routingTable(monitor).newBrokerPool().nextIds(3000));
+        assertThat(counts[1]).isEqualTo(1000);
+        assertThat(meterRegistry.get("rns.routing.weight.factor").tag("route", KT).gauge().value()).isEqualTo(1.0);
+    }
+
+    @DisplayName("배율이 그대로면 version 도 그대로 (분배 순서 재사용)")
+    @Test
+    void refresh_SameFactors_SameVersion() {
+        BrokerHealthMonitor monitor = monitor(true);
+        monitor.recordResults(KT, results(50, 50, null));
+        monitor.recordResults(SKT, results(100, 0, null));
+        monitor.refresh();
+        long version = monitor.getWeightFactors().getVersion();
+
+        monitor.refresh();
+
+        assertThat(monitor.getWeightFactors().getVersion()).isEqualTo(version);
+    }
+}
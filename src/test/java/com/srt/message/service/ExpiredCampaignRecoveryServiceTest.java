@@ -0,0 +1,197 @@
+package com.srt.message.service;
+
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.domain.KakaoMessage;
+import com.srt.message.domain.KakaoMessageResult;
+import com.srt.message.domain.Message;
+import com.srt.message.domain.MessageResult;
+import com.srt.message.domain.redis.SendWalLog;
+import com.srt.message.repository.KakaoMessageResultRepository;
+import com.srt.message.repository.MessageResultRepository;
+import com.srt.message.repository.cache.MessageCacheRepository;
+import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.repository.redis.StatusTransition;
+import com.srt.message.service.message.MessageResultSummaryService;
+import com.srt.message.service.recovery.ExpiredCampaignRecoveryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiredCampaignRecoveryServiceTest {
+    @InjectMocks
+    private ExpiredCampaignRecoveryService expiredCampaignRecoveryService;
+
+    @Mock
+    private MessageResultRepository messageResultRepository;
+    @Mock
+    private KakaoMessageResultRepository kakaoMessageResultRepository;
+
+    @Mock
+    private MessageCacheRepository messageCacheRepository;
+
+    @Mock
+    private RedisHashRepository redisHashRepository;
+    @Mock
+    private SendWalRepository sendWalRepository;
+
+    @Mock
+    private MessageResultSummaryService messageResultSummaryService;
+
+    // 한 윈도우로 저장된 로그 (수신자 아이디 1부터)
+    private SendWalLog walLog(long... contactIds) {
+        SendWalLog walLog = new SendWalLog();
+        walLog.apply(SendWalLog.enqueued(0, contactIds));
+        return walLog;
+    }
+
+    private void savedContactIds(long... contactIds) {
+        doAnswer(invocation -> {
+            LongConsumer consumer = invocation.getArgument(1);
+            for (long contactId : contactIds)
+                consumer.accept(contactId);
+            return null;
+        }).when(messageResultRepository).forEachContactId(eq(1L), any());
+    }
+
+    @DisplayName("결과가 없는 수신자만 실패로 한 번에 저장")
+    @SuppressWarnings("unchecked")
+    @Test
+    void recover_SaveOnlyMissing() {
+        // given
+        SendWalLog walLog = walLog(10L, 20L, 30L, 30L);
+        walLog.apply(SendWalLog.published(0, 4));
+        doReturn(walLog).when(sendWalRepository).replay("{sms:1}:wal");
+        savedContactIds(20L);
+        doReturn(Message.builder().id(1).build()).when(messageCacheRepository).findMessageById(1L);
+        doReturn(0L).when(redisHashRepository).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), anyList());
+
+        // when
+        int recovered = expiredCampaignRecoveryService.recover("sms.1");
+
+        // then
+        assertThat(recovered).isEqualTo(2);
+
+        ArgumentCaptor<List<MessageResult>> resultCaptor = ArgumentCaptor.forClass(List.class);
+        verify(messageResultRepository, times(1)).saveAllInBatch(resultCaptor.capture());
+        assertThat(resultCaptor.getValue()).hasSize(2)
+                .allMatch(messageResult -> messageResult.getMessageStatus() == MessageStatus.FAIL)
+                .allMatch(messageResult -> messageResult.getDescription().equals("발송 확인 실패"))
+                .extracting(messageResult -> messageResult.getContact().getId())
+                .containsExactly(10L, 30L);
+        verify(messageResultRepository, never()).findByContactAndMessage(any(), any());
+
+        ArgumentCaptor<List<StatusTransition>> transitionCaptor = ArgumentCaptor.forClass(List.class);
+        verify(redisHashRepository).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), transitionCaptor.capture());
+        assertThat(transitionCaptor.getValue()).extracting(StatusTransition::getField).containsExactly("1", "3");
+
+        verify(messageResultSummaryService, times(1)).saveSummary(1L);
+        verify(sendWalRepository, times(1)).delete("{sms:1}:wal");
+    }
+
+    @DisplayName("10만 수신자 복구도 조회 1회, 저장 1회, 상태 전이 1000건당 1회")
+    @SuppressWarnings("unchecked")
+    @Test
+    void recover_LargeCampaign_BoundedQueries() {
+        // given - 3명 중 1명만 결과가 저장된 상태
+        int pendingCount = 100_000;
+        long[] contactIds = new long[pendingCount];
+        for (int i = 0; i < pendingCount; i++)
+            contactIds[i] = i + 1;
+        doReturn(walLog(contactIds)).when(sendWalRepository).replay("{sms:1}:wal");
+        doAnswer(invocation -> {
+            LongConsumer consumer = invocation.getArgument(1);
+            for (long contactId = 1; contactId <= pendingCount; contactId += 3)
+                consumer.accept(contactId);
+            return null;
+        }).when(messageResultRepository).forEachContactId(eq(1L), any());
+        doReturn(Message.builder().id(1).build()).when(messageCacheRepository).findMessageById(1L);
+        doReturn(1L).when(redisHashRepository).transitionStatus(anyString(), anyString(), anyList());
+
+        // when
+        int recovered = expiredCampaignRecoveryService.recover("sms.1");
+
+        // then
+        int savedCount = (pendingCount + 2) / 3;
+        assertThat(recovered).isEqualTo(pendingCount - savedCount);
+
+        verify(messageResultRepository, times(1)).forEachContactId(eq(1L), any());
+        verify(messageResultRepository, never()).findByContactAndMessage(any(), any());
+        verify(messageCacheRepository, times(1)).findMessageById(1L);
+
+        ArgumentCaptor<List<MessageResult>> resultCaptor = ArgumentCaptor.forClass(List.class);
+        verify(messageResultRepository, times(1)).saveAllInBatch(resultCaptor.capture());
+        assertThat(resultCaptor.getValue()).hasSize(pendingCount - savedCount)
+                .noneMatch(messageResult -> messageResult.getContact().getId() % 3 == 1);
+
+        int transitionCalls = (pendingCount - savedCount + 999) / 1000;
+        verify(redisHashRepository, times(transitionCalls)).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), anyList());
+        verify(messageResultSummaryService, never()).saveSummary(anyLong()); // 아직 진행 중인 수신자가 남음
+    }
+
+    @DisplayName("모든 수신자의 결과가 있으면 저장하지 않고 로그만 제거")
+    @Test
+    void recover_NothingMissing() {
+        // given
+        doReturn(walLog(10L, 20L)).when(sendWalRepository).replay("{sms:1}:wal");
+        savedContactIds(10L, 20L);
+
+        // when
+        int recovered = expiredCampaignRecoveryService.recover("sms.1");
+
+        // then
+        assertThat(recovered).isZero();
+        verify(messageResultRepository, never()).saveAllInBatch(anyList());
+        verify(redisHashRepository, never()).transitionStatus(anyString(), anyString(), anyList());
+        verify(sendWalRepository, times(1)).delete("{sms:1}:wal");
+    }
+
+    @DisplayName("이미 복구된 발송은 아무것도 하지 않음")
+    @Test
+    void recover_AlreadyRecovered() {
+        // given
+        doReturn(new SendWalLog()).when(sendWalRepository).replay("{sms:1}:wal");
+
+        // when
+        int recovered = expiredCampaignRecoveryService.recover("sms.1");
+
+        // then
+        assertThat(recovered).isZero();
+        verify(messageResultRepository, never()).forEachContactId(anyLong(), any());
+        verify(messageResultRepository, never()).saveAllInBatch(anyList());
+    }
+
+    @DisplayName("알림톡 발송은 알림톡 결과로 복구")
+    @SuppressWarnings("unchecked")
+    @Test
+    void recover_Kakao() {
+        // given
+        doReturn(walLog(10L, 20L)).when(sendWalRepository).replay("{kakao:1}:wal");
+        doReturn(KakaoMessage.builder().id(1).build()).when(messageCacheRepository).findKakaoMessageById(1L);
+
+        // when
+        int recovered = expiredCampaignRecoveryService.recover("kakao.1");
+
+        // then
+        assertThat(recovered).isEqualTo(2);
+        verify(kakaoMessageResultRepository, times(1)).forEachContactId(eq(1L), any());
+        verify(messageResultRepository, never()).forEachContactId(anyLong(), any());
+
+        ArgumentCaptor<List<KakaoMessageResult>> resultCaptor = ArgumentCaptor.forClass(List.class);
+        verify(kakaoMessageResultRepository, times(1)).saveAllInBatch(resultCaptor.capture());
+        assertThat(resultCaptor.getValue()).hasSize(2);
+        verify(messageResultSummaryService, never()).saveSummary(anyLong());
+    }
+}
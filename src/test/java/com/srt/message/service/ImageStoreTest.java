@@ -0,0 +1,127 @@
+package com.srt.message.service;
+
+import com.srt.message.config.exception.BaseException;
+import com.srt.message.service.message.ImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageStoreTest {
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @TempDir
+    Path tempDir;
+
+    private ImageStore imageStore;
+
+    @BeforeEach
+    void setUp(){
+        imageStore = new ImageStore(redisTemplate, tempDir.toString(), 1, 60);
+        lenient().doReturn(valueOperations).when(redisTemplate).opsForValue();
+    }
+
+    @DisplayName("같은 이미지는 같은 해시로 한 번만 저장")
+    @Test
+    void save_SameContent_SameHash() throws Exception {
+        // when
+        String hash1 = imageStore.save("data:image/png;base64,AAAA");
+        String hash2 = imageStore.save("data:image/png;base64,AAAA");
+        String hash3 = imageStore.save("data:image/png;base64,BBBB");
+
+        // then
+        assertThat(hash1).isEqualTo(hash2).hasSize(64);
+        assertThat(hash3).isNotEqualTo(hash1);
+        try (var files = Files.walk(tempDir)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(2);
+        }
+    }
+
+    @DisplayName("L1에 없으면 Redis, Redis에 없으면 파일에서 조회")
+    @Test
+    void load_FromFile_Success(){
+        // given (L1 크기 1이라 첫 번째 이미지는 밀려남)
+        String hash = imageStore.save("image-1");
+        imageStore.save("image-2");
+
+        clearInvocations(valueOperations);
+        doReturn(null).when(valueOperations).get(anyString());
+
+        // when
+        String image = imageStore.load(hash);
+
+        // then
+        assertThat(image).isEqualTo("image-1");
+        verify(valueOperations).set(eq("image.blob." + hash), eq("image-1"), anyLong(), any());
+    }
+
+    @DisplayName("다른 서버에서 저장한 이미지는 Redis 에서 읽고 이 서버 디스크에도 복사")
+    @Test
+    void load_FromRedis_CopyToFile(){
+        // given (다른 서버에서 저장해 이 서버 디스크에는 없음)
+        String hash = new ImageStore(redisTemplate, tempDir.resolve("other").toString(), 1, 60).save("image-1");
+        doReturn("image-1").when(valueOperations).get("image.blob." + hash);
+        assertThat(imageStore.exists(hash)).isFalse();
+
+        // when
+        String image = imageStore.load(hash);
+
+        // then
+        assertThat(image).isEqualTo("image-1");
+        assertThat(imageStore.exists(hash)).isTrue();
+    }
+
+    @DisplayName("디스크와 Redis 모두에 없으면 예외")
+    @Test
+    void load_NotExist_Fail(){
+        // given
+        String hash = new ImageStore(redisTemplate, tempDir.resolve("other").toString(), 1, 60).save("image-1");
+        doReturn(null).when(valueOperations).get(anyString());
+
+        // when, then
+        assertThatThrownBy(() -> imageStore.load(hash))
+                .isInstanceOf(BaseException.class);
+    }
+
+    @DisplayName("파일 내용을 채널로 전송")
+    @Test
+    void transferTo_Success() throws Exception {
+        // given
+        String hash = imageStore.save("이미지 원본");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long size = imageStore.transferTo(hash, Channels.newChannel(out));
+
+        // then
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("이미지 원본");
+        assertThat(size).isEqualTo(out.size());
+    }
+
+    @DisplayName("해시 형식이 아니면 예외")
+    @Test
+    void getPath_InvalidHash_Fail(){
+        assertThatThrownBy(() -> imageStore.getPath("../../etc/passwd"))
+                .isInstanceOf(BaseException.class);
+    }
+}
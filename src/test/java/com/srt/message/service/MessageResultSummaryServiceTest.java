@@ -0,0 +1,200 @@
+package com.srt.message.service;
+
+import com.srt.message.config.exception.BaseException;
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.config.type.MessageType;
+import com.srt.message.domain.Member;
+import com.srt.message.domain.Message;
+import com.srt.message.domain.MessageResultSummary;
+import com.srt.message.dto.message_result.MessageResultCount;
+import com.srt.message.dto.message_result.get.GetMessageResultSummaryRes;
+import com.srt.message.repository.MessageRepository;
+import com.srt.message.repository.MessageResultRepository;
+import com.srt.message.repository.MessageResultSummaryRepository;
+import com.srt.message.repository.cache.MessageCacheRepository;
+import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.service.message.MessageResultSummaryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageResultSummaryServiceTest {
+    @InjectMocks
+    private MessageResultSummaryService messageResultSummaryService;
+
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private MessageResultRepository messageResultRepository;
+    @Mock
+    private MessageResultSummaryRepository messageResultSummaryRepository;
+
+    @Mock
+    private MessageCacheRepository messageCacheRepository;
+
+    @Mock
+    private RedisHashRepository redisHashRepository;
+
+    private Message message(MessageType messageType) {
+        return Message.builder().id(1).member(Member.builder().id(1).build()).messageType(messageType).build();
+    }
+
+    private Map<String, String> counts() {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("total", "10");
+        fields.put("P", "0");
+        fields.put("R", "0");
+        fields.put("S", "7");
+        fields.put("F", "3");
+        fields.put("b.1", "5");
+        fields.put("b.2", "3");
+        fields.put("b.3", "1");
+        return fields;
+    }
+
+    @DisplayName("발송이 끝난 메시지는 Redis 집계로 message_result_summary 저장")
+    @Test
+    void saveSummary_FromCounters() {
+        // given
+        doReturn(counts()).when(redisHashRepository).findAll("{sms:1}:count");
+        doReturn(message(MessageType.LMS)).when(messageCacheRepository).findMessageById(1L);
+
+        // when
+        messageResultSummaryService.saveSummary(1L);
+
+        // then
+        ArgumentCaptor<MessageResultSummary> summaryCaptor = ArgumentCaptor.forClass(MessageResultSummary.class);
+        verify(messageResultSummaryRepository, times(1)).save(summaryCaptor.capture());
+        MessageResultSummary summary = summaryCaptor.getValue();
+        assertThat(summary.getMessageId()).isEqualTo(1L);
+        assertThat(summary.getTotalCount()).isEqualTo(10);
+        assertThat(summary.getSuccessCount()).isEqualTo(7);
+        assertThat(summary.getFailCount()).isEqualTo(3);
+        assertThat(summary.getKtCount()).isEqualTo(5);
+        assertThat(summary.getSktCount()).isEqualTo(3);
+        assertThat(summary.getLgCount()).isEqualTo(1);
+        assertThat(summary.getPayPoint()).isEqualTo(7 * 3);
+        assertThat(summary.getRefundPoint()).isEqualTo(3 * 3);
+    }
+
+    @DisplayName("집계가 없는 메시지는 저장하지 않음")
+    @Test
+    void saveSummary_NoCounters() {
+        // given
+        doReturn(Collections.emptyMap()).when(redisHashRepository).findAll("{sms:1}:count");
+
+        // when
+        messageResultSummaryService.saveSummary(1L);
+
+        // then
+        verify(messageResultSummaryRepository, never()).save(any());
+    }
+
+    @DisplayName("발송 중인 메시지 집계는 Redis 에서 조회 (처리 결과 테이블 조회 없음)")
+    @Test
+    void getSummary_InProgress() {
+        // given
+        Map<String, String> fields = counts();
+        fields.put("P", "2");
+        fields.put("S", "5");
+        doReturn(Optional.of(message(MessageType.SMS))).when(messageRepository).findById(1L);
+        doReturn(fields).when(redisHashRepository).findAll("{sms:1}:count");
+
+        // when
+        GetMessageResultSummaryRes summaryRes = messageResultSummaryService.getSummary(1L, 1L);
+
+        // then
+        assertThat(summaryRes.isInProgress()).isTrue();
+        assertThat(summaryRes.getMessageStatus().get(MessageStatus.PENDING)).isEqualTo(2L);
+        assertThat(summaryRes.getBroker().get("kt")).isEqualTo(5L);
+        verify(messageResultSummaryRepository, never()).findById(anyLong());
+        verify(messageResultRepository, never()).countByMessageId(anyLong());
+    }
+
+    @DisplayName("Redis 집계가 만료된 메시지는 저장된 집계로 조회")
+    @Test
+    void getSummary_Saved() {
+        // given
+        MessageResultSummary summary = MessageResultSummary.builder()
+                .messageId(1).totalCount(4).successCount(4).ktCount(4).payPoint(4).build();
+        doReturn(Optional.of(message(MessageType.SMS))).when(messageRepository).findById(1L);
+        doReturn(Collections.emptyMap()).when(redisHashRepository).findAll("{sms:1}:count");
+        doReturn(Optional.of(summary)).when(messageResultSummaryRepository).findById(1L);
+
+        // when
+        GetMessageResultSummaryRes summaryRes = messageResultSummaryService.getSummary(1L, 1L);
+
+        // then
+        assertThat(summaryRes.isInProgress()).isFalse();
+        assertThat(summaryRes.getTotalCount()).isEqualTo(4);
+        assertThat(summaryRes.getMessageStatus().get(MessageStatus.SUCCESS)).isEqualTo(4L);
+        verify(messageResultRepository, never()).countByMessageId(anyLong());
+    }
+
+    @DisplayName("집계 도입 전 메시지는 처리 결과 group by 로 조회")
+    @Test
+    void getSummary_Aggregate() {
+        // given
+        doReturn(Optional.of(message(MessageType.SMS))).when(messageRepository).findById(1L);
+        doReturn(Collections.emptyMap()).when(redisHashRepository).findAll("{sms:1}:count");
+        doReturn(Optional.empty()).when(messageResultSummaryRepository).findById(1L);
+        doReturn(Arrays.asList(
+                resultCount(MessageStatus.SUCCESS, 2L, 3),
+                resultCount(MessageStatus.FAIL, 2L, 1),
+                resultCount(MessageStatus.FAIL, null, 2) // 수신 차단
+        )).when(messageResultRepository).countByMessageId(1L);
+
+        // when
+        GetMessageResultSummaryRes summaryRes = messageResultSummaryService.getSummary(1L, 1L);
+
+        // then
+        assertThat(summaryRes.getTotalCount()).isEqualTo(6);
+        assertThat(summaryRes.getMessageStatus().get(MessageStatus.FAIL)).isEqualTo(3L);
+        assertThat(summaryRes.getBroker().get("skt")).isEqualTo(4L);
+        assertThat(summaryRes.getPayPoint()).isEqualTo(3);
+        assertThat(summaryRes.getRefundPoint()).isEqualTo(3);
+    }
+
+    @DisplayName("다른 사용자의 메시지 집계는 조회할 수 없음")
+    @Test
+    void getSummary_NotMatchMember() {
+        // given
+        doReturn(Optional.of(message(MessageType.SMS))).when(messageRepository).findById(1L);
+
+        // when, then
+        assertThatThrownBy(() -> messageResultSummaryService.getSummary(1L, 2L))
+                .isInstanceOf(BaseException.class);
+        verify(redisHashRepository, never()).findAll(anyString());
+    }
+
+    private MessageResultCount resultCount(MessageStatus messageStatus, Long brokerId, long count) {
+        return new MessageResultCount() {
+            @Override
+            public MessageStatus getMessageStatus() {
+                return messageStatus;
+            }
+
+            @Override
+            public Long getBrokerId() {
+                return brokerId;
+            }
+
+            @Override
+            public long getResultCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -13,6 +13,7 @@ import com.srt.message.repository.BrokerRepository;
 import com.srt.message.repository.MemberRepository;
 import com.srt.message.repository.MessageRuleRepository;
 import com.srt.message.service.message.MessageRuleService;
+import com.srt.message.service.routing.RoutingTableCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,8 @@ class MessageRuleServiceTest {
     private MemberRepository memberRepository;
     @Mock
     private BrokerRepository brokerRepository;
+    @Mock
+    private RoutingTableCache routingTableCache;
 
     private List<MessageRuleVO> messageRuleVOs;
     private List<Broker> brokers;
@@ -107,6 +110,7 @@ class MessageRuleServiceTest {
 
         // verify
         verify(messageRuleRepository, times(1)).saveAll(any());
+        verify(routingTableCache, times(1)).invalidateSmsAfterCommit(member.getId());
     }
 
     @DisplayName("메시지 중계사 비율 조회")
@@ -150,6 +154,9 @@ class MessageRuleServiceTest {
         assertThat(response.getMessageRules().get(0).getBrokerRate()).isEqualTo(33);
         assertThat(response.getMessageRules().get(1).getBrokerRate()).isEqualTo(33);
         assertThat(response.getMessageRules().get(2).getBrokerRate()).isEqualTo(34);
+
+        // verify
+        verify(routingTableCache, times(1)).invalidateSmsAfterCommit(member.getId());
     }
 
 }
@@ -1,14 +1,18 @@
 package com.srt.message.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srt.message.config.status.SendJobStatus;
 import com.srt.message.config.type.MessageType;
 import com.srt.message.domain.*;
 import com.srt.message.dto.message.SMSMessageDto;
+import com.srt.message.dto.message.post.PostSendJobRes;
 import com.srt.message.dto.message.post.PostSendMessageReq;
 import com.srt.message.repository.*;
+import com.srt.message.service.PointService;
 import com.srt.message.service.message.BrokerService;
 import com.srt.message.service.message.MessageService;
 import com.srt.message.service.message.ReserveMessageService;
+import com.srt.message.service.message.SendJobService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,6 +31,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -54,6 +60,14 @@ class MessageServiceTest {
     @Mock
     private ReserveMessageService reserveMessageService;
 
+    // PointService Mock
+    @Mock
+    private PointService pointService;
+
+    // SendJobService Mock
+    @Mock
+    private SendJobService sendJobService;
+
     private Member member;
     private List<Contact> contacts;
     private SenderNumber senderNumber;
@@ -140,4 +154,25 @@ class MessageServiceTest {
         // then
         assertThat(response).isEqualTo("성공");
     }
+
+    @DisplayName("일반 메시지 비동기 발송")
+    @Test
+    void sendMessageToBrokerAsync_Success(){
+        // given
+        doReturn(Optional.ofNullable(member)).when(memberRepository).findById(any());
+        doReturn(contacts).when(contactRepository).findAllByPhoneNumberIn(any());
+        doReturn(Optional.ofNullable(senderNumber)).when(senderNumberRepository)
+                .findByMemberIdAndPhoneNumberAndStatus(eq(member.getId()), any(), eq(ACTIVE));
+
+        doReturn("job-1").when(sendJobService).submitSmsJob(any());
+
+        // when
+        PostSendJobRes response = messageService.sendMessageToBrokerAsync(postSendMessageReq, member.getId());
+
+        // then
+        assertThat(response.getJobId()).isEqualTo("job-1");
+        assertThat(response.getStatus()).isEqualTo(SendJobStatus.QUEUED);
+        verify(sendJobService).validateCapacity();
+        verify(brokerService, never()).sendSmsMessage(any());
+    }
 }
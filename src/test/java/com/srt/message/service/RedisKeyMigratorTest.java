@@ -0,0 +1,117 @@
+package com.srt.message.service;
+
+import com.srt.message.domain.redis.RedisKeySchema;
+import com.srt.message.repository.KakaoMessageRepository;
+import com.srt.message.repository.MessageRepository;
+import com.srt.message.repository.redis.RecoveryDeadlineRepositoryImpl;
+import com.srt.message.service.redis.RedisKeyMigrator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisKeyMigratorTest {
+    private static final byte[] DUMP = new byte[]{1, 2, 3};
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private KakaoMessageRepository kakaoMessageRepository;
+
+    private RedisKeyMigrator redisKeyMigrator;
+
+    @BeforeEach
+    void setUp() {
+        redisKeyMigrator = new RedisKeyMigrator(redisTemplate, messageRepository, kakaoMessageRepository, true);
+        doReturn(valueOperations).when(redisTemplate).opsForValue();
+    }
+
+    @DisplayName("v1 키를 채널이 정해지는 것만 v2 키로 옮김")
+    @Test
+    void migrate() {
+        // given
+        doReturn(true).when(valueOperations).setIfAbsent(anyString(), any(), anyLong(), eq(TimeUnit.SECONDS));
+        doReturn(zSetOperations).when(redisTemplate).opsForZSet();
+        // 1: 진행 중인 알림톡, 5: 같은 아이디로 문자 / 알림톡 모두 진행 중
+        doReturn(new LinkedHashSet<>(Arrays.asList("kakao.1", "sms.5", "kakao.5")))
+                .when(zSetOperations).range(RecoveryDeadlineRepositoryImpl.DEADLINE_KEY, 0, -1);
+        doReturn(Arrays.asList("message.status.1", "message.count.1", "message.status.2", "message.status.3", "message.status.5", "message.other.9"))
+                .when(redisTemplate).execute(any(RedisCallback.class));
+        // 2: 문자만 DB 에 있음, 3: 둘 다 있음
+        doReturn(true).when(messageRepository).existsById(2L);
+        doReturn(true).when(messageRepository).existsById(3L);
+        doReturn(true).when(kakaoMessageRepository).existsById(3L);
+        doReturn(false).when(redisTemplate).hasKey(anyString());
+        doReturn(DUMP).when(redisTemplate).dump(anyString());
+        doReturn(1000L).when(redisTemplate).getExpire(anyString(), eq(TimeUnit.MILLISECONDS));
+
+        // when
+        int migrated = redisKeyMigrator.migrate();
+
+        // then
+        assertThat(migrated).isEqualTo(3);
+        verify(redisTemplate).restore("{kakao:1}:status", DUMP, 1000L, TimeUnit.MILLISECONDS);
+        verify(redisTemplate).restore("{kakao:1}:count", DUMP, 1000L, TimeUnit.MILLISECONDS);
+        verify(redisTemplate).restore("{sms:2}:status", DUMP, 1000L, TimeUnit.MILLISECONDS);
+        verify(redisTemplate, times(3)).restore(anyString(), any(byte[].class), anyLong(), any(TimeUnit.class));
+        verify(redisTemplate).delete("message.status.1");
+        verify(redisTemplate, never()).delete("message.status.3");
+        verify(redisTemplate, never()).delete("message.status.5");
+        verify(messageRepository, never()).existsById(1L); // 진행 중인 발송은 DB 를 보지 않음
+        verify(messageRepository, times(1)).existsById(3L);
+
+        verify(valueOperations).set(RedisKeySchema.VERSION_KEY, String.valueOf(RedisKeySchema.VERSION));
+        verify(redisTemplate).delete("rns:schema:migrating");
+    }
+
+    @DisplayName("이미 변환한 Redis 는 건너뜀")
+    @Test
+    void migrate_AlreadyMigrated() {
+        // given
+        doReturn(String.valueOf(RedisKeySchema.VERSION)).when(valueOperations).get(RedisKeySchema.VERSION_KEY);
+
+        // when
+        int migrated = redisKeyMigrator.migrate();
+
+        // then
+        assertThat(migrated).isZero();
+        verify(valueOperations, never()).setIfAbsent(anyString(), any(), anyLong(), any(TimeUnit.class));
+        verify(redisTemplate, never()).execute(any(RedisCallback.class));
+    }
+
+    @DisplayName("다른 서버가 변환 중이면 건너뜀")
+    @Test
+    void migrate_Locked() {
+        // given
+        doReturn(false).when(valueOperations).setIfAbsent(anyString(), any(), anyLong(), eq(TimeUnit.SECONDS));
+
+        // when
+        int migrated = redisKeyMigrator.migrate();
+
+        // then
+        assertThat(migrated).isZero();
+        verify(redisTemplate, never()).execute(any(RedisCallback.class));
+        verify(redisTemplate, never()).delete(anyString());
+    }
+}
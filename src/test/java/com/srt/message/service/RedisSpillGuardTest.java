@@ -0,0 +1,277 @@
+package com.srt.message.service;
+
+import com.srt.message.domain.redis.SpillRecord;
+import com.srt.message.domain.redis.StatusCounts;
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import com.srt.message.repository.redis.RedisBatch;
+import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.repository.redis.RedisPipelineRepository;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.service.redis.RedisSpillGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisSpillGuardTest {
+    private static final long LATENCY_BUDGET_MILLIS = 50;
+    private static final long SLOW_REDIS_MILLIS = 500;
+    private static final int WINDOW_COUNT = 20;
+
+    @Mock
+    private RedisPipelineRepository redisPipelineRepository;
+    @Mock
+    private RedisHashRepository redisHashRepository;
+    @Mock
+    private SendWalRepository sendWalRepository;
+    @Mock
+    private RecoveryDeadlineRepository recoveryDeadlineRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private RedisSpillGuard redisSpillGuard;
+
+    // 파이프라인 한 번에 redisDelay 만큼 걸리는 Redis
+    private final AtomicLong redisDelay = new AtomicLong();
+
+    private RedisSpillGuard guard(long openMillis) {
+        doAnswer(invocation -> {
+            Thread.sleep(redisDelay.get());
+            return Collections.emptyList();
+        }).when(redisPipelineRepository).execute(any(RedisBatch.class));
+
+        redisSpillGuard = new RedisSpillGuard(redisPipelineRepository, redisHashRepository, sendWalRepository, recoveryDeadlineRepository,
+                new SimpleMeterRegistry(), tempDir.toString(), 1024 * 1024, LATENCY_BUDGET_MILLIS, openMillis, 100, 4);
+        return redisSpillGuard;
+    }
+
+    private static SpillRecord window(int index) {
+        return SpillRecord.window("sms.1", index * 2, new long[]{index * 10L, index * 10L + 1}, new long[]{1L, 2L});
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (redisSpillGuard != null)
+            redisSpillGuard.close();
+    }
+
+    @DisplayName("Redis 가 느려도 발송은 지연 예산만큼만 기다리고 나머지는 로컬 저널로")
+    @Test
+    void execute_SlowRedis_SpillWithinBudget() {
+        // given
+        RedisSpillGuard guard = guard(60_000);
+        redisDelay.set(SLOW_REDIS_MILLIS);
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < WINDOW_COUNT; i++)
+            guard.execute(new RedisBatch(), window(i));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then - Redis 를 기다렸다면 20 * 500ms, 첫 윈도우만 예산만큼 기다리고 나머지는 바로 저널에
+        assertThat(elapsedMillis).isLessThan(SLOW_REDIS_MILLIS);
+        assertThat(guard.isOpen()).isTrue();
+        assertThat(guard.getPendingCount()).isEqualTo(WINDOW_COUNT);
+        verify(redisPipelineRepository, times(1)).execute(any(RedisBatch.class));
+
+        // 차단 중에는 발행 이벤트 같은 부가 쓰기는 건너뜀
+        assertThat(guard.executeBestEffort(new RedisBatch())).isFalse();
+    }
+
+    @DisplayName("Redis 가 실패해도 발송은 이어가고 저널에 남김")
+    @Test
+    void execute_RedisDown_Spill() {
+        // given
+        redisSpillGuard = new RedisSpillGuard(redisPipelineRepository, redisHashRepository, sendWalRepository, recoveryDeadlineRepository,
+                new SimpleMeterRegistry(), tempDir.toString(), 1024 * 1024, LATENCY_BUDGET_MILLIS, 60_000, 100, 4);
+        doThrow(new IllegalStateException("connection refused")).when(redisPipelineRepository).execute(any(RedisBatch.class));
+
+        // when
+        redisSpillGuard.execute(new RedisBatch(), window(0));
+        redisSpillGuard.execute(new RedisBatch(), window(1));
+
+        // then
+        assertThat(redisSpillGuard.isOpen()).isTrue();
+        assertThat(redisSpillGuard.getPendingCount()).isEqualTo(2);
+        verify(redisPipelineRepository, times(1)).execute(any(RedisBatch.class));
+    }
+
+    @DisplayName("Redis 가 빠르면 저널을 거치지 않음")
+    @Test
+    void execute_FastRedis_NoSpill() {
+        // given
+        RedisSpillGuard guard = guard(60_000);
+
+        // when
+        for (int i = 0; i < WINDOW_COUNT; i++)
+            guard.execute(new RedisBatch(), window(i));
+
+        // then
+        assertThat(guard.isOpen()).isFalse();
+        assertThat(guard.getPendingCount()).isZero();
+        verify(redisPipelineRepository, times(WINDOW_COUNT)).execute(any(RedisBatch.class));
+    }
+
+    @DisplayName("차단이 풀리면 저널의 윈도우를 순서대로 Redis 에 반영")
+    @Test
+    void drain_AfterRecovery() throws InterruptedException {
+        // given - 느린 동안 저널에 쌓인 윈도우
+        RedisSpillGuard guard = guard(100);
+        redisDelay.set(SLOW_REDIS_MILLIS);
+        for (int i = 0; i < WINDOW_COUNT; i++)
+            guard.execute(new RedisBatch(), window(i));
+        guard.execute(new RedisBatch(), SpillRecord.acked("sms.1"));
+        assertThat(guard.getPendingCount()).isEqualTo(WINDOW_COUNT + 1);
+
+        // when - Redis 회복 후 차단 시간이 지나면 반영
+        redisDelay.set(0);
+        Thread.sleep(SLOW_REDIS_MILLIS + 100); // 예산을 넘긴 첫 쓰기도 끝날 때까지
+        guard.drain();
+
+        // then
+        assertThat(guard.getPendingCount()).isZero();
+        assertThat(guard.isOpen()).isFalse();
+        verify(sendWalRepository, times(WINDOW_COUNT)).appendEnqueued(any(RedisBatch.class), eq("{sms:1}:wal"), anyInt(), any(long[].class));
+        verify(redisHashRepository, times(WINDOW_COUNT)).saveAll(any(RedisBatch.class), eq("{sms:1}:status"), anyMap());
+        verify(sendWalRepository, times(1)).appendAcked(any(RedisBatch.class), eq("{sms:1}:wal"));
+        verify(recoveryDeadlineRepository, times(WINDOW_COUNT + 1)).register(any(RedisBatch.class), eq("sms.1"), anyLong());
+    }
+
+    @DisplayName("이미 Redis 에 있는 윈도우 (예산을 넘긴 쓰기가 뒤늦게 끝남) 는 다시 쓰지 않음")
+    @Test
+    void drain_SkipAlreadyWritten() {
+        // given
+        redisSpillGuard = new RedisSpillGuard(redisPipelineRepository, redisHashRepository, sendWalRepository, recoveryDeadlineRepository,
+                new SimpleMeterRegistry(), tempDir.toString(), 1024 * 1024, LATENCY_BUDGET_MILLIS, 0, 100, 4);
+        doThrow(new IllegalStateException("timeout"))
+                .doReturn(Collections.emptyList())
+                .when(redisPipelineRepository).execute(any(RedisBatch.class));
+        redisSpillGuard.execute(new RedisBatch(), window(0));
+        doReturn(true).when(redisHashRepository).isExist("{sms:1}:status", "1");
+
+        // when
+        redisSpillGuard.drain();
+
+        // then
+        assertThat(redisSpillGuard.getPendingCount()).isZero();
+        verify(redisHashRepository, never()).saveAll(any(RedisBatch.class), anyString(), anyMap());
+        verify(redisPipelineRepository, times(1)).execute(any(RedisBatch.class));
+    }
+
+    @DisplayName("예산을 넘긴 수신 차단 쓰기가 뒤늦게 끝나면 반영할 때 집계를 다시 올리지 않음")
+    @Test
+    void drain_LateBlockedWrite_NoDoubleCount() throws InterruptedException {
+        // given - 수신 차단 집계 쓰기는 예산을 넘겨 저널에 남았지만 Redis 에는 뒤늦게 반영 표시와 함께 들어감
+        redisSpillGuard = new RedisSpillGuard(redisPipelineRepository, redisHashRepository, sendWalRepository, recoveryDeadlineRepository,
+                new SimpleMeterRegistry(), tempDir.toString(), 1024 * 1024, LATENCY_BUDGET_MILLIS, 100, 100, 4);
+        SpillRecord blocked = SpillRecord.blocked("sms.1", 2);
+        SpillRecord acked = SpillRecord.acked("sms.1");
+        Set<String> landedMarkers = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            Thread.sleep(SLOW_REDIS_MILLIS);
+            landedMarkers.add(blocked.getMarker());
+            return Collections.emptyList();
+        }).doReturn(Collections.emptyList())
+                .when(redisPipelineRepository).execute(any(RedisBatch.class));
+        doAnswer(invocation -> landedMarkers.contains(invocation.<String>getArgument(1)))
+                .when(redisHashRepository).isExist(eq("{sms:1}:count"), anyString());
+
+        redisSpillGuard.execute(new RedisBatch(), blocked);
+        redisSpillGuard.execute(new RedisBatch(), acked); // 차단 중이라 Redis 에 쓰지 않고 저널로
+        assertThat(redisSpillGuard.getPendingCount()).isEqualTo(2);
+        verify(redisHashRepository, times(1)).saveIfAbsent(any(RedisBatch.class), eq("{sms:1}:count"), eq(blocked.getMarker()), eq("1"));
+
+        // when - 느린 쓰기가 끝나고 차단이 풀린 뒤 반영
+        Thread.sleep(SLOW_REDIS_MILLIS + 100);
+        redisSpillGuard.drain();
+
+        // then - 수신 차단은 건너뛰고, Redis 에 들어가지 않은 confirm 만 반영 표시와 함께 반영
+        assertThat(redisSpillGuard.getPendingCount()).isZero();
+        verify(redisHashRepository, never()).incrementAll(any(RedisBatch.class), anyString(), anyMap());
+        verify(sendWalRepository, times(1)).appendAcked(any(RedisBatch.class), eq("{sms:1}:wal"));
+        verify(redisHashRepository, times(1)).saveIfAbsent(any(RedisBatch.class), eq("{sms:1}:count"), eq(blocked.getMarker()), eq("1"));
+        verify(redisHashRepository, times(2)).saveIfAbsent(any(RedisBatch.class), eq("{sms:1}:count"), eq(acked.getMarker()), eq("1"));
+        verify(recoveryDeadlineRepository, times(1)).register(any(RedisBatch.class), eq("sms.1"), anyLong());
+        verify(redisPipelineRepository, times(2)).execute(any(RedisBatch.class));
+    }
+
+    @DisplayName("반영 표시는 저널 레코드에 남아 재시작 후에도 같은 값")
+    @Test
+    void spillRecord_Marker_Encode() {
+        // given
+        SpillRecord blocked = SpillRecord.blocked("sms.1", 2);
+
+        // when
+        SpillRecord decoded = SpillRecord.decode(blocked.encode());
+
+        // then
+        assertThat(decoded.getType()).isEqualTo(SpillRecord.Type.BLOCKED);
+        assertThat(decoded.getCount()).isEqualTo(2);
+        assertThat(decoded.getMarker()).isEqualTo(blocked.getMarker()).startsWith("s.");
+        assertThat(SpillRecord.acked("sms.1").getMarker()).isNotEqualTo(SpillRecord.acked("sms.1").getMarker());
+        assertThat(window(0).hasMarker()).isFalse();
+    }
+
+    @DisplayName("반영을 마친 뒤 재시작하면 이미 반영한 레코드를 다시 반영하지 않음 (수신 차단 집계 중복 방지)")
+    @Test
+    void drain_Restart_NoReplay() {
+        // given - Redis 실패로 저널에 남은 수신 차단 / 윈도우 레코드를 반영
+        redisSpillGuard = new RedisSpillGuard(redisPipelineRepository, redisHashRepository, sendWalRepository, recoveryDeadlineRepository,
+                new SimpleMeterRegistry(), tempDir.toString(), 1024 * 1024, LATENCY_BUDGET_MILLIS, 0, 100, 4);
+        doThrow(new IllegalStateException("connection refused"))
+                .doThrow(new IllegalStateException("connection refused"))
+                .doReturn(Collections.emptyList())
+                .when(redisPipelineRepository).execute(any(RedisBatch.class));
+        redisSpillGuard.execute(new RedisBatch(), SpillRecord.blocked("sms.1", 2));
+        redisSpillGuard.execute(new RedisBatch(), window(0));
+        redisSpillGuard.drain();
+        assertThat(redisSpillGuard.getPendingCount()).isZero();
+        verify(redisHashRepository, times(1)).incrementAll(any(RedisBatch.class), eq("{sms:1}:count"), eq(StatusCounts.failDeltas(2)));
+
+        // when - 재시작
+        redisSpillGuard.close();
+        redisSpillGuard = new RedisSpillGuard(redisPipelineRepository, redisHashRepository, sendWalRepository, recoveryDeadlineRepository,
+                new SimpleMeterRegistry(), tempDir.toString(), 1024 * 1024, LATENCY_BUDGET_MILLIS, 0, 100, 4);
+        redisSpillGuard.drain();
+
+        // then
+        assertThat(redisSpillGuard.getPendingCount()).isZero();
+        verify(redisHashRepository, times(1)).incrementAll(any(RedisBatch.class), eq("{sms:1}:count"), eq(StatusCounts.failDeltas(2)));
+        verify(redisHashRepository, times(1)).saveAll(any(RedisBatch.class), eq("{sms:1}:status"), anyMap());
+        verify(recoveryDeadlineRepository, times(2)).register(any(RedisBatch.class), eq("sms.1"), anyLong());
+    }
+
+    @DisplayName("반영 중 Redis 가 다시 느려지면 남은 레코드는 다음 주기에")
+    @Test
+    void drain_StopWhenSlow() throws InterruptedException {
+        // given
+        RedisSpillGuard guard = guard(100);
+        redisDelay.set(SLOW_REDIS_MILLIS);
+        for (int i = 0; i < 3; i++)
+            guard.execute(new RedisBatch(), window(i));
+        Thread.sleep(SLOW_REDIS_MILLIS + 100);
+
+        // when - 여전히 느림
+        guard.drain();
+
+        // then
+        assertThat(guard.getPendingCount()).isEqualTo(3);
+        assertThat(guard.isOpen()).isTrue();
+    }
+}
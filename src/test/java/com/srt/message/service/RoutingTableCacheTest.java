@@ -0,0 +1,127 @@
+package com.srt.message.service;
+
+import com.srt.message.domain.Broker;
+import com.srt.message.domain.KakaoBroker;
+import com.srt.message.domain.Member;
+import com.srt.message.domain.MessageRule;
+import com.srt.message.repository.BrokerRepository;
+import com.srt.message.repository.KakaoBrokerRepository;
+import com.srt.message.repository.KakaoMessageRuleRepository;
+import com.srt.message.repository.MessageRuleRepository;
+import com.srt.message.service.redis.CacheInvalidationPublisher;
+import com.srt.message.service.routing.BrokerHealthMonitor;
+import com.srt.message.service.routing.RoutingTable;
+import com.srt.message.service.routing.RoutingTableCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.srt.message.config.status.BaseStatus.ACTIVE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoutingTableCacheTest {
+    @Mock
+    private MessageRuleRepository messageRuleRepository;
+    @Mock
+    private BrokerRepository brokerRepository;
+    @Mock
+    private KakaoMessageRuleRepository kakaoMessageRuleRepository;
+    @Mock
+    private KakaoBrokerRepository kakaoBrokerRepository;
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private RoutingTableCache routingTableCache;
+
+    private Member member;
+    private Broker brokerKT;
+    private Broker brokerSKT;
+
+    @BeforeEach
+    void setUp(){
+        routingTableCache = new RoutingTableCache(messageRuleRepository, brokerRepository,
+                kakaoMessageRuleRepository, kakaoBrokerRepository, new CacheInvalidationPublisher(redisTemplate),
+                new BrokerHealthMonitor(new SimpleMeterRegistry(), true, 0.2, 1.5, 50, 5000, 6000, 10), 600);
+
+        member = Member.builder().id(1).build();
+        brokerKT = Broker.builder().id(1).name("KT").build();
+        brokerSKT = Broker.builder().id(2).name("SKT").build();
+    }
+
+    @DisplayName("발송 규칙대로 라우팅 키와 비율을 컴파일")
+    @Test
+    void getSmsRoutingTable_Compile(){
+        // given
+        doReturn(new ArrayList<>(Arrays.asList(
+                MessageRule.builder().broker(brokerKT).brokerRate(70).build(),
+                MessageRule.builder().broker(brokerSKT).brokerRate(30).build())))
+                .when(messageRuleRepository).findAllByMember(member);
+
+        // when
+        RoutingTable routingTable = routingTableCache.getSmsRoutingTable(member);
+
+        // then
+        assertThat(routingTable.getRoutingKey(1)).isEqualTo("sms.work.kt");
+        assertThat(routingTable.getRoutingKey(2)).isEqualTo("sms.work.skt");
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (long brokerId : routingTable.newBrokerPool().nextIds(100))
+            counts.merge(brokerId, 1, Integer::sum);
+        assertThat(counts).containsEntry(1L, 70).containsEntry(2L, 30);
+    }
+
+    @DisplayName("한 번 컴파일한 테이블은 무효화 전까지 재사용")
+    @Test
+    void getSmsRoutingTable_Cached_ReloadAfterInvalidate(){
+        // given (발송 규칙이 없으면 전체 중계사 기본 비율)
+        doReturn(new ArrayList<>()).when(messageRuleRepository).findAllByMember(member);
+        doReturn(List.of(brokerKT, brokerSKT)).when(brokerRepository).findAll();
+
+        // when
+        RoutingTable first = routingTableCache.getSmsRoutingTable(member);
+        RoutingTable cached = routingTableCache.getSmsRoutingTable(member);
+        routingTableCache.onInvalidate("kakao:" + member.getId()); // 다른 종류는 영향 없음
+        RoutingTable stillCached = routingTableCache.getSmsRoutingTable(member);
+        routingTableCache.invalidateSmsAfterCommit(member.getId());
+        RoutingTable reloaded = routingTableCache.getSmsRoutingTable(member);
+
+        // then
+        assertThat(cached).isSameAs(first);
+        assertThat(stillCached).isSameAs(first);
+        assertThat(reloaded).isNotSameAs(first);
+        verify(messageRuleRepository, times(2)).findAllByMember(member);
+        verify(redisTemplate).convertAndSend(RoutingTableCache.INVALIDATE_CHANNEL, "sms:" + member.getId());
+    }
+
+    @DisplayName("알림톡 테이블은 SMS 테이블과 따로 관리")
+    @Test
+    void getKakaoRoutingTable_Separate(){
+        // given
+        KakaoBroker kakaoBroker = KakaoBroker.builder().id(1).name("CNS").build();
+        doReturn(new ArrayList<>()).when(kakaoMessageRuleRepository).findByMemberIdAndStatus(member.getId(), ACTIVE);
+        doReturn(List.of(kakaoBroker)).when(kakaoBrokerRepository).findAll();
+
+        // when
+        RoutingTable routingTable = routingTableCache.getKakaoRoutingTable(member);
+        routingTableCache.onInvalidate("sms:" + member.getId());
+        RoutingTable cached = routingTableCache.getKakaoRoutingTable(member);
+
+        // then
+        assertThat(routingTable.getRoutingKey(1)).isEqualTo("kakao.work.cns");
+        assertThat(cached).isSameAs(routingTable);
+        verify(kakaoMessageRuleRepository, times(1)).findByMemberIdAndStatus(member.getId(), ACTIVE);
+    }
+}
@@ -0,0 +1,113 @@
+package com.srt.message.service;
+
+import com.srt.message.config.exception.BaseException;
+import com.srt.message.config.status.SendJobStatus;
+import com.srt.message.domain.Contact;
+import com.srt.message.domain.Member;
+import com.srt.message.domain.Message;
+import com.srt.message.dto.message.BrokerMessageDto;
+import com.srt.message.service.message.BrokerService;
+import com.srt.message.service.message.SendJobService;
+import com.srt.message.service.message.SendProgressListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SendJobServiceTest {
+    @InjectMocks
+    private SendJobService sendJobService;
+
+    @Mock
+    private ThreadPoolTaskExecutor sendJobExecutor;
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+    @Mock
+    private BrokerService brokerService;
+
+    private BrokerMessageDto brokerMessageDto;
+
+    @BeforeEach
+    void setUp(){
+        Member member = Member.builder()
+                .id(1).email("kakao@gmail.com").phoneNumber("01012341234")
+                .build();
+        Contact contact = Contact.builder()
+                .id(1).phoneNumber("01012341234").member(member)
+                .build();
+
+        brokerMessageDto = BrokerMessageDto.builder()
+                .message(Message.builder().id(1).build())
+                .contacts(Collections.singletonList(contact))
+                .member(member)
+                .build();
+
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        // 발송 작업을 등록한 스레드에서 바로 실행
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(sendJobExecutor).execute(any(Runnable.class));
+    }
+
+    @DisplayName("모든 발행이 confirm 되면 완료")
+    @Test
+    void submitSmsJob_Confirmed_Completed(){
+        // given
+        doReturn(true).when(brokerService).sendSmsMessage(eq(brokerMessageDto), any(SendProgressListener.class));
+
+        // when
+        sendJobService.submitSmsJob(brokerMessageDto);
+
+        // then
+        verify(hashOperations, times(1)).put(anyString(), eq("status"), eq(SendJobStatus.COMPLETED.name()));
+        verify(hashOperations, never()).put(anyString(), eq("failReason"), any());
+    }
+
+    @DisplayName("confirm 되지 않은 발행이 있으면 완료로 표시하지 않음")
+    @Test
+    void submitSmsJob_NotConfirmed_Partial(){
+        // given
+        doReturn(false).when(brokerService).sendSmsMessage(eq(brokerMessageDto), any(SendProgressListener.class));
+
+        // when
+        sendJobService.submitSmsJob(brokerMessageDto);
+
+        // then
+        verify(hashOperations, times(1)).put(anyString(), eq("status"), eq(SendJobStatus.PARTIAL.name()));
+        verify(hashOperations, never()).put(anyString(), eq("status"), eq(SendJobStatus.COMPLETED.name()));
+        verify(hashOperations, times(1)).put(anyString(), eq("failReason"), anyString());
+    }
+
+    @DisplayName("작업 큐가 가득 차서 거절되면 결제한 포인트를 환불하고 수신자 모두 실패 처리")
+    @Test
+    void submitSmsJob_Rejected_Refund(){
+        // given
+        doThrow(new TaskRejectedException("full")).when(sendJobExecutor).execute(any(Runnable.class));
+
+        // when
+        assertThatThrownBy(() -> sendJobService.submitSmsJob(brokerMessageDto))
+                .isInstanceOf(BaseException.class);
+
+        // then
+        verify(brokerService, times(1)).failSmsMessage(eq(brokerMessageDto), anyString());
+        verify(brokerService, never()).sendSmsMessage(any(), any(SendProgressListener.class));
+        verify(hashOperations, times(1)).put(anyString(), eq("status"), eq(SendJobStatus.FAILED.name()));
+    }
+}
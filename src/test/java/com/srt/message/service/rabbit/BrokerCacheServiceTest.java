@@ -0,0 +1,226 @@
+package com.srt.message.service.rabbit;
+
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.domain.*;
+import com.srt.message.domain.redis.PackedStatus;
+import com.srt.message.dto.message_result.MessageResultDto;
+import com.srt.message.repository.MessageResultRepository;
+import com.srt.message.repository.cache.BrokerCacheRepository;
+import com.srt.message.repository.cache.ContactCacheRepository;
+import com.srt.message.repository.cache.MessageCacheRepository;
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import com.srt.message.repository.redis.RedisBatch;
+import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.repository.redis.RedisPipelineRepository;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.repository.redis.StatusTransition;
+import com.srt.message.service.PointService;
+import com.srt.message.service.message.BrokerCacheService;
+import com.srt.message.service.message.MessageResultSummaryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BrokerCacheServiceTest {
+    @InjectMocks
+    private BrokerCacheService brokerCacheService;
+
+    @Mock
+    private PointService pointService;
+
+    @Mock
+    private BrokerCacheRepository brokerCacheRepository;
+    @Mock
+    private MessageCacheRepository messageCacheRepository;
+    @Mock
+    private ContactCacheRepository contactCacheRepository;
+
+    @Mock
+    private RedisHashRepository redisHashRepository;
+    @Mock
+    private RedisPipelineRepository redisPipelineRepository;
+    @Mock
+    private SendWalRepository sendWalRepository;
+    @Mock
+    private RecoveryDeadlineRepository recoveryDeadlineRepository;
+
+    @Mock
+    private MessageResultRepository messageResultRepository;
+
+    @Mock
+    private MessageResultSummaryService messageResultSummaryService;
+
+    @DisplayName("중계사 결과 batch는 메시지당 상태 전이 1회, JDBC batch 1회, 파이프라인 1회로 저장")
+    @Test
+    void saveMessageResults_Batch() {
+        // given
+        Message message = Message.builder().id(1).build();
+        Broker broker = Broker.builder().id(1).name("kt").build();
+        doReturn(message).when(messageCacheRepository).findMessageById(1L);
+        doReturn(broker).when(brokerCacheRepository).findBrokerById(1L);
+
+        Map<Long, Contact> contacts = new HashMap<>();
+        List<MessageResultDto> messageResultDtos = new ArrayList<>();
+        for (long contactId = 1; contactId <= 3; contactId++) {
+            contacts.put(contactId, Contact.builder().id(contactId).phoneNumber("0101234123" + contactId).build());
+
+            MessageResultDto messageResultDto = MessageResultDto.builder()
+                    .rMessageResultId("r" + contactId).messageId(1).brokerId(1).contactId(contactId)
+                    .messageStatus(MessageStatus.PENDING)
+                    .retryCount(contactId == 3 ? 1 : 0) // 마지막 수신자는 재전송
+                    .build();
+            messageResultDtos.add(messageResultDto);
+        }
+
+        doReturn(contacts).when(contactCacheRepository).findContactsByContactIdsAndCampaign(anyCollection(), argThat(keys -> keys.getCampaign().equals("sms.1")), any(RedisBatch.class));
+        doReturn(1L).when(redisHashRepository).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), anyList()); // 재전송 1건 진행 중
+
+        // when
+        brokerCacheService.saveMessageResults(messageResultDtos, "kt");
+
+        // then
+        verify(messageCacheRepository, times(1)).findMessageById(1L);
+        verify(brokerCacheRepository, times(1)).findBrokerById(1L);
+        verify(redisPipelineRepository, times(1)).execute(any(RedisBatch.class));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MessageResult>> messageResultsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(messageResultRepository, times(1)).saveAllInBatch(messageResultsCaptor.capture());
+        List<MessageResult> messageResults = messageResultsCaptor.getValue();
+        assertThat(messageResults).hasSize(3);
+        assertThat(messageResults.get(2).getMessageStatus()).isEqualTo(MessageStatus.RESEND);
+        assertThat(messageResults.get(2).getDescription()).isEqualTo("kt");
+        assertThat(messageResults.get(0).getContact().getId()).isEqualTo(1L);
+
+        // Redis 상태 전이: 성공은 홉 유지, 재전송은 홉 + 중계사 기록
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StatusTransition>> transitionCaptor = ArgumentCaptor.forClass(List.class);
+        verify(redisHashRepository, times(1)).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), transitionCaptor.capture());
+        List<StatusTransition> transitions = transitionCaptor.getValue();
+        assertThat(transitions).hasSize(3);
+        assertThat(transitions.get(0).getField()).isEqualTo("r1");
+        assertThat(transitions.get(0).getMessageStatus()).isEqualTo(MessageStatus.SUCCESS);
+        assertThat(transitions.get(0).getHop()).isNull();
+        assertThat(transitions.get(2).getMessageStatus()).isEqualTo(MessageStatus.RESEND);
+        assertThat(transitions.get(2).getHop()).isEqualTo(1);
+        assertThat(transitions.get(2).getHopBrokerName()).isEqualTo("kt");
+        verify(redisHashRepository, never()).findAllByFields(eq("{sms:1}:status"), anyList());
+
+        // 아직 진행 중인 수신자가 있으므로 집계는 저장하지 않고 로그에 결과 저장만 남김
+        verify(messageResultSummaryService, never()).saveSummary(anyLong());
+        verify(sendWalRepository, times(1)).appendResults(any(RedisBatch.class), eq("{sms:1}:wal"), anyCollection());
+        verify(recoveryDeadlineRepository, never()).complete(any(RedisBatch.class), anyString());
+    }
+
+    @DisplayName("Redis 상태 전이 / 연락처 삭제는 커밋 이후에만 (롤백되면 재전달 때 그대로 다시 처리)")
+    @Test
+    void saveMessageResults_RedisAfterCommit() {
+        // given
+        doReturn(Message.builder().id(1).build()).when(messageCacheRepository).findMessageById(1L);
+        doReturn(Broker.builder().id(1).name("kt").build()).when(brokerCacheRepository).findBrokerById(1L);
+        doReturn(Collections.emptyMap()).when(contactCacheRepository).findContactsByContactIdsAndCampaign(anyCollection(), any(), any(RedisBatch.class));
+
+        MessageResultDto messageResultDto = MessageResultDto.builder()
+                .rMessageResultId("r1").messageId(1).brokerId(1).contactId(1)
+                .messageStatus(MessageStatus.PENDING)
+                .build();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            brokerCacheService.saveMessageResults(Collections.singletonList(messageResultDto), "kt");
+
+            // then - 커밋 전에는 DB 저장만
+            verify(messageResultRepository, times(1)).saveAllInBatch(anyList());
+            verify(redisHashRepository, never()).transitionStatus(anyString(), anyString(), anyList());
+            verify(redisPipelineRepository, never()).execute(any(RedisBatch.class));
+
+            // 커밋 이후 반영
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations())
+                synchronization.afterCommit();
+            verify(redisHashRepository, times(1)).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), anyList());
+            verify(redisPipelineRepository, times(1)).execute(any(RedisBatch.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("재전송 후 전달된 결과는 최종 결과이므로 마지막 수신자면 집계 저장 후 로그와 복구 기한 제거")
+    @Test
+    void saveMessageResults_ResendCompletes() {
+        // given
+        doReturn(Message.builder().id(1).build()).when(messageCacheRepository).findMessageById(1L);
+        doReturn(Broker.builder().id(1).name("kt").build()).when(brokerCacheRepository).findBrokerById(1L);
+        doReturn(Collections.singletonMap(1L, Contact.builder().id(1L).build()))
+                .when(contactCacheRepository).findContactsByContactIdsAndCampaign(anyCollection(), any(), any(RedisBatch.class));
+        doReturn(0L).when(redisHashRepository).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), anyList()); // R 은 진행 중이 아님
+
+        MessageResultDto messageResultDto = MessageResultDto.builder()
+                .rMessageResultId("r1").messageId(1).brokerId(1).contactId(1)
+                .messageStatus(MessageStatus.PENDING).retryCount(2)
+                .build();
+
+        // when
+        brokerCacheService.saveMessageResults(Collections.singletonList(messageResultDto), "skt");
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StatusTransition>> transitionCaptor = ArgumentCaptor.forClass(List.class);
+        verify(redisHashRepository, times(1)).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), transitionCaptor.capture());
+        assertThat(transitionCaptor.getValue().get(0).getMessageStatus()).isEqualTo(MessageStatus.RESEND);
+
+        verify(messageResultSummaryService, times(1)).saveSummary(1L);
+        verify(sendWalRepository, times(1)).delete(any(RedisBatch.class), eq("{sms:1}:wal"));
+        verify(sendWalRepository, never()).appendResults(any(RedisBatch.class), anyString(), anyCollection());
+        verify(recoveryDeadlineRepository, times(1)).complete(any(RedisBatch.class), eq("sms.1"));
+    }
+
+    @DisplayName("중계사 오류 결과는 스크립트 한 번으로 실패 전이, 마지막 수신자면 집계 저장")
+    @Test
+    void saveMessageResultFailure_Transition() {
+        // given
+        Member member = Member.builder().id(1).build();
+        Message message = Message.builder().id(1).member(member).build();
+        doReturn(message).when(messageCacheRepository).findMessageById(1L);
+        doReturn(Broker.builder().id(1).name("kt").build()).when(brokerCacheRepository).findBrokerById(1L);
+        doReturn(3).when(pointService).refundMessagePoint(any(), eq(1), any());
+        doReturn(0L).when(redisHashRepository).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), anyList());
+
+        MessageResultDto messageResultDto = MessageResultDto.builder()
+                .rMessageResultId("r1").messageId(1).brokerId(1).contactId(1)
+                .messageStatus(MessageStatus.PENDING).retryCount(3)
+                .build();
+
+        // when
+        brokerCacheService.saveMessageResultFailure(messageResultDto, "kt");
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StatusTransition>> transitionCaptor = ArgumentCaptor.forClass(List.class);
+        verify(redisHashRepository, times(1)).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), transitionCaptor.capture());
+        StatusTransition transition = transitionCaptor.getValue().get(0);
+        assertThat(transition.getMessageStatus()).isEqualTo(MessageStatus.FAIL);
+        assertThat(transition.getHop()).isEqualTo(3 + PackedStatus.HOP_BROKER_ERROR);
+        assertThat(transition.getHopBrokerName()).isEqualTo("kt");
+        verify(redisHashRepository, never()).isExist(anyString(), anyString());
+        verify(messageResultSummaryService, times(1)).saveSummary(1L);
+
+        // 모든 결과가 저장되었으므로 로그와 복구 기한 제거
+        verify(sendWalRepository, times(1)).delete(any(RedisBatch.class), eq("{sms:1}:wal"));
+        verify(recoveryDeadlineRepository, times(1)).complete(any(RedisBatch.class), eq("sms.1"));
+        verify(redisPipelineRepository, times(1)).execute(any(RedisBatch.class));
+    }
+}
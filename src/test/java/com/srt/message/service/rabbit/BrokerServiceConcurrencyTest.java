@@ -0,0 +1,205 @@
+package com.srt.message.service.rabbit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.srt.message.config.type.MessageType;
+import com.srt.message.domain.*;
+import com.srt.message.dto.message.BrokerMessageDto;
+import com.srt.message.dto.message.SMSMessageDto;
+import com.srt.message.repository.MessageResultRepository;
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import com.srt.message.repository.redis.RedisBatch;
+import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.service.PointService;
+import com.srt.message.service.message.BlockListIndex;
+import com.srt.message.service.message.BrokerService;
+import com.srt.message.service.redis.RedisSpillGuard;
+import com.srt.message.service.routing.RoutingTable;
+import com.srt.message.service.routing.RoutingTableCache;
+import com.srt.message.utils.algorithm.BrokerWeight;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+
+@ExtendWith(MockitoExtension.class)
+class BrokerServiceConcurrencyTest {
+    private static final int CAMPAIGN_COUNT = 16;
+    private static final int CONTACTS_PER_CAMPAIGN = 1500; // 캠페인당 윈도우 2개
+    private static final long CONTACT_ID_STRIDE = 100_000;
+
+    @InjectMocks
+    private BrokerService brokerService;
+
+    @Mock
+    private RedisHashRepository redisHashRepository;
+    @Mock
+    private RecoveryDeadlineRepository recoveryDeadlineRepository;
+    @Mock
+    private SendWalRepository sendWalRepository;
+    @Mock
+    private RedisSpillGuard redisSpillGuard;
+
+    @Mock
+    private ConfirmPublisher confirmPublisher;
+    @Spy
+    private SmsEnvelopeCodec smsEnvelopeCodec = new SmsEnvelopeCodec(new ObjectMapper().registerModule(new JavaTimeModule()), "", 100);
+
+    @Mock
+    private RoutingTableCache routingTableCache;
+    @Mock
+    private BlockListIndex blockListIndex;
+    @Mock
+    private MessageResultRepository messageResultRepository;
+    @Mock
+    private PointService pointService;
+
+    @Spy
+    private ObjectMapper objectMapper;
+
+    @DisplayName("하나의 BrokerService로 동시에 발송해도 수신자가 섞이지 않음")
+    @Test
+    void sendSmsMessage_Parallel_NoCrossTalk() throws Exception {
+        // given
+        List<Broker> brokers = Arrays.asList(
+                Broker.builder().id(1).name("kt").build(),
+                Broker.builder().id(2).name("skt").build(),
+                Broker.builder().id(3).name("lg").build());
+        doReturn(routingTable(brokers)).when(routingTableCache).getSmsRoutingTable(any());
+        doAnswer(invocation -> invocation.getArgument(1)).when(blockListIndex).filter(anyString(), anyList(), anyList());
+
+        doAnswer(invocation -> new PublishTracker(invocation.getArgument(0)))
+                .when(confirmPublisher).newTracker(anyString());
+        doReturn(true).when(confirmPublisher).awaitConfirms(any());
+
+        // 발행된 메시지: 트래커 캠페인 -> 라우팅 키 + 본문
+        Map<String, Queue<Map.Entry<String, org.springframework.amqp.core.Message>>> published = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            PublishTracker tracker = invocation.getArgument(0);
+            Map<String, List<org.springframework.amqp.core.Message>> messagesByRoute = invocation.getArgument(2);
+            Queue<Map.Entry<String, org.springframework.amqp.core.Message>> queue = published.computeIfAbsent(tracker.getCampaign(), k -> new ConcurrentLinkedQueue<>());
+            messagesByRoute.forEach((routingKey, messages) ->
+                    messages.forEach(message -> queue.add(new AbstractMap.SimpleEntry<>(routingKey, message))));
+            return null;
+        }).when(confirmPublisher).publish(any(), anyString(), any());
+
+        // 수신자 이벤트 로그: 키 -> 연락처 아이디
+        Map<String, Queue<Long>> enqueued = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            String key = invocation.getArgument(1);
+            long[] contactIds = invocation.getArgument(3);
+            Queue<Long> queue = enqueued.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+            for (long contactId : contactIds)
+                queue.add(contactId);
+            return null;
+        }).when(sendWalRepository).appendEnqueued(any(RedisBatch.class), anyString(), anyInt(), any(long[].class));
+
+        List<BrokerMessageDto> campaigns = new ArrayList<>();
+        for (int c = 1; c <= CAMPAIGN_COUNT; c++)
+            campaigns.add(createCampaign(c));
+
+        // when - 시작 신호에 맞춰 동시에 발송
+        ExecutorService executor = Executors.newFixedThreadPool(CAMPAIGN_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        try {
+            for (BrokerMessageDto campaign : campaigns) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return brokerService.sendSmsMessage(campaign);
+                }));
+            }
+            start.countDown();
+            for (Future<String> future : futures)
+                future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertThat(published).hasSize(CAMPAIGN_COUNT);
+        for (int c = 1; c <= CAMPAIGN_COUNT; c++) {
+            long campaignId = c;
+            Queue<Map.Entry<String, org.springframework.amqp.core.Message>> messages = published.get("sms." + c);
+            assertThat(messages).hasSize(CONTACTS_PER_CAMPAIGN);
+
+            Set<Long> contactIds = new HashSet<>();
+            for (Map.Entry<String, org.springframework.amqp.core.Message> entry : messages) {
+                assertThat(entry.getKey()).isIn("sms.work.kt", "sms.work.skt", "sms.work.lg");
+
+                JsonNode messageResultDto = objectMapper.readTree(entry.getValue().getBody()).get("messageResultDto");
+                assertThat(messageResultDto.get("messageId").asLong()).isEqualTo(c);
+                contactIds.add(messageResultDto.get("contactId").asLong());
+            }
+            assertThat(contactIds).hasSize(CONTACTS_PER_CAMPAIGN)
+                    .allMatch(contactId -> contactId / CONTACT_ID_STRIDE == campaignId);
+
+            // 수신자 이벤트 로그도 해당 캠페인 것만 저장
+            Queue<Long> walContactIds = enqueued.get("{sms:" + c + "}:wal");
+            assertThat(walContactIds).hasSize(CONTACTS_PER_CAMPAIGN)
+                    .allMatch(contactId -> contactId / CONTACT_ID_STRIDE == campaignId);
+        }
+    }
+
+    private BrokerMessageDto createCampaign(int campaignId) {
+        Member member = Member.builder()
+                .id(campaignId).email("member" + campaignId + "@gmail.com").phoneNumber("01012341234")
+                .build();
+
+        SenderNumber senderNumber = SenderNumber.builder()
+                .id(campaignId).phoneNumber(String.format("010%08d", campaignId)).member(member)
+                .build();
+
+        SMSMessageDto smsMessageDto = SMSMessageDto.builder()
+                .subject("[캠페인 " + campaignId + "]")
+                .content("동시 발송 테스트")
+                .from(senderNumber.getPhoneNumber())
+                .messageType(MessageType.SMS)
+                .build();
+
+        Message message = Message.builder()
+                .id(campaignId)
+                .subject(smsMessageDto.getSubject())
+                .content(smsMessageDto.getContent())
+                .senderNumber(senderNumber)
+                .member(member)
+                .messageType(smsMessageDto.getMessageType())
+                .build();
+
+        List<Contact> contacts = new ArrayList<>(CONTACTS_PER_CAMPAIGN);
+        for (int i = 1; i <= CONTACTS_PER_CAMPAIGN; i++) {
+            long contactId = campaignId * CONTACT_ID_STRIDE + i;
+            contacts.add(Contact.builder()
+                    .id(contactId).phoneNumber(String.format("010%08d", contactId % 100_000_000)).member(member)
+                    .build());
+        }
+
+        return BrokerMessageDto.builder()
+                .smsMessageDto(smsMessageDto)
+                .message(message)
+                .contacts(contacts)
+                .member(member)
+                .build();
+    }
+
+    // 발송 규칙이 없는 회원의 기본 라우팅 테이블 (중계사별 30)
+    private RoutingTable routingTable(List<Broker> brokers) {
+        List<BrokerWeight<Broker>> brokerWeights = new ArrayList<>();
+        for (Broker broker : brokers)
+            brokerWeights.add(new BrokerWeight<>(broker, 30));
+        return RoutingTable.of("sms.work.", brokerWeights, Broker::getId, Broker::getName);
+    }
+}
@@ -1,30 +1,48 @@
 package com.srt.message.service.rabbit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.srt.message.config.status.MessageStatus;
 import com.srt.message.config.type.MessageType;
 import com.srt.message.domain.*;
+import com.srt.message.domain.redis.SpillRecord;
+import com.srt.message.domain.redis.StatusCounts;
 import com.srt.message.dto.message.BrokerMessageDto;
 import com.srt.message.dto.message.SMSMessageDto;
-import com.srt.message.repository.BrokerRepository;
-import com.srt.message.repository.MessageRuleRepository;
+import com.srt.message.repository.MessageResultRepository;
 import com.srt.message.repository.ReserveMessageRepository;
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import com.srt.message.repository.redis.RedisBatch;
 import com.srt.message.repository.redis.RedisHashRepository;
-import com.srt.message.repository.redis.RedisListRepository;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.service.PointService;
+import com.srt.message.service.message.BlockListIndex;
 import com.srt.message.service.message.BrokerService;
+import com.srt.message.service.message.SendProgressListener;
+import com.srt.message.service.redis.RedisSpillGuard;
+import com.srt.message.service.routing.RoutingTable;
+import com.srt.message.service.routing.RoutingTableCache;
+import com.srt.message.utils.algorithm.BrokerWeight;
+import com.srt.message.service.rabbit.ConfirmPublisher;
+import com.srt.message.service.rabbit.PublishTracker;
+import com.srt.message.service.rabbit.SmsEnvelopeCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static com.srt.message.utils.rabbitmq.RabbitSMSUtil.SMS_EXCHANGE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
@@ -37,19 +55,30 @@ class BrokerServiceTest {
     @Mock
     private RedisHashRepository redisHashRepository;
     @Mock
-    private RedisListRepository redisListRepository;
-
+    private RecoveryDeadlineRepository recoveryDeadlineRepository;
+    @Mock
+    private SendWalRepository sendWalRepository;
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private RedisSpillGuard redisSpillGuard;
 
     @Mock
-    private BrokerRepository brokerRepository;
+    private ConfirmPublisher confirmPublisher;
+    @Spy
+    private SmsEnvelopeCodec smsEnvelopeCodec = new SmsEnvelopeCodec(new ObjectMapper().registerModule(new JavaTimeModule()), "", 100);
+
     @Mock
-    private MessageRuleRepository messageRuleRepository;
+    private RoutingTableCache routingTableCache;
 
     @Mock
     private ReserveMessageRepository reserveMessageRepository;
 
+    @Mock
+    private BlockListIndex blockListIndex;
+    @Mock
+    private MessageResultRepository messageResultRepository;
+    @Mock
+    private PointService pointService;
+
     @Spy
     private ObjectMapper objectMapper;
 
@@ -121,29 +150,198 @@ class BrokerServiceTest {
                 .contacts(contacts)
                 .member(member)
                 .build();
+
+        // 수신 차단 없음
+        lenient().doAnswer(invocation -> invocation.getArgument(1)).when(blockListIndex).filter(anyString(), anyList(), anyList());
     }
 
     @DisplayName("브로커로 메시지 전송")
     @Test
     void sendSmsMessage_Success(){
         // given
-        doReturn(brokers).when(brokerRepository).findAll();
+        doReturn(routingTable(brokers)).when(routingTableCache).getSmsRoutingTable(any());
 
-        doNothing().when(redisListRepository).rightPushAll(any(), any(), anyInt()); // 입시 값 저장
-        doNothing().when(redisListRepository).remove(any()); // 임시 값 제거
-        doNothing().when(redisHashRepository).saveAll(any(), any()); // 상태 값 저장
+        doNothing().when(redisHashRepository).saveAll(any(RedisBatch.class), any(), any()); // 상태 값 저장
 
-        doNothing().when(rabbitTemplate).convertAndSend(eq(SMS_EXCHANGE_NAME), anyString(), any(Object.class));
+        PublishTracker publishTracker = new PublishTracker("sms.1");
+        doReturn(publishTracker).when(confirmPublisher).newTracker(anyString());
+        doReturn(true).when(confirmPublisher).awaitConfirms(publishTracker);
 
         // when
         brokerService.sendSmsMessage(brokerMessageDto);
 
         // verify
-        verify(redisListRepository, times(2)).rightPushAll(any(), any(), anyInt());
-        verify(redisListRepository, times(2)).remove(any());
-        verify(redisHashRepository, times(1)).saveAll(any(), any());
+        verify(sendWalRepository, times(1)).appendEnqueued(any(RedisBatch.class), eq("{sms:1}:wal"), eq(0), any(long[].class));
+        verify(sendWalRepository, times(1)).appendPublished(any(RedisBatch.class), eq("{sms:1}:wal"), eq(0), eq(contacts.size()));
+        verify(sendWalRepository, times(1)).appendAcked(any(RedisBatch.class), eq("{sms:1}:wal"));
+        verify(redisHashRepository, times(1)).saveAll(any(RedisBatch.class), any(), any());
+        verify(recoveryDeadlineRepository, times(2)).register(any(RedisBatch.class), eq("sms.1"), anyLong()); // 저장 + confirm 후 결과 대기로 연장
+        verify(recoveryDeadlineRepository, never()).complete(any(RedisBatch.class), any()); // 결과가 모두 저장되면 제거
+        verify(redisSpillGuard, times(2)).execute(any(RedisBatch.class), any(SpillRecord.class)); // 저장 1회 + confirm 1회
+        verify(redisSpillGuard, times(1)).executeBestEffort(any(RedisBatch.class)); // 발행 이벤트
 
-        verify(rabbitTemplate, times(contacts.size())).convertAndSend(eq(SMS_EXCHANGE_NAME), anyString(), any(Object.class));
+        assertThat(countPublished(1)).isEqualTo(contacts.size());
+    }
+
+    @DisplayName("confirm 되지 않은 발송은 복구 기한을 연장하지 않음")
+    @Test
+    void sendSmsMessage_NotConfirmed_KeepTmp(){
+        // given
+        doReturn(routingTable(brokers)).when(routingTableCache).getSmsRoutingTable(any());
+
+        PublishTracker publishTracker = new PublishTracker("sms.1");
+        doReturn(publishTracker).when(confirmPublisher).newTracker(anyString());
+        doReturn(false).when(confirmPublisher).awaitConfirms(publishTracker);
+
+        // when
+        boolean confirmed = brokerService.sendSmsMessage(brokerMessageDto, SendProgressListener.NO_OP);
+
+        // verify
+        assertThat(confirmed).isFalse();
+        verify(sendWalRepository, never()).appendAcked(any(RedisBatch.class), any());
+        verify(recoveryDeadlineRepository, times(1)).register(any(RedisBatch.class), eq("sms.1"), anyLong());
+        verify(redisSpillGuard, times(1)).execute(any(RedisBatch.class), any(SpillRecord.class)); // 저장 1회
+    }
+
+    @DisplayName("수신 차단 번호는 한 번에 환불, 실패 결과는 batch로 저장 후 발송에서 제외")
+    @SuppressWarnings("unchecked")
+    @Test
+    void sendSmsMessage_Block_Excluded(){
+        // given
+        doAnswer(invocation -> {
+            List<Contact> blocked = invocation.getArgument(2);
+            blocked.addAll(contacts.subList(0, 2));
+            return contacts.subList(2, contacts.size());
+        }).when(blockListIndex).filter(eq(senderNumber.getPhoneNumber()), anyList(), anyList());
+        doReturn(2).when(pointService).refundMessagePoint(member, 2, MessageType.SMS);
+
+        doReturn(routingTable(brokers)).when(routingTableCache).getSmsRoutingTable(any());
+        doReturn(true).when(confirmPublisher).awaitConfirms(any());
+
+        // when
+        brokerService.sendSmsMessage(brokerMessageDto);
+
+        // verify
+        verify(pointService, times(1)).refundMessagePoint(any(), anyInt(), any());
+        verify(messageResultRepository, never()).save(any(MessageResult.class));
+
+        ArgumentCaptor<List<MessageResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(messageResultRepository, times(1)).saveAllInBatch(captor.capture());
+        assertThat(captor.getValue()).hasSize(2)
+                .allMatch(messageResult -> messageResult.getDescription().equals("수신 차단 1 문자당근 환불"));
+        verify(redisHashRepository, times(1)).incrementAll(any(RedisBatch.class), eq("{sms:1}:count"), eq(StatusCounts.failDeltas(2)));
+
+        assertThat(countPublished(1)).isEqualTo(contacts.size() - 2);
+    }
+
+    @DisplayName("같은 번호의 차단 연락처가 여러 개면 연락처마다 환불하고 실패 결과 저장")
+    @SuppressWarnings("unchecked")
+    @Test
+    void sendSmsMessage_Block_SameNumber(){
+        // given (같은 번호로 등록된 연락처 두 개가 모두 차단)
+        Contact duplicated = Contact.builder()
+                .id(4).phoneNumber(contacts.get(0).getPhoneNumber()).memo("형준 회사").member(member)
+                .build();
+        List<Contact> allContacts = new ArrayList<>(contacts);
+        allContacts.add(duplicated);
+        BrokerMessageDto duplicatedDto = BrokerMessageDto.builder()
+                .smsMessageDto(brokerMessageDto.getSmsMessageDto())
+                .message(message)
+                .contacts(allContacts)
+                .member(member)
+                .build();
+
+        doAnswer(invocation -> {
+            List<Contact> blocked = invocation.getArgument(2);
+            blocked.add(allContacts.get(0));
+            blocked.add(duplicated);
+            return allContacts.subList(1, 3);
+        }).when(blockListIndex).filter(eq(senderNumber.getPhoneNumber()), anyList(), anyList());
+        doReturn(2).when(pointService).refundMessagePoint(member, 2, MessageType.SMS);
+
+        doReturn(routingTable(brokers)).when(routingTableCache).getSmsRoutingTable(any());
+        doReturn(true).when(confirmPublisher).awaitConfirms(any());
+
+        // when
+        brokerService.sendSmsMessage(duplicatedDto);
+
+        // verify
+        verify(pointService, times(1)).refundMessagePoint(member, 2, MessageType.SMS);
+        ArgumentCaptor<List<MessageResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(messageResultRepository, times(1)).saveAllInBatch(captor.capture());
+        assertThat(captor.getValue()).extracting(messageResult -> messageResult.getContact().getId()).containsExactly(1L, 4L);
+        verify(redisHashRepository, times(1)).incrementAll(any(RedisBatch.class), eq("{sms:1}:count"), eq(StatusCounts.failDeltas(2)));
+    }
+
+    @DisplayName("발송을 시작하지 못한 메시지는 전체 환불 후 수신자 모두 실패 결과 저장")
+    @SuppressWarnings("unchecked")
+    @Test
+    void failSmsMessage_RefundAll(){
+        // given
+        doReturn(3).when(pointService).refundMessagePoint(member, 3, MessageType.SMS);
+
+        // when
+        brokerService.failSmsMessage(brokerMessageDto, "발송 작업 큐 초과");
+
+        // verify
+        ArgumentCaptor<List<MessageResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(messageResultRepository, times(1)).saveAllInBatch(captor.capture());
+        assertThat(captor.getValue()).hasSize(3)
+                .allMatch(messageResult -> messageResult.getMessageStatus() == MessageStatus.FAIL)
+                .allMatch(messageResult -> messageResult.getDescription().equals("발송 작업 큐 초과 1 문자당근 환불"));
+        verify(confirmPublisher, never()).publish(any(), any(), any());
+    }
+
+    @DisplayName("대량 발송은 윈도우 단위로 저장 후 전송")
+    @Test
+    void sendSmsMessage_Window_Success(){
+        // given
+        List<Contact> manyContacts = new ArrayList<>();
+        for (int i = 1; i <= 2500; i++) {
+            manyContacts.add(Contact.builder()
+                    .id(i).phoneNumber(String.format("010%08d", i)).member(member)
+                    .build());
+        }
+        brokerMessageDto = BrokerMessageDto.builder()
+                .smsMessageDto(brokerMessageDto.getSmsMessageDto())
+                .message(message)
+                .contacts(manyContacts)
+                .member(member)
+                .build();
+
+        doReturn(routingTable(brokers)).when(routingTableCache).getSmsRoutingTable(any());
+        doReturn(true).when(confirmPublisher).awaitConfirms(any());
+
+        // when
+        brokerService.sendSmsMessage(brokerMessageDto);
+
+        // verify (1000, 1000, 500 세 개의 윈도우)
+        verify(sendWalRepository, times(3)).appendEnqueued(any(RedisBatch.class), eq("{sms:1}:wal"), anyInt(), any(long[].class));
+        verify(sendWalRepository, times(1)).appendPublished(any(RedisBatch.class), eq("{sms:1}:wal"), eq(2000), eq(500));
+        verify(redisHashRepository, times(3)).saveAll(any(RedisBatch.class), any(), any());
+        verify(recoveryDeadlineRepository, times(4)).register(any(RedisBatch.class), eq("sms.1"), anyLong()); // 윈도우마다 기한 연장 + confirm 후
+        verify(redisSpillGuard, times(4)).execute(any(RedisBatch.class), any(SpillRecord.class)); // 윈도우당 1회 + confirm 1회
+
+        assertThat(countPublished(3)).isEqualTo(manyContacts.size());
+    }
+
+    // 윈도우마다 발행된 메시지 수 합계
+    @SuppressWarnings("unchecked")
+    private int countPublished(int windowCount) {
+        ArgumentCaptor<Map<String, List<org.springframework.amqp.core.Message>>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(confirmPublisher, times(windowCount)).publish(any(), eq(SMS_EXCHANGE_NAME), captor.capture());
+
+        return captor.getAllValues().stream()
+                .flatMap(m -> m.values().stream())
+                .mapToInt(List::size)
+                .sum();
+    }
 
+    // 발송 규칙이 없는 회원의 기본 라우팅 테이블 (중계사별 30)
+    private RoutingTable routingTable(List<Broker> brokers) {
+        List<BrokerWeight<Broker>> brokerWeights = new ArrayList<>();
+        for (Broker broker : brokers)
+            brokerWeights.add(new BrokerWeight<>(broker, 30));
+        return RoutingTable.of("sms.work.", brokerWeights, Broker::getId, Broker::getName);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.srt.message.service.rabbit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublishTrackerTest {
+
+    @DisplayName("모든 발행이 ack 되면 성공")
+    @Test
+    void await_AllAcked_Success(){
+        // given
+        PublishTracker tracker = new PublishTracker("sms.1");
+        tracker.onPublish();
+        tracker.onPublish();
+
+        // when
+        tracker.onConfirm(true);
+        tracker.seal();
+        tracker.onConfirm(true);
+
+        // then
+        assertThat(tracker.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(tracker.getOutstandingCount()).isZero();
+    }
+
+    @DisplayName("nack가 하나라도 있으면 실패")
+    @Test
+    void await_Nacked_Fail(){
+        // given
+        PublishTracker tracker = new PublishTracker("sms.1");
+        tracker.onPublish();
+        tracker.onPublish();
+
+        // when
+        tracker.onConfirm(true);
+        tracker.onConfirm(false);
+        tracker.seal();
+
+        // then
+        assertThat(tracker.await(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(tracker.getFailedCount()).isEqualTo(1);
+    }
+
+    @DisplayName("confirm이 남아 있으면 시간 초과로 실패")
+    @Test
+    void await_Outstanding_Timeout(){
+        // given
+        PublishTracker tracker = new PublishTracker("sms.1");
+        tracker.onPublish();
+
+        // when
+        tracker.seal();
+
+        // then
+        assertThat(tracker.await(50, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(tracker.getOutstandingCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.srt.message.service.rabbit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.dlx.ResultBatchRecoverer;
+import com.srt.message.dto.message_result.MessageResultDto;
+import com.srt.message.listener.KakaoBrokerListener;
+import com.srt.message.listener.SmsBrokerListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResultBatchRecovererTest {
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @Mock
+    private SmsBrokerListener smsBrokerListener;
+    @Mock
+    private KakaoBrokerListener kakaoBrokerListener;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private static Message message(byte[] body) {
+        Message message = MessageBuilder.withBody(body).build();
+        message.getMessageProperties().setConsumerQueue("q.sms.kt.receive");
+        return message;
+    }
+
+    private Message result(String rMessageResultId, long contactId) throws Exception {
+        return message(objectMapper.writeValueAsBytes(MessageResultDto.builder()
+                .rMessageResultId(rMessageResultId).messageId(1).brokerId(1).contactId(contactId)
+                .messageStatus(MessageStatus.SUCCESS)
+                .build()));
+    }
+
+    @DisplayName("batch 저장이 실패하면 하나씩 저장하고, 읽을 수 없는 결과만 보관 큐로")
+    @Test
+    void recover_OneByOne_ParkBadResult() throws Exception {
+        // given
+        ResultBatchRecoverer recoverer = new ResultBatchRecoverer(objectMapper, rabbitTemplate, smsBrokerListener, kakaoBrokerListener);
+        Message good1 = result("1", 1);
+        Message bad = message("not json".getBytes(StandardCharsets.UTF_8));
+        Message good2 = result("2", 2);
+
+        // when
+        recoverer.recover(Arrays.asList(good1, bad, good2), new IllegalStateException("batch 실패"));
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MessageResultDto>> resultsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(smsBrokerListener, times(2)).receiveKTMessage(resultsCaptor.capture());
+        assertThat(resultsCaptor.getAllValues()).extracting(results -> results.get(0).getRMessageResultId()).containsExactly("1", "2");
+
+        verify(rabbitTemplate, times(1)).send(eq(""), eq(ResultBatchRecoverer.PARKING_QUEUE_NAME), same(bad));
+    }
+
+    @DisplayName("하나씩 저장해도 실패한 결과는 보관 큐로 옮기고 나머지는 계속 저장")
+    @Test
+    void recover_SaveFails_Park() throws Exception {
+        // given
+        ResultBatchRecoverer recoverer = new ResultBatchRecoverer(objectMapper, rabbitTemplate, smsBrokerListener, kakaoBrokerListener);
+        Message first = result("1", 1);
+        Message second = result("2", 2);
+        doThrow(new IllegalStateException("DB 오류")).doNothing().when(smsBrokerListener).receiveKTMessage(anyList());
+
+        // when
+        recoverer.recover(Arrays.asList(first, second), new IllegalStateException("batch 실패"));
+
+        // then
+        verify(smsBrokerListener, times(2)).receiveKTMessage(anyList());
+        verify(rabbitTemplate, times(1)).send(eq(""), eq(ResultBatchRecoverer.PARKING_QUEUE_NAME), same(first));
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), same(second));
+    }
+}
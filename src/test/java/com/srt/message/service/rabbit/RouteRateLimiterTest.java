@@ -0,0 +1,132 @@
+package com.srt.message.service.rabbit;
+
+import com.srt.message.repository.redis.RateLimitRepository;
+import com.srt.message.service.redis.RedisSpillGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RouteRateLimiterTest {
+    private static final String KT = "sms.work.kt";
+
+    @Mock
+    private RateLimitRepository rateLimitRepository;
+    @Mock
+    private RedisSpillGuard redisSpillGuard;
+
+    // kt 초당 1000 (버킷 1000, 서버마다 100개씩 미리 가져옴)
+    private RouteRateLimiter limiter(long maxWaitMillis) {
+        return new RouteRateLimiter(rateLimitRepository, redisSpillGuard, new SimpleMeterRegistry(),
+                KT + "=1000, sms.work.skt=0", 1000, 100, maxWaitMillis);
+    }
+
+    @DisplayName("한도가 없는 라우트는 Redis 를 거치지 않음")
+    @Test
+    void acquire_Unlimited() {
+        RouteRateLimiter limiter = limiter(1000);
+
+        limiter.acquire("sms.work.lg", 100);
+        limiter.acquire("sms.work.skt", 100);
+
+        verifyNoInteractions(rateLimitRepository);
+    }
+
+    @DisplayName("미리 가져온 토큰을 다 쓸 때까지는 Redis 를 다시 부르지 않음")
+    @Test
+    void acquire_Prefetch() {
+        // given
+        doAnswer(invocation -> invocation.getArgument(3)).when(rateLimitRepository).acquire(eq(KT), eq(1000L), eq(1000L), anyLong());
+        RouteRateLimiter limiter = limiter(1000);
+
+        // when
+        for (int i = 0; i < 100; i++)
+            limiter.acquire(KT, 1);
+        limiter.acquire(KT, 1);
+
+        // then
+        verify(rateLimitRepository, times(2)).acquire(KT, 1000L, 1000L, 100L);
+    }
+
+    @DisplayName("봉투 메시지는 수신자 수만큼 가져옴")
+    @Test
+    void acquire_MorePermitsThanPrefetch() {
+        // given
+        doAnswer(invocation -> invocation.getArgument(3)).when(rateLimitRepository).acquire(eq(KT), eq(1000L), eq(1000L), anyLong());
+        RouteRateLimiter limiter = limiter(1000);
+
+        // when
+        limiter.acquire(KT, 300);
+
+        // then
+        verify(rateLimitRepository, times(1)).acquire(KT, 1000L, 1000L, 300L);
+    }
+
+    @DisplayName("버킷이 비면 채워질 때까지 발행을 늦춤")
+    @Test
+    void acquire_Empty_Backpressure() {
+        // given - 처음 두 번은 비어 있음
+        doReturn(0L).doReturn(0L).doReturn(100L).when(rateLimitRepository).acquire(eq(KT), anyLong(), anyLong(), anyLong());
+        RouteRateLimiter limiter = limiter(1000);
+
+        // when
+        long start = System.nanoTime();
+        limiter.acquire(KT, 1);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then - 100개가 채워지는 시간 (100ms) 씩 두 번
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(200);
+        verify(rateLimitRepository, times(3)).acquire(eq(KT), anyLong(), anyLong(), anyLong());
+    }
+
+    @DisplayName("최대 대기 시간 안에 토큰을 받지 못하면 발행 실패")
+    @Test
+    void acquire_Timeout() {
+        // given
+        doReturn(0L).when(rateLimitRepository).acquire(eq(KT), anyLong(), anyLong(), anyLong());
+        RouteRateLimiter limiter = limiter(250);
+
+        // when, then
+        assertThatThrownBy(() -> limiter.acquire(KT, 1)).isInstanceOf(AmqpTimeoutException.class);
+    }
+
+    @DisplayName("Redis 에 연결할 수 없으면 서버 안에서 같은 한도로 제한")
+    @Test
+    void acquire_RedisDown_LocalFallback() {
+        // given
+        doThrow(new RedisConnectionFailureException("connection refused"))
+                .when(rateLimitRepository).acquire(eq(KT), anyLong(), anyLong(), anyLong());
+        RouteRateLimiter limiter = limiter(50);
+
+        // when - 버킷 크기 (1000) 까지는 바로
+        for (int i = 0; i < 10; i++)
+            limiter.acquire(KT, 100);
+
+        // then - 그 이상은 채워질 때까지 기다려야 함
+        assertThatThrownBy(() -> limiter.acquire(KT, 500)).isInstanceOf(AmqpTimeoutException.class);
+    }
+
+    @DisplayName("RedisSpillGuard 가 Redis 를 건너뛰는 동안은 서버 안 버킷만 사용")
+    @Test
+    void acquire_SpillGuardOpen_SkipRedis() {
+        // given
+        doReturn(true).when(redisSpillGuard).isOpen();
+        RouteRateLimiter limiter = limiter(1000);
+
+        // when
+        limiter.acquire(KT, 100);
+
+        // then
+        verifyNoInteractions(rateLimitRepository);
+    }
+}
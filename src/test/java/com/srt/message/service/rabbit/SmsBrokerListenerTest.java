@@ -0,0 +1,156 @@
+package com.srt.message.service.rabbit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rabbitmq.client.Channel;
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.config.type.MessageType;
+import com.srt.message.dlx.DlxProcessingErrorHandler;
+import com.srt.message.domain.*;
+import com.srt.message.dto.dlx.ReceiveMessageDto;
+import com.srt.message.dto.message_result.MessageResultDto;
+import com.srt.message.listener.SmsBrokerListener;
+import com.srt.message.repository.MessageResultRepository;
+import com.srt.message.repository.cache.BrokerCacheRepository;
+import com.srt.message.repository.cache.ContactCacheRepository;
+import com.srt.message.repository.cache.MessageCacheRepository;
+import com.srt.message.repository.redis.RecoveryDeadlineRepository;
+import com.srt.message.repository.redis.RedisBatch;
+import com.srt.message.repository.redis.RedisHashRepository;
+import com.srt.message.repository.redis.RedisPipelineRepository;
+import com.srt.message.repository.redis.SendWalRepository;
+import com.srt.message.service.PointService;
+import com.srt.message.service.kakao.KakaoBrokerService;
+import com.srt.message.service.message.BlockListIndex;
+import com.srt.message.service.message.BrokerCacheService;
+import com.srt.message.service.message.BrokerService;
+import com.srt.message.service.message.MessageResultSummaryService;
+import com.srt.message.service.redis.RedisSpillGuard;
+import com.srt.message.service.routing.BrokerHealthMonitor;
+import com.srt.message.service.routing.RoutingTableCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SmsBrokerListenerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Mock
+    private PointService pointService;
+    @Mock
+    private BrokerCacheRepository brokerCacheRepository;
+    @Mock
+    private MessageCacheRepository messageCacheRepository;
+    @Mock
+    private ContactCacheRepository contactCacheRepository;
+    @Mock
+    private RedisHashRepository redisHashRepository;
+    @Mock
+    private RedisPipelineRepository redisPipelineRepository;
+    @Mock
+    private SendWalRepository sendWalRepository;
+    @Mock
+    private RecoveryDeadlineRepository recoveryDeadlineRepository;
+    @Mock
+    private MessageResultRepository messageResultRepository;
+    @Mock
+    private MessageResultSummaryService messageResultSummaryService;
+
+    @Mock
+    private ConfirmPublisher confirmPublisher;
+    @Mock
+    private RedisSpillGuard redisSpillGuard;
+    @Mock
+    private BlockListIndex blockListIndex;
+    @Mock
+    private RoutingTableCache routingTableCache;
+    @Mock
+    private KakaoBrokerService kakaoBrokerService;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @Mock
+    private BrokerHealthMonitor brokerHealthMonitor;
+    @Mock
+    private Channel channel;
+
+    private SmsBrokerListener smsBrokerListener;
+
+    @BeforeEach
+    void setUp(){
+        SmsEnvelopeCodec smsEnvelopeCodec = new SmsEnvelopeCodec(objectMapper, "", 100);
+        BrokerCacheService brokerCacheService = new BrokerCacheService(objectMapper, pointService,
+                brokerCacheRepository, messageCacheRepository, contactCacheRepository,
+                redisHashRepository, redisPipelineRepository, sendWalRepository, recoveryDeadlineRepository,
+                messageResultRepository, messageResultSummaryService);
+        BrokerService brokerService = new BrokerService(objectMapper, confirmPublisher, smsEnvelopeCodec,
+                brokerCacheService, pointService, redisHashRepository, recoveryDeadlineRepository, sendWalRepository,
+                redisSpillGuard, blockListIndex, routingTableCache, messageResultRepository);
+        DlxProcessingErrorHandler dlxProcessingErrorHandler = new DlxProcessingErrorHandler(brokerService, kakaoBrokerService,
+                smsEnvelopeCodec, rabbitTemplate, objectMapper);
+
+        smsBrokerListener = new SmsBrokerListener(brokerCacheService, dlxProcessingErrorHandler, brokerHealthMonitor);
+    }
+
+    // 모든 중계사를 돈 뒤 kt wait 큐로 들어온 메시지
+    private org.springframework.amqp.core.Message deadMessage(MessageResultDto messageResultDto) throws Exception {
+        Map<String, Object> xDeath = new HashMap<>();
+        xDeath.put("reason", "expired");
+        xDeath.put("count", 4L);
+        xDeath.put("exchange", "dx.sms.work");
+        xDeath.put("queue", "q.sms.kt.work");
+
+        return MessageBuilder
+                .withBody(objectMapper.writeValueAsBytes(ReceiveMessageDto.builder().messageResultDto(messageResultDto).build()))
+                .setHeader("x-death", Collections.singletonList(xDeath))
+                .build();
+    }
+
+    @DisplayName("중계사 오류로 최종 실패한 수신자는 환불 후 실패 결과를 저장")
+    @Test
+    void receiveSenderKTMessage_DeadLetter_SaveFail() throws Exception {
+        // given
+        Member member = Member.builder().id(1).build();
+        doReturn(Message.builder().id(1).member(member).messageType(MessageType.SMS).build()).when(messageCacheRepository).findMessageById(1L);
+        doReturn(Contact.builder().id(1).phoneNumber("01012341234").build()).when(contactCacheRepository).findContactByContactIdAndCampaign(eq(1L), any(), any(RedisBatch.class));
+        doReturn(Broker.builder().id(1).name("kt").build()).when(brokerCacheRepository).findBrokerById(1L);
+        doReturn(1).when(pointService).refundMessagePoint(member, 1, MessageType.SMS);
+        doReturn(0L).when(redisHashRepository).transitionStatus(eq("{sms:1}:status"), eq("{sms:1}:count"), anyList());
+
+        MessageResultDto messageResultDto = MessageResultDto.builder()
+                .rMessageResultId("1").messageId(1).brokerId(1).contactId(1)
+                .messageStatus(MessageStatus.PENDING)
+                .build();
+
+        // when
+        smsBrokerListener.receiveSenderKTMessage(deadMessage(messageResultDto), channel);
+
+        // then (포인트 update 가 영속성 컨텍스트를 비우기 전에 실패 결과를 flush)
+        InOrder inOrder = inOrder(pointService, messageResultRepository);
+        inOrder.verify(pointService).refundMessagePoint(member, 1, MessageType.SMS);
+        ArgumentCaptor<MessageResult> messageResultCaptor = ArgumentCaptor.forClass(MessageResult.class);
+        inOrder.verify(messageResultRepository).saveAndFlush(messageResultCaptor.capture());
+
+        MessageResult messageResult = messageResultCaptor.getValue();
+        assertThat(messageResult.getMessageStatus()).isEqualTo(MessageStatus.FAIL);
+        assertThat(messageResult.getContact().getId()).isEqualTo(1L);
+        assertThat(messageResult.getDescription()).contains("중계사 오류").endsWith("1 문자당근 환불");
+        verify(messageResultRepository, never()).save(any(MessageResult.class));
+        verify(channel, times(1)).basicAck(anyLong(), eq(false));
+    }
+}
@@ -0,0 +1,117 @@
+package com.srt.message.service.rabbit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.config.type.MessageType;
+import com.srt.message.dlx.RabbitmqHeader;
+import com.srt.message.dto.message.BrokerSendEnvelopeDto;
+import com.srt.message.dto.message.SMSMessageDto;
+import com.srt.message.dto.message_result.MessageResultDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.srt.message.service.rabbit.SmsEnvelopeCodec.ENVELOPE_HEADER;
+import static com.srt.message.service.rabbit.SmsEnvelopeCodec.ENVELOPE_SIZE_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmsEnvelopeCodecTest {
+    private SmsEnvelopeCodec smsEnvelopeCodec;
+
+    private SMSMessageDto smsMessageDto;
+    private List<MessageResultDto> messageResultDtos;
+    private Map<Long, String> phoneNumbers;
+
+    @BeforeEach
+    void setUp(){
+        smsEnvelopeCodec = new SmsEnvelopeCodec(new ObjectMapper(), "sms.work.kt, sms.work.skt", 100);
+
+        smsMessageDto = SMSMessageDto.builder()
+                .subject("[카카오 엔터프라이즈]")
+                .content("2023년 사업 계획서입니다.")
+                .from("01012341234")
+                .messageType(MessageType.SMS)
+                .build();
+
+        messageResultDtos = new ArrayList<>();
+        phoneNumbers = new HashMap<>();
+        for (int i = 1; i <= 250; i++) {
+            messageResultDtos.add(MessageResultDto.builder()
+                    .rMessageResultId(String.valueOf(i)).messageId(1).brokerId(1).contactId(i)
+                    .messageStatus(MessageStatus.PENDING)
+                    .build());
+            phoneNumbers.put((long) i, String.format("010%08d", i));
+        }
+    }
+
+    @DisplayName("봉투 지원 라우트는 최대 수신자 수 단위로 묶음")
+    @Test
+    void encode_Envelope_Success() throws IOException {
+        // when
+        List<Message> messages = smsEnvelopeCodec.encode("sms.work.kt", smsMessageDto, messageResultDtos, phoneNumbers);
+
+        // then (100, 100, 50)
+        assertThat(messages).hasSize(3);
+        assertThat(smsEnvelopeCodec.isEnvelope(messages.get(0))).isTrue();
+
+        BrokerSendEnvelopeDto envelope = smsEnvelopeCodec.decode(messages.get(2));
+        assertThat(envelope.getRecipients()).hasSize(50);
+        assertThat(envelope.getRecipients().get(0).getRMessageResultId()).isEqualTo("201");
+        assertThat(envelope.getRecipients().get(0).getTo()).isEqualTo("01000000201");
+        assertThat(envelope.getSmsMessageDto().getContent()).isEqualTo(smsMessageDto.getContent());
+    }
+
+    @DisplayName("봉투 미지원 라우트는 수신자당 메시지")
+    @Test
+    void encode_Single_Success(){
+        // when
+        List<Message> messages = smsEnvelopeCodec.encode("sms.work.lg", smsMessageDto, messageResultDtos, phoneNumbers);
+
+        // then
+        assertThat(messages).hasSize(messageResultDtos.size());
+        assertThat(messages.get(0).getMessageProperties().getHeaders()).doesNotContainKey(ENVELOPE_HEADER);
+    }
+
+    @DisplayName("봉투를 수신자별 메시지로 분리")
+    @Test
+    void split_Success() throws IOException {
+        // given
+        Message envelopeMessage = smsEnvelopeCodec.encode("sms.work.kt", smsMessageDto, messageResultDtos, phoneNumbers).get(0);
+
+        // when
+        List<Message> messages = smsEnvelopeCodec.split(envelopeMessage, smsEnvelopeCodec.decode(envelopeMessage));
+
+        // then
+        assertThat(messages).hasSize(100);
+        assertThat(smsEnvelopeCodec.isEnvelope(messages.get(0))).isFalse();
+    }
+
+    @DisplayName("분리한 메시지도 봉투의 재시도 횟수 (x-death) 를 이어받음")
+    @Test
+    void split_KeepRetryCount() throws IOException {
+        // given (kt work 큐에서 2번 DL)
+        Message envelopeMessage = smsEnvelopeCodec.encode("sms.work.kt", smsMessageDto, messageResultDtos, phoneNumbers).get(0);
+        Map<String, Object> xDeath = new HashMap<>();
+        xDeath.put("reason", "expired");
+        xDeath.put("count", 2L);
+        xDeath.put("exchange", "dx.sms.work");
+        xDeath.put("queue", "q.sms.kt.work");
+        envelopeMessage.getMessageProperties().setHeader("x-death", Collections.singletonList(xDeath));
+
+        // when
+        List<Message> messages = smsEnvelopeCodec.split(envelopeMessage, smsEnvelopeCodec.decode(envelopeMessage));
+
+        // then
+        Map<String, Object> headers = messages.get(0).getMessageProperties().getHeaders();
+        assertThat(new RabbitmqHeader(headers).getFailedRetryCount()).isEqualTo(2);
+        assertThat(headers).doesNotContainKeys(ENVELOPE_HEADER, ENVELOPE_SIZE_HEADER);
+    }
+}
@@ -0,0 +1,107 @@
+package com.srt.message.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srt.message.config.exception.BaseException;
+import com.srt.message.config.status.MessageStatus;
+import com.srt.message.dto.message_result.MessageResultRow;
+import com.srt.message.utils.export.ResultExportFormat;
+import com.srt.message.utils.export.ResultExportWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResultExportWriterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MessageResultRow row(long id, String memo, Long brokerId, String brokerName) {
+        return MessageResultRow.builder()
+                .id(id)
+                .phoneNumber("01012341234")
+                .memo(memo)
+                .brokerId(brokerId)
+                .brokerName(brokerName)
+                .description("kt -> skt")
+                .messageStatus(MessageStatus.SUCCESS)
+                .createdAt(LocalDateTime.of(2023, 2, 1, 14, 24, 27))
+                .build();
+    }
+
+    private String export(ResultExportFormat format, MessageResultRow... rows) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ResultExportWriter writer = new ResultExportWriter(format, objectMapper, outputStream)) {
+            writer.writeHeader();
+            for (MessageResultRow row : rows)
+                writer.write(row);
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @DisplayName("CSV는 BOM + 헤더 후 한 행씩, 쉼표/따옴표/줄바꿈이 있는 값은 따옴표로 감쌈")
+    @Test
+    void csv_Escape() throws IOException {
+        // when
+        String csv = export(ResultExportFormat.CSV,
+                row(2, "커피, \"라떼\"", 1L, "KT"),
+                row(1, "첫 줄\n둘째 줄", null, null));
+
+        // then
+        assertThat(csv).startsWith("\uFEFFid,phoneNumber,contactGroup,memo,brokerName,messageStatus,description,createdAt\r\n");
+        String[] lines = csv.substring(1).split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[1]).isEqualTo("2,01012341234,,\"커피, \"\"라떼\"\"\",KT,SUCCESS,kt -> skt,2023-02-01T14:24:27");
+        assertThat(lines[2]).isEqualTo("1,01012341234,,\"첫 줄\n둘째 줄\",,SUCCESS,kt -> skt,2023-02-01T14:24:27");
+    }
+
+    @DisplayName("CSV는 수식으로 시작하는 값 앞에 ' 를 붙여 엑셀에서 실행되지 않게 함")
+    @Test
+    void csv_FormulaInjection() throws IOException {
+        // when
+        String csv = export(ResultExportFormat.CSV,
+                row(4, "=HYPERLINK(\"http://evil\",\"클릭\")", 1L, "KT"),
+                row(3, "+1", 1L, "KT"),
+                row(2, "-2+3", 1L, "KT"),
+                row(1, "@SUM(A1)", 1L, "KT"));
+
+        // then
+        String[] lines = csv.substring(1).split("\r\n");
+        assertThat(lines[1]).isEqualTo("4,01012341234,,\"'=HYPERLINK(\"\"http://evil\"\",\"\"클릭\"\")\",KT,SUCCESS,kt -> skt,2023-02-01T14:24:27");
+        assertThat(lines[2]).contains(",'+1,");
+        assertThat(lines[3]).contains(",'-2+3,");
+        assertThat(lines[4]).contains(",'@SUM(A1),");
+    }
+
+    @DisplayName("NDJSON은 헤더 없이 행마다 JSON 한 줄")
+    @Test
+    void ndjson_Lines() throws IOException {
+        // when
+        String ndjson = export(ResultExportFormat.NDJSON,
+                row(2, "줄\n바꿈", 1L, "KT"),
+                row(1, null, null, null));
+
+        // then
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(2);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asText()).isEqualTo("2");
+        assertThat(first.get("memo").asText()).isEqualTo("줄\n바꿈");
+        assertThat(first.get("brokerName").asText()).isEqualTo("KT");
+        assertThat(objectMapper.readTree(lines[1]).get("memo").isNull()).isTrue();
+    }
+
+    @DisplayName("형식은 대소문자 구분 없이, 지원하지 않으면 예외")
+    @Test
+    void format_Of() {
+        assertThat(ResultExportFormat.of("csv")).isEqualTo(ResultExportFormat.CSV);
+        assertThat(ResultExportFormat.of("NDJSON")).isEqualTo(ResultExportFormat.NDJSON);
+        assertThatThrownBy(() -> ResultExportFormat.of("xlsx")).isInstanceOf(BaseException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.srt.message.utils;
+
+import com.srt.message.utils.window.RollingCounters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollingCountersTest {
+
+    @DisplayName("window 안의 칸만 합산")
+    @Test
+    void sum_WithinWindow() {
+        // given - 1초 칸 3개 (최근 3초)
+        RollingCounters counters = new RollingCounters(2, 1000, 3);
+
+        // when
+        counters.add(0, 1, 0);
+        counters.add(0, 2, 1000);
+        counters.add(1, 5, 2500);
+
+        // then
+        assertThat(counters.sum(2999)).containsExactly(3, 5);
+        assertThat(counters.sum(3000)).containsExactly(2, 5); // 0초 칸은 지남
+        assertThat(counters.sum(5000)).containsExactly(0, 0);
+    }
+
+    @DisplayName("한 바퀴 돌아 다시 쓰는 칸은 비우고 시작")
+    @Test
+    void add_ReuseBucket() {
+        RollingCounters counters = new RollingCounters(1, 1000, 2);
+
+        counters.add(0, 10, 0);
+        counters.add(0, 1, 2000); // 0초 칸 재사용
+
+        assertThat(counters.sum(2000)).containsExactly(1);
+    }
+
+    @DisplayName("여러 스레드가 동시에 더해도 잃지 않음")
+    @Test
+    void add_Concurrent() throws Exception {
+        // given
+        RollingCounters counters = new RollingCounters(1, 60_000, 2);
+        long now = 30_000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++)
+                    counters.add(0, 1, now);
+            }));
+        }
+        for (Future<?> future : futures)
+            future.get();
+        executor.shutdown();
+
+        // then
+        assertThat(counters.sum(now)).containsExactly(80_000);
+    }
+}
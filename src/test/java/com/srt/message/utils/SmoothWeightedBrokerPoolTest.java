@@ -0,0 +1,117 @@
+package com.srt.message.utils;
+
+import com.srt.message.utils.algorithm.BrokerWeight;
+import com.srt.message.utils.algorithm.SmoothWeightedBrokerPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmoothWeightedBrokerPoolTest {
+
+    private SmoothWeightedBrokerPool<Long> createPool(int... rates) {
+        List<BrokerWeight<Long>> weights = new ArrayList<>();
+        for (int i = 0; i < rates.length; i++)
+            weights.add(new BrokerWeight<>((long) i + 1, rates[i]));
+        return new SmoothWeightedBrokerPool<>(weights, Long::longValue);
+    }
+
+    private long[] count(long[] ids, int brokerCount) {
+        long[] counts = new long[brokerCount + 1];
+        for (long id : ids)
+            counts[(int) id]++;
+        return counts;
+    }
+
+    @DisplayName("한 주기마다 발송 규칙 비율과 정확히 일치")
+    @Test
+    void nextIds_ExactRatio(){
+        // given (50:30:20 -> 5:3:2, 주기 10)
+        SmoothWeightedBrokerPool<Long> pool = createPool(50, 30, 20);
+
+        // when
+        long[] counts = count(pool.nextIds(10_000), 3);
+
+        // then
+        assertThat(pool.getCycleLength()).isEqualTo(10);
+        assertThat(counts[1]).isEqualTo(5_000);
+        assertThat(counts[2]).isEqualTo(3_000);
+        assertThat(counts[3]).isEqualTo(2_000);
+    }
+
+    @DisplayName("smooth 분배: 5:1:1이면 가중치가 큰 중계사도 연속으로 몰리지 않음")
+    @Test
+    void nextIds_Smooth(){
+        // given
+        SmoothWeightedBrokerPool<Long> pool = createPool(5, 1, 1);
+
+        // when
+        long[] ids = pool.nextIds(7);
+
+        // then (nginx 순서: a a b a c a a)
+        assertThat(ids).containsExactly(1, 1, 2, 1, 3, 1, 1);
+    }
+
+    @DisplayName("가중치 0인 중계사는 배정되지 않음")
+    @Test
+    void nextIds_ZeroWeight(){
+        SmoothWeightedBrokerPool<Long> pool = createPool(30, 0, 30);
+
+        long[] counts = count(pool.nextIds(100), 3);
+
+        assertThat(counts[2]).isZero();
+        assertThat(counts[1]).isEqualTo(50);
+    }
+
+    @DisplayName("여러 스레드가 공유해도 전체 배정 비율 유지")
+    @Test
+    void nextIds_Concurrent() throws Exception {
+        // given
+        SmoothWeightedBrokerPool<Long> pool = createPool(70, 20, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when (8 스레드 x 1,000번 x 10명)
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                long[] counts = new long[4];
+                for (int i = 0; i < 1_000; i++) {
+                    for (long id : pool.nextIds(10))
+                        counts[(int) id]++;
+                }
+                return counts;
+            }));
+        }
+
+        long[] total = new long[4];
+        for (Future<long[]> future : futures) {
+            long[] counts = future.get(10, TimeUnit.SECONDS);
+            for (int i = 1; i < 4; i++)
+                total[i] += counts[i];
+        }
+        executor.shutdown();
+
+        // then (80,000건 = 주기 10의 배수)
+        assertThat(total[1]).isEqualTo(56_000);
+        assertThat(total[2]).isEqualTo(16_000);
+        assertThat(total[3]).isEqualTo(8_000);
+    }
+
+    @DisplayName("fork는 커서만 새로 시작")
+    @Test
+    void fork_Success(){
+        SmoothWeightedBrokerPool<Long> pool = createPool(2, 1);
+        pool.nextIds(2);
+
+        SmoothWeightedBrokerPool<Long> forked = pool.fork();
+
+        assertThat(forked.nextIds(3)).containsExactly(1, 2, 1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.srt.message.utils;
+
+import com.srt.message.utils.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Offset.offset;
+
+class SnowflakeIdGeneratorTest {
+
+    @DisplayName("한 스레드에서 발급한 아이디는 항상 증가")
+    @Test
+    void nextId_Monotonic() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+
+        long prev = generator.nextId();
+        // ms 당 4096개를 넘겨서 시퀀스 자리올림까지 확인
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(prev);
+            prev = next;
+        }
+    }
+
+    @DisplayName("여러 스레드에서 동시에 발급해도 중복 없음")
+    @Test
+    void nextId_Concurrent_Unique() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        int threads = 8;
+        int perThread = 50_000;
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++)
+                        ids.add(generator.nextId());
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    @DisplayName("워커가 다르면 같은 시각이라도 아이디가 겹치지 않음")
+    @Test
+    void nextId_DifferentWorker() {
+        long a = new SnowflakeIdGenerator(1).nextId();
+        long b = new SnowflakeIdGenerator(2).nextId();
+
+        assertThat(a).isNotEqualTo(b);
+        assertThat(SnowflakeIdGenerator.timestampOf(a)).isCloseTo(System.currentTimeMillis(), offset(1000L));
+    }
+
+    @DisplayName("워커 번호 범위 검증")
+    @Test
+    void constructor_InvalidWorker() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("워커 번호를 설정하지 않으면 기본값 없이 실패")
+    @Test
+    void parseWorkerId_Missing() {
+        assertThat(SnowflakeIdGenerator.parseWorkerId(" 3 ")).isEqualTo(3);
+        assertThatThrownBy(() -> SnowflakeIdGenerator.parseWorkerId(null))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> SnowflakeIdGenerator.parseWorkerId("worker-1"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,172 @@
+package com.srt.message.utils;
+
+import com.srt.message.utils.journal.SpillJournal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpillJournalTest {
+    @TempDir
+    Path tempDir;
+
+    private static byte[] record(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> values(List<byte[]> records) {
+        return records.stream().map(bytes -> new String(bytes, StandardCharsets.UTF_8)).collect(Collectors.toList());
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(SpillJournalTest::isSegment).count();
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        return path.getFileName().toString().startsWith("segment-");
+    }
+
+    @DisplayName("추가한 순서대로 읽고, 반영한 만큼만 앞에서 제거")
+    @Test
+    void append_Peek_Advance() {
+        SpillJournal journal = new SpillJournal(tempDir, 1024);
+        journal.append(record("a"));
+        journal.append(record("b"));
+        journal.append(record("c"));
+
+        assertThat(values(journal.peek(10))).containsExactly("a", "b", "c");
+        assertThat(values(journal.peek(2))).containsExactly("a", "b");
+
+        journal.advance(2);
+
+        assertThat(values(journal.peek(10))).containsExactly("c");
+        assertThat(journal.getPendingCount()).isEqualTo(1);
+        journal.close();
+    }
+
+    @DisplayName("세그먼트가 차면 다음 세그먼트에 쓰고, 다 읽은 세그먼트 파일은 삭제")
+    @Test
+    void append_RollSegment() throws IOException {
+        SpillJournal journal = new SpillJournal(tempDir, 64); // 레코드 28바이트 -> 세그먼트당 2개
+        for (int i = 0; i < 5; i++)
+            journal.append(record(String.format("record-%013d", i)));
+
+        assertThat(segmentFiles()).isEqualTo(3);
+        assertThat(journal.peek(10)).hasSize(5);
+
+        journal.advance(4);
+
+        assertThat(segmentFiles()).isEqualTo(1);
+        assertThat(values(journal.peek(10))).containsExactly(String.format("record-%013d", 4));
+        journal.close();
+    }
+
+    @DisplayName("재시작하면 반영하지 않은 레코드를 다시 읽고, 새 레코드는 새 세그먼트에")
+    @Test
+    void reopen_RestorePending() {
+        SpillJournal journal = new SpillJournal(tempDir, 1024);
+        journal.append(record("a"));
+        journal.append(record("b"));
+        journal.close();
+
+        SpillJournal reopened = new SpillJournal(tempDir, 1024);
+        reopened.append(record("c"));
+
+        assertThat(reopened.getPendingCount()).isEqualTo(3);
+        assertThat(values(reopened.peek(10))).containsExactly("a", "b", "c");
+        reopened.close();
+    }
+
+    @DisplayName("재시작하면 반영한 위치 다음부터 읽음 (이미 반영한 레코드를 다시 읽지 않음)")
+    @Test
+    void reopen_AfterAdvance() {
+        SpillJournal journal = new SpillJournal(tempDir, 1024);
+        journal.append(record("a"));
+        journal.append(record("b"));
+        journal.append(record("c"));
+        journal.advance(2);
+        journal.close();
+
+        SpillJournal reopened = new SpillJournal(tempDir, 1024);
+
+        assertThat(reopened.getPendingCount()).isEqualTo(1);
+        assertThat(values(reopened.peek(10))).containsExactly("c");
+
+        // 모두 반영한 뒤 재시작하면 읽을 레코드 없음
+        reopened.advance(1);
+        reopened.close();
+        SpillJournal drained = new SpillJournal(tempDir, 1024);
+
+        assertThat(drained.isEmpty()).isTrue();
+        assertThat(drained.peek(10)).isEmpty();
+        drained.append(record("d"));
+        assertThat(values(drained.peek(10))).containsExactly("d");
+        drained.close();
+    }
+
+    @DisplayName("세그먼트를 넘어 반영한 위치도 재시작 후 이어서 읽음")
+    @Test
+    void reopen_AfterAdvance_RolledSegments() {
+        SpillJournal journal = new SpillJournal(tempDir, 64); // 세그먼트당 2개
+        for (int i = 0; i < 5; i++)
+            journal.append(record(String.format("record-%013d", i)));
+        journal.advance(3);
+        journal.close();
+
+        SpillJournal reopened = new SpillJournal(tempDir, 64);
+
+        assertThat(reopened.getPendingCount()).isEqualTo(2);
+        assertThat(values(reopened.peek(10))).containsExactly(String.format("record-%013d", 3), String.format("record-%013d", 4));
+        reopened.close();
+    }
+
+    @DisplayName("CRC 가 맞지 않는 레코드부터는 버림 (쓰는 도중 서버 중단)")
+    @Test
+    void reopen_CorruptedRecord() throws IOException {
+        SpillJournal journal = new SpillJournal(tempDir, 1024);
+        journal.append(record("first"));
+        journal.append(record("second"));
+        journal.append(record("third"));
+        journal.close();
+
+        // 두 번째 레코드 내용 한 바이트 변경 (첫 레코드 13바이트 + 헤더 8바이트 뒤)
+        Path segment;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            segment = files.filter(SpillJournalTest::isSegment).sorted().findFirst().get();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 13 + 8);
+        }
+
+        SpillJournal reopened = new SpillJournal(tempDir, 1024);
+
+        assertThat(reopened.getPendingCount()).isEqualTo(1);
+        assertThat(values(reopened.peek(10))).containsExactly("first");
+        reopened.close();
+    }
+
+    @DisplayName("세그먼트보다 큰 레코드는 거절")
+    @Test
+    void append_TooLarge() {
+        SpillJournal journal = new SpillJournal(tempDir, 64);
+
+        assertThatThrownBy(() -> journal.append(new byte[64]))
+                .isInstanceOf(IllegalArgumentException.class);
+        journal.close();
+    }
+}